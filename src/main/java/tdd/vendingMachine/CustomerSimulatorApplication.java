@@ -0,0 +1,22 @@
+package tdd.vendingMachine;
+
+import tdd.vendingMachine.scenario.factory.ScenarioProfileFactory;
+import tdd.vendingMachine.simulation.CustomerSimulator;
+import tdd.vendingMachine.simulation.entity.SimulationSettings;
+import tdd.vendingMachine.simulation.factory.PaymentMixFactory;
+
+public class CustomerSimulatorApplication {
+
+	public static void main(String[] args) {
+		SimulationSettings settings = SimulationSettings.of(
+			ScenarioProfileFactory.parse(System.getProperty("simulation.profile", ScenarioProfileFactory.CLASSIC)),
+			PaymentMixFactory.parse(System.getProperty("simulation.payment-mix")),
+			Integer.getInteger("simulation.machines", 1000),
+			Integer.getInteger("simulation.days", 30),
+			Integer.getInteger("simulation.customers-per-day", 20),
+			Long.getLong("simulation.seed", 42));
+
+		System.out.println(new CustomerSimulator().run(settings));
+	}
+
+}
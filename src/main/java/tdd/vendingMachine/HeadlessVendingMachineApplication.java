@@ -0,0 +1,14 @@
+package tdd.vendingMachine;
+
+import tdd.vendingMachine.bootstrap.HeadlessBootstrap;
+import tdd.vendingMachine.machine.cli.sink.ChannelOutputSink;
+
+import java.io.IOException;
+
+public class HeadlessVendingMachineApplication {
+
+	public static void main(String[] args) throws IOException {
+		HeadlessBootstrap.run(System.in, ChannelOutputSink.console(8192), System::exit);
+	}
+
+}
@@ -0,0 +1,217 @@
+package tdd.vendingMachine.api;
+
+import com.google.common.collect.Lists;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.api.entity.ApiResponse;
+import tdd.vendingMachine.api.json.JsonWriter;
+import tdd.vendingMachine.machine.Machine;
+import tdd.vendingMachine.machine.MachineFacade;
+import tdd.vendingMachine.machine.command.CommandGrammar;
+import tdd.vendingMachine.machine.command.entity.Command;
+import tdd.vendingMachine.machine.command.enums.CommandAction;
+import tdd.vendingMachine.machine.purchase.PurchaseFacade;
+import tdd.vendingMachine.machine.purchase.enums.PurchaseStatus;
+import tdd.vendingMachine.money.change.ChangeStorage;
+import tdd.vendingMachine.money.coin.entity.Coin;
+import tdd.vendingMachine.money.util.MoneyUtil;
+import tdd.vendingMachine.product.Product;
+import tdd.vendingMachine.shelve.entity.Shelve;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class PurchaseApi {
+
+	private static final String GET = "GET";
+	private static final String POST = "POST";
+
+	private static final CommandGrammar INDEX = CommandGrammar.create().index(CommandAction.SHELVE_INDEX);
+
+	private final MachineFacade machineFacade;
+
+	private final Machine machine;
+
+	private final ChangeStorage changeStorage;
+
+	private final PurchaseFacade purchaseFacade;
+
+	@Autowired
+	public PurchaseApi(MachineFacade machineFacade, Machine machine, ChangeStorage changeStorage,
+			PurchaseFacade purchaseFacade) {
+		this.machineFacade = machineFacade;
+		this.machine = machine;
+		this.changeStorage = changeStorage;
+		this.purchaseFacade = purchaseFacade;
+	}
+
+	public ApiResponse handle(String method, String path) {
+		String[] segments = path.split("/");
+		List<String> parts = Lists.newArrayListWithCapacity(segments.length);
+		for (String segment : segments) {
+			if (!segment.isEmpty()) {
+				parts.add(segment);
+			}
+		}
+
+		if (parts.size() == 1 && parts.get(0).equals("shelves")) {
+			return GET.equals(method) ? listShelves() : methodNotAllowed();
+		}
+		if (parts.size() == 3 && parts.get(0).equals("shelves") && parts.get(2).equals("select")) {
+			return POST.equals(method) ? selectShelve(parts.get(1)) : methodNotAllowed();
+		}
+		if (parts.size() == 1 && parts.get(0).equals("coins")) {
+			return GET.equals(method) ? listCoins() : methodNotAllowed();
+		}
+		if (parts.size() == 2 && parts.get(0).equals("coins")) {
+			return POST.equals(method) ? insertCoin(parts.get(1)) : methodNotAllowed();
+		}
+		if (parts.size() == 1 && parts.get(0).equals("quote")) {
+			return GET.equals(method) ? quote() : methodNotAllowed();
+		}
+		if (parts.size() == 1 && parts.get(0).equals("buy")) {
+			return POST.equals(method) ? buy() : methodNotAllowed();
+		}
+		if (parts.size() == 1 && parts.get(0).equals("cancel")) {
+			return POST.equals(method) ? cancel() : methodNotAllowed();
+		}
+		return error(404, "Unknown resource: " + path);
+	}
+
+	public ApiResponse listShelves() {
+		List<Shelve> shelves = machine.getShelves();
+		JsonWriter json = new JsonWriter().beginArray();
+		for (int i = 0; i < shelves.size(); i++) {
+			json.beginObject().name("index").value(i);
+			writeProduct(json, shelves.get(i));
+			json.endObject();
+		}
+		return ok(json.endArray());
+	}
+
+	public ApiResponse listCoins() {
+		List<Coin> coins = Lists.newArrayList(changeStorage.getOwnedCoins().keySet());
+		JsonWriter json = new JsonWriter().beginArray();
+		for (int i = 0; i < coins.size(); i++) {
+			json.beginObject()
+				.name("index").value(i)
+				.name("nominal").value(coins.get(i).getNominal().getAmount().toPlainString())
+				.endObject();
+		}
+		return ok(json.endArray());
+	}
+
+	public ApiResponse selectShelve(String index) {
+		Command command = INDEX.parse(index);
+		if (command.getAction() == CommandAction.INVALID || command.getIndex() < 0 ||
+			command.getIndex() >= machine.getShelves().size()) {
+			return error(404, "Unknown shelve: " + index);
+		}
+
+		if (!machineFacade.selectShelve(command.getIndex())) {
+			return error(409, "Purchase in progress, cancel it first.");
+		}
+		return quote();
+	}
+
+	public ApiResponse insertCoin(String index) {
+		if (!machineFacade.isPurchaseInProgress()) {
+			return noShelveSelected();
+		}
+
+		Command command = INDEX.parse(index);
+		if (command.getAction() == CommandAction.INVALID || command.getIndex() < 0 ||
+			command.getIndex() >= changeStorage.getOwnedCoins().size()) {
+			return error(404, "Unknown coin: " + index);
+		}
+
+		machineFacade.insertCoin(command.getIndex());
+		return quote();
+	}
+
+	public ApiResponse quote() {
+		if (!machineFacade.isPurchaseInProgress()) {
+			return noShelveSelected();
+		}
+
+		return ok(writeQuote(new JsonWriter().beginObject(), purchaseFacade.getPurchaseStatus()).endObject());
+	}
+
+	public ApiResponse buy() {
+		if (!machineFacade.isPurchaseInProgress()) {
+			return noShelveSelected();
+		}
+
+		PurchaseStatus purchaseStatus = purchaseFacade.getPurchaseStatus();
+		int quantityBefore = machine.getActiveShelve().getQuantity();
+		Map<Coin, Integer> coinsBefore = MoneyUtil.add(changeStorage.getOwnedCoins(), changeStorage.getInsertedCoins());
+		machineFacade.buy();
+		boolean purchased = machine.getActiveShelve().getQuantity() < quantityBefore;
+		JsonWriter json = new JsonWriter().beginObject().name("purchased").value(purchased);
+		writeQuote(json, purchased ? purchaseStatus : purchaseFacade.getPurchaseStatus());
+		if (purchased) {
+			json.name("change");
+			writeCoins(json, MoneyUtil.subtract(coinsBefore, changeStorage.getOwnedCoins()));
+		}
+		return ApiResponse.of(purchased ? 200 : 409, json.endObject().toString());
+	}
+
+	public ApiResponse cancel() {
+		Map<Coin, Integer> insertedCoins = changeStorage.getInsertedCoins();
+		Map<Coin, Integer> returnedCoins = machineFacade.cancelPurchase()
+			? insertedCoins
+			: Collections.<Coin, Integer>emptyMap();
+		JsonWriter json = new JsonWriter().beginObject().name("returned");
+		writeCoins(json, returnedCoins);
+		return ok(json.endObject());
+	}
+
+	private JsonWriter writeQuote(JsonWriter json, PurchaseStatus purchaseStatus) {
+		Shelve shelve = machine.getActiveShelve();
+		Map<Coin, Integer> insertedCoins = changeStorage.getInsertedCoins();
+		json.name("shelve").value(machine.getActiveShelveIndex());
+		writeProduct(json, shelve);
+		json.name("inserted").value(MoneyUtil.sum(insertedCoins).getAmount().toPlainString())
+			.name("status").value(purchaseStatus.name())
+			.name("insertedCoins");
+		return writeCoins(json, insertedCoins);
+	}
+
+	private void writeProduct(JsonWriter json, Shelve shelve) {
+		Product product = shelve.getProduct();
+		json.name("product").value(product.getName())
+			.name("price").value(product.getPrice().getAmount().toPlainString())
+			.name("currency").value(product.getPrice().getCurrencyUnit().getCode())
+			.name("quantity").value(shelve.getQuantity());
+	}
+
+	private JsonWriter writeCoins(JsonWriter json, Map<Coin, Integer> coins) {
+		json.beginArray();
+		for (Map.Entry<Coin, Integer> entry : coins.entrySet()) {
+			json.beginObject()
+				.name("nominal").value(entry.getKey().getNominal().getAmount().toPlainString())
+				.name("count").value(entry.getValue())
+				.endObject();
+		}
+		return json.endArray();
+	}
+
+	private ApiResponse ok(JsonWriter json) {
+		return ApiResponse.of(200, json.toString());
+	}
+
+	private ApiResponse noShelveSelected() {
+		return error(409, "No shelve selected.");
+	}
+
+	private ApiResponse methodNotAllowed() {
+		return error(405, "Method not allowed.");
+	}
+
+	private ApiResponse error(int status, String message) {
+		return ApiResponse.of(status, new JsonWriter().beginObject().name("error").value(message).endObject().toString());
+	}
+
+}
@@ -0,0 +1,114 @@
+package tdd.vendingMachine.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.api.entity.ApiResponse;
+import tdd.vendingMachine.machine.MachineExecutor;
+import tdd.vendingMachine.metrics.Histogram;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.server.factory.HttpServerFactory;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+public class PurchaseApiServer {
+
+	private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+
+	private static final Histogram requestLatency = Metrics.histogram("vending_api_request_latency_nanoseconds",
+		"Time from receiving an API request to completing its response.");
+
+	private final PurchaseApi purchaseApi;
+
+	private final MachineExecutor machineExecutor;
+
+	private final boolean enabled;
+
+	private final int port;
+
+	private final String contextPath;
+
+	private final int ioThreads;
+
+	private HttpServer server;
+
+	private ExecutorService ioExecutor;
+
+	@Autowired
+	public PurchaseApiServer(PurchaseApi purchaseApi, MachineExecutor machineExecutor,
+			@Value("${api.enabled:false}") boolean enabled,
+			@Value("${server.port:8686}") int port,
+			@Value("${server.context-path:/vending-machine}") String contextPath,
+			@Value("${api.io-threads:2}") int ioThreads) {
+		this.purchaseApi = purchaseApi;
+		this.machineExecutor = machineExecutor;
+		this.enabled = enabled;
+		this.port = port;
+		this.contextPath = contextPath;
+		this.ioThreads = ioThreads;
+	}
+
+	public void start() throws IOException {
+		if (!enabled) {
+			return;
+		}
+
+		ioExecutor = Executors.newFixedThreadPool(ioThreads, runnable -> daemon(runnable, "purchase-api-io"));
+		server = HttpServerFactory.createLoopback(port);
+		server.createContext(contextPath, this::handle);
+		server.setExecutor(ioExecutor);
+		server.start();
+	}
+
+	public int getPort() {
+		return server == null ? port : server.getAddress().getPort();
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (server == null) {
+			return;
+		}
+
+		server.stop(0);
+		ioExecutor.shutdown();
+	}
+
+	private void handle(HttpExchange exchange) {
+		long start = System.nanoTime();
+		String method = exchange.getRequestMethod();
+		String path = exchange.getRequestURI().getPath().substring(contextPath.length());
+		machineExecutor
+			.submit(() -> purchaseApi.handle(method, path))
+			.whenCompleteAsync((response, throwable) -> {
+				respond(exchange, throwable == null ? response : ApiResponse.of(500, "{\"error\":\"Internal error.\"}"));
+				requestLatency.recordSince(start);
+			}, ioExecutor);
+	}
+
+	private void respond(HttpExchange exchange, ApiResponse response) {
+		byte[] body = response.getBody().getBytes(StandardCharsets.UTF_8);
+		try (OutputStream output = exchange.getResponseBody()) {
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+			exchange.sendResponseHeaders(response.getStatus(), body.length);
+			output.write(body);
+		} catch (IOException e) {
+			exchange.close();
+		}
+	}
+
+	private static Thread daemon(Runnable runnable, String name) {
+		Thread thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+
+}
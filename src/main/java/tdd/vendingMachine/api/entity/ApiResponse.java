@@ -0,0 +1,14 @@
+package tdd.vendingMachine.api.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class ApiResponse {
+
+	private int status;
+
+	private String body;
+
+}
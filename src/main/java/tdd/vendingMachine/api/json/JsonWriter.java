@@ -0,0 +1,117 @@
+package tdd.vendingMachine.api.json;
+
+public class JsonWriter {
+
+	private final StringBuilder json = new StringBuilder(256);
+
+	private boolean first = true;
+
+	public JsonWriter beginObject() {
+		separate();
+		json.append('{');
+		first = true;
+		return this;
+	}
+
+	public JsonWriter endObject() {
+		json.append('}');
+		first = false;
+		return this;
+	}
+
+	public JsonWriter beginArray() {
+		separate();
+		json.append('[');
+		first = true;
+		return this;
+	}
+
+	public JsonWriter endArray() {
+		json.append(']');
+		first = false;
+		return this;
+	}
+
+	public JsonWriter name(String name) {
+		separate();
+		appendString(name);
+		json.append(':');
+		first = true;
+		return this;
+	}
+
+	public JsonWriter value(String value) {
+		separate();
+		if (value == null) {
+			json.append("null");
+		} else {
+			appendString(value);
+		}
+		first = false;
+		return this;
+	}
+
+	public JsonWriter value(long value) {
+		separate();
+		json.append(value);
+		first = false;
+		return this;
+	}
+
+	public JsonWriter value(boolean value) {
+		separate();
+		json.append(value);
+		first = false;
+		return this;
+	}
+
+	public JsonWriter nullValue() {
+		separate();
+		json.append("null");
+		first = false;
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return json.toString();
+	}
+
+	private void separate() {
+		if (!first) {
+			json.append(',');
+		}
+	}
+
+	private void appendString(String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char character = value.charAt(i);
+			switch (character) {
+				case '"':
+					json.append("\\\"");
+					break;
+				case '\\':
+					json.append("\\\\");
+					break;
+				case '\n':
+					json.append("\\n");
+					break;
+				case '\r':
+					json.append("\\r");
+					break;
+				case '\t':
+					json.append("\\t");
+					break;
+				default:
+					if (character < 0x20) {
+						json.append(String.format("\\u%04x", (int) character));
+					} else {
+						json.append(character);
+					}
+			}
+		}
+		json.append('"');
+	}
+
+}
@@ -0,0 +1,217 @@
+package tdd.vendingMachine.audit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.audit.buffer.AuditRingBuffer;
+import tdd.vendingMachine.audit.entity.AuditEvent;
+import tdd.vendingMachine.audit.enums.AuditEventType;
+import tdd.vendingMachine.audit.writer.AuditEventFormatter;
+import tdd.vendingMachine.audit.writer.RotatingFileWriter;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.event.DomainEventListener;
+import tdd.vendingMachine.event.Subscription;
+import tdd.vendingMachine.event.entity.ChangeDispensed;
+import tdd.vendingMachine.event.entity.CoinInserted;
+import tdd.vendingMachine.event.entity.DomainEvent;
+import tdd.vendingMachine.event.entity.PurchaseCompleted;
+import tdd.vendingMachine.event.entity.PurchaseRefused;
+import tdd.vendingMachine.event.entity.SessionCancelled;
+import tdd.vendingMachine.event.enums.BackpressurePolicy;
+import tdd.vendingMachine.machine.purchase.enums.PurchaseStatus;
+import tdd.vendingMachine.money.coin.entity.Coin;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+import tdd.vendingMachine.product.Product;
+import tdd.vendingMachine.product.factory.ProductFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Service
+public class AuditLog implements DomainEventListener {
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final DomainEventBus eventBus;
+
+	private final boolean enabled;
+
+	private final int machineId;
+
+	private final int maxBatchSize;
+
+	private final int bufferSize;
+
+	private Subscription subscription;
+
+	private AuditRingBuffer ringBuffer;
+
+	private RotatingFileWriter fileWriter;
+
+	private Thread consumer;
+
+	private volatile boolean running;
+
+	private final StringBuilder line = new StringBuilder();
+
+	@Autowired
+	public AuditLog(DomainEventBus eventBus,
+			@Value("${audit.enabled:false}") boolean enabled,
+			@Value("${machine.id:0}") int machineId,
+			@Value("${audit.directory:audit}") String directory,
+			@Value("${audit.buffer-size:4096}") int bufferSize,
+			@Value("${audit.max-batch-size:256}") int maxBatchSize,
+			@Value("${audit.max-file-bytes:10485760}") long maxFileBytes,
+			@Value("${audit.max-files:5}") int maxFiles) {
+		this.eventBus = eventBus;
+		this.enabled = enabled;
+		this.machineId = machineId;
+		this.maxBatchSize = maxBatchSize;
+		this.bufferSize = bufferSize;
+
+		if (enabled) {
+			try {
+				fileWriter = new RotatingFileWriter(Paths.get(directory), "audit", maxFileBytes, maxFiles);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			ringBuffer = new AuditRingBuffer(bufferSize);
+			running = true;
+			consumer = new Thread(this::consume, "audit-log-writer");
+			consumer.setDaemon(true);
+			consumer.start();
+		}
+	}
+
+	@PostConstruct
+	public void subscribe() {
+		if (enabled) {
+			subscription = eventBus.subscribeAsync("audit", this, bufferSize, BackpressurePolicy.DROP_NEWEST);
+		}
+	}
+
+	@Override
+	public void onEvent(DomainEvent event) {
+		if (event instanceof CoinInserted) {
+			coinInserted(((CoinInserted) event).getCoin());
+		} else if (event instanceof PurchaseCompleted) {
+			PurchaseCompleted purchase = (PurchaseCompleted) event;
+			purchased(purchase.getShelveIndex(), purchase.getProduct());
+		} else if (event instanceof PurchaseRefused) {
+			refused(((PurchaseRefused) event).getReason());
+		} else if (event instanceof ChangeDispensed) {
+			coinsReturned(AuditEventType.CHANGE_RETURNED, ((ChangeDispensed) event).getCoins());
+		} else if (event instanceof SessionCancelled) {
+			Map<Coin, Integer> returnedCoins = ((SessionCancelled) event).getReturnedCoins();
+			if (!returnedCoins.isEmpty()) {
+				coinsReturned(AuditEventType.CANCEL, returnedCoins);
+			}
+		}
+	}
+
+	public void coinInserted(Coin coin) {
+		AuditEvent event = claim(AuditEventType.COIN_INSERTED);
+		if (event != null) {
+			event.withCoinIndex(CoinFactory.AVAILABLE_COINS.indexOf(coin));
+			ringBuffer.publish();
+		}
+	}
+
+	public void purchased(Integer shelveIndex, Product product) {
+		AuditEvent event = claim(AuditEventType.PURCHASE);
+		if (event != null) {
+			event.withPurchase(shelveIndex == null ? -1 : shelveIndex, ProductFactory.codeOf(product),
+				product.getPrice().getAmountMinorInt());
+			ringBuffer.publish();
+		}
+	}
+
+	public void refused(PurchaseStatus reason) {
+		AuditEvent event = claim(AuditEventType.REFUSAL);
+		if (event != null) {
+			event.withRefusalReason(reason);
+			ringBuffer.publish();
+		}
+	}
+
+	public void coinsReturned(AuditEventType type, Map<Coin, Integer> coins) {
+		AuditEvent event = claim(type);
+		if (event != null) {
+			List<Coin> availableCoins = CoinFactory.AVAILABLE_COINS;
+			for (int i = 0; i < availableCoins.size(); i++) {
+				Integer quantity = coins.get(availableCoins.get(i));
+				event.withCoin(i, quantity == null ? 0 : quantity);
+			}
+			ringBuffer.publish();
+		}
+	}
+
+	public long getDroppedEvents() {
+		return enabled ? ringBuffer.getDropped() : 0;
+	}
+
+	@PreDestroy
+	public void close() throws IOException, InterruptedException {
+		if (!enabled) {
+			return;
+		}
+
+		if (subscription != null) {
+			eventBus.unsubscribe(subscription);
+		}
+		running = false;
+		LockSupport.unpark(consumer);
+		consumer.join();
+		fileWriter.close();
+	}
+
+	private AuditEvent claim(AuditEventType type) {
+		if (!enabled) {
+			return null;
+		}
+
+		AuditEvent event = ringBuffer.claim();
+		return event == null ? null : event.reset(type, System.currentTimeMillis(), machineId);
+	}
+
+	private void consume() {
+		while (true) {
+			boolean stopping = !running;
+			if (drainBatch() == 0) {
+				if (stopping) {
+					return;
+				}
+				LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+			}
+		}
+	}
+
+	private int drainBatch() {
+		int drained = ringBuffer.drain(this::write, maxBatchSize);
+		if (drained > 0) {
+			try {
+				fileWriter.flush();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return drained;
+	}
+
+	private void write(AuditEvent event) {
+		line.setLength(0);
+		try {
+			fileWriter.write(AuditEventFormatter.format(event, line));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+package tdd.vendingMachine.audit.buffer;
+
+import tdd.vendingMachine.audit.entity.AuditEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class AuditRingBuffer {
+
+	private final AuditEvent[] slots;
+
+	private final int mask;
+
+	private long claimedSequence = -1;
+
+	private final AtomicLong publishedSequence = new AtomicLong(-1);
+
+	private final AtomicLong consumedSequence = new AtomicLong(-1);
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	public AuditRingBuffer(int capacity) {
+		if (Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Ring buffer capacity must be a power of two, got " + capacity + ".");
+		}
+
+		slots = new AuditEvent[capacity];
+		mask = capacity - 1;
+		for (int i = 0; i < capacity; i++) {
+			slots[i] = new AuditEvent();
+		}
+	}
+
+	public AuditEvent claim() {
+		long next = claimedSequence + 1;
+		if (next - consumedSequence.get() > slots.length) {
+			dropped.lazySet(dropped.get() + 1);
+			return null;
+		}
+
+		claimedSequence = next;
+		return slots[(int) next & mask];
+	}
+
+	public void publish() {
+		publishedSequence.lazySet(claimedSequence);
+	}
+
+	public int drain(Consumer<AuditEvent> handler, int maxBatchSize) {
+		long from = consumedSequence.get() + 1;
+		long to = Math.min(publishedSequence.get(), from + maxBatchSize - 1);
+		for (long sequence = from; sequence <= to; sequence++) {
+			handler.accept(slots[(int) sequence & mask]);
+		}
+		consumedSequence.lazySet(Math.max(to, from - 1));
+		return (int) Math.max(0, to - from + 1);
+	}
+
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	public int getCapacity() {
+		return slots.length;
+	}
+
+}
@@ -0,0 +1,66 @@
+package tdd.vendingMachine.audit.entity;
+
+import lombok.Getter;
+import tdd.vendingMachine.audit.enums.AuditEventType;
+import tdd.vendingMachine.machine.purchase.enums.PurchaseStatus;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+
+@Getter
+public class AuditEvent {
+
+	private AuditEventType type;
+
+	private long timestamp;
+
+	private int machineId;
+
+	private int shelveIndex;
+
+	private int productCode;
+
+	private int priceMinor;
+
+	private int coinIndex;
+
+	private PurchaseStatus refusalReason;
+
+	private final int[] coins = new int[CoinFactory.AVAILABLE_COINS.size()];
+
+	public AuditEvent reset(AuditEventType type, long timestamp, int machineId) {
+		this.type = type;
+		this.timestamp = timestamp;
+		this.machineId = machineId;
+		this.shelveIndex = -1;
+		this.productCode = -1;
+		this.priceMinor = 0;
+		this.coinIndex = -1;
+		this.refusalReason = null;
+		for (int i = 0; i < coins.length; i++) {
+			coins[i] = 0;
+		}
+		return this;
+	}
+
+	public AuditEvent withPurchase(int shelveIndex, int productCode, int priceMinor) {
+		this.shelveIndex = shelveIndex;
+		this.productCode = productCode;
+		this.priceMinor = priceMinor;
+		return this;
+	}
+
+	public AuditEvent withCoinIndex(int coinIndex) {
+		this.coinIndex = coinIndex;
+		return this;
+	}
+
+	public AuditEvent withRefusalReason(PurchaseStatus refusalReason) {
+		this.refusalReason = refusalReason;
+		return this;
+	}
+
+	public AuditEvent withCoin(int coinIndex, int quantity) {
+		coins[coinIndex] = quantity;
+		return this;
+	}
+
+}
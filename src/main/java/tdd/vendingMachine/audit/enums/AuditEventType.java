@@ -0,0 +1,11 @@
+package tdd.vendingMachine.audit.enums;
+
+public enum AuditEventType {
+
+	COIN_INSERTED,
+	PURCHASE,
+	REFUSAL,
+	CHANGE_RETURNED,
+	CANCEL
+
+}
@@ -0,0 +1,45 @@
+package tdd.vendingMachine.audit.writer;
+
+import tdd.vendingMachine.audit.entity.AuditEvent;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+
+import java.time.Instant;
+
+public class AuditEventFormatter {
+
+	public static StringBuilder format(AuditEvent event, StringBuilder output) {
+		output.append(Instant.ofEpochMilli(event.getTimestamp()))
+			.append(" machine=").append(event.getMachineId())
+			.append(' ').append(event.getType());
+
+		switch (event.getType()) {
+			case COIN_INSERTED:
+				output.append(" coin=").append(nominalOf(event.getCoinIndex()));
+				break;
+			case PURCHASE:
+				output.append(" shelve=").append(event.getShelveIndex())
+					.append(" product=").append(event.getProductCode())
+					.append(" price=").append(event.getPriceMinor());
+				break;
+			case REFUSAL:
+				output.append(" reason=").append(event.getRefusalReason());
+				break;
+			default:
+				appendCoins(event.getCoins(), output);
+				break;
+		}
+		return output.append('\n');
+	}
+
+	private static void appendCoins(int[] coins, StringBuilder output) {
+		output.append(" coins=");
+		for (int i = 0; i < coins.length; i++) {
+			output.append(i == 0 ? "" : ",").append(coins[i]);
+		}
+	}
+
+	private static int nominalOf(int coinIndex) {
+		return CoinFactory.AVAILABLE_COINS.get(coinIndex).getNominal().getAmountMinorInt();
+	}
+
+}
@@ -0,0 +1,75 @@
+package tdd.vendingMachine.audit.writer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class RotatingFileWriter implements Closeable {
+
+	private final Path directory;
+
+	private final String baseName;
+
+	private final long maxFileBytes;
+
+	private final int maxFiles;
+
+	private Writer writer;
+
+	private long bytesWritten;
+
+	public RotatingFileWriter(Path directory, String baseName, long maxFileBytes, int maxFiles) throws IOException {
+		this.directory = directory;
+		this.baseName = baseName;
+		this.maxFileBytes = maxFileBytes;
+		this.maxFiles = maxFiles;
+		Files.createDirectories(directory);
+		open();
+	}
+
+	public void write(CharSequence line) throws IOException {
+		if (bytesWritten >= maxFileBytes) {
+			rotate();
+		}
+
+		writer.append(line);
+		bytesWritten += line.length();
+	}
+
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	public Path pathOf(int generation) {
+		return directory.resolve(generation == 0 ? baseName + ".log" : baseName + "." + generation + ".log");
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+	private void open() throws IOException {
+		Path current = pathOf(0);
+		bytesWritten = Files.exists(current) ? Files.size(current) : 0;
+		writer = Files.newBufferedWriter(current, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+			StandardOpenOption.APPEND);
+	}
+
+	private void rotate() throws IOException {
+		writer.close();
+		Files.deleteIfExists(pathOf(maxFiles - 1));
+		for (int generation = maxFiles - 2; generation >= 0; generation--) {
+			if (Files.exists(pathOf(generation))) {
+				Files.move(pathOf(generation), pathOf(generation + 1), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		open();
+	}
+
+}
@@ -0,0 +1,41 @@
+package tdd.vendingMachine.bootstrap;
+
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.machine.MachineExecutor;
+import tdd.vendingMachine.machine.cli.CommandLineInterface;
+import tdd.vendingMachine.machine.cli.sink.OutputSink;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.machine.state.MachineGraph;
+import tdd.vendingMachine.machine.state.MachineGraphFactory;
+import tdd.vendingMachine.scenario.ScenarioGenerator;
+import tdd.vendingMachine.scenario.factory.ScenarioProfileFactory;
+import tdd.vendingMachine.server.timeout.SessionTimeouts;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.IntConsumer;
+
+public class HeadlessBootstrap {
+
+	public static MachineGraph create(OutputSink outputSink, IntConsumer exitHandler) {
+		long seed = ScenarioGenerator.randomSeed();
+		StartupReport.scenario(ScenarioProfileFactory.CLASSIC, seed);
+		return MachineGraphFactory.create(outputSink, exitHandler, new PurchaseTracer(0, "purchase-traces.log", 1),
+			new DomainEventBus(), ScenarioGenerator.generate(ScenarioProfileFactory.classic(), seed));
+	}
+
+	public static void run(InputStream input, OutputSink outputSink, IntConsumer exitHandler) throws IOException {
+		MachineGraph machineGraph = create(outputSink, exitHandler);
+		SessionTimeouts sessionTimeouts = new SessionTimeouts(Long.getLong("session.idle-timeout-millis", 0), 100, 512);
+		sessionTimeouts.start();
+		CommandLineInterface commandLineInterface = new CommandLineInterface(machineGraph.getMachineFacade(),
+			machineGraph.getCommandLinePrinter(), new MachineExecutor(), sessionTimeouts);
+		long warmUpBudget = Long.getLong("warm-up.budget-millis", 0);
+		if (warmUpBudget > 0) {
+			new WarmUp(true, warmUpBudget, Long.getLong("warm-up.seed", 42), false).warmUp();
+		}
+		StartupReport.ready("headless");
+		commandLineInterface.serve(input);
+	}
+
+}
@@ -0,0 +1,40 @@
+package tdd.vendingMachine.bootstrap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.api.PurchaseApiServer;
+import tdd.vendingMachine.server.LineProtocolServer;
+import tdd.vendingMachine.server.SessionServer;
+
+/**
+ * Opens the listening sockets once {@link WarmUp} has finished, so no client is served by a cold machine.
+ */
+@Service
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class NetworkServers implements CommandLineRunner {
+
+	private final SessionServer sessionServer;
+
+	private final LineProtocolServer lineProtocolServer;
+
+	private final PurchaseApiServer purchaseApiServer;
+
+	@Autowired
+	public NetworkServers(SessionServer sessionServer, LineProtocolServer lineProtocolServer,
+			PurchaseApiServer purchaseApiServer) {
+		this.sessionServer = sessionServer;
+		this.lineProtocolServer = lineProtocolServer;
+		this.purchaseApiServer = purchaseApiServer;
+	}
+
+	@Override
+	public void run(String... args) throws Exception {
+		sessionServer.start();
+		lineProtocolServer.start();
+		purchaseApiServer.start();
+	}
+
+}
@@ -0,0 +1,33 @@
+package tdd.vendingMachine.bootstrap;
+
+import java.lang.management.ManagementFactory;
+
+public class StartupReport {
+
+	public static final String PROPERTY = "startup.report";
+
+	public static void ready(String mode) {
+		if (!Boolean.getBoolean(PROPERTY)) {
+			return;
+		}
+
+		Runtime runtime = Runtime.getRuntime();
+		System.err.println(format(mode, ManagementFactory.getRuntimeMXBean().getUptime(),
+			runtime.totalMemory() - runtime.freeMemory(),
+			ManagementFactory.getClassLoadingMXBean().getLoadedClassCount()));
+	}
+
+	public static void scenario(String profile, long seed) {
+		System.err.println(formatScenario(profile, seed));
+	}
+
+	static String format(String mode, long uptimeMillis, long heapUsedBytes, int loadedClasses) {
+		return "startup mode=" + mode + " ready_ms=" + uptimeMillis + " heap_used_kb=" + heapUsedBytes / 1024 +
+			" loaded_classes=" + loadedClasses;
+	}
+
+	static String formatScenario(String profile, long seed) {
+		return "scenario profile=" + profile + " seed=" + seed;
+	}
+
+}
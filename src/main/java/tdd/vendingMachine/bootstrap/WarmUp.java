@@ -0,0 +1,150 @@
+package tdd.vendingMachine.bootstrap;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.bootstrap.entity.WarmUpResult;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.machine.MachineFacade;
+import tdd.vendingMachine.machine.cli.sink.NullOutputSink;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.machine.state.MachineGraph;
+import tdd.vendingMachine.machine.state.MachineGraphFactory;
+import tdd.vendingMachine.metrics.Counter;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.metrics.MetricsRegistry;
+import tdd.vendingMachine.scenario.ScenarioGenerator;
+import tdd.vendingMachine.scenario.factory.ScenarioProfileFactory;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+@Service
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WarmUp implements CommandLineRunner {
+
+	private static final String ITERATIONS = "vending_warm_up_iterations_total";
+	private static final String ITERATIONS_HELP = "Synthetic purchases executed before serving the first command.";
+
+	private static final Counter completedIterations = Metrics.counter(ITERATIONS, ITERATIONS_HELP, "outcome", "completed");
+
+	private static final int ROUND_SIZE = 200;
+
+	private static final int SETTLED_ROUNDS = 3;
+
+	private static final int COIN_KINDS = 6;
+
+	@Getter
+	private final boolean enabled;
+
+	@Getter
+	private final long budgetMillis;
+
+	private final long seed;
+
+	private final boolean differential;
+
+	@Getter
+	private WarmUpResult lastResult;
+
+	@Autowired
+	public WarmUp(@Value("${warm-up.enabled:false}") boolean enabled,
+			@Value("${warm-up.budget-millis:2000}") long budgetMillis,
+			@Value("${warm-up.seed:42}") long seed,
+			@Value("${output.differential:false}") boolean differential) {
+		this.enabled = enabled;
+		this.budgetMillis = budgetMillis;
+		this.seed = seed;
+		this.differential = differential;
+	}
+
+	@Override
+	public void run(String... args) {
+		if (enabled) {
+			warmUp();
+		}
+	}
+
+	public WarmUpResult warmUp() {
+		lastResult = runRounds(new MetricsRegistry());
+		completedIterations.add(lastResult.getIterations());
+		return lastResult;
+	}
+
+	private WarmUpResult runRounds(MetricsRegistry metricsRegistry) {
+		CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+		boolean monitored = compilation != null && compilation.isCompilationTimeMonitoringSupported();
+		long start = System.nanoTime();
+		long deadline = start + budgetMillis * 1_000_000;
+		long compilationStart = monitored ? compilation.getTotalCompilationTime() : 0;
+		long previousCompilation = compilationStart;
+		Random random = new Random(seed);
+		PurchaseTracer purchaseTracer = new PurchaseTracer(0, "purchase-traces.log", 1);
+
+		int iterations = 0;
+		int quietRounds = 0;
+		while (System.nanoTime() < deadline && quietRounds < SETTLED_ROUNDS) {
+			MachineGraph machineGraph = createThrowawayGraph(purchaseTracer, random, metricsRegistry);
+			for (int i = 0; i < ROUND_SIZE; i++) {
+				purchase(machineGraph, random);
+			}
+			iterations += ROUND_SIZE;
+
+			if (monitored) {
+				long totalCompilation = compilation.getTotalCompilationTime();
+				quietRounds = totalCompilation == previousCompilation ? quietRounds + 1 : 0;
+				previousCompilation = totalCompilation;
+			}
+		}
+
+		return WarmUpResult.of(iterations, (System.nanoTime() - start) / 1_000_000,
+			previousCompilation - compilationStart, quietRounds >= SETTLED_ROUNDS);
+	}
+
+	private MachineGraph createThrowawayGraph(PurchaseTracer purchaseTracer, Random random,
+			MetricsRegistry metricsRegistry) {
+		return MachineGraphFactory.create(new NullOutputSink(), differential, code -> {}, purchaseTracer,
+			new DomainEventBus(), ScenarioGenerator.generate(ScenarioProfileFactory.classic(), random.nextLong()),
+			metricsRegistry);
+	}
+
+	private void purchase(MachineGraph machineGraph, Random random) {
+		MachineFacade machineFacade = machineGraph.getMachineFacade();
+		int shelves = machineGraph.getMachine().getShelves().size();
+
+		machineFacade.executeCommand("s");
+		render(machineGraph, 1);
+		machineFacade.executeCommand(String.valueOf(random.nextInt(shelves)));
+		render(machineGraph, 1);
+
+		int coins = 1 + random.nextInt(5);
+		if (random.nextBoolean()) {
+			StringBuilder batch = new StringBuilder();
+			for (int i = 0; i < coins; i++) {
+				batch.append(random.nextInt(COIN_KINDS)).append(' ');
+			}
+			machineFacade.executeCommand(batch.toString().trim());
+		} else {
+			for (int i = 0; i < coins; i++) {
+				machineFacade.executeCommand(String.valueOf(random.nextInt(COIN_KINDS)));
+			}
+		}
+		render(machineGraph, coins);
+
+		machineGraph.getPurchaseFacade().getPurchaseStatus();
+		machineFacade.executeCommand(random.nextInt(4) == 0 ? "c" : "b");
+		render(machineGraph, 1);
+		machineGraph.cancelPurchase();
+	}
+
+	private void render(MachineGraph machineGraph, int inputLines) {
+		machineGraph.getCommandLinePrinter().render(machineGraph.getMachineFacade().getState(), inputLines);
+		machineGraph.getCommandLinePrinter().flush();
+	}
+
+}
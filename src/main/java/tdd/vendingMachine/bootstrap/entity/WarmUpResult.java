@@ -0,0 +1,21 @@
+package tdd.vendingMachine.bootstrap.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor(staticName = "of")
+public class WarmUpResult {
+
+	@Getter
+	private int iterations;
+
+	@Getter
+	private long elapsedMillis;
+
+	@Getter
+	private long compilationMillis;
+
+	@Getter
+	private boolean settled;
+
+}
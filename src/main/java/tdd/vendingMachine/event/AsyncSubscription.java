@@ -0,0 +1,90 @@
+package tdd.vendingMachine.event;
+
+import tdd.vendingMachine.event.entity.DomainEvent;
+import tdd.vendingMachine.event.enums.BackpressurePolicy;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+class AsyncSubscription extends Subscription {
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final Queue<DomainEvent> queue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	private final int capacity;
+
+	private final BackpressurePolicy backpressurePolicy;
+
+	private final Thread worker;
+
+	private volatile boolean running = true;
+
+	AsyncSubscription(String name, DomainEventListener listener, int capacity, BackpressurePolicy backpressurePolicy) {
+		super(name, listener);
+		this.capacity = capacity;
+		this.backpressurePolicy = backpressurePolicy;
+		this.worker = new Thread(this::deliver, "event-subscriber-" + name);
+		this.worker.setDaemon(true);
+		this.worker.start();
+	}
+
+	@Override
+	void offer(DomainEvent event) {
+		if (size.incrementAndGet() > capacity) {
+			if (backpressurePolicy == BackpressurePolicy.DROP_NEWEST || queue.poll() == null) {
+				size.decrementAndGet();
+				dropped.increment();
+				return;
+			}
+			size.decrementAndGet();
+			dropped.increment();
+		}
+
+		queue.offer(event);
+		LockSupport.unpark(worker);
+	}
+
+	int getQueued() {
+		return size.get();
+	}
+
+	@Override
+	void close() {
+		running = false;
+		LockSupport.unpark(worker);
+		try {
+			worker.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void deliver() {
+		while (true) {
+			boolean stopping = !running;
+			DomainEvent event = queue.poll();
+			if (event == null) {
+				if (stopping) {
+					return;
+				}
+				LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+				continue;
+			}
+
+			size.decrementAndGet();
+			try {
+				listener.onEvent(event);
+				delivered.increment();
+			} catch (RuntimeException e) {
+				failed.increment();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+package tdd.vendingMachine.event;
+
+import com.google.common.collect.Lists;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.event.entity.DomainEvent;
+import tdd.vendingMachine.event.enums.BackpressurePolicy;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Service
+public class DomainEventBus {
+
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+	public void publish(DomainEvent event) {
+		for (Subscription subscription : subscriptions) {
+			subscription.offer(event);
+		}
+	}
+
+	public Subscription subscribe(String name, DomainEventListener listener) {
+		return register(new InlineSubscription(name, listener));
+	}
+
+	public Subscription subscribeAsync(String name, DomainEventListener listener, int capacity,
+			BackpressurePolicy backpressurePolicy) {
+		return register(new AsyncSubscription(name, listener, capacity, backpressurePolicy));
+	}
+
+	public void unsubscribe(Subscription subscription) {
+		if (subscriptions.remove(subscription)) {
+			subscription.close();
+		}
+	}
+
+	public List<Subscription> getSubscriptions() {
+		return Lists.newArrayList(subscriptions);
+	}
+
+	@PreDestroy
+	public void close() {
+		subscriptions.forEach(this::unsubscribe);
+	}
+
+	private Subscription register(Subscription subscription) {
+		subscriptions.add(subscription);
+		return subscription;
+	}
+
+}
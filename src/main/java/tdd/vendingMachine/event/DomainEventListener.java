@@ -0,0 +1,10 @@
+package tdd.vendingMachine.event;
+
+import tdd.vendingMachine.event.entity.DomainEvent;
+
+@FunctionalInterface
+public interface DomainEventListener {
+
+	void onEvent(DomainEvent event);
+
+}
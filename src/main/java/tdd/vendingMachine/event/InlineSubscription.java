@@ -0,0 +1,21 @@
+package tdd.vendingMachine.event;
+
+import tdd.vendingMachine.event.entity.DomainEvent;
+
+class InlineSubscription extends Subscription {
+
+	InlineSubscription(String name, DomainEventListener listener) {
+		super(name, listener);
+	}
+
+	@Override
+	void offer(DomainEvent event) {
+		try {
+			listener.onEvent(event);
+			delivered.increment();
+		} catch (RuntimeException e) {
+			failed.increment();
+		}
+	}
+
+}
@@ -0,0 +1,43 @@
+package tdd.vendingMachine.event;
+
+import lombok.Getter;
+import tdd.vendingMachine.event.entity.DomainEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public abstract class Subscription {
+
+	@Getter
+	private final String name;
+
+	final DomainEventListener listener;
+
+	final LongAdder delivered = new LongAdder();
+
+	final LongAdder dropped = new LongAdder();
+
+	final LongAdder failed = new LongAdder();
+
+	Subscription(String name, DomainEventListener listener) {
+		this.name = name;
+		this.listener = listener;
+	}
+
+	abstract void offer(DomainEvent event);
+
+	void close() {
+	}
+
+	public long getDelivered() {
+		return delivered.sum();
+	}
+
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	public long getFailed() {
+		return failed.sum();
+	}
+
+}
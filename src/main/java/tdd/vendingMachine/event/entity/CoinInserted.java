@@ -0,0 +1,13 @@
+package tdd.vendingMachine.event.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tdd.vendingMachine.money.coin.entity.Coin;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class CoinInserted implements DomainEvent {
+
+	private Coin coin;
+
+}
@@ -0,0 +1,5 @@
+package tdd.vendingMachine.event.entity;
+
+public interface DomainEvent {
+
+}
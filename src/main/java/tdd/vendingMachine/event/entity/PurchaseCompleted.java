@@ -0,0 +1,26 @@
+package tdd.vendingMachine.event.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tdd.vendingMachine.money.coin.entity.Coin;
+import tdd.vendingMachine.product.Product;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class PurchaseCompleted implements DomainEvent {
+
+	private Integer shelveIndex;
+
+	private Product product;
+
+	private Map<Coin, Integer> ownedCoinsBefore;
+
+	private Map<Coin, Integer> ownedCoinsAfter;
+
+	private Map<Coin, Integer> insertedCoinsBefore;
+
+	private Map<Coin, Integer> insertedCoinsAfter;
+
+}
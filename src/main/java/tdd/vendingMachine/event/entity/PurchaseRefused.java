@@ -0,0 +1,18 @@
+package tdd.vendingMachine.event.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tdd.vendingMachine.machine.purchase.enums.PurchaseStatus;
+import tdd.vendingMachine.product.Product;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class PurchaseRefused implements DomainEvent {
+
+	private Integer shelveIndex;
+
+	private Product product;
+
+	private PurchaseStatus reason;
+
+}
@@ -0,0 +1,15 @@
+package tdd.vendingMachine.event.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tdd.vendingMachine.money.coin.entity.Coin;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class SessionCancelled implements DomainEvent {
+
+	private Map<Coin, Integer> returnedCoins;
+
+}
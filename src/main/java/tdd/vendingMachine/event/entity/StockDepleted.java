@@ -0,0 +1,15 @@
+package tdd.vendingMachine.event.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tdd.vendingMachine.product.Product;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class StockDepleted implements DomainEvent {
+
+	private Integer shelveIndex;
+
+	private Product product;
+
+}
@@ -0,0 +1,8 @@
+package tdd.vendingMachine.event.enums;
+
+public enum BackpressurePolicy {
+
+	DROP_NEWEST,
+	DROP_OLDEST
+
+}
@@ -0,0 +1,293 @@
+package tdd.vendingMachine.ledger;
+
+import com.google.common.collect.Lists;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.ledger.archive.TransactionArchiveWriter;
+import tdd.vendingMachine.ledger.archive.TransactionArchives;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.ledger.enums.LedgerDurability;
+import tdd.vendingMachine.ledger.projection.LedgerProjection;
+import tdd.vendingMachine.ledger.segment.LedgerSegment;
+import tdd.vendingMachine.ledger.snapshot.LedgerSnapshot;
+import tdd.vendingMachine.ledger.snapshot.LedgerSnapshotStore;
+import tdd.vendingMachine.ledger.writer.GroupCommitStatistics;
+import tdd.vendingMachine.ledger.writer.GroupCommitWriter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Service
+public class Ledger {
+
+	@Getter
+	private final boolean enabled;
+
+	private final Path directory;
+
+	private final int segmentCapacity;
+
+	@Getter
+	private final LedgerDurability durability;
+
+	private final int maxBatchSize;
+
+	private final long maxWaitMicros;
+
+	private final int snapshotInterval;
+
+	private final boolean archiveEnabled;
+
+	@Getter
+	private final Path archiveDirectory;
+
+	private GroupCommitWriter writer;
+
+	private ExecutorService maintenance;
+
+	private LedgerSnapshotStore snapshotStore;
+
+	private volatile LedgerSegment activeSegment;
+
+	private long nextSequence;
+
+	private LedgerProjection projection = new LedgerProjection();
+
+	@Getter
+	private LedgerProjection recoveredProjection = new LedgerProjection();
+
+	private int recordsSinceSnapshot;
+
+	@Autowired
+	public Ledger(@Value("${ledger.enabled:false}") boolean enabled,
+			@Value("${ledger.directory:ledger}") String directory,
+			@Value("${ledger.segment-capacity:65536}") int segmentCapacity,
+			@Value("${ledger.durability:ASYNC}") LedgerDurability durability,
+			@Value("${ledger.group-commit.max-batch-size:256}") int maxBatchSize,
+			@Value("${ledger.group-commit.max-wait-micros:1000}") long maxWaitMicros,
+			@Value("${ledger.snapshot.interval-records:10000}") int snapshotInterval,
+			@Value("${ledger.archive.enabled:false}") boolean archiveEnabled) {
+		this.enabled = enabled;
+		this.directory = Paths.get(directory);
+		this.segmentCapacity = segmentCapacity;
+		this.durability = durability;
+		this.maxBatchSize = maxBatchSize;
+		this.maxWaitMicros = maxWaitMicros;
+		this.snapshotInterval = snapshotInterval;
+		this.archiveEnabled = archiveEnabled;
+		this.archiveDirectory = this.directory.resolve("archive");
+
+		if (enabled) {
+			open();
+		}
+	}
+
+	public void append(LedgerRecord record) {
+		if (enabled) {
+			writer.write(record);
+		}
+	}
+
+	public CompletableFuture<Void> appendDurably(LedgerRecord record) {
+		if (!enabled) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		if (durability == LedgerDurability.GROUP_COMMIT) {
+			return writer.writeDurably(record);
+		}
+
+		writer.write(record);
+		return CompletableFuture.completedFuture(null);
+	}
+
+	public GroupCommitStatistics getGroupCommitStatistics() {
+		return enabled ? writer.getStatistics() : null;
+	}
+
+	public void replay(Consumer<LedgerRecord> consumer) {
+		if (!enabled) {
+			return;
+		}
+
+		try {
+			for (Path path : LedgerSegment.list(directory)) {
+				if (path.equals(activeSegment.getPath())) {
+					activeSegment.forEach(consumer);
+				} else {
+					try (LedgerSegment segment = LedgerSegment.open(path)) {
+						segment.forEach(consumer);
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@PreDestroy
+	public void close() throws IOException, InterruptedException {
+		if (!enabled) {
+			return;
+		}
+
+		writer.close();
+		maintenance.shutdown();
+		maintenance.awaitTermination(10, TimeUnit.SECONDS);
+		activeSegment.force();
+		if (recordsSinceSnapshot > 0) {
+			persistSnapshot(LedgerSnapshot.of(nextSequence - 1, projection));
+		}
+		activeSegment.close();
+	}
+
+	private void open() {
+		try {
+			Files.createDirectories(directory);
+			snapshotStore = new LedgerSnapshotStore(directory);
+			LedgerSnapshot snapshot = snapshotStore.readLatest();
+			long snapshotSequence = snapshot == null ? -1 : snapshot.getSequence();
+			if (snapshot != null) {
+				projection = snapshot.getProjection();
+			}
+
+			List<Path> segments = LedgerSegment.list(directory);
+			activeSegment = segments.isEmpty()
+				? LedgerSegment.create(directory, snapshotSequence + 1, segmentCapacity)
+				: LedgerSegment.open(segments.get(segments.size() - 1));
+			replayTail(segments, snapshotSequence);
+			nextSequence = Math.max(activeSegment.getLastSequence(), snapshotSequence) + 1;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		recoveredProjection = projection.copy();
+		maintenance = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "ledger-maintenance");
+			thread.setDaemon(true);
+			return thread;
+		});
+		writer = new GroupCommitWriter("ledger-writer", this::write, this::force, maxBatchSize, maxWaitMicros);
+		archivePendingSegments();
+	}
+
+	private void archivePendingSegments() {
+		if (!archiveEnabled) {
+			return;
+		}
+
+		try {
+			for (Path segment : LedgerSegment.list(directory)) {
+				if (!segment.equals(activeSegment.getPath()) &&
+					!Files.exists(TransactionArchives.pathFor(archiveDirectory, segment))) {
+					maintenance.execute(() -> archive(segment));
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void archive(Path segmentPath) {
+		List<LedgerRecord> records = Lists.newArrayList();
+		try (LedgerSegment segment = LedgerSegment.open(segmentPath)) {
+			segment.forEach(records::add);
+			Files.createDirectories(archiveDirectory);
+			TransactionArchiveWriter.write(TransactionArchives.pathFor(archiveDirectory, segmentPath), records);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void replayTail(List<Path> segments, long snapshotSequence) throws IOException {
+		Consumer<LedgerRecord> tail = record -> {
+			if (record.getSequence() > snapshotSequence) {
+				projection.apply(record);
+			}
+		};
+
+		for (int i = 0; i < segments.size(); i++) {
+			boolean sealed = i < segments.size() - 1;
+			if (sealed && LedgerSegment.baseSequenceOf(segments.get(i + 1)) <= snapshotSequence + 1) {
+				continue;
+			}
+			if (segments.get(i).equals(activeSegment.getPath())) {
+				activeSegment.forEach(tail);
+			} else {
+				try (LedgerSegment segment = LedgerSegment.open(segments.get(i))) {
+					segment.forEach(tail);
+				}
+			}
+		}
+	}
+
+	private void write(LedgerRecord record) {
+		record.setSequence(nextSequence);
+		if (!activeSegment.append(record)) {
+			rollSegment();
+			activeSegment.append(record);
+		}
+		nextSequence++;
+		projection.apply(record);
+
+		if (++recordsSinceSnapshot >= snapshotInterval) {
+			LedgerSnapshot snapshot = LedgerSnapshot.of(record.getSequence(), projection.copy());
+			recordsSinceSnapshot = 0;
+			maintenance.execute(() -> persistSnapshot(snapshot));
+		}
+	}
+
+	private void persistSnapshot(LedgerSnapshot snapshot) {
+		try {
+			snapshotStore.write(snapshot);
+			compact(snapshot.getSequence());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void compact(long snapshotSequence) throws IOException {
+		List<Path> segments = LedgerSegment.list(directory);
+		Path activePath = activeSegment.getPath();
+		for (int i = 0; i < segments.size() - 1; i++) {
+			boolean covered = LedgerSegment.baseSequenceOf(segments.get(i + 1)) <= snapshotSequence + 1;
+			boolean archived = !archiveEnabled ||
+				Files.exists(TransactionArchives.pathFor(archiveDirectory, segments.get(i)));
+			if (covered && archived && !segments.get(i).equals(activePath)) {
+				Files.deleteIfExists(segments.get(i));
+			}
+		}
+		snapshotStore.deleteOlderThan(snapshotSequence);
+	}
+
+	private void force() {
+		activeSegment.force();
+	}
+
+	private void rollSegment() {
+		try {
+			Path sealedSegment = activeSegment.getPath();
+			activeSegment.force();
+			activeSegment.close();
+			activeSegment = LedgerSegment.create(directory, nextSequence, segmentCapacity);
+			if (archiveEnabled) {
+				maintenance.execute(() -> archive(sealedSegment));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
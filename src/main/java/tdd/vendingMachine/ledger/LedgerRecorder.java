@@ -0,0 +1,125 @@
+package tdd.vendingMachine.ledger;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.event.DomainEventListener;
+import tdd.vendingMachine.event.entity.ChangeDispensed;
+import tdd.vendingMachine.event.entity.CoinInserted;
+import tdd.vendingMachine.event.entity.DomainEvent;
+import tdd.vendingMachine.event.entity.PurchaseCompleted;
+import tdd.vendingMachine.event.entity.SessionCancelled;
+import tdd.vendingMachine.ledger.enums.LedgerRecordType;
+import tdd.vendingMachine.ledger.factory.LedgerRecordFactory;
+import tdd.vendingMachine.machine.purchase.PurchaseJournal;
+import tdd.vendingMachine.metrics.Counter;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.money.coin.entity.Coin;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+import tdd.vendingMachine.money.util.MoneyUtil;
+import tdd.vendingMachine.product.Product;
+import tdd.vendingMachine.product.factory.ProductFactory;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+@Service
+public class LedgerRecorder implements DomainEventListener, PurchaseJournal {
+
+	private static final String PURCHASE_RECORDS = "vending_ledger_purchase_records_total";
+	private static final String PURCHASE_RECORDS_HELP = "Purchase records appended to the ledger by durability outcome.";
+
+	private static final Counter durablePurchases = Metrics.counter(PURCHASE_RECORDS, PURCHASE_RECORDS_HELP,
+		"outcome", "durable");
+	private static final Counter failedPurchases = Metrics.counter(PURCHASE_RECORDS, PURCHASE_RECORDS_HELP,
+		"outcome", "failed");
+
+	private final Ledger ledger;
+
+	private final DomainEventBus eventBus;
+
+	@Getter
+	private final int machineId;
+
+	@Autowired
+	public LedgerRecorder(Ledger ledger, DomainEventBus eventBus, @Value("${machine.id:0}") int machineId) {
+		this.ledger = ledger;
+		this.eventBus = eventBus;
+		this.machineId = machineId;
+	}
+
+	@PostConstruct
+	public void subscribe() {
+		eventBus.subscribe("ledger", this);
+	}
+
+	@Override
+	public void onEvent(DomainEvent event) {
+		if (event instanceof CoinInserted) {
+			coinInserted(((CoinInserted) event).getCoin());
+		} else if (event instanceof ChangeDispensed) {
+			changeDispensed(((ChangeDispensed) event).getCoins());
+		} else if (event instanceof SessionCancelled) {
+			Map<Coin, Integer> returnedCoins = ((SessionCancelled) event).getReturnedCoins();
+			if (!returnedCoins.isEmpty()) {
+				cancelled(returnedCoins);
+			}
+		}
+	}
+
+	@Override
+	public boolean record(PurchaseCompleted purchase) {
+		return purchased(purchase.getShelveIndex(), purchase.getProduct(), purchase.getOwnedCoinsBefore(),
+			purchase.getOwnedCoinsAfter(), purchase.getInsertedCoinsBefore(), purchase.getInsertedCoinsAfter());
+	}
+
+	public void shelveStocked(int shelveIndex, Product product, int quantity) {
+		ledger.append(LedgerRecordFactory.shelveStocked(machineId, shelveIndex, ProductFactory.codeOf(product),
+			quantity));
+	}
+
+	public void coinsStocked(Map<Coin, Integer> ownedCoins) {
+		ledger.append(LedgerRecordFactory.coinsStocked(machineId, MoneyUtil.toVector(ownedCoins)));
+	}
+
+	public void coinInserted(Coin coin) {
+		ledger.append(LedgerRecordFactory.coinInserted(machineId, CoinFactory.AVAILABLE_COINS.indexOf(coin)));
+	}
+
+	public boolean purchased(int shelveIndex, Product product, Map<Coin, Integer> ownedBefore,
+			Map<Coin, Integer> ownedAfter, Map<Coin, Integer> insertedBefore, Map<Coin, Integer> insertedAfter) {
+		try {
+			ledger.appendDurably(LedgerRecordFactory.purchase(machineId, shelveIndex, ProductFactory.codeOf(product),
+				product.getPrice().getAmountMinorInt(), delta(ownedBefore, ownedAfter),
+				delta(insertedBefore, insertedAfter))).join();
+			durablePurchases.increment();
+			return true;
+		} catch (CompletionException e) {
+			failedPurchases.increment();
+			return false;
+		}
+	}
+
+	public void changeDispensed(Map<Coin, Integer> change) {
+		ledger.append(LedgerRecordFactory.coinsReturned(LedgerRecordType.CHANGE_DISPENSED, machineId,
+			MoneyUtil.toVector(change)));
+	}
+
+	public void cancelled(Map<Coin, Integer> returnedCoins) {
+		ledger.append(LedgerRecordFactory.coinsReturned(LedgerRecordType.CANCEL, machineId,
+			MoneyUtil.toVector(returnedCoins)));
+	}
+
+	private static int[] delta(Map<Coin, Integer> before, Map<Coin, Integer> after) {
+		int[] delta = MoneyUtil.toVector(after);
+		int[] subtrahend = MoneyUtil.toVector(before);
+		for (int i = 0; i < delta.length; i++) {
+			delta[i] -= subtrahend[i];
+		}
+		return delta;
+	}
+
+}
@@ -0,0 +1,68 @@
+package tdd.vendingMachine.ledger;
+
+import com.google.common.collect.Maps;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.ledger.projection.MachineProjection;
+import tdd.vendingMachine.machine.Machine;
+import tdd.vendingMachine.money.change.ChangeStorage;
+import tdd.vendingMachine.money.util.MoneyUtil;
+import tdd.vendingMachine.shelve.entity.Shelve;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+@Service
+public class LedgerRecovery {
+
+	private final Ledger ledger;
+
+	private final LedgerRecorder ledgerRecorder;
+
+	private final Machine machine;
+
+	private final ChangeStorage changeStorage;
+
+	@Autowired
+	public LedgerRecovery(Ledger ledger, LedgerRecorder ledgerRecorder, Machine machine, ChangeStorage changeStorage) {
+		this.ledger = ledger;
+		this.ledgerRecorder = ledgerRecorder;
+		this.machine = machine;
+		this.changeStorage = changeStorage;
+	}
+
+	@PostConstruct
+	public void recover() {
+		if (!ledger.isEnabled()) {
+			return;
+		}
+
+		MachineProjection machineProjection = ledger.getRecoveredProjection().getMachine(ledgerRecorder.getMachineId());
+
+		if (machineProjection == null) {
+			recordInitialStock();
+		} else {
+			restore(machineProjection);
+		}
+	}
+
+	private void recordInitialStock() {
+		List<Shelve> shelves = machine.getShelves();
+		for (int i = 0; i < shelves.size(); i++) {
+			ledgerRecorder.shelveStocked(i, shelves.get(i).getProduct(), shelves.get(i).getQuantity());
+		}
+		ledgerRecorder.coinsStocked(changeStorage.getOwnedCoins());
+	}
+
+	private void restore(MachineProjection machineProjection) {
+		machineProjection.getShelveQuantities().forEach((index, quantity) -> {
+			if (index < machine.getShelves().size()) {
+				machine.getShelve(index).setQuantity(quantity);
+			}
+		});
+		changeStorage.setOwnedCoins(MoneyUtil.fromVector(machineProjection.getOwnedCoins()));
+		changeStorage.setInsertedCoins(Maps.newLinkedHashMap(Maps.filterValues(
+			MoneyUtil.fromVector(machineProjection.getInsertedCoins()), count -> count > 0)));
+	}
+
+}
@@ -0,0 +1,49 @@
+package tdd.vendingMachine.ledger.archive;
+
+import lombok.Getter;
+
+@Getter
+class ArchiveLayout {
+
+	private final int machineDictionary;
+
+	private final int productDictionary;
+
+	private final int machines;
+
+	private final int shelves;
+
+	private final int products;
+
+	private final int prices;
+
+	private final int coinsIn;
+
+	private final int coinsOut;
+
+	private final int timestamps;
+
+	private final int size;
+
+	private ArchiveLayout(int rows, int machineDictionarySize, int productDictionarySize) {
+		machineDictionary = TransactionArchive.HEADER_SIZE;
+		productDictionary = machineDictionary + machineDictionarySize * 4;
+		machines = align(productDictionary + productDictionarySize * 4);
+		shelves = align(machines + rows * 2);
+		products = align(shelves + rows);
+		prices = align(products + rows);
+		coinsIn = align(prices + rows * 4);
+		coinsOut = align(coinsIn + rows * 4);
+		timestamps = align(coinsOut + rows * 4);
+		size = align(timestamps + rows * 4);
+	}
+
+	static ArchiveLayout of(int rows, int machineDictionarySize, int productDictionarySize) {
+		return new ArchiveLayout(rows, machineDictionarySize, productDictionarySize);
+	}
+
+	private static int align(int offset) {
+		return (offset + 7) & ~7;
+	}
+
+}
@@ -0,0 +1,157 @@
+package tdd.vendingMachine.ledger.archive;
+
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class TransactionArchive implements Closeable {
+
+	static final int MAGIC = 0x564d4341;
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 64;
+
+	private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+	private final FileChannel channel;
+
+	@Getter
+	private final int rows;
+
+	@Getter
+	private final long baseTimestamp;
+
+	@Getter
+	private final long firstSequence;
+
+	@Getter
+	private final long lastSequence;
+
+	private final int timestampUnit;
+
+	private final int[] machineDictionary;
+
+	private final int[] productDictionary;
+
+	private final ShortBuffer machines;
+
+	private final ByteBuffer shelves;
+
+	private final ByteBuffer products;
+
+	private final IntBuffer prices;
+
+	private final IntBuffer coinsIn;
+
+	private final IntBuffer coinsOut;
+
+	private final IntBuffer timestamps;
+
+	private TransactionArchive(Path path) throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			channel.close();
+			throw new IOException("File " + path + " is not a transaction archive.");
+		}
+
+		rows = buffer.getInt(8);
+		ArchiveLayout layout = ArchiveLayout.of(rows, buffer.getInt(12), buffer.getInt(16));
+		timestampUnit = buffer.getInt(20);
+		baseTimestamp = buffer.getLong(24);
+		firstSequence = buffer.getLong(32);
+		lastSequence = buffer.getLong(40);
+		machineDictionary = readDictionary(buffer, layout.getMachineDictionary(), buffer.getInt(12));
+		productDictionary = readDictionary(buffer, layout.getProductDictionary(), buffer.getInt(16));
+
+		machines = column(buffer, layout.getMachines(), rows * 2).asShortBuffer();
+		shelves = column(buffer, layout.getShelves(), rows);
+		products = column(buffer, layout.getProducts(), rows);
+		prices = column(buffer, layout.getPrices(), rows * 4).asIntBuffer();
+		coinsIn = column(buffer, layout.getCoinsIn(), rows * 4).asIntBuffer();
+		coinsOut = column(buffer, layout.getCoinsOut(), rows * 4).asIntBuffer();
+		timestamps = column(buffer, layout.getTimestamps(), rows * 4).asIntBuffer();
+	}
+
+	public static TransactionArchive open(Path path) throws IOException {
+		return new TransactionArchive(path);
+	}
+
+	public int getMachineId(int row) {
+		return machineDictionary[machines.get(row)];
+	}
+
+	public int getShelveIndex(int row) {
+		return shelves.get(row);
+	}
+
+	public int getProductCode(int row) {
+		return productDictionary[products.get(row)];
+	}
+
+	public int getPriceMinor(int row) {
+		return prices.get(row);
+	}
+
+	public int getCoinsInMinor(int row) {
+		return coinsIn.get(row);
+	}
+
+	public int getCoinsOutMinor(int row) {
+		return coinsOut.get(row);
+	}
+
+	public long getTimestamp(int row) {
+		return baseTimestamp + (long) timestamps.get(row) * timestampUnit;
+	}
+
+	public void accumulateRevenuePerProductPerDay(Map<Long, long[]> revenue, int productCodes) {
+		long currentDay = Long.MIN_VALUE;
+		long[] currentRevenue = null;
+
+		for (int row = 0; row < rows; row++) {
+			long day = Math.floorDiv(baseTimestamp + (long) timestamps.get(row) * timestampUnit, MILLIS_PER_DAY);
+			if (day != currentDay) {
+				currentDay = day;
+				currentRevenue = revenue.computeIfAbsent(day, key -> new long[productCodes]);
+			}
+			int productCode = productDictionary[products.get(row)];
+			if (productCode >= 0 && productCode < productCodes) {
+				currentRevenue[productCode] += prices.get(row);
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private static int[] readDictionary(ByteBuffer buffer, int offset, int size) {
+		int[] dictionary = new int[size];
+		for (int i = 0; i < size; i++) {
+			dictionary[i] = buffer.getInt(offset + i * 4);
+		}
+		return dictionary;
+	}
+
+	private static ByteBuffer column(ByteBuffer buffer, int offset, int length) {
+		ByteBuffer view = buffer.duplicate();
+		view.position(offset);
+		view.limit(offset + length);
+		return view.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+}
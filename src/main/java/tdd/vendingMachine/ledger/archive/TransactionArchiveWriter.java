@@ -0,0 +1,116 @@
+package tdd.vendingMachine.ledger.archive;
+
+import com.google.common.collect.Lists;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.ledger.enums.LedgerRecordType;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static tdd.vendingMachine.ledger.archive.TransactionArchive.*;
+
+public class TransactionArchiveWriter {
+
+	private static final int[] COIN_VALUES = CoinFactory.AVAILABLE_COINS.stream()
+		.mapToInt(coin -> coin.getNominal().getAmountMinorInt())
+		.toArray();
+
+	public static void write(Path target, List<LedgerRecord> records) throws IOException {
+		List<LedgerRecord> purchases = Lists.newArrayList();
+		List<Integer> changes = Lists.newArrayList();
+		for (int i = 0; i < records.size(); i++) {
+			if (records.get(i).getType() == LedgerRecordType.PURCHASE) {
+				purchases.add(records.get(i));
+				changes.add(changeValue(records, i));
+			}
+		}
+		int rows = purchases.size();
+
+		int[] machineDictionary = purchases.stream().mapToInt(LedgerRecord::getMachineId).distinct().sorted().toArray();
+		int[] productDictionary = purchases.stream().mapToInt(LedgerRecord::getProductCode).distinct().sorted().toArray();
+		long baseTimestamp = purchases.stream().mapToLong(LedgerRecord::getTimestamp).min().orElse(0);
+		long span = purchases.stream().mapToLong(LedgerRecord::getTimestamp).max().orElse(0) - baseTimestamp;
+		int timestampUnit = span <= Integer.MAX_VALUE ? 1 : 1000;
+
+		ArchiveLayout layout = ArchiveLayout.of(rows, machineDictionary.length, productDictionary.length);
+		ByteBuffer buffer = ByteBuffer.allocate(layout.getSize()).order(ByteOrder.LITTLE_ENDIAN);
+
+		buffer.putInt(0, MAGIC);
+		buffer.putInt(4, VERSION);
+		buffer.putInt(8, rows);
+		buffer.putInt(12, machineDictionary.length);
+		buffer.putInt(16, productDictionary.length);
+		buffer.putInt(20, timestampUnit);
+		buffer.putLong(24, baseTimestamp);
+		buffer.putLong(32, rows == 0 ? -1 : purchases.get(0).getSequence());
+		buffer.putLong(40, rows == 0 ? -1 : purchases.get(rows - 1).getSequence());
+		for (int i = 0; i < machineDictionary.length; i++) {
+			buffer.putInt(layout.getMachineDictionary() + i * 4, machineDictionary[i]);
+		}
+		for (int i = 0; i < productDictionary.length; i++) {
+			buffer.putInt(layout.getProductDictionary() + i * 4, productDictionary[i]);
+		}
+
+		for (int row = 0; row < rows; row++) {
+			LedgerRecord purchase = purchases.get(row);
+			buffer.putShort(layout.getMachines() + row * 2, (short) indexOf(machineDictionary, purchase.getMachineId()));
+			buffer.put(layout.getShelves() + row, (byte) purchase.getShelveIndex());
+			buffer.put(layout.getProducts() + row, (byte) indexOf(productDictionary, purchase.getProductCode()));
+			buffer.putInt(layout.getPrices() + row * 4, purchase.getPriceMinor());
+			buffer.putInt(layout.getCoinsIn() + row * 4, purchase.getPriceMinor() + changes.get(row));
+			buffer.putInt(layout.getCoinsOut() + row * 4, changes.get(row));
+			buffer.putInt(layout.getTimestamps() + row * 4,
+				(int) ((purchase.getTimestamp() - baseTimestamp) / timestampUnit));
+		}
+
+		Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			channel.write(buffer);
+			channel.force(true);
+		}
+		Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static int changeValue(List<LedgerRecord> records, int purchaseIndex) {
+		LedgerRecord purchase = records.get(purchaseIndex);
+		for (int i = purchaseIndex + 1; i < records.size(); i++) {
+			LedgerRecord next = records.get(i);
+			if (next.getMachineId() == purchase.getMachineId()) {
+				if (next.getType() == LedgerRecordType.CHANGE_DISPENSED) {
+					return coinsValue(next.getInsertedDelta(), -1);
+				}
+				break;
+			}
+		}
+		return coinsValue(purchase.getInsertedDelta(), 1);
+	}
+
+	private static int coinsValue(int[] insertedDelta, int sign) {
+		int value = 0;
+		for (int i = 0; i < insertedDelta.length; i++) {
+			if (insertedDelta[i] * sign > 0) {
+				value += insertedDelta[i] * sign * COIN_VALUES[i];
+			}
+		}
+		return value;
+	}
+
+	private static int indexOf(int[] dictionary, int value) {
+		for (int i = 0; i < dictionary.length; i++) {
+			if (dictionary[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,84 @@
+package tdd.vendingMachine.ledger.archive;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joda.money.CurrencyUnit;
+import org.joda.money.Money;
+import tdd.vendingMachine.product.factory.ProductFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class TransactionArchives {
+
+	private static final String SUFFIX = ".col";
+
+	public static Path pathFor(Path directory, Path segment) {
+		String fileName = segment.getFileName().toString();
+		return directory.resolve(fileName.substring(0, fileName.lastIndexOf('.')) + SUFFIX);
+	}
+
+	public static List<Path> list(Path directory) throws IOException {
+		if (!Files.isDirectory(directory)) {
+			return Lists.newArrayList();
+		}
+
+		try (Stream<Path> paths = Files.list(directory)) {
+			return paths
+				.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+				.sorted()
+				.collect(Collectors.toList());
+		}
+	}
+
+	public static SortedMap<LocalDate, Map<String, Money>> revenuePerProductPerDay(Path directory)
+			throws IOException {
+		int productCodes = ProductFactory.AVAILABLE_PRODUCTS.size();
+		Map<Long, long[]> revenue = list(directory)
+			.parallelStream()
+			.map(path -> scanRevenue(path, productCodes))
+			.reduce(Maps.newHashMap(), (base, addend) -> merge(Maps.newHashMap(base), addend));
+
+		SortedMap<LocalDate, Map<String, Money>> report = Maps.newTreeMap();
+		revenue.forEach((day, amounts) -> {
+			Map<String, Money> products = Maps.newLinkedHashMap();
+			for (int code = 0; code < amounts.length; code++) {
+				if (amounts[code] > 0) {
+					products.put(ProductFactory.ofCode(code).getName(), Money.ofMinor(CurrencyUnit.USD, amounts[code]));
+				}
+			}
+			report.put(LocalDate.ofEpochDay(day), products);
+		});
+		return report;
+	}
+
+	private static Map<Long, long[]> scanRevenue(Path path, int productCodes) {
+		Map<Long, long[]> revenue = Maps.newHashMap();
+		try (TransactionArchive archive = TransactionArchive.open(path)) {
+			archive.accumulateRevenuePerProductPerDay(revenue, productCodes);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return revenue;
+	}
+
+	private static Map<Long, long[]> merge(Map<Long, long[]> base, Map<Long, long[]> addend) {
+		addend.forEach((day, amounts) -> base.merge(day, amounts.clone(), (left, right) -> {
+			long[] sum = left.clone();
+			for (int i = 0; i < sum.length; i++) {
+				sum[i] += right[i];
+			}
+			return sum;
+		}));
+		return base;
+	}
+
+}
@@ -0,0 +1,98 @@
+package tdd.vendingMachine.ledger.codec;
+
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.ledger.enums.LedgerRecordType;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+public class LedgerRecordCodec {
+
+	public static final int RECORD_SIZE = 64;
+
+	private static final int COINS = CoinFactory.AVAILABLE_COINS.size();
+	private static final int OWNED_OFFSET = 32;
+	private static final int INSERTED_OFFSET = OWNED_OFFSET + COINS * 2;
+	private static final int CHECKSUM_OFFSET = RECORD_SIZE - 4;
+
+	private final byte[] scratch = new byte[RECORD_SIZE];
+
+	private final ByteBuffer scratchBuffer = ByteBuffer.wrap(scratch);
+
+	private final CRC32 crc = new CRC32();
+
+	public void encode(LedgerRecord record, ByteBuffer target, int offset) {
+		scratchBuffer.clear();
+		scratchBuffer.putLong(0, record.getSequence());
+		scratchBuffer.putLong(8, record.getTimestamp());
+		scratchBuffer.putInt(16, record.getMachineId());
+		scratchBuffer.put(20, record.getType().getCode());
+		scratchBuffer.put(21, (byte) record.getShelveIndex());
+		scratchBuffer.put(22, (byte) record.getProductCode());
+		scratchBuffer.put(23, (byte) 0);
+		scratchBuffer.putShort(24, toShort(record.getQuantity()));
+		scratchBuffer.putShort(26, (short) 0);
+		scratchBuffer.putInt(28, record.getPriceMinor());
+		putVector(OWNED_OFFSET, record.getOwnedDelta());
+		putVector(INSERTED_OFFSET, record.getInsertedDelta());
+		for (int i = INSERTED_OFFSET + COINS * 2; i < CHECKSUM_OFFSET; i++) {
+			scratch[i] = 0;
+		}
+		scratchBuffer.putInt(CHECKSUM_OFFSET, checksum());
+
+		target.position(offset);
+		target.put(scratch);
+	}
+
+	public LedgerRecord decode(ByteBuffer source, int offset) {
+		source.position(offset);
+		source.get(scratch);
+
+		LedgerRecordType type = LedgerRecordType.ofCode(scratch[20]);
+		if (type == null || scratchBuffer.getInt(CHECKSUM_OFFSET) != checksum()) {
+			return null;
+		}
+
+		return LedgerRecord.of(
+			scratchBuffer.getLong(0),
+			scratchBuffer.getLong(8),
+			type,
+			scratchBuffer.getInt(16),
+			scratch[21],
+			scratch[22],
+			scratchBuffer.getShort(24),
+			scratchBuffer.getInt(28),
+			getVector(OWNED_OFFSET),
+			getVector(INSERTED_OFFSET)
+		);
+	}
+
+	private int checksum() {
+		crc.reset();
+		crc.update(scratch, 0, CHECKSUM_OFFSET);
+		return (int) crc.getValue();
+	}
+
+	private void putVector(int offset, int[] vector) {
+		for (int i = 0; i < COINS; i++) {
+			scratchBuffer.putShort(offset + i * 2, toShort(vector[i]));
+		}
+	}
+
+	private int[] getVector(int offset) {
+		int[] vector = new int[COINS];
+		for (int i = 0; i < COINS; i++) {
+			vector[i] = scratchBuffer.getShort(offset + i * 2);
+		}
+		return vector;
+	}
+
+	private static short toShort(int value) {
+		if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Value " + value + " does not fit in ledger record.");
+		}
+		return (short) value;
+	}
+
+}
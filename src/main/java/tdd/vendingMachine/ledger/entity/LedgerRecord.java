@@ -0,0 +1,33 @@
+package tdd.vendingMachine.ledger.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import tdd.vendingMachine.ledger.enums.LedgerRecordType;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class LedgerRecord {
+
+	@Setter
+	private long sequence;
+
+	private long timestamp;
+
+	private LedgerRecordType type;
+
+	private int machineId;
+
+	private int shelveIndex;
+
+	private int productCode;
+
+	private int quantity;
+
+	private int priceMinor;
+
+	private int[] ownedDelta;
+
+	private int[] insertedDelta;
+
+}
@@ -0,0 +1,8 @@
+package tdd.vendingMachine.ledger.enums;
+
+public enum LedgerDurability {
+
+	ASYNC,
+	GROUP_COMMIT
+
+}
@@ -0,0 +1,21 @@
+package tdd.vendingMachine.ledger.enums;
+
+public enum LedgerRecordType {
+
+	SHELVE_STOCKED,
+	COINS_STOCKED,
+	COIN_INSERTED,
+	PURCHASE,
+	CHANGE_DISPENSED,
+	CANCEL;
+
+	public byte getCode() {
+		return (byte) (ordinal() + 1);
+	}
+
+	public static LedgerRecordType ofCode(byte code) {
+		LedgerRecordType[] types = values();
+		return code > 0 && code <= types.length ? types[code - 1] : null;
+	}
+
+}
@@ -0,0 +1,48 @@
+package tdd.vendingMachine.ledger.factory;
+
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.ledger.enums.LedgerRecordType;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+
+public class LedgerRecordFactory {
+
+	public static LedgerRecord shelveStocked(int machineId, int shelveIndex, int productCode, int quantity) {
+		return create(LedgerRecordType.SHELVE_STOCKED, machineId, shelveIndex, productCode, quantity, 0,
+			emptyVector(), emptyVector());
+	}
+
+	public static LedgerRecord coinsStocked(int machineId, int[] ownedCoins) {
+		return create(LedgerRecordType.COINS_STOCKED, machineId, -1, -1, 0, 0, ownedCoins, emptyVector());
+	}
+
+	public static LedgerRecord coinInserted(int machineId, int coinIndex) {
+		int[] insertedDelta = emptyVector();
+		insertedDelta[coinIndex] = 1;
+		return create(LedgerRecordType.COIN_INSERTED, machineId, -1, -1, 0, 0, emptyVector(), insertedDelta);
+	}
+
+	public static LedgerRecord purchase(int machineId, int shelveIndex, int productCode, int priceMinor,
+			int[] ownedDelta, int[] insertedDelta) {
+		return create(LedgerRecordType.PURCHASE, machineId, shelveIndex, productCode, 1, priceMinor, ownedDelta,
+			insertedDelta);
+	}
+
+	public static LedgerRecord coinsReturned(LedgerRecordType type, int machineId, int[] returnedCoins) {
+		int[] insertedDelta = emptyVector();
+		for (int i = 0; i < insertedDelta.length; i++) {
+			insertedDelta[i] = -returnedCoins[i];
+		}
+		return create(type, machineId, -1, -1, 0, 0, emptyVector(), insertedDelta);
+	}
+
+	public static int[] emptyVector() {
+		return new int[CoinFactory.AVAILABLE_COINS.size()];
+	}
+
+	private static LedgerRecord create(LedgerRecordType type, int machineId, int shelveIndex, int productCode,
+			int quantity, int priceMinor, int[] ownedDelta, int[] insertedDelta) {
+		return LedgerRecord.of(0, System.currentTimeMillis(), type, machineId, shelveIndex, productCode, quantity,
+			priceMinor, ownedDelta, insertedDelta);
+	}
+
+}
@@ -0,0 +1,48 @@
+package tdd.vendingMachine.ledger.projection;
+
+import com.google.common.collect.Maps;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.ledger.settlement.MachineSettlement;
+
+import java.util.Map;
+import java.util.SortedMap;
+
+public class LedgerProjection {
+
+	private final SortedMap<Integer, MachineProjection> machines = Maps.newTreeMap();
+
+	private final SortedMap<Integer, MachineSettlement> settlements = Maps.newTreeMap();
+
+	public void apply(LedgerRecord record) {
+		getOrCreateMachine(record.getMachineId()).apply(record);
+		getOrCreateSettlement(record.getMachineId()).apply(record);
+	}
+
+	public MachineProjection getOrCreateMachine(int machineId) {
+		return machines.computeIfAbsent(machineId, MachineProjection::new);
+	}
+
+	public MachineSettlement getOrCreateSettlement(int machineId) {
+		return settlements.computeIfAbsent(machineId, MachineSettlement::new);
+	}
+
+	public LedgerProjection copy() {
+		LedgerProjection copy = new LedgerProjection();
+		machines.forEach((machineId, machine) -> copy.machines.put(machineId, machine.copy()));
+		settlements.forEach((machineId, settlement) -> copy.settlements.put(machineId, settlement.copy()));
+		return copy;
+	}
+
+	public MachineProjection getMachine(int machineId) {
+		return machines.get(machineId);
+	}
+
+	public Map<Integer, MachineProjection> getMachines() {
+		return Maps.newTreeMap(machines);
+	}
+
+	public SortedMap<Integer, MachineSettlement> getSettlements() {
+		return Maps.newTreeMap(settlements);
+	}
+
+}
@@ -0,0 +1,61 @@
+package tdd.vendingMachine.ledger.projection;
+
+import com.google.common.collect.Maps;
+import lombok.Getter;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.ledger.factory.LedgerRecordFactory;
+
+import java.util.Map;
+
+@Getter
+public class MachineProjection {
+
+	private final int machineId;
+
+	private final Map<Integer, Integer> shelveQuantities = Maps.newTreeMap();
+
+	private final Map<Integer, Integer> shelveProducts = Maps.newTreeMap();
+
+	private final int[] ownedCoins = LedgerRecordFactory.emptyVector();
+
+	private final int[] insertedCoins = LedgerRecordFactory.emptyVector();
+
+	MachineProjection(int machineId) {
+		this.machineId = machineId;
+	}
+
+	MachineProjection copy() {
+		MachineProjection copy = new MachineProjection(machineId);
+		copy.shelveQuantities.putAll(shelveQuantities);
+		copy.shelveProducts.putAll(shelveProducts);
+		System.arraycopy(ownedCoins, 0, copy.ownedCoins, 0, ownedCoins.length);
+		System.arraycopy(insertedCoins, 0, copy.insertedCoins, 0, insertedCoins.length);
+		return copy;
+	}
+
+	void apply(LedgerRecord record) {
+		switch (record.getType()) {
+			case SHELVE_STOCKED:
+				shelveQuantities.put(record.getShelveIndex(), record.getQuantity());
+				shelveProducts.put(record.getShelveIndex(), record.getProductCode());
+				break;
+			case COINS_STOCKED:
+				System.arraycopy(record.getOwnedDelta(), 0, ownedCoins, 0, ownedCoins.length);
+				break;
+			case PURCHASE:
+				shelveQuantities.merge(record.getShelveIndex(), -record.getQuantity(), Integer::sum);
+				addVectors(record);
+				break;
+			default:
+				addVectors(record);
+		}
+	}
+
+	private void addVectors(LedgerRecord record) {
+		for (int i = 0; i < ownedCoins.length; i++) {
+			ownedCoins[i] += record.getOwnedDelta()[i];
+			insertedCoins[i] += record.getInsertedDelta()[i];
+		}
+	}
+
+}
@@ -0,0 +1,154 @@
+package tdd.vendingMachine.ledger.segment;
+
+import lombok.Getter;
+import tdd.vendingMachine.ledger.codec.LedgerRecordCodec;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static tdd.vendingMachine.ledger.codec.LedgerRecordCodec.RECORD_SIZE;
+
+public class LedgerSegment implements Closeable {
+
+	private static final String PREFIX = "segment-";
+	private static final String SUFFIX = ".log";
+
+	@Getter
+	private final Path path;
+
+	@Getter
+	private final long baseSequence;
+
+	private final int capacity;
+
+	private final FileChannel channel;
+
+	private final MappedByteBuffer buffer;
+
+	private final LedgerRecordCodec codec = new LedgerRecordCodec();
+
+	@Getter
+	private int size;
+
+	@Getter
+	private long lastSequence;
+
+	private LedgerSegment(Path path, long baseSequence, int capacity) throws IOException {
+		this.path = path;
+		this.baseSequence = baseSequence;
+		this.capacity = capacity;
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+			StandardOpenOption.WRITE);
+		this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+		this.lastSequence = baseSequence - 1;
+		recover();
+	}
+
+	public static LedgerSegment create(Path directory, long baseSequence, int capacity) throws IOException {
+		return new LedgerSegment(directory.resolve(fileName(baseSequence)), baseSequence, capacity);
+	}
+
+	public static LedgerSegment open(Path path) throws IOException {
+		int capacity = (int) (Files.size(path) / RECORD_SIZE);
+		return new LedgerSegment(path, baseSequenceOf(path), capacity);
+	}
+
+	public static List<Path> list(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.list(directory)) {
+			return paths
+				.filter(LedgerSegment::isSegment)
+				.sorted((base, compare) -> Long.compare(baseSequenceOf(base), baseSequenceOf(compare)))
+				.collect(Collectors.toList());
+		}
+	}
+
+	public static void read(Path path, Consumer<LedgerRecord> consumer) throws IOException {
+		try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer view = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+			LedgerRecordCodec readCodec = new LedgerRecordCodec();
+			int records = (int) (readChannel.size() / RECORD_SIZE);
+			for (int i = 0; i < records; i++) {
+				LedgerRecord record = readCodec.decode(view, i * RECORD_SIZE);
+				if (record == null) {
+					return;
+				}
+				consumer.accept(record);
+			}
+		}
+	}
+
+	public static String fileName(long baseSequence) {
+		return PREFIX + String.format("%020d", baseSequence) + SUFFIX;
+	}
+
+	public static long baseSequenceOf(Path path) {
+		String fileName = path.getFileName().toString();
+		return Long.parseLong(fileName.substring(PREFIX.length(), fileName.length() - SUFFIX.length()));
+	}
+
+	public boolean append(LedgerRecord record) {
+		if (isFull()) {
+			return false;
+		}
+
+		codec.encode(record, buffer, size * RECORD_SIZE);
+		lastSequence = record.getSequence();
+		size++;
+		return true;
+	}
+
+	public void forEach(Consumer<LedgerRecord> consumer) {
+		ByteBuffer view = buffer.duplicate();
+		LedgerRecordCodec readCodec = new LedgerRecordCodec();
+		int records = size;
+		for (int i = 0; i < records; i++) {
+			consumer.accept(readCodec.decode(view, i * RECORD_SIZE));
+		}
+	}
+
+	public boolean isFull() {
+		return size == capacity;
+	}
+
+	public void force() {
+		buffer.force();
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private void recover() {
+		while (size < capacity) {
+			LedgerRecord record = codec.decode(buffer, size * RECORD_SIZE);
+			if (record == null) {
+				break;
+			}
+			lastSequence = record.getSequence();
+			size++;
+		}
+
+		if (!isFull()) {
+			buffer.position(size * RECORD_SIZE);
+			buffer.put(new byte[RECORD_SIZE]);
+		}
+	}
+
+	private static boolean isSegment(Path path) {
+		String fileName = path.getFileName().toString();
+		return fileName.startsWith(PREFIX) && fileName.endsWith(SUFFIX);
+	}
+
+}
@@ -0,0 +1,33 @@
+package tdd.vendingMachine.ledger.settlement;
+
+import com.google.common.collect.ImmutableSortedMap;
+import tdd.vendingMachine.ledger.segment.LedgerSegment;
+import tdd.vendingMachine.ledger.snapshot.LedgerSnapshot;
+import tdd.vendingMachine.ledger.snapshot.LedgerSnapshotStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.ForkJoinPool;
+
+public class LedgerSettlement {
+
+	/**
+	 * Compaction deletes segments once a snapshot covers them, so the totals up to the latest
+	 * snapshot come from the snapshot itself and only the records after it are reduced.
+	 */
+	public static SettlementReport settle(Path directory) throws IOException {
+		LedgerSnapshot snapshot = new LedgerSnapshotStore(directory).readLatest();
+		if (snapshot == null) {
+			return settle(LedgerSegment.list(directory), ForkJoinPool.commonPool());
+		}
+		return ForkJoinPool.commonPool().invoke(new SettlementTask(LedgerSegment.list(directory),
+			snapshot.getSequence(), snapshot.getProjection().getSettlements()));
+	}
+
+	public static SettlementReport settle(List<Path> segments, ForkJoinPool pool) {
+		return pool.invoke(new SettlementTask(segments, -1, ImmutableSortedMap.<Integer, MachineSettlement>of()));
+	}
+
+}
@@ -0,0 +1,129 @@
+package tdd.vendingMachine.ledger.settlement;
+
+import lombok.Getter;
+import lombok.Setter;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+
+@Getter
+@Setter
+public class MachineSettlement {
+
+	private static final int[] NOMINALS = CoinFactory.AVAILABLE_COINS.stream()
+		.mapToInt(coin -> coin.getNominal().getAmountMinorInt())
+		.toArray();
+
+	private final int machineId;
+
+	private final long[] coinsInserted = new long[NOMINALS.length];
+
+	private final long[] cashbox = new long[NOMINALS.length];
+
+	private final long[] changeDispensed = new long[NOMINALS.length];
+
+	private final long[] coinsRefunded = new long[NOMINALS.length];
+
+	private final long[] coinsPending = new long[NOMINALS.length];
+
+	private long purchases;
+
+	private long salesMinor;
+
+	private long purchaseConservationMinor;
+
+	public MachineSettlement(int machineId) {
+		this.machineId = machineId;
+	}
+
+	public MachineSettlement copy() {
+		MachineSettlement copy = new MachineSettlement(machineId);
+		copy.merge(this);
+		return copy;
+	}
+
+	public void apply(LedgerRecord record) {
+		int[] owned = record.getOwnedDelta();
+		int[] inserted = record.getInsertedDelta();
+		add(coinsPending, inserted, 1);
+		switch (record.getType()) {
+			case COIN_INSERTED:
+				add(coinsInserted, inserted, 1);
+				break;
+			case PURCHASE:
+				purchases += record.getQuantity();
+				salesMinor += record.getPriceMinor();
+				add(cashbox, owned, 1);
+				purchaseConservationMinor += valueOf(owned) + valueOf(inserted);
+				break;
+			case CHANGE_DISPENSED:
+				add(changeDispensed, inserted, -1);
+				break;
+			case CANCEL:
+				add(coinsRefunded, inserted, -1);
+				break;
+			default:
+				break;
+		}
+	}
+
+	void merge(MachineSettlement other) {
+		add(coinsInserted, other.coinsInserted);
+		add(cashbox, other.cashbox);
+		add(changeDispensed, other.changeDispensed);
+		add(coinsRefunded, other.coinsRefunded);
+		add(coinsPending, other.coinsPending);
+		purchases += other.purchases;
+		salesMinor += other.salesMinor;
+		purchaseConservationMinor += other.purchaseConservationMinor;
+	}
+
+	public long getCashboxMinor() {
+		return valueOf(cashbox);
+	}
+
+	public long getCashboxDiscrepancyMinor() {
+		return getCashboxMinor() - salesMinor;
+	}
+
+	public boolean isBalanced() {
+		if (getCashboxDiscrepancyMinor() != 0 || purchaseConservationMinor != 0) {
+			return false;
+		}
+
+		for (long pending : coinsPending) {
+			if (pending < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void add(long[] target, int[] delta, int sign) {
+		for (int i = 0; i < target.length; i++) {
+			target[i] += sign * delta[i];
+		}
+	}
+
+	private static void add(long[] target, long[] addend) {
+		for (int i = 0; i < target.length; i++) {
+			target[i] += addend[i];
+		}
+	}
+
+	private static long valueOf(int[] coins) {
+		long value = 0;
+		for (int i = 0; i < coins.length; i++) {
+			value += (long) coins[i] * NOMINALS[i];
+		}
+		return value;
+	}
+
+	private static long valueOf(long[] coins) {
+		long value = 0;
+		for (int i = 0; i < coins.length; i++) {
+			value += coins[i] * NOMINALS[i];
+		}
+		return value;
+	}
+
+}
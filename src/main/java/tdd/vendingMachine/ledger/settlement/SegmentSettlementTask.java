@@ -0,0 +1,44 @@
+package tdd.vendingMachine.ledger.settlement;
+
+import com.google.common.collect.Maps;
+import lombok.Getter;
+import tdd.vendingMachine.ledger.segment.LedgerSegment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+class SegmentSettlementTask extends RecursiveTask<Map<Integer, MachineSettlement>> {
+
+	private final Path segment;
+
+	private final long afterSequence;
+
+	@Getter
+	private long records;
+
+	SegmentSettlementTask(Path segment, long afterSequence) {
+		this.segment = segment;
+		this.afterSequence = afterSequence;
+	}
+
+	@Override
+	protected Map<Integer, MachineSettlement> compute() {
+		Map<Integer, MachineSettlement> machines = Maps.newHashMap();
+		try {
+			LedgerSegment.read(segment, record -> {
+				if (record.getSequence() <= afterSequence) {
+					return;
+				}
+				records++;
+				machines.computeIfAbsent(record.getMachineId(), MachineSettlement::new).apply(record);
+			});
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return machines;
+	}
+
+}
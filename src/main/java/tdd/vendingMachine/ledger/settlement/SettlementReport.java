@@ -0,0 +1,24 @@
+package tdd.vendingMachine.ledger.settlement;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class SettlementReport {
+
+	private long records;
+
+	private SortedMap<Integer, MachineSettlement> machines;
+
+	public List<MachineSettlement> getUnbalancedMachines() {
+		return machines.values().stream()
+			.filter(machine -> !machine.isBalanced())
+			.collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,43 @@
+package tdd.vendingMachine.ledger.settlement;
+
+import com.google.common.collect.Maps;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+class SettlementTask extends RecursiveTask<SettlementReport> {
+
+	private final List<Path> segments;
+
+	private final long afterSequence;
+
+	private final SortedMap<Integer, MachineSettlement> base;
+
+	SettlementTask(List<Path> segments, long afterSequence, SortedMap<Integer, MachineSettlement> base) {
+		this.segments = segments;
+		this.afterSequence = afterSequence;
+		this.base = base;
+	}
+
+	@Override
+	protected SettlementReport compute() {
+		List<SegmentSettlementTask> tasks = segments.stream()
+			.map(segment -> new SegmentSettlementTask(segment, afterSequence))
+			.collect(Collectors.toList());
+		invokeAll(tasks);
+
+		long records = 0;
+		SortedMap<Integer, MachineSettlement> machines = Maps.newTreeMap();
+		base.forEach((machineId, settlement) -> machines.put(machineId, settlement.copy()));
+		for (SegmentSettlementTask task : tasks) {
+			records += task.getRecords();
+			task.join().forEach((machineId, settlement) ->
+				machines.computeIfAbsent(machineId, MachineSettlement::new).merge(settlement));
+		}
+		return SettlementReport.of(records, machines);
+	}
+
+}
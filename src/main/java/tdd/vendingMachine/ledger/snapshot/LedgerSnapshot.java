@@ -0,0 +1,15 @@
+package tdd.vendingMachine.ledger.snapshot;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tdd.vendingMachine.ledger.projection.LedgerProjection;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class LedgerSnapshot {
+
+	private long sequence;
+
+	private LedgerProjection projection;
+
+}
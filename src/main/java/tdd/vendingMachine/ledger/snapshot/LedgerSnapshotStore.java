@@ -0,0 +1,218 @@
+package tdd.vendingMachine.ledger.snapshot;
+
+import tdd.vendingMachine.ledger.projection.LedgerProjection;
+import tdd.vendingMachine.ledger.projection.MachineProjection;
+import tdd.vendingMachine.ledger.settlement.MachineSettlement;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+public class LedgerSnapshotStore {
+
+	private static final String PREFIX = "snapshot-";
+	private static final String SUFFIX = ".bin";
+	private static final int MAGIC = 0x564d534e;
+	private static final int VERSION = 2;
+	private static final int VERSION_WITHOUT_SETTLEMENTS = 1;
+
+	private final Path directory;
+
+	public LedgerSnapshotStore(Path directory) {
+		this.directory = directory;
+	}
+
+	public void write(LedgerSnapshot snapshot) throws IOException {
+		byte[] content = encode(snapshot);
+		Path target = directory.resolve(fileName(snapshot.getSequence()));
+		Path temporary = directory.resolve(fileName(snapshot.getSequence()) + ".tmp");
+
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(content));
+			channel.force(true);
+		}
+		Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	public LedgerSnapshot readLatest() throws IOException {
+		List<Path> snapshots = list();
+		for (int i = snapshots.size() - 1; i >= 0; i--) {
+			LedgerSnapshot snapshot = decodeOrNull(Files.readAllBytes(snapshots.get(i)));
+			if (snapshot != null) {
+				return snapshot;
+			}
+		}
+		return null;
+	}
+
+	public void deleteOlderThan(long sequence) throws IOException {
+		for (Path path : list()) {
+			if (sequenceOf(path) < sequence) {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+
+	public List<Path> list() throws IOException {
+		try (Stream<Path> paths = Files.list(directory)) {
+			return paths
+				.filter(path -> path.getFileName().toString().startsWith(PREFIX))
+				.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+				.sorted((base, compare) -> Long.compare(sequenceOf(base), sequenceOf(compare)))
+				.collect(Collectors.toList());
+		}
+	}
+
+	private static String fileName(long sequence) {
+		return PREFIX + String.format("%020d", sequence) + SUFFIX;
+	}
+
+	private static long sequenceOf(Path path) {
+		String fileName = path.getFileName().toString();
+		return Long.parseLong(fileName.substring(PREFIX.length(), fileName.length() - SUFFIX.length()));
+	}
+
+	private static byte[] encode(LedgerSnapshot snapshot) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		Map<Integer, MachineProjection> machines = snapshot.getProjection().getMachines();
+
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeLong(snapshot.getSequence());
+		output.writeInt(machines.size());
+		for (MachineProjection machine : machines.values()) {
+			output.writeInt(machine.getMachineId());
+			output.writeInt(machine.getShelveQuantities().size());
+			for (Map.Entry<Integer, Integer> shelve : machine.getShelveQuantities().entrySet()) {
+				output.writeInt(shelve.getKey());
+				output.writeInt(machine.getShelveProducts().getOrDefault(shelve.getKey(), -1));
+				output.writeInt(shelve.getValue());
+			}
+			writeVector(output, machine.getOwnedCoins());
+			writeVector(output, machine.getInsertedCoins());
+		}
+
+		Map<Integer, MachineSettlement> settlements = snapshot.getProjection().getSettlements();
+		output.writeInt(settlements.size());
+		for (MachineSettlement settlement : settlements.values()) {
+			output.writeInt(settlement.getMachineId());
+			writeVector(output, settlement.getCoinsInserted());
+			writeVector(output, settlement.getCashbox());
+			writeVector(output, settlement.getChangeDispensed());
+			writeVector(output, settlement.getCoinsRefunded());
+			writeVector(output, settlement.getCoinsPending());
+			output.writeLong(settlement.getPurchases());
+			output.writeLong(settlement.getSalesMinor());
+			output.writeLong(settlement.getPurchaseConservationMinor());
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(bytes.toByteArray());
+		output.writeInt((int) crc.getValue());
+		return bytes.toByteArray();
+	}
+
+	private static LedgerSnapshot decodeOrNull(byte[] content) {
+		try {
+			return decode(content);
+		} catch (BufferUnderflowException e) {
+			return null;
+		}
+	}
+
+	private static LedgerSnapshot decode(byte[] content) {
+		if (content.length < 4) {
+			return null;
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(content, 0, content.length - 4);
+		ByteBuffer buffer = ByteBuffer.wrap(content);
+		if (buffer.getInt(content.length - 4) != (int) crc.getValue() || buffer.getInt() != MAGIC) {
+			return null;
+		}
+
+		int version = buffer.getInt();
+		if (version != VERSION && version != VERSION_WITHOUT_SETTLEMENTS) {
+			return null;
+		}
+
+		long sequence = buffer.getLong();
+		LedgerProjection projection = new LedgerProjection();
+		int machines = buffer.getInt();
+		for (int i = 0; i < machines; i++) {
+			MachineProjection machine = projection.getOrCreateMachine(buffer.getInt());
+			int shelves = buffer.getInt();
+			for (int j = 0; j < shelves; j++) {
+				int shelveIndex = buffer.getInt();
+				machine.getShelveProducts().put(shelveIndex, buffer.getInt());
+				machine.getShelveQuantities().put(shelveIndex, buffer.getInt());
+			}
+			readVector(buffer, machine.getOwnedCoins());
+			readVector(buffer, machine.getInsertedCoins());
+		}
+
+		int settlements = version == VERSION ? buffer.getInt() : 0;
+		for (int i = 0; i < settlements; i++) {
+			MachineSettlement settlement = projection.getOrCreateSettlement(buffer.getInt());
+			readVector(buffer, settlement.getCoinsInserted());
+			readVector(buffer, settlement.getCashbox());
+			readVector(buffer, settlement.getChangeDispensed());
+			readVector(buffer, settlement.getCoinsRefunded());
+			readVector(buffer, settlement.getCoinsPending());
+			settlement.setPurchases(buffer.getLong());
+			settlement.setSalesMinor(buffer.getLong());
+			settlement.setPurchaseConservationMinor(buffer.getLong());
+		}
+		return LedgerSnapshot.of(sequence, projection);
+	}
+
+	private static void writeVector(DataOutputStream output, int[] vector) throws IOException {
+		output.writeInt(vector.length);
+		for (int value : vector) {
+			output.writeInt(value);
+		}
+	}
+
+	private static void writeVector(DataOutputStream output, long[] vector) throws IOException {
+		output.writeInt(vector.length);
+		for (long value : vector) {
+			output.writeLong(value);
+		}
+	}
+
+	private static void readVector(ByteBuffer buffer, long[] vector) {
+		int length = buffer.getInt();
+		for (int i = 0; i < length; i++) {
+			long value = buffer.getLong();
+			if (i < vector.length) {
+				vector[i] = value;
+			}
+		}
+	}
+
+	private static void readVector(ByteBuffer buffer, int[] vector) {
+		int length = buffer.getInt();
+		for (int i = 0; i < length; i++) {
+			int value = buffer.getInt();
+			if (i < vector.length) {
+				vector[i] = value;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,18 @@
+package tdd.vendingMachine.ledger.writer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class GroupCommitBatch {
+
+	private int size;
+
+	private int durableRequests;
+
+	private long collectNanos;
+
+	private long forceNanos;
+
+}
@@ -0,0 +1,66 @@
+package tdd.vendingMachine.ledger.writer;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+public class GroupCommitStatistics {
+
+	private final AtomicLong batches = new AtomicLong();
+
+	private final AtomicLong records = new AtomicLong();
+
+	private final AtomicLong forces = new AtomicLong();
+
+	private final AtomicLong durableRequests = new AtomicLong();
+
+	private final AtomicLong forceNanos = new AtomicLong();
+
+	private final LongAccumulator largestBatch = new LongAccumulator(Math::max, 0);
+
+	@Getter
+	private volatile GroupCommitBatch lastBatch;
+
+	void record(GroupCommitBatch batch) {
+		batches.incrementAndGet();
+		records.addAndGet(batch.getSize());
+		largestBatch.accumulate(batch.getSize());
+		if (batch.getDurableRequests() > 0) {
+			forces.incrementAndGet();
+			durableRequests.addAndGet(batch.getDurableRequests());
+			forceNanos.addAndGet(batch.getForceNanos());
+		}
+		lastBatch = batch;
+	}
+
+	public long getBatches() {
+		return batches.get();
+	}
+
+	public long getRecords() {
+		return records.get();
+	}
+
+	public long getForces() {
+		return forces.get();
+	}
+
+	public long getDurableRequests() {
+		return durableRequests.get();
+	}
+
+	public long getForceNanos() {
+		return forceNanos.get();
+	}
+
+	public long getLargestBatch() {
+		return largestBatch.get();
+	}
+
+	public double getAverageDurableRequestsPerForce() {
+		long forceCount = forces.get();
+		return forceCount == 0 ? 0 : (double) durableRequests.get() / forceCount;
+	}
+
+}
@@ -0,0 +1,155 @@
+package tdd.vendingMachine.ledger.writer;
+
+import com.google.common.collect.Lists;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class GroupCommitWriter {
+
+	@AllArgsConstructor
+	private static class PendingRecord {
+
+		LedgerRecord record;
+
+		CompletableFuture<Void> durability;
+
+	}
+
+	private static final PendingRecord SHUTDOWN = new PendingRecord(null, null);
+
+	private final BlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+
+	private final List<PendingRecord> batch = Lists.newArrayList();
+
+	private final Consumer<LedgerRecord> sink;
+
+	private final Runnable force;
+
+	private final int maxBatchSize;
+
+	private final long maxWaitNanos;
+
+	private final Thread thread;
+
+	private long batchStartNanos;
+
+	@Getter
+	private final GroupCommitStatistics statistics = new GroupCommitStatistics();
+
+	public GroupCommitWriter(String name, Consumer<LedgerRecord> sink, Runnable force, int maxBatchSize,
+			long maxWaitMicros) {
+		this.sink = sink;
+		this.force = force;
+		this.maxBatchSize = Math.max(1, maxBatchSize);
+		this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+		this.thread = new Thread(this::run, name);
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	public void write(LedgerRecord record) {
+		queue.add(new PendingRecord(record, null));
+	}
+
+	public CompletableFuture<Void> writeDurably(LedgerRecord record) {
+		CompletableFuture<Void> durability = new CompletableFuture<>();
+		queue.add(new PendingRecord(record, durability));
+		return durability;
+	}
+
+	public void close() throws InterruptedException {
+		queue.add(SHUTDOWN);
+		thread.join();
+	}
+
+	private void run() {
+		boolean running = true;
+		while (running) {
+			try {
+				PendingRecord first = queue.take();
+				if (first == SHUTDOWN) {
+					return;
+				}
+				running = collectBatch(first);
+			} catch (InterruptedException e) {
+				running = false;
+			}
+			commitBatch();
+		}
+	}
+
+	private boolean collectBatch(PendingRecord first) throws InterruptedException {
+		batchStartNanos = System.nanoTime();
+		long deadline = batchStartNanos + maxWaitNanos;
+		boolean durable = first.durability != null;
+		batch.add(first);
+
+		while (batch.size() < maxBatchSize) {
+			PendingRecord next = durable
+				? queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)
+				: queue.poll();
+			if (next == null) {
+				break;
+			}
+			if (next == SHUTDOWN) {
+				return false;
+			}
+			durable |= next.durability != null;
+			batch.add(next);
+		}
+
+		return true;
+	}
+
+	private void commitBatch() {
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		long collectNanos = System.nanoTime() - batchStartNanos;
+		int durableRequests = 0;
+		Throwable failure = null;
+
+		try {
+			for (PendingRecord pendingRecord : batch) {
+				sink.accept(pendingRecord.record);
+				durableRequests += pendingRecord.durability == null ? 0 : 1;
+			}
+		} catch (RuntimeException e) {
+			failure = e;
+		}
+
+		long forceStartNanos = System.nanoTime();
+		if (failure == null && durableRequests > 0) {
+			try {
+				force.run();
+			} catch (RuntimeException e) {
+				failure = e;
+			}
+		}
+		long forceNanos = durableRequests > 0 ? System.nanoTime() - forceStartNanos : 0;
+		statistics.record(GroupCommitBatch.of(batch.size(), durableRequests, collectNanos, forceNanos));
+
+		for (PendingRecord pendingRecord : batch) {
+			if (pendingRecord.durability == null) {
+				continue;
+			}
+			if (failure == null) {
+				pendingRecord.durability.complete(null);
+			} else {
+				pendingRecord.durability.completeExceptionally(failure);
+			}
+		}
+
+		batch.clear();
+	}
+
+}
@@ -1,12 +1,13 @@
 package tdd.vendingMachine.machine;
 
 import com.google.common.collect.Lists;
-import lombok.Setter;
-import org.apache.commons.lang3.RandomUtils;
+import lombok.Getter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import tdd.vendingMachine.money.change.ChangeStorage;
-import tdd.vendingMachine.product.factory.ProductFactory;
+import tdd.vendingMachine.scenario.ScenarioGenerator;
+import tdd.vendingMachine.scenario.entity.Scenario;
+import tdd.vendingMachine.scenario.factory.ScenarioProfileFactory;
 import tdd.vendingMachine.shelve.entity.Shelve;
 
 import java.util.List;
@@ -18,19 +19,32 @@ public class Machine {
 
 	private ChangeStorage changeStorage;
 
-	@Setter
+	@Getter
 	private Integer activeShelveIndex;
 
-	@Autowired
+	private long version;
+
 	public Machine(ChangeStorage changeStorage) {
+		this(changeStorage, ScenarioGenerator.generate(ScenarioProfileFactory.classic()));
+	}
+
+	@Autowired
+	public Machine(ChangeStorage changeStorage, Scenario scenario) {
 		this.changeStorage = changeStorage;
-		createShelves();
+		shelves.addAll(scenario.createShelves());
+	}
+
+	public void setActiveShelveIndex(Integer activeShelveIndex) {
+		this.activeShelveIndex = activeShelveIndex;
+		version++;
 	}
 
-	private void createShelves() {
-		shelves.add(Shelve.of(ProductFactory.createCocaCola(), RandomUtils.nextInt(1, 4)));
-		shelves.add(Shelve.of(ProductFactory.createChocolateBar(), RandomUtils.nextInt(1, 4)));
-		shelves.add(Shelve.of(ProductFactory.createMineralWater(), RandomUtils.nextInt(1, 4)));
+	public long getVersion() {
+		long combinedVersion = version;
+		for (int i = 0; i < shelves.size(); i++) {
+			combinedVersion += shelves.get(i).getVersion();
+		}
+		return combinedVersion;
 	}
 
 	public Shelve getShelve(Integer index) {
@@ -4,34 +4,144 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import tdd.vendingMachine.machine.cli.util.AnsiColorDecorator;
 import tdd.vendingMachine.machine.cli.util.CommandLinePrinter;
+import tdd.vendingMachine.machine.command.CommandBatch;
+import tdd.vendingMachine.machine.command.entity.Command;
+import tdd.vendingMachine.machine.command.enums.CommandAction;
 import tdd.vendingMachine.machine.state.InteractionState;
+import tdd.vendingMachine.metrics.Histogram;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.metrics.MetricsRegistry;
+import tdd.vendingMachine.metrics.entity.MetricName;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class MachineFacade {
 
+	private static final String SHOW_SHELVES = "s";
+	private static final String BUY = "b";
+
 	private CommandLinePrinter commandLinePrinter;
 
 	private InteractionState interactionState;
 
+	private Machine machine;
+
+	private final Map<CommandAction, Histogram> commandLatency = new EnumMap<>(CommandAction.class);
+
+	private final Histogram commandRunLatency;
+
 	@Autowired
-	public MachineFacade(CommandLinePrinter commandLinePrinter, InteractionState interactionState) {
+	public MachineFacade(CommandLinePrinter commandLinePrinter, InteractionState interactionState, Machine machine) {
+		this(commandLinePrinter, interactionState, machine, Metrics.getRegistry());
+	}
+
+	public MachineFacade(CommandLinePrinter commandLinePrinter, InteractionState interactionState, Machine machine,
+			MetricsRegistry metricsRegistry) {
 		this.commandLinePrinter = commandLinePrinter;
 		this.interactionState = interactionState;
+		this.machine = machine;
+		this.commandRunLatency = metricsRegistry.histogram(MetricName.of("vending_command_run_latency_nanoseconds",
+			"Time spent executing a run of commands handled together."));
+		for (CommandAction commandAction : CommandAction.values()) {
+			commandLatency.put(commandAction, metricsRegistry.histogram(MetricName.of(
+				"vending_command_latency_nanoseconds", "Time spent executing a command.", "command",
+				commandAction.name().toLowerCase())));
+		}
 	}
 
 	public List<String> getState() {
 		return interactionState.getDescription();
 	}
 
+	public boolean isPurchaseInProgress() {
+		return interactionState.isPurchaseInProgress();
+	}
+
+	public boolean selectShelve(int index) {
+		if (interactionState.isPurchaseInProgress()) {
+			return false;
+		}
+
+		if (!interactionState.isShowingShelves()) {
+			executeCommand(SHOW_SHELVES);
+		}
+		executeCommand(String.valueOf(index));
+		return interactionState.isPurchaseInProgress();
+	}
+
+	public boolean insertCoin(int index) {
+		return executeDuringPurchase(String.valueOf(index));
+	}
+
+	public boolean buy() {
+		return executeDuringPurchase(BUY);
+	}
+
+	public boolean cancelPurchase() {
+		if (!interactionState.cancelPurchase()) {
+			return false;
+		}
+
+		machine.setActiveShelveIndex(null);
+		return true;
+	}
+
 	public void executeCommand(String command) {
-		if (command.equals("q")) {
-			commandLinePrinter.print(AnsiColorDecorator.green("Exiting."));
-			commandLinePrinter.exit(0);
+		List<String> commands = CommandBatch.split(command);
+		if (commands.size() == 1) {
+			executeSingleCommand(commands.get(0), interactionState.parse(commands.get(0)));
+			return;
+		}
+
+		int position = 0;
+		while (position < commands.size()) {
+			position += executeCommands(commands, position);
+		}
+	}
+
+	private boolean executeDuringPurchase(String command) {
+		if (!interactionState.isPurchaseInProgress()) {
+			return false;
 		}
 
-		interactionState.executeCommand(command);
+		executeCommand(command);
+		return true;
+	}
+
+	private int executeCommands(List<String> commands, int from) {
+		String command = commands.get(from);
+		Command parsedCommand = interactionState.parse(command);
+		if (parsedCommand.getAction() == CommandAction.QUIT) {
+			executeSingleCommand(command, parsedCommand);
+			return 1;
+		}
+
+		long start = System.nanoTime();
+		int executed = interactionState.executeCommands(commands, from);
+		if (executed == 1) {
+			commandLatency.get(parsedCommand.getAction()).recordSince(start);
+		} else {
+			commandRunLatency.recordSince(start);
+		}
+		return executed;
+	}
+
+	private void executeSingleCommand(String command, Command parsedCommand) {
+		long start = System.nanoTime();
+		try {
+			if (parsedCommand.getAction() == CommandAction.QUIT) {
+				commandLinePrinter.print(AnsiColorDecorator.green("Exiting."));
+				commandLinePrinter.exit(0);
+				return;
+			}
+
+			interactionState.executeCommand(command);
+		} finally {
+			commandLatency.get(parsedCommand.getAction()).recordSince(start);
+		}
 	}
 
 }
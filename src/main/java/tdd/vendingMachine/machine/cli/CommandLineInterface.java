@@ -1,36 +1,94 @@
 package tdd.vendingMachine.machine.cli;
 
+import com.google.common.collect.Lists;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import tdd.vendingMachine.bootstrap.StartupReport;
+import tdd.vendingMachine.machine.MachineExecutor;
 import tdd.vendingMachine.machine.MachineFacade;
 import tdd.vendingMachine.machine.cli.util.CommandLinePrinter;
+import tdd.vendingMachine.metrics.Histogram;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.server.timeout.IdleTimer;
+import tdd.vendingMachine.server.timeout.SessionTimeouts;
 
-import java.util.Scanner;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.List;
 
 @Service
 @Profile("!test")
 public class CommandLineInterface implements CommandLineRunner {
 
+	private static final Histogram commandsPerRender = Metrics.histogram("vending_commands_per_render",
+		"Queued commands applied before a single screen render.");
+
 	private MachineFacade machineFacade;
 
 	private CommandLinePrinter commandLinePrinter;
 
+	private MachineExecutor machineExecutor;
+
+	private SessionTimeouts sessionTimeouts;
+
 	@Autowired
-	public CommandLineInterface(MachineFacade machineFacade, CommandLinePrinter commandLinePrinter) {
+	public CommandLineInterface(MachineFacade machineFacade, CommandLinePrinter commandLinePrinter,
+			MachineExecutor machineExecutor, SessionTimeouts sessionTimeouts) {
 		this.machineFacade = machineFacade;
 		this.commandLinePrinter = commandLinePrinter;
+		this.machineExecutor = machineExecutor;
+		this.sessionTimeouts = sessionTimeouts;
 	}
 
 	@Override
 	public void run(String... args) throws Exception {
-		commandLinePrinter.print(machineFacade.getState());
+		StartupReport.ready("spring");
+		serve(System.in);
+	}
+
+	public void serve(InputStream input) throws IOException {
+		IdleTimer idleTimer = sessionTimeouts.watch(() -> machineExecutor.execute(this::expireIdle));
+		machineExecutor.run(() -> render(0));
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
+			String command;
+			while ((command = reader.readLine()) != null) {
+				idleTimer.touch();
+				List<String> commands = readQueuedCommands(command, reader);
+				commandsPerRender.record(commands.size());
+				machineExecutor.run(() -> {
+					commands.forEach(machineFacade::executeCommand);
+					render(commands.size());
+				});
+			}
+		} finally {
+			idleTimer.cancel();
+		}
+	}
 
-		try (Scanner scanner = new Scanner(System.in)) {
-			machineFacade.executeCommand(scanner.nextLine());
-			run();
+	private void expireIdle() {
+		if (sessionTimeouts.expire(machineFacade::cancelPurchase)) {
+			render(0);
 		}
 	}
 
+	private List<String> readQueuedCommands(String firstCommand, BufferedReader reader) throws IOException {
+		List<String> commands = Lists.newArrayList(firstCommand);
+
+		String command;
+		while (reader.ready() && (command = reader.readLine()) != null) {
+			commands.add(command);
+		}
+		return commands;
+	}
+
+	private void render(int inputLines) {
+		commandLinePrinter.render(machineFacade.getState(), inputLines);
+		commandLinePrinter.flush();
+	}
+
 }
@@ -0,0 +1,84 @@
+package tdd.vendingMachine.machine.cli.entity;
+
+import com.google.common.collect.Lists;
+import lombok.Getter;
+import tdd.vendingMachine.machine.cli.enums.AnsiColor;
+
+import java.util.List;
+
+public class StyledText {
+
+	private final List<String> texts = Lists.newArrayListWithCapacity(4);
+
+	private final List<AnsiColor> colors = Lists.newArrayListWithCapacity(4);
+
+	@Getter
+	private int width;
+
+	private StyledText() {
+	}
+
+	public static StyledText empty() {
+		return new StyledText();
+	}
+
+	public static StyledText plain(String text) {
+		return new StyledText().append(text);
+	}
+
+	public static StyledText of(String text, AnsiColor color) {
+		return new StyledText().append(text, color);
+	}
+
+	public StyledText append(String text) {
+		return append(text, AnsiColor.NONE);
+	}
+
+	public StyledText append(String text, AnsiColor color) {
+		texts.add(text);
+		colors.add(color);
+		width += text.length();
+		return this;
+	}
+
+	public StyledText append(StyledText styledText) {
+		for (int i = 0; i < styledText.texts.size(); i++) {
+			append(styledText.texts.get(i), styledText.colors.get(i));
+		}
+		return this;
+	}
+
+	public int getSpanCount() {
+		return texts.size();
+	}
+
+	public StringBuilder renderTo(StringBuilder builder) {
+		for (int i = 0; i < texts.size(); i++) {
+			AnsiColor color = colors.get(i);
+			if (color == AnsiColor.NONE) {
+				builder.append(texts.get(i));
+			} else {
+				builder.append(color.getCode()).append(texts.get(i)).append(AnsiColor.RESET);
+			}
+		}
+		return builder;
+	}
+
+	public String render() {
+		return renderTo(new StringBuilder(width + texts.size() * AnsiColor.ESCAPE_LENGTH)).toString();
+	}
+
+	public String toPlainString() {
+		StringBuilder builder = new StringBuilder(width);
+		for (int i = 0; i < texts.size(); i++) {
+			builder.append(texts.get(i));
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public String toString() {
+		return toPlainString();
+	}
+
+}
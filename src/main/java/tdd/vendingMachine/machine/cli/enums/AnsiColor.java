@@ -0,0 +1,24 @@
+package tdd.vendingMachine.machine.cli.enums;
+
+import lombok.Getter;
+
+public enum AnsiColor {
+
+	NONE(""),
+	RED("\u001B[31m"),
+	GREEN("\u001B[32m"),
+	YELLOW("\u001B[33m"),
+	WHITE("\u001B[37m");
+
+	public static final String RESET = "\u001B[0m";
+
+	public static final int ESCAPE_LENGTH = RED.code.length() + RESET.length();
+
+	@Getter
+	private final String code;
+
+	AnsiColor(String code) {
+		this.code = code;
+	}
+
+}
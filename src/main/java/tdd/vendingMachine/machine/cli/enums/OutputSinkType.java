@@ -0,0 +1,8 @@
+package tdd.vendingMachine.machine.cli.enums;
+
+public enum OutputSinkType {
+
+	CONSOLE,
+	NULL
+
+}
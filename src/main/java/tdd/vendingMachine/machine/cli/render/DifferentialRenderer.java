@@ -0,0 +1,89 @@
+package tdd.vendingMachine.machine.cli.render;
+
+import com.google.common.collect.Lists;
+import tdd.vendingMachine.machine.cli.sink.OutputSink;
+
+import java.util.List;
+
+public class DifferentialRenderer {
+
+	private static final String ESCAPE = "\u001B[";
+	private static final String CURSOR_UP = "A";
+	private static final String CURSOR_DOWN = "B";
+	private static final String CARRIAGE_RETURN = "\r";
+	private static final String CLEAR_LINE = ESCAPE + "2K";
+	private static final String CLEAR_BELOW = ESCAPE + "J";
+	private static final int ROWS_BELOW_FRAME = 2;
+
+	private final String eol;
+
+	private List<String> previousFrame;
+
+	private int rowsBelowFrame;
+
+	public DifferentialRenderer(String eol) {
+		this.eol = eol;
+	}
+
+	public void render(List<String> frame, CharSequence messages, int inputLines, OutputSink outputSink) {
+		if (previousFrame == null || previousFrame.size() != frame.size()) {
+			outputSink.append(messages);
+			appendFullFrame(frame, outputSink);
+		} else {
+			appendChangedLines(frame, inputLines, outputSink);
+			outputSink.append(messages);
+			rowsBelowFrame += countLines(messages);
+		}
+		previousFrame = Lists.newArrayList(frame);
+	}
+
+	public void invalidate() {
+		previousFrame = null;
+	}
+
+	private void appendFullFrame(List<String> frame, OutputSink outputSink) {
+		outputSink.append(eol);
+		for (int i = 0; i < frame.size(); i++) {
+			if (i > 0) {
+				outputSink.append(eol);
+			}
+			outputSink.append(frame.get(i));
+		}
+		outputSink.append(eol).append(eol);
+		rowsBelowFrame = ROWS_BELOW_FRAME;
+	}
+
+	private void appendChangedLines(List<String> frame, int inputLines, OutputSink outputSink) {
+		int lastRow = frame.size() - 1;
+		int row = lastRow + rowsBelowFrame + inputLines;
+		for (int i = 0; i < frame.size(); i++) {
+			if (!frame.get(i).equals(previousFrame.get(i))) {
+				moveCursor(row, i, outputSink);
+				outputSink.append(CARRIAGE_RETURN).append(CLEAR_LINE).append(frame.get(i));
+				row = i;
+			}
+		}
+		moveCursor(row, lastRow, outputSink);
+		outputSink.append(eol).append(CLEAR_BELOW).append(eol);
+		rowsBelowFrame = ROWS_BELOW_FRAME;
+	}
+
+	private void moveCursor(int fromRow, int toRow, OutputSink outputSink) {
+		if (toRow < fromRow) {
+			outputSink.append(ESCAPE).append(String.valueOf(fromRow - toRow)).append(CURSOR_UP);
+		} else if (toRow > fromRow) {
+			outputSink.append(ESCAPE).append(String.valueOf(toRow - fromRow)).append(CURSOR_DOWN);
+		}
+	}
+
+	private int countLines(CharSequence text) {
+		int lines = 0;
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) == '\n') {
+				lines++;
+			}
+		}
+		return lines;
+	}
+
+}
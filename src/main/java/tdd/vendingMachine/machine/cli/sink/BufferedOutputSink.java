@@ -0,0 +1,27 @@
+package tdd.vendingMachine.machine.cli.sink;
+
+public class BufferedOutputSink implements OutputSink {
+
+	private final StringBuilder pending;
+
+	public BufferedOutputSink(int bufferSize) {
+		this.pending = new StringBuilder(bufferSize);
+	}
+
+	@Override
+	public OutputSink append(CharSequence text) {
+		pending.append(text);
+		return this;
+	}
+
+	@Override
+	public void flush() {
+	}
+
+	public String drain() {
+		String text = pending.toString();
+		pending.setLength(0);
+		return text;
+	}
+
+}
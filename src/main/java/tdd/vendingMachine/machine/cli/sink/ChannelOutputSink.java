@@ -0,0 +1,93 @@
+package tdd.vendingMachine.machine.cli.sink;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+
+public class ChannelOutputSink implements OutputSink {
+
+	private final WritableByteChannel channel;
+
+	private final CharsetEncoder encoder;
+
+	private final StringBuilder pending;
+
+	private final ByteBuffer buffer;
+
+	public ChannelOutputSink(WritableByteChannel channel, Charset charset, int bufferSize) {
+		this.channel = channel;
+		this.encoder = charset.newEncoder();
+		this.pending = new StringBuilder(bufferSize);
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+	}
+
+	public static ChannelOutputSink console(int bufferSize) {
+		return new ChannelOutputSink(new FileOutputStream(FileDescriptor.out).getChannel(), Charset.defaultCharset(),
+			bufferSize);
+	}
+
+	@Override
+	public OutputSink append(CharSequence text) {
+		pending.append(text);
+		return this;
+	}
+
+	@Override
+	public void flush() {
+		if (pending.length() == 0) {
+			return;
+		}
+
+		try {
+			encode(CharBuffer.wrap(pending));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			pending.setLength(0);
+		}
+	}
+
+	public int getPendingLength() {
+		return pending.length();
+	}
+
+	private void encode(CharBuffer chars) throws IOException {
+		encoder.reset();
+		CoderResult result = encoder.encode(chars, buffer, true);
+		while (result.isOverflow()) {
+			drain();
+			result = encoder.encode(chars, buffer, true);
+		}
+		throwIfError(result);
+
+		result = encoder.flush(buffer);
+		while (result.isOverflow()) {
+			drain();
+			result = encoder.flush(buffer);
+		}
+		drain();
+	}
+
+	private void throwIfError(CoderResult result) throws CharacterCodingException {
+		if (result.isError()) {
+			result.throwException();
+		}
+	}
+
+	private void drain() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+}
@@ -0,0 +1,14 @@
+package tdd.vendingMachine.machine.cli.sink;
+
+public class NullOutputSink implements OutputSink {
+
+	@Override
+	public OutputSink append(CharSequence text) {
+		return this;
+	}
+
+	@Override
+	public void flush() {
+	}
+
+}
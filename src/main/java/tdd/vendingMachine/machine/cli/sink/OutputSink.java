@@ -0,0 +1,9 @@
+package tdd.vendingMachine.machine.cli.sink;
+
+public interface OutputSink {
+
+	OutputSink append(CharSequence text);
+
+	void flush();
+
+}
@@ -0,0 +1,17 @@
+package tdd.vendingMachine.machine.cli.sink;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tdd.vendingMachine.machine.cli.enums.OutputSinkType;
+
+@Configuration
+public class OutputSinkConfiguration {
+
+	@Bean
+	public OutputSink outputSink(@Value("${output.sink:CONSOLE}") OutputSinkType type,
+			@Value("${output.buffer-size:8192}") int bufferSize) {
+		return type == OutputSinkType.NULL ? new NullOutputSink() : ChannelOutputSink.console(bufferSize);
+	}
+
+}
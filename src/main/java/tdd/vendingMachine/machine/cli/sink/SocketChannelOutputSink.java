@@ -0,0 +1,85 @@
+package tdd.vendingMachine.machine.cli.sink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+public class SocketChannelOutputSink implements OutputSink {
+
+	private final WritableByteChannel channel;
+
+	private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+	private final StringBuilder pending;
+
+	private ByteBuffer outbound;
+
+	public SocketChannelOutputSink(WritableByteChannel channel, int bufferSize) {
+		this.channel = channel;
+		this.pending = new StringBuilder(bufferSize);
+		this.outbound = ByteBuffer.allocate(bufferSize);
+	}
+
+	@Override
+	public OutputSink append(CharSequence text) {
+		pending.append(text);
+		return this;
+	}
+
+	@Override
+	public void flush() {
+		try {
+			if (pending.length() > 0) {
+				encode(CharBuffer.wrap(pending));
+				pending.setLength(0);
+			}
+			writePending();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public boolean writePending() throws IOException {
+		outbound.flip();
+		try {
+			channel.write(outbound);
+			return !outbound.hasRemaining();
+		} finally {
+			outbound.compact();
+		}
+	}
+
+	public boolean hasPending() {
+		return outbound.position() > 0;
+	}
+
+	private void encode(CharBuffer chars) throws CharacterCodingException {
+		encoder.reset();
+		CoderResult result = encoder.encode(chars, outbound, true);
+		while (result.isOverflow()) {
+			grow();
+			result = encoder.encode(chars, outbound, true);
+		}
+		if (result.isError()) {
+			result.throwException();
+		}
+
+		while (encoder.flush(outbound).isOverflow()) {
+			grow();
+		}
+	}
+
+	private void grow() {
+		ByteBuffer grown = ByteBuffer.allocate(outbound.capacity() * 2);
+		outbound.flip();
+		grown.put(outbound);
+		outbound = grown;
+	}
+
+}
@@ -1,27 +1,24 @@
 package tdd.vendingMachine.machine.cli.util;
 
-public class AnsiColorDecorator {
+import tdd.vendingMachine.machine.cli.entity.StyledText;
+import tdd.vendingMachine.machine.cli.enums.AnsiColor;
 
-	private static final String RESET = "\u001B[0m";
-	private static final String RED = "\u001B[31m";
-	private static final String GREEN = "\u001B[32m";
-	private static final String YELLOW = "\u001B[33m";
-	private static final String WHITE = "\u001B[37m";
+public class AnsiColorDecorator {
 
 	public static String green(String message) {
-		return decorate(message, GREEN);
+		return decorate(message, AnsiColor.GREEN);
 	}
 
 	public static String red(String message) {
-		return decorate(message, RED);
+		return decorate(message, AnsiColor.RED);
 	}
 
 	public static String yellow(String message) {
-		return decorate(message, YELLOW);
+		return decorate(message, AnsiColor.YELLOW);
 	}
 
-	private static String decorate(String message, String color) {
-		return color + message + RESET;
+	private static String decorate(String message, AnsiColor color) {
+		return StyledText.of(message, color).render();
 	}
 
 }
@@ -1,26 +1,87 @@
 package tdd.vendingMachine.machine.cli.util;
 
-import com.google.common.base.Joiner;
-import com.google.common.collect.Lists;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import tdd.vendingMachine.machine.cli.render.DifferentialRenderer;
+import tdd.vendingMachine.machine.cli.sink.OutputSink;
 
 import java.util.List;
+import java.util.function.IntConsumer;
 
 @Service
 public class CommandLinePrinter {
 
 	private static final String EOL = System.lineSeparator();
 
+	private OutputSink outputSink;
+
+	private DifferentialRenderer differentialRenderer;
+
+	private IntConsumer exitHandler;
+
+	private final StringBuilder messages = new StringBuilder();
+
+	@Autowired
+	public CommandLinePrinter(OutputSink outputSink, @Value("${output.differential:false}") boolean differential) {
+		this(outputSink, differential, System::exit);
+	}
+
+	public CommandLinePrinter(OutputSink outputSink, boolean differential, IntConsumer exitHandler) {
+		this.outputSink = outputSink;
+		this.differentialRenderer = differential ? new DifferentialRenderer(EOL) : null;
+		this.exitHandler = exitHandler;
+	}
+
 	public void print(List<String> messages) {
-		System.out.println(EOL + Joiner.on(EOL).join(messages) + EOL);
+		append(EOL);
+		for (int i = 0; i < messages.size(); i++) {
+			if (i > 0) {
+				append(EOL);
+			}
+			append(messages.get(i));
+		}
+		append(EOL);
+		append(EOL);
 	}
 
 	public void print(String messages) {
-		System.out.println(EOL + Joiner.on(EOL).join(Lists.newArrayList(messages)) + EOL);
+		append(EOL);
+		append(messages);
+		append(EOL);
+		append(EOL);
+	}
+
+	public void render(List<String> screen, int inputLines) {
+		if (differentialRenderer == null) {
+			print(screen);
+			return;
+		}
+
+		differentialRenderer.render(screen, messages, inputLines, outputSink);
+		messages.setLength(0);
+	}
+
+	public void flush() {
+		if (messages.length() > 0) {
+			outputSink.append(messages);
+			messages.setLength(0);
+			differentialRenderer.invalidate();
+		}
+		outputSink.flush();
 	}
 
 	public void exit(int exitCode) {
-		System.exit(exitCode);
+		flush();
+		exitHandler.accept(exitCode);
+	}
+
+	private void append(CharSequence text) {
+		if (differentialRenderer == null) {
+			outputSink.append(text);
+		} else {
+			messages.append(text);
+		}
 	}
 
 }
@@ -2,46 +2,45 @@ package tdd.vendingMachine.machine.cli.util;
 
 import com.google.common.collect.Lists;
 import org.apache.commons.lang3.StringUtils;
+import tdd.vendingMachine.machine.cli.entity.StyledText;
+import tdd.vendingMachine.machine.cli.enums.AnsiColor;
 
 import java.util.List;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public class DisplayDecorator {
 
-	public static final String COLORS_REGEX = "\u001B\\[[;\\d]*m";
-
 	private static final String PIPE = "|";
 	private static final String SINGLE_SPACE = " ";
-	private static final Pattern COLORS_PATTERN = Pattern.compile(COLORS_REGEX);
+	private static final int FRAME_WIDTH = 4;
 
-	public static List<String> decorate(List<String> messages) {
+	public static List<String> decorate(List<StyledText> messages) {
 		int longestString = findLongestString(messages);
 		final String horizontalBorder = createHorizontalBorder(longestString);
-		List<String> result = Lists.newArrayList(horizontalBorder);
-		result.addAll(putInDisplay(messages, longestString));
+		List<String> result = Lists.newArrayListWithCapacity(messages.size() + 2);
+		result.add(horizontalBorder);
+		for (int i = 0; i < messages.size(); i++) {
+			result.add(putInDisplay(messages.get(i), longestString));
+		}
 		result.add(horizontalBorder);
 		return result;
 	}
 
-	private static int findLongestString(List<String> messages) {
-		return messages.stream().map(DisplayDecorator::stripColors).mapToInt(String::length).max().orElse(0);
-	}
-
-	private static List<String> putInDisplay(List<String> input, int size) {
-		return input
-			.stream()
-			.map(message -> putInDisplay(message, size))
-			.collect(Collectors.toList());
-	}
-
-	private static String putInDisplay(String message, int size) {
-		return PIPE + SINGLE_SPACE + message + StringUtils.repeat(" ", size - stripColors(message).length()) +
-			SINGLE_SPACE + PIPE;
+	private static int findLongestString(List<StyledText> messages) {
+		int longestString = 0;
+		for (int i = 0; i < messages.size(); i++) {
+			longestString = Math.max(longestString, messages.get(i).getWidth());
+		}
+		return longestString;
 	}
 
-	private static String stripColors(String input) {
-		return COLORS_PATTERN.matcher(input).replaceAll("");
+	private static String putInDisplay(StyledText message, int size) {
+		StringBuilder builder = new StringBuilder(size + FRAME_WIDTH + message.getSpanCount() * AnsiColor.ESCAPE_LENGTH);
+		builder.append(PIPE).append(SINGLE_SPACE);
+		message.renderTo(builder);
+		for (int i = message.getWidth(); i < size; i++) {
+			builder.append(SINGLE_SPACE);
+		}
+		return builder.append(SINGLE_SPACE).append(PIPE).toString();
 	}
 
 	private static String createHorizontalBorder(int size) {
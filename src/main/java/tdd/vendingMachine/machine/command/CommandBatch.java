@@ -0,0 +1,73 @@
+package tdd.vendingMachine.machine.command;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+public class CommandBatch {
+
+	private static final char REPEAT = 'x';
+	private static final int MAX_REPEAT = 100;
+
+	public static List<String> split(String line) {
+		List<String> commands = Lists.newArrayList();
+		if (line == null) {
+			commands.add(null);
+			return commands;
+		}
+
+		int start = -1;
+		for (int i = 0; i <= line.length(); i++) {
+			boolean separator = i == line.length() || isSeparator(line.charAt(i));
+			if (separator && start >= 0) {
+				addCommand(commands, line.substring(start, i));
+				start = -1;
+			} else if (!separator && start < 0) {
+				start = i;
+			}
+		}
+
+		if (commands.isEmpty()) {
+			commands.add(line);
+		}
+		return commands;
+	}
+
+	private static boolean isSeparator(char character) {
+		return character == ' ' || character == ',' || character == '\t';
+	}
+
+	private static void addCommand(List<String> commands, String command) {
+		int repeatAt = command.indexOf(REPEAT);
+		int repeat = repeatAt > 0 ? parseRepeat(command, repeatAt + 1) : -1;
+		if (repeat < 0) {
+			commands.add(command);
+			return;
+		}
+
+		String repeatedCommand = command.substring(0, repeatAt);
+		for (int i = 0; i < repeat; i++) {
+			commands.add(repeatedCommand);
+		}
+	}
+
+	private static int parseRepeat(String command, int start) {
+		if (start == command.length()) {
+			return -1;
+		}
+
+		int repeat = 0;
+		for (int i = start; i < command.length(); i++) {
+			char digit = command.charAt(i);
+			if (digit < '0' || digit > '9') {
+				return -1;
+			}
+			repeat = repeat * 10 + (digit - '0');
+			if (repeat > MAX_REPEAT) {
+				return -1;
+			}
+		}
+		return repeat;
+	}
+
+}
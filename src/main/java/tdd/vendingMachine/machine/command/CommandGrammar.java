@@ -0,0 +1,92 @@
+package tdd.vendingMachine.machine.command;
+
+import tdd.vendingMachine.machine.command.entity.Command;
+import tdd.vendingMachine.machine.command.enums.CommandAction;
+
+public class CommandGrammar {
+
+	private static final int KEY_RANGE = 128;
+	private static final int CACHED_INDEXES = 32;
+
+	private final Command[] keys = new Command[KEY_RANGE];
+
+	private CommandAction indexAction;
+
+	private Command[] indexes;
+
+	private CommandGrammar() {
+	}
+
+	public static CommandGrammar create() {
+		return new CommandGrammar();
+	}
+
+	public CommandGrammar key(char key, CommandAction action) {
+		keys[key] = Command.of(action, -1);
+		return this;
+	}
+
+	public CommandGrammar index(CommandAction action) {
+		indexAction = action;
+		indexes = new Command[CACHED_INDEXES];
+		for (int i = 0; i < CACHED_INDEXES; i++) {
+			indexes[i] = Command.of(action, i);
+		}
+		return this;
+	}
+
+	public Command parse(CharSequence input) {
+		if (input == null) {
+			return Command.INVALID;
+		}
+
+		return parse(input, 0, input.length());
+	}
+
+	public Command parse(CharSequence input, int start, int end) {
+		if (end - start == 1) {
+			char key = input.charAt(start);
+			if (key < KEY_RANGE && keys[key] != null) {
+				return keys[key];
+			}
+		}
+
+		if (indexAction == null) {
+			return Command.INVALID;
+		}
+
+		return parseIndex(input, start, end);
+	}
+
+	private Command parseIndex(CharSequence input, int start, int end) {
+		if (start >= end) {
+			return Command.INVALID;
+		}
+
+		boolean negative = input.charAt(start) == '-';
+		int position = negative || input.charAt(start) == '+' ? start + 1 : start;
+		if (position == end) {
+			return Command.INVALID;
+		}
+
+		long value = 0;
+		for (; position < end; position++) {
+			char digit = input.charAt(position);
+			if (digit < '0' || digit > '9') {
+				return Command.INVALID;
+			}
+			value = value * 10 + (digit - '0');
+			if (value > (long) Integer.MAX_VALUE + 1) {
+				return Command.INVALID;
+			}
+		}
+
+		value = negative ? -value : value;
+		if (value > Integer.MAX_VALUE) {
+			return Command.INVALID;
+		}
+
+		return value >= 0 && value < CACHED_INDEXES ? indexes[(int) value] : Command.of(indexAction, (int) value);
+	}
+
+}
@@ -0,0 +1,22 @@
+package tdd.vendingMachine.machine.command.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import tdd.vendingMachine.machine.command.enums.CommandAction;
+
+@AllArgsConstructor(staticName = "of")
+@EqualsAndHashCode
+@ToString
+public class Command {
+
+	public static final Command INVALID = Command.of(CommandAction.INVALID, -1);
+
+	@Getter
+	private final CommandAction action;
+
+	@Getter
+	private final int index;
+
+}
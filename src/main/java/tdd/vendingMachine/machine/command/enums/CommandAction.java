@@ -0,0 +1,13 @@
+package tdd.vendingMachine.machine.command.enums;
+
+public enum CommandAction {
+
+	SHOW_SHELVES,
+	SHELVE_INDEX,
+	COIN_INDEX,
+	BUY,
+	CANCEL,
+	QUIT,
+	INVALID
+
+}
@@ -1,19 +1,34 @@
 package tdd.vendingMachine.machine.purchase;
 
+import com.google.common.collect.Lists;
 import org.joda.money.Money;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.event.entity.ChangeDispensed;
+import tdd.vendingMachine.event.entity.PurchaseCompleted;
+import tdd.vendingMachine.event.entity.PurchaseRefused;
+import tdd.vendingMachine.event.entity.StockDepleted;
 import tdd.vendingMachine.machine.Machine;
 import tdd.vendingMachine.machine.cli.util.AnsiColorDecorator;
 import tdd.vendingMachine.machine.cli.util.CommandLinePrinter;
 import tdd.vendingMachine.machine.purchase.enums.PurchaseStatus;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTraces;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.machine.purchase.trace.entity.PurchaseTrace;
+import tdd.vendingMachine.metrics.Counter;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.metrics.MetricsRegistry;
+import tdd.vendingMachine.metrics.entity.MetricName;
 import tdd.vendingMachine.money.change.ChangeCalculator;
+import tdd.vendingMachine.money.change.ChangeCalculatorMetrics;
 import tdd.vendingMachine.money.change.ChangeStorage;
 import tdd.vendingMachine.money.coin.entity.Coin;
 import tdd.vendingMachine.money.util.MoneyUtil;
 import tdd.vendingMachine.product.Product;
 import tdd.vendingMachine.shelve.entity.Shelve;
 
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,34 +43,92 @@ public class PurchaseFacade {
 
 	private CommandLinePrinter commandLinePrinter;
 
+	private PurchaseTracer purchaseTracer;
+
+	private DomainEventBus eventBus;
+
+	private PurchaseJournal purchaseJournal;
+
+	private final Map<PurchaseStatus, Counter> purchaseStatusCounters = new EnumMap<>(PurchaseStatus.class);
+
+	private final ChangeCalculatorMetrics changeCalculatorMetrics;
+
+	public PurchaseFacade(Machine machine, ChangeStorage changeStorage, CommandLinePrinter commandLinePrinter,
+			PurchaseTracer purchaseTracer, DomainEventBus eventBus) {
+		this(machine, changeStorage, commandLinePrinter, purchaseTracer, eventBus, PurchaseJournal.NONE);
+	}
+
 	@Autowired
-	public PurchaseFacade(Machine machine, ChangeStorage changeStorage, CommandLinePrinter commandLinePrinter) {
+	public PurchaseFacade(Machine machine, ChangeStorage changeStorage, CommandLinePrinter commandLinePrinter,
+			PurchaseTracer purchaseTracer, DomainEventBus eventBus, PurchaseJournal purchaseJournal) {
+		this(machine, changeStorage, commandLinePrinter, purchaseTracer, eventBus, purchaseJournal,
+			Metrics.getRegistry());
+	}
+
+	public PurchaseFacade(Machine machine, ChangeStorage changeStorage, CommandLinePrinter commandLinePrinter,
+			PurchaseTracer purchaseTracer, DomainEventBus eventBus, PurchaseJournal purchaseJournal,
+			MetricsRegistry metricsRegistry) {
 		this.machine = machine;
 		this.changeStorage = changeStorage;
 		this.commandLinePrinter = commandLinePrinter;
+		this.purchaseTracer = purchaseTracer;
+		this.eventBus = eventBus;
+		this.purchaseJournal = purchaseJournal;
+		this.changeCalculatorMetrics = new ChangeCalculatorMetrics(metricsRegistry);
+		for (PurchaseStatus purchaseStatus : PurchaseStatus.values()) {
+			purchaseStatusCounters.put(purchaseStatus, metricsRegistry.counter(MetricName.of(
+				"vending_purchase_status_total", "Purchase attempts by outcome.", "status",
+				purchaseStatus.name().toLowerCase())));
+		}
 	}
 
 	public void buy() {
+		PurchaseTrace trace = purchaseTracer.begin(machine.getActiveShelveIndex());
+		try {
+			doBuy();
+		} finally {
+			purchaseTracer.end(trace);
+		}
+	}
+
+	private void doBuy() {
 		PurchaseStatus purchaseStatus = getPurchaseStatus();
 		if (!PurchaseStatus.PURCHASABLE.equals(purchaseStatus)) {
-			printCannotBuyMessage(purchaseStatus);
+			refuse(purchaseStatus);
 			return;
 		}
 
-		if (canChangeBeReturnedUsingInsertedCoins()) {
-			returnChangeUsingInsertedCoins();
-		} else {
-			returnChangeUsingBothStorages();
+		PurchaseCompleted purchase = canChangeBeReturnedUsingInsertedCoins()
+			? returnChangeUsingInsertedCoins()
+			: returnChangeUsingBothStorages();
+		if (!purchaseJournal.record(purchase)) {
+			refuse(PurchaseStatus.NOT_RECORDED);
+			return;
 		}
 
-		Product product = getProduct();
+		purchaseStatusCounters.get(purchaseStatus).increment();
+		changeStorage.setInsertedCoins(purchase.getInsertedCoinsAfter());
+		changeStorage.setOwnedCoins(purchase.getOwnedCoinsAfter());
+		Product product = purchase.getProduct();
 		Shelve activeShelve = machine.getActiveShelve();
 		activeShelve.setQuantity(activeShelve.getQuantity() - 1);
+		eventBus.publish(purchase);
+		Map<Coin, Integer> change = changeStorage.dispenseInsertedCoins();
+		Money changeAmount = MoneyUtil.sum(change);
+		if (!changeAmount.isZero()) {
+			eventBus.publish(ChangeDispensed.of(change));
+		}
+		if (activeShelve.getQuantity() == 0) {
+			eventBus.publish(StockDepleted.of(machine.getActiveShelveIndex(), product));
+		}
 		commandLinePrinter.print(AnsiColorDecorator.green(
 			"Purchased " + product.getName() + " for " + product.getPrice() + "."));
+		if (!changeAmount.isZero()) {
+			commandLinePrinter.print("Returned change: " + changeAmount.getAmount() + ".");
+		}
 	}
 
-	public void insertCoin(Integer index) {
+	public void insertCoin(int index) {
 		int position = 0;
 		Map<Coin, Integer> ownedCoins = getOwnedCoins();
 		for (Map.Entry<Coin, Integer> entry : ownedCoins.entrySet()) {
@@ -67,7 +140,28 @@ public class PurchaseFacade {
 		}
 	}
 
+	public void insertCoins(int... indexes) {
+		List<Coin> ownedCoins = Lists.newArrayList(getOwnedCoins().keySet());
+		List<Coin> coins = Lists.newArrayListWithCapacity(indexes.length);
+		for (int index : indexes) {
+			if (index >= 0 && index < ownedCoins.size()) {
+				coins.add(ownedCoins.get(index));
+			}
+		}
+
+		changeStorage.insertCoins(coins);
+		coins.forEach(coin -> commandLinePrinter.print("Inserted " + coin.getNominal()));
+	}
+
 	public PurchaseStatus getPurchaseStatus() {
+		return PurchaseTraces.status(determinePurchaseStatus());
+	}
+
+	public List<Coin> getAvailableCoin() {
+		return AVAILABLE_COINS;
+	}
+
+	private PurchaseStatus determinePurchaseStatus() {
 		Money productPrice = getProduct().getPrice();
 		Money sum = sumInsertedCoins();
 		boolean enoughMoneyIsInserted = sum.compareTo(productPrice) >= 0;
@@ -84,18 +178,18 @@ public class PurchaseFacade {
 		boolean insertedCoinsMakeChange = canChangeBeReturnedUsingInsertedCoins();
 		boolean ownedCoinsMakeChange = !insertedCoinsMakeChange && canChangeBeReturnedUsingOwnedCoins();
 		boolean bothStoragesCoinsMakeChange = !ownedCoinsMakeChange && canChangeByReturnedUsingBothStorages();
-		boolean swapingStoragesCoinsMakeChange = !bothStoragesCoinsMakeChange && canChangeBeReturnedOnlyBeSwapingStorages();
 
-		if (!insertedCoinsMakeChange && !ownedCoinsMakeChange && !bothStoragesCoinsMakeChange &&
-			!swapingStoragesCoinsMakeChange) {
+		if (!insertedCoinsMakeChange && !ownedCoinsMakeChange && !bothStoragesCoinsMakeChange) {
 			return PurchaseStatus.INSUFFICIENT_CHANGE;
 		}
 
 		return PurchaseStatus.PURCHASABLE;
 	}
 
-	public List<Coin> getAvailableCoin() {
-		return AVAILABLE_COINS;
+	private void refuse(PurchaseStatus purchaseStatus) {
+		purchaseStatusCounters.get(purchaseStatus).increment();
+		eventBus.publish(PurchaseRefused.of(machine.getActiveShelveIndex(), getProduct(), purchaseStatus));
+		printCannotBuyMessage(purchaseStatus);
 	}
 
 	private void printCannotBuyMessage(PurchaseStatus purchaseStatus) {
@@ -104,65 +198,66 @@ public class PurchaseFacade {
 			message += "insufficient money inserted.";
 		} else if (PurchaseStatus.NO_PRODUCT.equals(purchaseStatus)) {
 			message += "no more product in machine.";
+		} else if (PurchaseStatus.NOT_RECORDED.equals(purchaseStatus)) {
+			message += "purchase could not be recorded, coins were not taken.";
 		} else {
 			message += "changed cannot be given back using neither inserted coins nor coins owned by machine.";
 		}
 		commandLinePrinter.print(AnsiColorDecorator.red(message));
 	}
 
-	private void returnChangeUsingBothStorages() {
-		Money productPrice = getProductPrice();
-		if (!canChangeBeReturnedUsingInsertedCoins() && !canChangeBeReturnedUsingOwnedCoins() &&
-			canChangeBeReturnedOnlyBeSwapingStorages()) {
-			Map<Coin, Integer> insertedCoins = ChangeCalculator.calculateChangeDifference(getOwnedCoins(), sumInsertedCoins().minus(getProductPrice()));
-			Map<Coin, Integer> ownedCoins = ChangeCalculator.calculateChangeDifference(getInsertedCoins(), sumOwnedCoins().plus(getProductPrice()));
-			changeStorage.setInsertedCoins(insertedCoins);
-			changeStorage.setOwnedCoins(ownedCoins);
-		} else {
-			Map<Coin, Integer> sum = getOwnedAndInsertedCoins();
-			Map<Coin, Integer> change = ChangeCalculator.calculateChange(sum, productPrice);
-			Map<Coin, Integer> insertedCoins =ChangeCalculator.calculateChangeDifference(sum, MoneyUtil.sum(change));
-			Map<Coin, Integer> ownedCoins = MoneyUtil.subtract(sum, insertedCoins);
-			changeStorage.setInsertedCoins(insertedCoins);
-			changeStorage.setOwnedCoins(ownedCoins);
-		}
+	private PurchaseCompleted returnChangeUsingBothStorages() {
+		PurchaseTraces.enter("apply_both_storages");
+		Map<Coin, Integer> sum = getOwnedAndInsertedCoins();
+		Map<Coin, Integer> change = ChangeCalculator.calculateChangeDifference(sum, getChangeAmount(),
+			changeCalculatorMetrics);
+		PurchaseCompleted purchase = purchaseOf(MoneyUtil.subtract(sum, change), change);
+		PurchaseTraces.exit(true);
+		return purchase;
 	}
 
-	private void returnChangeUsingInsertedCoins() {
-		Map<Coin, Integer> payingCoins = ChangeCalculator.calculateChange(getInsertedCoins(), getProductPrice());
-		changeStorage.setInsertedCoins(MoneyUtil.subtract(getInsertedCoins(), payingCoins));
-		changeStorage.setOwnedCoins(MoneyUtil.add(getOwnedCoins(), payingCoins));
+	private PurchaseCompleted returnChangeUsingInsertedCoins() {
+		PurchaseTraces.enter("apply_inserted_only");
+		Map<Coin, Integer> payingCoins = ChangeCalculator.calculateChange(getInsertedCoins(), getProductPrice(),
+			changeCalculatorMetrics);
+		PurchaseCompleted purchase = purchaseOf(MoneyUtil.add(getOwnedCoins(), payingCoins),
+			MoneyUtil.subtract(getInsertedCoins(), payingCoins));
+		PurchaseTraces.exit(true);
+		return purchase;
+	}
+
+	private PurchaseCompleted purchaseOf(Map<Coin, Integer> ownedCoinsAfter, Map<Coin, Integer> insertedCoinsAfter) {
+		return PurchaseCompleted.of(machine.getActiveShelveIndex(), getProduct(), getOwnedCoins(), ownedCoinsAfter,
+			getInsertedCoins(), insertedCoinsAfter);
 	}
 
 	private boolean canChangeBeReturnedUsingInsertedCoins() {
-		return ChangeCalculator.calculateChange(getInsertedCoins(), getProductPrice()) != null;
+		PurchaseTraces.enter("inserted_only");
+		return PurchaseTraces.exit(ChangeCalculator.calculateChange(getInsertedCoins(), getProductPrice(),
+			changeCalculatorMetrics) != null);
 	}
 
 	private boolean canChangeBeReturnedUsingOwnedCoins() {
-		return ChangeCalculator.calculateChange(getOwnedCoins(), getProductPrice()) != null;
+		PurchaseTraces.enter("owned_only");
+		return PurchaseTraces.exit(ChangeCalculator.calculateChange(getOwnedCoins(), getChangeAmount(),
+			changeCalculatorMetrics) != null);
 	}
 
 	private boolean canChangeByReturnedUsingBothStorages() {
-		return ChangeCalculator.calculateChange(getOwnedAndInsertedCoins(), getProductPrice()) != null;
-	}
-
-	private boolean canChangeBeReturnedOnlyBeSwapingStorages() {
-		Map<Coin, Integer> subset = ChangeCalculator.calculateChangeDifference(getOwnedCoins(), sumInsertedCoins().minus(getProductPrice()));
-
-		if (subset == null) {
-			return false;
-		}
-
-		return !subset
-			.values()
-			.stream()
-			.anyMatch(value -> value < 0);
+		PurchaseTraces.enter("both_storages");
+		return PurchaseTraces.exit(
+			ChangeCalculator.calculateChange(getOwnedAndInsertedCoins(), getChangeAmount(),
+				changeCalculatorMetrics) != null);
 	}
 
 	private Money getProductPrice() {
 		return getProduct().getPrice();
 	}
 
+	private Money getChangeAmount() {
+		return sumInsertedCoins().minus(getProductPrice());
+	}
+
 	private Product getProduct() {
 		return  machine.getActiveShelve().getProduct();
 	}
@@ -171,10 +266,6 @@ public class PurchaseFacade {
 		return MoneyUtil.sum(getInsertedCoins());
 	}
 
-	private Money sumOwnedCoins() {
-		return MoneyUtil.sum(getOwnedCoins());
-	}
-
 	private Map<Coin, Integer> getOwnedCoins() {
 		return changeStorage.getOwnedCoins();
 	}
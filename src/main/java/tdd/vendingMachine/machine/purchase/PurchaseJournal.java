@@ -0,0 +1,11 @@
+package tdd.vendingMachine.machine.purchase;
+
+import tdd.vendingMachine.event.entity.PurchaseCompleted;
+
+public interface PurchaseJournal {
+
+	PurchaseJournal NONE = purchase -> true;
+
+	boolean record(PurchaseCompleted purchase);
+
+}
@@ -5,6 +5,7 @@ public enum PurchaseStatus {
 	INSUFFICIENT_FUNDS,
 	PURCHASABLE,
 	INSUFFICIENT_CHANGE,
-	NO_PRODUCT
+	NO_PRODUCT,
+	NOT_RECORDED
 
 }
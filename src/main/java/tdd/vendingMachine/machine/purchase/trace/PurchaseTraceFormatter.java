@@ -0,0 +1,48 @@
+package tdd.vendingMachine.machine.purchase.trace;
+
+import org.apache.commons.lang3.StringUtils;
+import tdd.vendingMachine.machine.purchase.trace.entity.BranchTrace;
+import tdd.vendingMachine.machine.purchase.trace.entity.PurchaseTrace;
+import tdd.vendingMachine.machine.purchase.trace.entity.SolverInvocation;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class PurchaseTraceFormatter {
+
+	private static final String INDENT = "  ";
+
+	public static String format(PurchaseTrace trace) {
+		StringBuilder output = new StringBuilder()
+			.append(Instant.ofEpochMilli(trace.getTimestamp()))
+			.append(" shelve=").append(trace.getShelveIndex())
+			.append(" status=").append(trace.getStatus())
+			.append(" total=").append(micros(trace.getNanos()));
+		appendSolverInvocations(output, trace.getUnattributedSolverInvocations());
+		output.append('\n');
+
+		for (BranchTrace branch : trace.getBranches()) {
+			output.append(StringUtils.repeat(INDENT, branch.getDepth() + 1))
+				.append(branch.getName())
+				.append(' ').append(branch.isResult())
+				.append(' ').append(micros(branch.getNanos()));
+			appendSolverInvocations(output, branch.getSolverInvocations());
+			output.append('\n');
+		}
+		return output.toString();
+	}
+
+	private static void appendSolverInvocations(StringBuilder output, List<SolverInvocation> invocations) {
+		for (SolverInvocation invocation : invocations) {
+			output.append(' ').append(invocation.getEntryPoint())
+				.append("(solutions=").append(invocation.getSolutions())
+				.append(", ").append(micros(invocation.getNanos())).append(')');
+		}
+	}
+
+	private static String micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos) + "us";
+	}
+
+}
@@ -0,0 +1,103 @@
+package tdd.vendingMachine.machine.purchase.trace;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.machine.purchase.trace.entity.PurchaseTrace;
+import tdd.vendingMachine.money.change.ChangeCalculator;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class PurchaseTracer {
+
+	private final double sampleRate;
+
+	private final Path file;
+
+	private final ThreadPoolExecutor writer;
+
+	private final LongAdder dropped = new LongAdder();
+
+	private BufferedWriter output;
+
+	@Autowired
+	public PurchaseTracer(@Value("${trace.purchase.sample-rate:0}") double sampleRate,
+			@Value("${trace.purchase.file:purchase-traces.log}") String file,
+			@Value("${trace.purchase.queue-capacity:1024}") int queueCapacity) {
+		this.sampleRate = sampleRate;
+		this.file = Paths.get(file);
+		this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+			runnable -> {
+				Thread thread = new Thread(runnable, "purchase-trace-writer");
+				thread.setDaemon(true);
+				return thread;
+			},
+			(runnable, executor) -> dropped.increment());
+		if (sampleRate > 0) {
+			ChangeCalculator.setSolverListener(PurchaseTraces::solverInvoked);
+		}
+	}
+
+	public PurchaseTrace begin(Integer shelveIndex) {
+		if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+			return null;
+		}
+
+		PurchaseTrace trace = new PurchaseTrace(System.currentTimeMillis(), System.nanoTime(), shelveIndex);
+		PurchaseTraces.attach(trace);
+		return trace;
+	}
+
+	public void end(PurchaseTrace trace) {
+		if (trace == null) {
+			return;
+		}
+
+		PurchaseTraces.detach();
+		trace.setNanos(System.nanoTime() - trace.getStartNanos());
+		writer.execute(() -> write(trace));
+	}
+
+	public long getDroppedTraces() {
+		return dropped.sum();
+	}
+
+	@PreDestroy
+	public void close() throws IOException, InterruptedException {
+		writer.shutdown();
+		writer.awaitTermination(10, TimeUnit.SECONDS);
+		if (output != null) {
+			output.close();
+		}
+	}
+
+	private void write(PurchaseTrace trace) {
+		try {
+			if (output == null) {
+				output = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+					StandardOpenOption.APPEND);
+			}
+			output.write(PurchaseTraceFormatter.format(trace));
+			if (writer.getQueue().isEmpty()) {
+				output.flush();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+package tdd.vendingMachine.machine.purchase.trace;
+
+import tdd.vendingMachine.machine.purchase.enums.PurchaseStatus;
+import tdd.vendingMachine.machine.purchase.trace.entity.PurchaseTrace;
+import tdd.vendingMachine.machine.purchase.trace.entity.SolverInvocation;
+
+public class PurchaseTraces {
+
+	private static final ThreadLocal<PurchaseTrace> current = new ThreadLocal<>();
+
+	public static PurchaseTrace current() {
+		return current.get();
+	}
+
+	public static void enter(String branch) {
+		PurchaseTrace trace = current.get();
+		if (trace != null) {
+			trace.enter(branch);
+		}
+	}
+
+	public static boolean exit(boolean result) {
+		PurchaseTrace trace = current.get();
+		if (trace != null) {
+			trace.exit(result);
+		}
+		return result;
+	}
+
+	public static void solverInvoked(String entryPoint, int solutions, long nanos) {
+		PurchaseTrace trace = current.get();
+		if (trace != null) {
+			trace.solverInvoked(SolverInvocation.of(entryPoint, solutions, nanos));
+		}
+	}
+
+	public static PurchaseStatus status(PurchaseStatus status) {
+		PurchaseTrace trace = current.get();
+		if (trace != null) {
+			trace.setStatus(status);
+		}
+		return status;
+	}
+
+	static void attach(PurchaseTrace trace) {
+		current.set(trace);
+	}
+
+	static void detach() {
+		current.remove();
+	}
+
+}
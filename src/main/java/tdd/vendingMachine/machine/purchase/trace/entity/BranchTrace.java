@@ -0,0 +1,32 @@
+package tdd.vendingMachine.machine.purchase.trace.entity;
+
+import com.google.common.collect.Lists;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+public class BranchTrace {
+
+	private final String name;
+
+	private final int depth;
+
+	private final long startNanos;
+
+	@Setter
+	private long nanos;
+
+	@Setter
+	private boolean result;
+
+	private final List<SolverInvocation> solverInvocations = Lists.newArrayList();
+
+	public BranchTrace(String name, int depth, long startNanos) {
+		this.name = name;
+		this.depth = depth;
+		this.startNanos = startNanos;
+	}
+
+}
@@ -0,0 +1,59 @@
+package tdd.vendingMachine.machine.purchase.trace.entity;
+
+import com.google.common.collect.Lists;
+import lombok.Getter;
+import lombok.Setter;
+import tdd.vendingMachine.machine.purchase.enums.PurchaseStatus;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+@Getter
+public class PurchaseTrace {
+
+	private final long timestamp;
+
+	private final long startNanos;
+
+	private final Integer shelveIndex;
+
+	@Setter
+	private long nanos;
+
+	@Setter
+	private PurchaseStatus status;
+
+	private final List<BranchTrace> branches = Lists.newArrayList();
+
+	private final List<SolverInvocation> unattributedSolverInvocations = Lists.newArrayList();
+
+	private final Deque<BranchTrace> openBranches = new ArrayDeque<>();
+
+	public PurchaseTrace(long timestamp, long startNanos, Integer shelveIndex) {
+		this.timestamp = timestamp;
+		this.startNanos = startNanos;
+		this.shelveIndex = shelveIndex;
+	}
+
+	public void enter(String name) {
+		BranchTrace branch = new BranchTrace(name, openBranches.size(), System.nanoTime());
+		branches.add(branch);
+		openBranches.push(branch);
+	}
+
+	public void exit(boolean result) {
+		BranchTrace branch = openBranches.pop();
+		branch.setNanos(System.nanoTime() - branch.getStartNanos());
+		branch.setResult(result);
+	}
+
+	public void solverInvoked(SolverInvocation invocation) {
+		if (openBranches.isEmpty()) {
+			unattributedSolverInvocations.add(invocation);
+		} else {
+			openBranches.peek().getSolverInvocations().add(invocation);
+		}
+	}
+
+}
@@ -0,0 +1,16 @@
+package tdd.vendingMachine.machine.purchase.trace.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class SolverInvocation {
+
+	private String entryPoint;
+
+	private int solutions;
+
+	private long nanos;
+
+}
@@ -3,7 +3,11 @@ package tdd.vendingMachine.machine.state;
 import com.google.common.collect.Lists;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.event.entity.SessionCancelled;
 import tdd.vendingMachine.machine.cli.util.CommandLinePrinter;
+import tdd.vendingMachine.machine.command.CommandGrammar;
+import tdd.vendingMachine.machine.command.entity.Command;
 import tdd.vendingMachine.money.change.ChangeStorage;
 import tdd.vendingMachine.money.coin.entity.Coin;
 
@@ -14,14 +18,25 @@ import java.util.stream.Collectors;
 @Service
 class CancelState extends AbstractState implements State {
 
+	private static final CommandGrammar GRAMMAR = InteractionState.grammar();
+
 	private CommandLinePrinter commandLinePrinter;
 
 	private ChangeStorage changeStorage;
 
+	private DomainEventBus eventBus;
+
 	@Autowired
-	public CancelState(CommandLinePrinter commandLinePrinter, ChangeStorage changeStorage) {
+	public CancelState(CommandLinePrinter commandLinePrinter, ChangeStorage changeStorage,
+			DomainEventBus eventBus) {
 		this.commandLinePrinter = commandLinePrinter;
 		this.changeStorage = changeStorage;
+		this.eventBus = eventBus;
+	}
+
+	@Override
+	public Command parse(String command) {
+		return GRAMMAR.parse(command);
 	}
 
 	@Override
@@ -32,6 +47,7 @@ class CancelState extends AbstractState implements State {
 	@Override
 	public void executeCommand(String command, InteractionState interactionState) {
 		commandLinePrinter.print(formatInsertedCoinsReturnDescription());
+		eventBus.publish(SessionCancelled.of(changeStorage.dispenseInsertedCoins()));
 		interactionState.changeState(InteractionState.StateName.PICKING_SHELVE);
 	}
 
@@ -2,9 +2,13 @@ package tdd.vendingMachine.machine.state;
 
 import com.google.common.collect.Lists;
 import org.springframework.stereotype.Service;
-import tdd.vendingMachine.machine.cli.util.AnsiColorDecorator;
+import tdd.vendingMachine.machine.cli.entity.StyledText;
+import tdd.vendingMachine.machine.cli.enums.AnsiColor;
 import tdd.vendingMachine.machine.cli.util.CommandLabelDecorator;
 import tdd.vendingMachine.machine.cli.util.DisplayDecorator;
+import tdd.vendingMachine.machine.command.CommandGrammar;
+import tdd.vendingMachine.machine.command.entity.Command;
+import tdd.vendingMachine.machine.command.enums.CommandAction;
 
 import java.util.List;
 
@@ -14,25 +18,32 @@ import static tdd.vendingMachine.machine.state.InteractionState.QUIT;
 @Service
 class HelloState extends AbstractState implements State {
 
-	private static final List<String> DESCRIPTION = Lists.newArrayList();
+	private static final CommandGrammar GRAMMAR = InteractionState.grammar().key('s', CommandAction.SHOW_SHELVES);
+
+	private final List<String> description = Lists.newArrayList();
 
 	HelloState() {
-		DESCRIPTION.addAll(DisplayDecorator.decorate(
-			Lists.newArrayList(AnsiColorDecorator.green("Vending machine is ready."))
+		description.addAll(DisplayDecorator.decorate(
+			Lists.newArrayList(StyledText.of("Vending machine is ready.", AnsiColor.GREEN))
 		));
-		DESCRIPTION.add(EMPTY);
-		DESCRIPTION.add(CommandLabelDecorator.keyLegend("s", "display shelves"));
-		DESCRIPTION.add(QUIT);
+		description.add(EMPTY);
+		description.add(CommandLabelDecorator.keyLegend("s", "display shelves"));
+		description.add(QUIT);
 	}
 
 	@Override
 	public List<String> getDescription() {
-		return DESCRIPTION;
+		return description;
+	}
+
+	@Override
+	public Command parse(String command) {
+		return GRAMMAR.parse(command);
 	}
 
 	@Override
 	public void executeCommand(String command, InteractionState interactionState) {
-		if (command.equals("s")) {
+		if (parse(command).getAction() == CommandAction.SHOW_SHELVES) {
 			interactionState.changeState(InteractionState.StateName.PICKING_SHELVE);
 		} else {
 			this.showInvalidCommandMessage(command, interactionState);
@@ -6,9 +6,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 import tdd.vendingMachine.machine.cli.util.CommandLabelDecorator;
-
+import tdd.vendingMachine.machine.command.CommandGrammar;
+import tdd.vendingMachine.machine.command.entity.Command;
+import tdd.vendingMachine.machine.command.enums.CommandAction;
+import tdd.vendingMachine.metrics.Histogram;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.metrics.MetricsRegistry;
+import tdd.vendingMachine.metrics.entity.MetricName;
+
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 @Service
 public class InteractionState {
@@ -36,12 +45,27 @@ public class InteractionState {
 	@Getter
 	private StateName stateName;
 
-	private ApplicationContext applicationContext;
+	private Function<Class<? extends State>, State> stateResolver;
+
+	private final Map<StateName, Histogram> renderLatency = new EnumMap<>(StateName.class);
 
 	@Autowired
 	public InteractionState(ApplicationContext applicationContext) {
-		this.applicationContext = applicationContext;
+		this(applicationContext::getBean);
+	}
+
+	public InteractionState(Function<Class<? extends State>, State> stateResolver) {
+		this(stateResolver, Metrics.getRegistry());
+	}
+
+	public InteractionState(Function<Class<? extends State>, State> stateResolver, MetricsRegistry metricsRegistry) {
+		this.stateResolver = stateResolver;
 		this.stateName = StateName.HELLO;
+		for (StateName renderedStateName : StateName.values()) {
+			renderLatency.put(renderedStateName, metricsRegistry.histogram(MetricName.of(
+				"vending_render_latency_nanoseconds", "Time spent rendering a state description.", "state",
+				renderedStateName.name().toLowerCase())));
+		}
 	}
 
 	void changeState(StateName stateName) {
@@ -53,19 +77,54 @@ public class InteractionState {
 	}
 
 	public List<String> getDescription() {
-		return getStateService().getDescription();
+		StateName renderedStateName = stateName;
+		long start = System.nanoTime();
+		try {
+			return getStateService(renderedStateName).getDescription();
+		} finally {
+			renderLatency.get(renderedStateName).recordSince(start);
+		}
+	}
+
+	public Command parse(String command) {
+		return getStateService().parse(command);
 	}
 
 	public void executeCommand(String command) {
 		getStateService().executeCommand(command, this);
 	}
 
+	public int executeCommands(List<String> commands, int from) {
+		return getStateService().executeCommands(commands, from, this);
+	}
+
+	public boolean isShowingShelves() {
+		return stateName == StateName.PICKING_SHELVE;
+	}
+
+	public boolean isPurchaseInProgress() {
+		return stateName == StateName.PAYING;
+	}
+
+	public boolean cancelPurchase() {
+		if (stateName != StateName.PAYING) {
+			return false;
+		}
+
+		changeState(StateName.CANCEL);
+		return true;
+	}
+
+	static CommandGrammar grammar() {
+		return CommandGrammar.create().key('q', CommandAction.QUIT);
+	}
+
 	private State getStateService() {
 		return getStateService(this.getStateName());
 	}
 
 	private State getStateService(StateName stateName) {
-		return applicationContext.getBean(states.get(stateName));
+		return stateResolver.apply(states.get(stateName));
 	}
 
 	private void doStateTransition(StateName futureStateName) {
@@ -0,0 +1,36 @@
+package tdd.vendingMachine.machine.state;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tdd.vendingMachine.machine.Machine;
+import tdd.vendingMachine.machine.MachineFacade;
+import tdd.vendingMachine.machine.cli.util.CommandLinePrinter;
+import tdd.vendingMachine.machine.purchase.PurchaseFacade;
+import tdd.vendingMachine.money.change.ChangeStorage;
+
+@AllArgsConstructor(staticName = "of")
+public class MachineGraph {
+
+	@Getter
+	private Machine machine;
+
+	@Getter
+	private ChangeStorage changeStorage;
+
+	@Getter
+	private CommandLinePrinter commandLinePrinter;
+
+	@Getter
+	private PurchaseFacade purchaseFacade;
+
+	@Getter
+	private InteractionState interactionState;
+
+	@Getter
+	private MachineFacade machineFacade;
+
+	public boolean cancelPurchase() {
+		return machineFacade.cancelPurchase();
+	}
+
+}
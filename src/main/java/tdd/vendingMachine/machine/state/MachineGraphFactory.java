@@ -0,0 +1,64 @@
+package tdd.vendingMachine.machine.state;
+
+import com.google.common.collect.Maps;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.machine.Machine;
+import tdd.vendingMachine.machine.MachineFacade;
+import tdd.vendingMachine.machine.cli.sink.OutputSink;
+import tdd.vendingMachine.machine.cli.util.CommandLinePrinter;
+import tdd.vendingMachine.machine.purchase.PurchaseFacade;
+import tdd.vendingMachine.machine.purchase.PurchaseJournal;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.metrics.MetricsRegistry;
+import tdd.vendingMachine.money.change.ChangeStorage;
+import tdd.vendingMachine.scenario.ScenarioGenerator;
+import tdd.vendingMachine.scenario.entity.Scenario;
+import tdd.vendingMachine.scenario.factory.ScenarioProfileFactory;
+
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+public class MachineGraphFactory {
+
+	public static MachineGraph create(OutputSink outputSink, IntConsumer exitHandler, PurchaseTracer purchaseTracer,
+			DomainEventBus eventBus) {
+		return create(outputSink, exitHandler, purchaseTracer, eventBus,
+			ScenarioGenerator.generate(ScenarioProfileFactory.classic()));
+	}
+
+	public static MachineGraph create(OutputSink outputSink, IntConsumer exitHandler, PurchaseTracer purchaseTracer,
+			DomainEventBus eventBus, Scenario scenario) {
+		return create(outputSink, false, exitHandler, purchaseTracer, eventBus, scenario);
+	}
+
+	public static MachineGraph create(OutputSink outputSink, boolean differential, IntConsumer exitHandler,
+			PurchaseTracer purchaseTracer, DomainEventBus eventBus, Scenario scenario) {
+		return create(outputSink, differential, exitHandler, purchaseTracer, eventBus, scenario,
+			Metrics.getRegistry());
+	}
+
+	public static MachineGraph create(OutputSink outputSink, boolean differential, IntConsumer exitHandler,
+			PurchaseTracer purchaseTracer, DomainEventBus eventBus, Scenario scenario, MetricsRegistry metricsRegistry) {
+		ChangeStorage changeStorage = new ChangeStorage(eventBus, scenario);
+		Machine machine = new Machine(changeStorage, scenario);
+		CommandLinePrinter commandLinePrinter = new CommandLinePrinter(outputSink, differential, exitHandler);
+		PurchaseFacade purchaseFacade =
+			new PurchaseFacade(machine, changeStorage, commandLinePrinter, purchaseTracer, eventBus,
+				PurchaseJournal.NONE, metricsRegistry);
+
+		Map<Class<? extends State>, State> states = Maps.newHashMap();
+		states.put(HelloState.class, new HelloState());
+		states.put(PickingShelveState.class, new PickingShelveState(machine, metricsRegistry));
+		states.put(PayingState.class, new PayingState(purchaseFacade, machine, changeStorage, metricsRegistry));
+		states.put(UnknownCommandState.class, new UnknownCommandState(commandLinePrinter));
+		states.put(CancelState.class, new CancelState(commandLinePrinter, changeStorage, eventBus));
+
+		InteractionState interactionState = new InteractionState(states::get, metricsRegistry);
+		MachineFacade machineFacade = new MachineFacade(commandLinePrinter, interactionState, machine,
+			metricsRegistry);
+		return MachineGraph.of(machine, changeStorage, commandLinePrinter, purchaseFacade, interactionState,
+			machineFacade);
+	}
+
+}
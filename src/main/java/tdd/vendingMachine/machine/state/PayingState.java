@@ -6,11 +6,17 @@ import org.apache.commons.lang3.tuple.Triple;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import tdd.vendingMachine.machine.Machine;
-import tdd.vendingMachine.machine.cli.util.AnsiColorDecorator;
+import tdd.vendingMachine.machine.cli.entity.StyledText;
+import tdd.vendingMachine.machine.cli.enums.AnsiColor;
 import tdd.vendingMachine.machine.cli.util.CommandLabelDecorator;
 import tdd.vendingMachine.machine.cli.util.DisplayDecorator;
+import tdd.vendingMachine.machine.command.CommandGrammar;
+import tdd.vendingMachine.machine.command.entity.Command;
+import tdd.vendingMachine.machine.command.enums.CommandAction;
 import tdd.vendingMachine.machine.purchase.PurchaseFacade;
 import tdd.vendingMachine.machine.purchase.enums.PurchaseStatus;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.metrics.MetricsRegistry;
 import tdd.vendingMachine.money.change.ChangeStorage;
 import tdd.vendingMachine.money.coin.entity.Coin;
 import tdd.vendingMachine.money.util.MoneyUtil;
@@ -26,21 +32,45 @@ import static tdd.vendingMachine.machine.state.InteractionState.QUIT;
 @Service
 class PayingState extends AbstractState implements State {
 
+	private static final CommandGrammar GRAMMAR = InteractionState.grammar()
+		.key('c', CommandAction.CANCEL)
+		.key('b', CommandAction.BUY)
+		.index(CommandAction.COIN_INDEX);
+
 	private PurchaseFacade purchaseFacade;
 
 	private Machine machine;
 
 	private ChangeStorage changeStorage;
 
+	private final RenderCache renderCache;
+
 	@Autowired
 	public PayingState(PurchaseFacade purchaseFacade, Machine machine, ChangeStorage changeStorage) {
+		this(purchaseFacade, machine, changeStorage, Metrics.getRegistry());
+	}
+
+	public PayingState(PurchaseFacade purchaseFacade, Machine machine, ChangeStorage changeStorage,
+			MetricsRegistry metricsRegistry) {
 		this.purchaseFacade = purchaseFacade;
 		this.machine = machine;
 		this.changeStorage = changeStorage;
+		this.renderCache = new RenderCache(metricsRegistry);
 	}
 
 	@Override
 	public List<String> getDescription() {
+		long machineVersion = machine.getVersion();
+		long changeStorageVersion = changeStorage.getVersion();
+		List<String> cachedDescription = renderCache.get(machineVersion, changeStorageVersion);
+		if (cachedDescription != null) {
+			return cachedDescription;
+		}
+
+		return renderCache.put(machineVersion, changeStorageVersion, renderDescription());
+	}
+
+	private List<String> renderDescription() {
 		List<String> description = Lists.newArrayList();
 		description.addAll(getDescriptionDisplay());
 		description.add(EMPTY);
@@ -48,22 +78,49 @@ class PayingState extends AbstractState implements State {
 		return description;
 	}
 
+	@Override
+	public Command parse(String command) {
+		return GRAMMAR.parse(command);
+	}
+
 	@Override
 	public void executeCommand(String command, InteractionState interactionState) {
-		if (command.equals("c")) {
-			interactionState.changeState(InteractionState.StateName.CANCEL);
-		} else if (command.equals("b")) {
-			purchaseFacade.buy();
-		} else {
-			try {
-				Integer index = Integer.valueOf(command);
-				purchaseFacade.insertCoin(index);
-			} catch (NumberFormatException e) {
+		Command parsedCommand = parse(command);
+		switch (parsedCommand.getAction()) {
+			case CANCEL:
+				interactionState.changeState(InteractionState.StateName.CANCEL);
+				break;
+			case BUY:
+				purchaseFacade.buy();
+				break;
+			case COIN_INDEX:
+				purchaseFacade.insertCoin(parsedCommand.getIndex());
+				break;
+			default:
 				showInvalidCommandMessage(command, interactionState);
-			}
 		}
 	}
 
+	@Override
+	public int executeCommands(List<String> commands, int from, InteractionState interactionState) {
+		int to = from;
+		while (to < commands.size() && GRAMMAR.parse(commands.get(to)).getAction() == CommandAction.COIN_INDEX) {
+			to++;
+		}
+
+		if (to - from < 2) {
+			executeCommand(commands.get(from), interactionState);
+			return 1;
+		}
+
+		int[] indexes = new int[to - from];
+		for (int i = 0; i < indexes.length; i++) {
+			indexes[i] = GRAMMAR.parse(commands.get(from + i)).getIndex();
+		}
+		purchaseFacade.insertCoins(indexes);
+		return indexes.length;
+	}
+
 	private List<String> getDescriptionLegend() {
 		List<String> descriptionLegend = Lists.newArrayList();
 
@@ -96,52 +153,55 @@ class PayingState extends AbstractState implements State {
 	private List<String> getDescriptionDisplay() {
 		Product product = machine.getActiveShelve().getProduct();
 		int pad = 18;
-		List<String> description = Lists.newArrayList(
-			StringUtils.rightPad("Buying", pad) + AnsiColorDecorator.green(product.getName()),
-			StringUtils.rightPad("Available amount:", pad) + getProductQuantity(),
-			StringUtils.rightPad("Price:", pad) + product.getPrice().getAmount(),
-			StringUtils.rightPad("Inserted:", pad) + MoneyUtil.sum(changeStorage.getInsertedCoins()).getAmount(),
-			EMPTY,
+		List<StyledText> description = Lists.newArrayList(
+			StyledText.plain(StringUtils.rightPad("Buying", pad)).append(product.getName(), AnsiColor.GREEN),
+			StyledText.plain(StringUtils.rightPad("Available amount:", pad)).append(getProductQuantity()),
+			StyledText.plain(StringUtils.rightPad("Price:", pad) + product.getPrice().getAmount()),
+			StyledText.plain(StringUtils.rightPad("Inserted:", pad) +
+				MoneyUtil.sum(changeStorage.getInsertedCoins()).getAmount()),
+			StyledText.empty(),
 			getBuyDescription(),
-			EMPTY
+			StyledText.empty()
 		);
 		description.addAll(getOwnedAndInsertedCoinsDescription());
 		return DisplayDecorator.decorate(description);
 	}
 
-	private String getProductQuantity() {
+	private StyledText getProductQuantity() {
 		int productQuantity = machine.getActiveShelve().getQuantity();
-		return productQuantity == 0 ? AnsiColorDecorator.red("0") : String.valueOf(productQuantity);
+		return productQuantity == 0
+			? StyledText.of("0", AnsiColor.RED)
+			: StyledText.plain(String.valueOf(productQuantity));
 	}
 
-	private String getBuyDescription() {
+	private StyledText getBuyDescription() {
 		switch (purchaseFacade.getPurchaseStatus()) {
 			case PURCHASABLE:
-				return AnsiColorDecorator.green("You can buy now!");
+				return StyledText.of("You can buy now!", AnsiColor.GREEN);
 			case INSUFFICIENT_CHANGE:
-				return AnsiColorDecorator.red("Cannot buy - machine is unable to return change.");
+				return StyledText.of("Cannot buy - machine is unable to return change.", AnsiColor.RED);
 			case NO_PRODUCT:
-				return AnsiColorDecorator.red("Cannot buy - no more product in machine.");
+				return StyledText.of("Cannot buy - no more product in machine.", AnsiColor.RED);
 			default:
-				return AnsiColorDecorator.yellow("Cannot buy - insufficient founds. Insert more coins.");
+				return StyledText.of("Cannot buy - insufficient founds. Insert more coins.", AnsiColor.YELLOW);
 		}
 	}
 
-	private List<String> getOwnedAndInsertedCoinsDescription() {
+	private List<StyledText> getOwnedAndInsertedCoinsDescription() {
 		List<Triple<Coin, Integer, Integer>> triples = getDescriptionTriples();
-		List<String> descriptions = Lists.newArrayList();
+		List<StyledText> descriptions = Lists.newArrayList();
 		String nominalHeader = "Coin nominal";
 		String ownedCoinsHeader = "Coins in machine";
 		String insertedCoinsHeader = "Inserted coins";
 		String header = nominalHeader + " | " + ownedCoinsHeader + " | " + insertedCoinsHeader;
-		descriptions.add(header);
+		descriptions.add(StyledText.plain(header));
 		triples.forEach(consumer -> {
 			String nominal = consumer.getLeft().getNominal().toString();
 			String ownedCoinsAmount = consumer.getMiddle().toString();
 			String insertedCoinsAmount = consumer.getRight().toString();
-			descriptions.add(StringUtils.rightPad(nominal, nominalHeader.length()) + " | " +
+			descriptions.add(StyledText.plain(StringUtils.rightPad(nominal, nominalHeader.length()) + " | " +
 				StringUtils.rightPad(ownedCoinsAmount, ownedCoinsHeader.length()) + " | " +
-				StringUtils.rightPad(insertedCoinsAmount, insertedCoinsHeader.length()));
+				StringUtils.rightPad(insertedCoinsAmount, insertedCoinsHeader.length())));
 		});
 		return descriptions;
 	}
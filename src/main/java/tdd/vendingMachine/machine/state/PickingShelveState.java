@@ -4,8 +4,14 @@ import com.google.common.collect.Lists;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import tdd.vendingMachine.machine.Machine;
+import tdd.vendingMachine.machine.cli.entity.StyledText;
 import tdd.vendingMachine.machine.cli.util.CommandLabelDecorator;
 import tdd.vendingMachine.machine.cli.util.DisplayDecorator;
+import tdd.vendingMachine.machine.command.CommandGrammar;
+import tdd.vendingMachine.machine.command.entity.Command;
+import tdd.vendingMachine.machine.command.enums.CommandAction;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.metrics.MetricsRegistry;
 import tdd.vendingMachine.product.Product;
 import tdd.vendingMachine.shelve.entity.Shelve;
 
@@ -19,17 +25,36 @@ import static tdd.vendingMachine.machine.state.InteractionState.QUIT;
 @Service
 class PickingShelveState extends AbstractState implements State {
 
+	private static final CommandGrammar GRAMMAR = InteractionState.grammar().index(CommandAction.SHELVE_INDEX);
+
 	private Machine machine;
 
+	private final RenderCache renderCache;
+
 	@Autowired
 	public PickingShelveState(Machine machine) {
+		this(machine, Metrics.getRegistry());
+	}
+
+	public PickingShelveState(Machine machine, MetricsRegistry metricsRegistry) {
 		this.machine = machine;
+		this.renderCache = new RenderCache(metricsRegistry);
 	}
 
 	@Override
 	public List<String> getDescription() {
+		long machineVersion = machine.getVersion();
+		List<String> cachedDescription = renderCache.get(machineVersion, 0);
+		if (cachedDescription != null) {
+			return cachedDescription;
+		}
+
+		return renderCache.put(machineVersion, 0, renderDescription());
+	}
+
+	private List<String> renderDescription() {
 		final List<String> description = Lists.newArrayList();
-		List<String> shelves = getShelves();
+		List<StyledText> shelves = getShelves();
 		description.addAll(DisplayDecorator.decorate(shelves));
 		description.add(EMPTY);
 		description.addAll(getActions());
@@ -37,27 +62,33 @@ class PickingShelveState extends AbstractState implements State {
 		return description;
 	}
 
+	@Override
+	public Command parse(String command) {
+		return GRAMMAR.parse(command);
+	}
+
 	@Override
 	public void executeCommand(String command, InteractionState interactionState) {
-		try {
-			Integer index = Integer.valueOf(command);
-			machine.setActiveShelveIndex(index);
+		Command parsedCommand = parse(command);
+		if (parsedCommand.getAction() == CommandAction.SHELVE_INDEX && parsedCommand.getIndex() >= 0 &&
+			parsedCommand.getIndex() < machine.getShelves().size()) {
+			machine.setActiveShelveIndex(parsedCommand.getIndex());
 			interactionState.changeState(InteractionState.StateName.PAYING);
-		} catch (NumberFormatException e) {
+		} else {
 			showInvalidCommandMessage(command, interactionState);
 		}
 	}
 
-	private List<String> getShelves() {
+	private List<StyledText> getShelves() {
 		List<String> shelves = machine.getShelves()
 			.stream()
 			.map(this::describeShelve)
 			.collect(Collectors.toList());
 
-		List<String> shelves2 = Lists.newArrayList();
+		List<StyledText> shelves2 = Lists.newArrayList();
 
 		IntStream.range(0, shelves.size()).forEach(index -> {
-			shelves2.add("Shelve no. " + String.valueOf(index) + " | " + shelves.get(index));
+			shelves2.add(StyledText.plain("Shelve no. " + String.valueOf(index) + " | " + shelves.get(index)));
 		});
 
 		return shelves2;
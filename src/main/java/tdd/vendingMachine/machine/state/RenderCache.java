@@ -0,0 +1,47 @@
+package tdd.vendingMachine.machine.state;
+
+import tdd.vendingMachine.metrics.Counter;
+import tdd.vendingMachine.metrics.MetricsRegistry;
+import tdd.vendingMachine.metrics.entity.MetricName;
+
+import java.util.List;
+
+class RenderCache {
+
+	private static final String NAME = "vending_render_cache_total";
+	private static final String HELP = "State description lookups served from or rebuilt into the render cache.";
+
+	private final Counter hits;
+
+	private final Counter misses;
+
+	private long machineVersion = -1;
+
+	private long changeStorageVersion = -1;
+
+	private List<String> description;
+
+	RenderCache(MetricsRegistry metricsRegistry) {
+		this.hits = metricsRegistry.counter(MetricName.of(NAME, HELP, "result", "hit"));
+		this.misses = metricsRegistry.counter(MetricName.of(NAME, HELP, "result", "miss"));
+	}
+
+	List<String> get(long machineVersion, long changeStorageVersion) {
+		if (description == null || this.machineVersion != machineVersion ||
+			this.changeStorageVersion != changeStorageVersion) {
+			misses.increment();
+			return null;
+		}
+
+		hits.increment();
+		return description;
+	}
+
+	List<String> put(long machineVersion, long changeStorageVersion, List<String> description) {
+		this.machineVersion = machineVersion;
+		this.changeStorageVersion = changeStorageVersion;
+		this.description = description;
+		return description;
+	}
+
+}
@@ -1,5 +1,7 @@
 package tdd.vendingMachine.machine.state;
 
+import tdd.vendingMachine.machine.command.entity.Command;
+
 import java.util.List;
 
 public interface State {
@@ -8,6 +10,13 @@ public interface State {
 
 	String getLatestInvalidCommand();
 
+	Command parse(String command);
+
 	void executeCommand(String command, InteractionState interactionState);
 
+	default int executeCommands(List<String> commands, int from, InteractionState interactionState) {
+		executeCommand(commands.get(from), interactionState);
+		return 1;
+	}
+
 }
@@ -5,12 +5,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import tdd.vendingMachine.machine.cli.util.AnsiColorDecorator;
 import tdd.vendingMachine.machine.cli.util.CommandLinePrinter;
+import tdd.vendingMachine.machine.command.CommandGrammar;
+import tdd.vendingMachine.machine.command.entity.Command;
 
 import java.util.List;
 
 @Service
 class UnknownCommandState extends AbstractState implements State {
 
+	private static final CommandGrammar GRAMMAR = InteractionState.grammar();
+
 	private CommandLinePrinter commandLinePrinter;
 
 	@Autowired
@@ -18,6 +22,11 @@ class UnknownCommandState extends AbstractState implements State {
 		this.commandLinePrinter = commandLinePrinter;
 	}
 
+	@Override
+	public Command parse(String command) {
+		return GRAMMAR.parse(command);
+	}
+
 	@Override
 	public List<String> getDescription() {
 		return Lists.newArrayList();
@@ -0,0 +1,31 @@
+package tdd.vendingMachine.metrics;
+
+import lombok.Getter;
+import tdd.vendingMachine.metrics.entity.MetricName;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class Counter implements Metric {
+
+	@Getter
+	private final MetricName name;
+
+	private final LongAdder count = new LongAdder();
+
+	Counter(MetricName name) {
+		this.name = name;
+	}
+
+	public void increment() {
+		count.increment();
+	}
+
+	public void add(long amount) {
+		count.add(amount);
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+}
@@ -0,0 +1,9 @@
+package tdd.vendingMachine.metrics;
+
+import tdd.vendingMachine.metrics.entity.MetricName;
+
+public interface Metric {
+
+	MetricName getName();
+
+}
@@ -0,0 +1,25 @@
+package tdd.vendingMachine.metrics;
+
+import tdd.vendingMachine.metrics.entity.MetricName;
+
+public class Metrics {
+
+	private static final MetricsRegistry registry = new MetricsRegistry();
+
+	public static MetricsRegistry getRegistry() {
+		return registry;
+	}
+
+	public static Counter counter(String name, String help, String label, String labelValue) {
+		return registry.counter(MetricName.of(name, help, label, labelValue));
+	}
+
+	public static Histogram histogram(String name, String help) {
+		return registry.histogram(MetricName.of(name, help));
+	}
+
+	public static Histogram histogram(String name, String help, String label, String labelValue) {
+		return registry.histogram(MetricName.of(name, help, label, labelValue));
+	}
+
+}
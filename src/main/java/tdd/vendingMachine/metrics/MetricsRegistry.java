@@ -0,0 +1,68 @@
+package tdd.vendingMachine.metrics;
+
+import com.google.common.collect.Lists;
+import tdd.vendingMachine.metrics.entity.MetricName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class MetricsRegistry {
+
+	private final Map<MetricName, Metric> metrics = new ConcurrentHashMap<>();
+
+	private final List<Consumer<Metric>> listeners = new CopyOnWriteArrayList<>();
+
+	public Counter counter(MetricName name) {
+		return register(name, Counter::new, Counter.class);
+	}
+
+	public Histogram histogram(MetricName name) {
+		return register(name, Histogram::new, Histogram.class);
+	}
+
+	public List<Metric> getMetrics() {
+		List<Metric> snapshot = Lists.newArrayList(metrics.values());
+		snapshot.sort((base, compare) -> compareNames(base.getName(), compare.getName()));
+		return snapshot;
+	}
+
+	public synchronized void addListener(Consumer<Metric> listener) {
+		listeners.add(listener);
+		metrics.values().forEach(listener);
+	}
+
+	public synchronized void removeListener(Consumer<Metric> listener) {
+		listeners.remove(listener);
+	}
+
+	private synchronized <T extends Metric> T register(MetricName name, Function<MetricName, T> constructor,
+			Class<T> type) {
+		Metric metric = metrics.get(name);
+		if (metric == null) {
+			metric = constructor.apply(name);
+			metrics.put(name, metric);
+			for (Consumer<Metric> listener : listeners) {
+				listener.accept(metric);
+			}
+		}
+
+		if (!type.isInstance(metric)) {
+			throw new IllegalArgumentException("Metric " + name.getName() + " is already registered as " +
+				metric.getClass().getSimpleName() + ".");
+		}
+		return type.cast(metric);
+	}
+
+	private static int compareNames(MetricName base, MetricName compare) {
+		int byName = base.getName().compareTo(compare.getName());
+		if (byName != 0 || !base.hasLabel() || !compare.hasLabel()) {
+			return byName;
+		}
+		return base.getLabelValue().compareTo(compare.getLabelValue());
+	}
+
+}
@@ -0,0 +1,28 @@
+package tdd.vendingMachine.metrics.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode(exclude = "help")
+@AllArgsConstructor(staticName = "of")
+public class MetricName {
+
+	private String name;
+
+	private String help;
+
+	private String label;
+
+	private String labelValue;
+
+	public static MetricName of(String name, String help) {
+		return of(name, help, null, null);
+	}
+
+	public boolean hasLabel() {
+		return label != null;
+	}
+
+}
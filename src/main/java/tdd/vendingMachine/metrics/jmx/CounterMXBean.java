@@ -0,0 +1,7 @@
+package tdd.vendingMachine.metrics.jmx;
+
+public interface CounterMXBean {
+
+	long getCount();
+
+}
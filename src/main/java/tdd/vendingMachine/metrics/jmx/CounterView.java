@@ -0,0 +1,18 @@
+package tdd.vendingMachine.metrics.jmx;
+
+import tdd.vendingMachine.metrics.Counter;
+
+class CounterView implements CounterMXBean {
+
+	private final Counter counter;
+
+	CounterView(Counter counter) {
+		this.counter = counter;
+	}
+
+	@Override
+	public long getCount() {
+		return counter.getCount();
+	}
+
+}
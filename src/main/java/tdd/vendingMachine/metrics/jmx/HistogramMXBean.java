@@ -0,0 +1,21 @@
+package tdd.vendingMachine.metrics.jmx;
+
+public interface HistogramMXBean {
+
+	long getCount();
+
+	long getSum();
+
+	long getMax();
+
+	double getMean();
+
+	long getP50();
+
+	long getP90();
+
+	long getP99();
+
+	long getP999();
+
+}
@@ -0,0 +1,53 @@
+package tdd.vendingMachine.metrics.jmx;
+
+import tdd.vendingMachine.metrics.Histogram;
+
+class HistogramView implements HistogramMXBean {
+
+	private final Histogram histogram;
+
+	HistogramView(Histogram histogram) {
+		this.histogram = histogram;
+	}
+
+	@Override
+	public long getCount() {
+		return histogram.getCount();
+	}
+
+	@Override
+	public long getSum() {
+		return histogram.getSum();
+	}
+
+	@Override
+	public long getMax() {
+		return histogram.getMax();
+	}
+
+	@Override
+	public double getMean() {
+		return histogram.getMean();
+	}
+
+	@Override
+	public long getP50() {
+		return histogram.getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getP90() {
+		return histogram.getValueAtPercentile(90);
+	}
+
+	@Override
+	public long getP99() {
+		return histogram.getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getP999() {
+		return histogram.getValueAtPercentile(99.9);
+	}
+
+}
@@ -0,0 +1,89 @@
+package tdd.vendingMachine.metrics.jmx;
+
+import com.google.common.collect.Lists;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.metrics.Counter;
+import tdd.vendingMachine.metrics.Histogram;
+import tdd.vendingMachine.metrics.Metric;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.metrics.MetricsRegistry;
+import tdd.vendingMachine.metrics.entity.MetricName;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Service
+public class MetricsJmxExporter {
+
+	static final String DOMAIN = "tdd.vendingMachine";
+
+	private final MetricsRegistry registry;
+
+	private final boolean enabled;
+
+	private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+	private final List<ObjectName> registered = Lists.newCopyOnWriteArrayList();
+
+	private final Consumer<Metric> listener = this::export;
+
+	@Autowired
+	public MetricsJmxExporter(@Value("${metrics.jmx.enabled:true}") boolean enabled) {
+		this(Metrics.getRegistry(), enabled);
+	}
+
+	MetricsJmxExporter(MetricsRegistry registry, boolean enabled) {
+		this.registry = registry;
+		this.enabled = enabled;
+	}
+
+	@PostConstruct
+	public void start() {
+		if (enabled) {
+			registry.addListener(listener);
+		}
+	}
+
+	@PreDestroy
+	public void stop() throws JMException {
+		registry.removeListener(listener);
+		for (ObjectName objectName : registered) {
+			server.unregisterMBean(objectName);
+		}
+		registered.clear();
+	}
+
+	private void export(Metric metric) {
+		try {
+			ObjectName objectName = objectNameOf(metric.getName());
+			if (server.isRegistered(objectName)) {
+				return;
+			}
+
+			Object view = metric instanceof Counter
+				? new CounterView((Counter) metric)
+				: new HistogramView((Histogram) metric);
+			server.registerMBean(view, objectName);
+			registered.add(objectName);
+		} catch (JMException e) {
+			throw new IllegalStateException("Cannot export metric " + metric.getName().getName() + ".", e);
+		}
+	}
+
+	static ObjectName objectNameOf(MetricName name) throws JMException {
+		String objectName = DOMAIN + ":name=" + name.getName();
+		if (name.hasLabel()) {
+			objectName += "," + name.getLabel() + "=" + ObjectName.quote(name.getLabelValue());
+		}
+		return new ObjectName(objectName);
+	}
+
+}
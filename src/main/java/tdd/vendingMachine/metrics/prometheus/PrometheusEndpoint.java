@@ -0,0 +1,63 @@
+package tdd.vendingMachine.metrics.prometheus;
+
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.server.factory.HttpServerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+@Service
+public class PrometheusEndpoint {
+
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	private final boolean enabled;
+
+	private final int port;
+
+	private HttpServer server;
+
+	@Autowired
+	public PrometheusEndpoint(@Value("${metrics.prometheus.enabled:false}") boolean enabled,
+			@Value("${metrics.prometheus.port:9464}") int port) {
+		this.enabled = enabled;
+		this.port = port;
+	}
+
+	@PostConstruct
+	public void start() throws IOException {
+		if (!enabled) {
+			return;
+		}
+
+		server = HttpServerFactory.createLoopback(port);
+		server.createContext("/metrics", exchange -> {
+			byte[] body = PrometheusFormatter.format(Metrics.getRegistry()).getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(body);
+			}
+		});
+		server.start();
+	}
+
+	public int getPort() {
+		return server == null ? port : server.getAddress().getPort();
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (server != null) {
+			server.stop(0);
+		}
+	}
+
+}
@@ -0,0 +1,63 @@
+package tdd.vendingMachine.metrics.prometheus;
+
+import tdd.vendingMachine.metrics.Counter;
+import tdd.vendingMachine.metrics.Histogram;
+import tdd.vendingMachine.metrics.Metric;
+import tdd.vendingMachine.metrics.MetricsRegistry;
+import tdd.vendingMachine.metrics.entity.MetricName;
+
+public class PrometheusFormatter {
+
+	private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+	public static String format(MetricsRegistry registry) {
+		StringBuilder output = new StringBuilder();
+		String previousName = null;
+		for (Metric metric : registry.getMetrics()) {
+			MetricName name = metric.getName();
+			if (!name.getName().equals(previousName)) {
+				output.append("# HELP ").append(name.getName()).append(' ').append(name.getHelp()).append('\n');
+				output.append("# TYPE ").append(name.getName()).append(' ').append(typeOf(metric)).append('\n');
+				previousName = name.getName();
+			}
+
+			if (metric instanceof Counter) {
+				appendSample(output, name, "", null, ((Counter) metric).getCount());
+			} else {
+				appendHistogram(output, (Histogram) metric);
+			}
+		}
+		return output.toString();
+	}
+
+	private static void appendHistogram(StringBuilder output, Histogram histogram) {
+		MetricName name = histogram.getName();
+		for (double quantile : QUANTILES) {
+			appendSample(output, name, "", String.valueOf(quantile), histogram.getValueAtPercentile(quantile * 100));
+		}
+		appendSample(output, name, "_sum", null, histogram.getSum());
+		appendSample(output, name, "_count", null, histogram.getCount());
+		appendSample(output, name, "_max", null, histogram.getMax());
+	}
+
+	private static void appendSample(StringBuilder output, MetricName name, String suffix, String quantile,
+			long value) {
+		output.append(name.getName()).append(suffix);
+		if (name.hasLabel() || quantile != null) {
+			output.append('{');
+			if (name.hasLabel()) {
+				output.append(name.getLabel()).append("=\"").append(name.getLabelValue()).append('"');
+			}
+			if (quantile != null) {
+				output.append(name.hasLabel() ? "," : "").append("quantile=\"").append(quantile).append('"');
+			}
+			output.append('}');
+		}
+		output.append(' ').append(value).append('\n');
+	}
+
+	private static String typeOf(Metric metric) {
+		return metric instanceof Counter ? "counter" : "summary";
+	}
+
+}
@@ -15,6 +15,8 @@ import java.util.stream.Collectors;
 
 public class ChangeCalculator {
 
+	private static volatile ChangeSolverListener solverListener = ChangeSolverListener.NONE;
+
 	@Data
 	private static class Subset {
 		List<Integer> amounts;
@@ -39,14 +41,41 @@ public class ChangeCalculator {
 	}
 
 	public static Map<Coin, Integer> calculateChange(Map<Coin, Integer> availableCoins, Money requiredMoney) {
+		return calculateChange(availableCoins, requiredMoney, ChangeCalculatorMetrics.DEFAULT);
+	}
+
+	public static Map<Coin, Integer> calculateChange(Map<Coin, Integer> availableCoins, Money requiredMoney,
+			ChangeCalculatorMetrics metrics) {
+		long start = System.nanoTime();
 		int requiredAmount = requiredMoney.getAmountMinorInt();
-		return chooseMostDispersedCoinSet(getAllSolutions(availableCoins, Lists.newArrayList(), requiredAmount));
+		Set<Map<Coin, Integer>> solutions = getAllSolutions(availableCoins, Lists.newArrayList(), requiredAmount);
+		Map<Coin, Integer> change = chooseMostDispersedCoinSet(solutions);
+		long nanos = System.nanoTime() - start;
+		metrics.calculateChangeLatency.record(nanos);
+		metrics.calculateChangeInput.record(countCoins(availableCoins));
+		solverListener.solverInvoked("calculate_change", solutions.size(), nanos);
+		return change;
 	}
 
 	public static Map<Coin, Integer> calculateChangeDifference(Map<Coin, Integer> storage, Money target) {
+		return calculateChangeDifference(storage, target, ChangeCalculatorMetrics.DEFAULT);
+	}
+
+	public static Map<Coin, Integer> calculateChangeDifference(Map<Coin, Integer> storage, Money target,
+			ChangeCalculatorMetrics metrics) {
+		long start = System.nanoTime();
 		List<Coin> coins = toCoins(storage);
 		List<Integer> amounts = toAmounts(coins);
-		return getBestSubset(amounts, target);
+		Map<Coin, Integer> subset = getBestSubset(amounts, target);
+		long nanos = System.nanoTime() - start;
+		metrics.calculateChangeDifferenceLatency.record(nanos);
+		metrics.calculateChangeDifferenceInput.record(coins.size());
+		solverListener.solverInvoked("calculate_change_difference", subset == null ? 0 : 1, nanos);
+		return subset;
+	}
+
+	public static void setSolverListener(ChangeSolverListener listener) {
+		solverListener = listener;
 	}
 
 	private static Set<Map<Coin, Integer>> getAllSolutions(Map<Coin, Integer> availableCoins,
@@ -121,6 +150,14 @@ public class ChangeCalculator {
 			.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
 	}
 
+	private static long countCoins(Map<Coin, Integer> coins) {
+		long count = 0;
+		for (Integer quantity : coins.values()) {
+			count += quantity;
+		}
+		return count;
+	}
+
 	private static int getCoinValue(Coin coin) {
 		return coin.getNominal().getAmountMinorInt();
 	}
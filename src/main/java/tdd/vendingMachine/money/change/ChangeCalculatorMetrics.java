@@ -0,0 +1,36 @@
+package tdd.vendingMachine.money.change;
+
+import tdd.vendingMachine.metrics.Histogram;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.metrics.MetricsRegistry;
+import tdd.vendingMachine.metrics.entity.MetricName;
+
+public class ChangeCalculatorMetrics {
+
+	private static final String LATENCY = "vending_change_calculator_latency_nanoseconds";
+	private static final String LATENCY_HELP = "Time spent calculating change.";
+	private static final String INPUT = "vending_change_calculator_input_coins";
+	private static final String INPUT_HELP = "Number of coins passed to the change calculator.";
+	private static final String ENTRY_POINT = "entry_point";
+
+	static final ChangeCalculatorMetrics DEFAULT = new ChangeCalculatorMetrics(Metrics.getRegistry());
+
+	final Histogram calculateChangeLatency;
+
+	final Histogram calculateChangeInput;
+
+	final Histogram calculateChangeDifferenceLatency;
+
+	final Histogram calculateChangeDifferenceInput;
+
+	public ChangeCalculatorMetrics(MetricsRegistry registry) {
+		calculateChangeLatency =
+			registry.histogram(MetricName.of(LATENCY, LATENCY_HELP, ENTRY_POINT, "calculate_change"));
+		calculateChangeInput = registry.histogram(MetricName.of(INPUT, INPUT_HELP, ENTRY_POINT, "calculate_change"));
+		calculateChangeDifferenceLatency =
+			registry.histogram(MetricName.of(LATENCY, LATENCY_HELP, ENTRY_POINT, "calculate_change_difference"));
+		calculateChangeDifferenceInput =
+			registry.histogram(MetricName.of(INPUT, INPUT_HELP, ENTRY_POINT, "calculate_change_difference"));
+	}
+
+}
@@ -0,0 +1,9 @@
+package tdd.vendingMachine.money.change;
+
+public interface ChangeSolverListener {
+
+	ChangeSolverListener NONE = (entryPoint, solutions, nanos) -> { };
+
+	void solverInvoked(String entryPoint, int solutions, long nanos);
+
+}
@@ -1,35 +1,39 @@
 package tdd.vendingMachine.money.change;
 
 import com.google.common.collect.Maps;
-import lombok.Setter;
-import org.apache.commons.lang3.RandomUtils;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.event.entity.CoinInserted;
 import tdd.vendingMachine.money.coin.entity.Coin;
-import tdd.vendingMachine.money.coin.factory.CoinFactory;
+import tdd.vendingMachine.scenario.ScenarioGenerator;
+import tdd.vendingMachine.scenario.entity.Scenario;
+import tdd.vendingMachine.scenario.factory.ScenarioProfileFactory;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class ChangeStorage {
 
-	@Setter
 	private Map<Coin, Integer> ownedCoins;
 
-	@Setter
 	private Map<Coin, Integer> insertedCoins;
 
-	public ChangeStorage() {
-		createCoins();
+	@Getter
+	private long version;
+
+	private DomainEventBus eventBus;
+
+	public ChangeStorage(DomainEventBus eventBus) {
+		this(eventBus, ScenarioGenerator.generate(ScenarioProfileFactory.classic()));
 	}
 
-	private void createCoins() {
-		ownedCoins = CoinFactory.emptyCoinStorage();
-		ownedCoins.put(CoinFactory.create010(), RandomUtils.nextInt(0, 2));
-		ownedCoins.put(CoinFactory.create020(), RandomUtils.nextInt(0, 2));
-		ownedCoins.put(CoinFactory.create050(), RandomUtils.nextInt(0, 2));
-		ownedCoins.put(CoinFactory.create100(), RandomUtils.nextInt(0, 2));
-		ownedCoins.put(CoinFactory.create200(), RandomUtils.nextInt(0, 2));
-		ownedCoins.put(CoinFactory.create500(), RandomUtils.nextInt(0, 2));
+	@Autowired
+	public ChangeStorage(DomainEventBus eventBus, Scenario scenario) {
+		this.eventBus = eventBus;
+		ownedCoins = scenario.createOwnedCoins();
 		insertedCoins = Maps.newHashMap();
 	}
 
@@ -41,10 +45,43 @@ public class ChangeStorage {
 		return Maps.newLinkedHashMap(insertedCoins);
 	}
 
+	public void setOwnedCoins(Map<Coin, Integer> ownedCoins) {
+		this.ownedCoins = ownedCoins;
+		version++;
+	}
+
+	public void setInsertedCoins(Map<Coin, Integer> insertedCoins) {
+		this.insertedCoins = insertedCoins;
+		version++;
+	}
+
 	public void insertCoin(Coin coin) {
 		Integer value = insertedCoins.get(coin);
 		value = value == null ? 1 : value + 1;
 		insertedCoins.put(coin, value);
+		version++;
+		eventBus.publish(CoinInserted.of(coin));
+	}
+
+	public void insertCoins(List<Coin> coins) {
+		if (coins.isEmpty()) {
+			return;
+		}
+
+		for (Coin coin : coins) {
+			Integer value = insertedCoins.get(coin);
+			insertedCoins.put(coin, value == null ? 1 : value + 1);
+		}
+		version++;
+		coins.forEach(coin -> eventBus.publish(CoinInserted.of(coin)));
+	}
+
+	public Map<Coin, Integer> dispenseInsertedCoins() {
+		Map<Coin, Integer> coins = getInsertedCoins();
+		if (!coins.isEmpty()) {
+			setInsertedCoins(Maps.newHashMap());
+		}
+		return coins;
 	}
 
 }
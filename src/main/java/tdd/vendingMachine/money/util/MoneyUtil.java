@@ -7,6 +7,7 @@ import tdd.vendingMachine.money.coin.factory.CoinFactory;
 import tdd.vendingMachine.money.factory.MoneyFactory;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -32,7 +33,7 @@ public class MoneyUtil {
 	}
 
 	public static Map<Coin, Integer> subtract(Map<Coin, Integer> minuend, Map<Coin, Integer> subtrahend) {
-		Map<Coin, Integer> difference = CoinFactory.emptyCoinStorage();
+		Map<Coin, Integer> difference = add(minuend);
 
 		subtrahend.entrySet().forEach(coins -> {
 			Coin coin = coins.getKey();
@@ -42,4 +43,22 @@ public class MoneyUtil {
 		return difference;
 	}
 
+	public static int[] toVector(Map<Coin, Integer> coins) {
+		List<Coin> availableCoins = CoinFactory.AVAILABLE_COINS;
+		int[] vector = new int[availableCoins.size()];
+		for (int i = 0; i < vector.length; i++) {
+			vector[i] = Optional.ofNullable(coins.get(availableCoins.get(i))).orElse(0);
+		}
+		return vector;
+	}
+
+	public static Map<Coin, Integer> fromVector(int[] vector) {
+		Map<Coin, Integer> coins = CoinFactory.emptyCoinStorage();
+		List<Coin> availableCoins = CoinFactory.AVAILABLE_COINS;
+		for (int i = 0; i < vector.length; i++) {
+			coins.put(availableCoins.get(i), vector[i]);
+		}
+		return coins;
+	}
+
 }
@@ -1,12 +1,18 @@
 package tdd.vendingMachine.product.factory;
 
+import com.google.common.collect.Lists;
 import tdd.vendingMachine.product.Product;
 import tdd.vendingMachine.product.entity.ChocolateBar;
 import tdd.vendingMachine.product.entity.CocaCola;
 import tdd.vendingMachine.product.entity.MineralWater;
 
+import java.util.List;
+
 public class ProductFactory {
 
+	public static final List<Product> AVAILABLE_PRODUCTS = Lists.newArrayList(
+		createCocaCola(), createChocolateBar(), createMineralWater());
+
 	public static Product createChocolateBar() {
 		return new ChocolateBar();
 	}
@@ -19,4 +25,17 @@ public class ProductFactory {
 		return new MineralWater();
 	}
 
+	public static int codeOf(Product product) {
+		for (int i = 0; i < AVAILABLE_PRODUCTS.size(); i++) {
+			if (AVAILABLE_PRODUCTS.get(i).getName().equals(product.getName())) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public static Product ofCode(int code) {
+		return code >= 0 && code < AVAILABLE_PRODUCTS.size() ? AVAILABLE_PRODUCTS.get(code) : null;
+	}
+
 }
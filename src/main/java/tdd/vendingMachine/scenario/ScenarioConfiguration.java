@@ -0,0 +1,21 @@
+package tdd.vendingMachine.scenario;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tdd.vendingMachine.bootstrap.StartupReport;
+import tdd.vendingMachine.scenario.entity.Scenario;
+import tdd.vendingMachine.scenario.factory.ScenarioProfileFactory;
+
+@Configuration
+public class ScenarioConfiguration {
+
+	@Bean
+	public Scenario scenario(@Value("${scenario.seed:}") String seed,
+			@Value("${scenario.profile:classic}") String profile) {
+		long scenarioSeed = seed.trim().isEmpty() ? ScenarioGenerator.randomSeed() : Long.parseLong(seed.trim());
+		StartupReport.scenario(profile, scenarioSeed);
+		return ScenarioGenerator.generate(ScenarioProfileFactory.parse(profile), scenarioSeed);
+	}
+
+}
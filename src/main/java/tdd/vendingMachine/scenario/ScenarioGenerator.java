@@ -0,0 +1,59 @@
+package tdd.vendingMachine.scenario;
+
+import com.google.common.collect.Lists;
+import tdd.vendingMachine.money.coin.entity.Coin;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+import tdd.vendingMachine.product.Product;
+import tdd.vendingMachine.scenario.entity.Scenario;
+import tdd.vendingMachine.scenario.entity.ScenarioProfile;
+import tdd.vendingMachine.scenario.entity.UniformRange;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class ScenarioGenerator {
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	public static long randomSeed() {
+		return ThreadLocalRandom.current().nextLong();
+	}
+
+	public static Scenario generate(ScenarioProfile profile) {
+		return generate(profile, randomSeed());
+	}
+
+	public static Scenario generate(ScenarioProfile profile, long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+
+		List<Product> products = Lists.newArrayListWithCapacity(profile.getShelveCount());
+		List<Integer> stock = Lists.newArrayListWithCapacity(profile.getShelveCount());
+		for (int i = 0; i < profile.getShelveCount(); i++) {
+			products.add(profile.getProducts().get(i % profile.getProducts().size()));
+			stock.add(profile.getStock().sample(random));
+		}
+
+		Map<Coin, Integer> coinFloat = CoinFactory.emptyCoinStorage();
+		for (Map.Entry<Coin, UniformRange> entry : profile.getCoinFloat().entrySet()) {
+			coinFloat.put(entry.getKey(), entry.getValue().sample(random));
+		}
+
+		return Scenario.of(seed, products, stock, coinFloat);
+	}
+
+	public static List<Scenario> generate(ScenarioProfile profile, long seed, int count) {
+		return LongStream.range(0, count)
+			.parallel()
+			.mapToObj(index -> generate(profile, seedOf(seed, index)))
+			.collect(Collectors.toList());
+	}
+
+	public static long seedOf(long seed, long index) {
+		return seed + GOLDEN_GAMMA * (index + 1);
+	}
+
+}
@@ -0,0 +1,41 @@
+package tdd.vendingMachine.scenario.entity;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tdd.vendingMachine.money.coin.entity.Coin;
+import tdd.vendingMachine.product.Product;
+import tdd.vendingMachine.shelve.entity.Shelve;
+
+import java.util.List;
+import java.util.Map;
+
+@AllArgsConstructor(staticName = "of")
+public class Scenario {
+
+	@Getter
+	private long seed;
+
+	@Getter
+	private List<Product> products;
+
+	@Getter
+	private List<Integer> stock;
+
+	@Getter
+	private Map<Coin, Integer> coinFloat;
+
+	public List<Shelve> createShelves() {
+		List<Shelve> shelves = Lists.newArrayListWithCapacity(products.size());
+		for (int i = 0; i < products.size(); i++) {
+			shelves.add(Shelve.of(products.get(i), stock.get(i)));
+		}
+		return shelves;
+	}
+
+	public Map<Coin, Integer> createOwnedCoins() {
+		return Maps.newLinkedHashMap(coinFloat);
+	}
+
+}
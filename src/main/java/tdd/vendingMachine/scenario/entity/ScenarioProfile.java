@@ -0,0 +1,26 @@
+package tdd.vendingMachine.scenario.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tdd.vendingMachine.money.coin.entity.Coin;
+import tdd.vendingMachine.product.Product;
+
+import java.util.List;
+import java.util.Map;
+
+@AllArgsConstructor(staticName = "of")
+public class ScenarioProfile {
+
+	@Getter
+	private int shelveCount;
+
+	@Getter
+	private List<Product> products;
+
+	@Getter
+	private UniformRange stock;
+
+	@Getter
+	private Map<Coin, UniformRange> coinFloat;
+
+}
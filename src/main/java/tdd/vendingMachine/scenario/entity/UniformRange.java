@@ -0,0 +1,28 @@
+package tdd.vendingMachine.scenario.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.SplittableRandom;
+
+@AllArgsConstructor(staticName = "of")
+@EqualsAndHashCode
+public class UniformRange {
+
+	@Getter
+	private int min;
+
+	@Getter
+	private int max;
+
+	public int sample(SplittableRandom random) {
+		return min == max ? min : random.nextInt(min, max + 1);
+	}
+
+	@Override
+	public String toString() {
+		return min + ".." + max;
+	}
+
+}
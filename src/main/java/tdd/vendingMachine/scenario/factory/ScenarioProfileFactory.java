@@ -0,0 +1,132 @@
+package tdd.vendingMachine.scenario.factory;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import tdd.vendingMachine.money.coin.entity.Coin;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+import tdd.vendingMachine.product.Product;
+import tdd.vendingMachine.product.factory.ProductFactory;
+import tdd.vendingMachine.scenario.entity.ScenarioProfile;
+import tdd.vendingMachine.scenario.entity.UniformRange;
+
+import java.util.List;
+import java.util.Map;
+
+public class ScenarioProfileFactory {
+
+	public static final String CLASSIC = "classic";
+
+	private static final Splitter ENTRIES = Splitter.on(';').trimResults().omitEmptyStrings();
+
+	private static final Splitter VALUES = Splitter.on(',').trimResults().omitEmptyStrings();
+
+	public static ScenarioProfile classic() {
+		return ScenarioProfile.of(3, ProductFactory.AVAILABLE_PRODUCTS, UniformRange.of(1, 3),
+			uniformCoinFloat(UniformRange.of(0, 1)));
+	}
+
+	public static ScenarioProfile parse(String profile) {
+		if (profile == null || profile.trim().isEmpty() || CLASSIC.equals(profile.trim())) {
+			return classic();
+		}
+
+		ScenarioProfile classic = classic();
+		int shelveCount = classic.getShelveCount();
+		List<Product> products = classic.getProducts();
+		UniformRange stock = classic.getStock();
+		Map<Coin, UniformRange> coinFloat = classic.getCoinFloat();
+
+		for (String entry : ENTRIES.split(profile)) {
+			int separator = entry.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Scenario profile entry \"" + entry + "\" has no value.");
+			}
+
+			String key = entry.substring(0, separator).trim();
+			String value = entry.substring(separator + 1).trim();
+			switch (key) {
+				case "shelves":
+					shelveCount = parseInt(value);
+					break;
+				case "products":
+					products = parseProducts(value);
+					break;
+				case "stock":
+					stock = parseRange(value);
+					break;
+				case "coins":
+					coinFloat = parseCoinFloat(value);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown scenario profile entry \"" + key + "\".");
+			}
+		}
+
+		if (shelveCount < 1) {
+			throw new IllegalArgumentException("Scenario profile needs at least one shelve.");
+		}
+		return ScenarioProfile.of(shelveCount, products, stock, coinFloat);
+	}
+
+	private static List<Product> parseProducts(String value) {
+		List<Product> products = Lists.newArrayList();
+		for (String code : VALUES.split(value)) {
+			Product product = ProductFactory.ofCode(parseInt(code));
+			if (product == null) {
+				throw new IllegalArgumentException("Unknown product code " + code + ".");
+			}
+			products.add(product);
+		}
+		if (products.isEmpty()) {
+			throw new IllegalArgumentException("Scenario profile needs at least one product.");
+		}
+		return products;
+	}
+
+	private static Map<Coin, UniformRange> parseCoinFloat(String value) {
+		List<String> ranges = VALUES.splitToList(value);
+		if (ranges.size() == 1) {
+			return uniformCoinFloat(parseRange(ranges.get(0)));
+		}
+
+		List<Coin> coins = CoinFactory.AVAILABLE_COINS;
+		if (ranges.size() != coins.size()) {
+			throw new IllegalArgumentException("Coin float needs one range or " + coins.size() + " ranges.");
+		}
+
+		Map<Coin, UniformRange> coinFloat = Maps.newLinkedHashMap();
+		for (int i = 0; i < coins.size(); i++) {
+			coinFloat.put(coins.get(i), parseRange(ranges.get(i)));
+		}
+		return coinFloat;
+	}
+
+	private static UniformRange parseRange(String value) {
+		int separator = value.indexOf("..");
+		UniformRange range = separator < 0
+			? UniformRange.of(parseInt(value), parseInt(value))
+			: UniformRange.of(parseInt(value.substring(0, separator)), parseInt(value.substring(separator + 2)));
+		if (range.getMin() < 0 || range.getMax() < range.getMin()) {
+			throw new IllegalArgumentException("Invalid range \"" + value + "\".");
+		}
+		return range;
+	}
+
+	private static int parseInt(String value) {
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid number \"" + value + "\".", e);
+		}
+	}
+
+	private static Map<Coin, UniformRange> uniformCoinFloat(UniformRange range) {
+		Map<Coin, UniformRange> coinFloat = Maps.newLinkedHashMap();
+		for (Coin coin : CoinFactory.AVAILABLE_COINS) {
+			coinFloat.put(coin, range);
+		}
+		return coinFloat;
+	}
+
+}
@@ -0,0 +1,237 @@
+package tdd.vendingMachine.server;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.metrics.Counter;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.server.session.LineProtocolSession;
+import tdd.vendingMachine.server.timeout.SessionTimeouts;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Service
+public class LineProtocolServer {
+
+	private static final String SESSIONS = "vending_line_server_sessions_total";
+	private static final String SESSIONS_HELP = "Line protocol sessions by lifecycle event.";
+
+	private static final Counter sessionsOpened = Metrics.counter(SESSIONS, SESSIONS_HELP, "event", "opened");
+	private static final Counter sessionsClosed = Metrics.counter(SESSIONS, SESSIONS_HELP, "event", "closed");
+	private static final Counter selectorFailures = Metrics.counter("vending_line_server_failures_total",
+		"Line protocol server failures that stopped the selector.", "source", "selector");
+
+	private final PurchaseTracer purchaseTracer;
+
+	private final SessionTimeouts sessionTimeouts;
+
+	@Getter
+	private final boolean enabled;
+
+	private final String address;
+
+	private final int port;
+
+	private final int maxLineLength;
+
+	private Selector selector;
+
+	private ServerSocketChannel serverChannel;
+
+	private final Queue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
+
+	private Thread thread;
+
+	private volatile boolean running;
+
+	@Autowired
+	public LineProtocolServer(PurchaseTracer purchaseTracer, SessionTimeouts sessionTimeouts,
+			@Value("${line-server.enabled:false}") boolean enabled,
+			@Value("${line-server.address:127.0.0.1}") String address,
+			@Value("${line-server.port:7070}") int port,
+			@Value("${line-server.max-line-length:1024}") int maxLineLength) {
+		this.purchaseTracer = purchaseTracer;
+		this.sessionTimeouts = sessionTimeouts;
+		this.enabled = enabled;
+		this.address = address;
+		this.port = port;
+		this.maxLineLength = maxLineLength;
+	}
+
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+
+		try {
+			selector = Selector.open();
+			serverChannel = ServerSocketChannel.open();
+			serverChannel.bind(new InetSocketAddress(address, port));
+			serverChannel.configureBlocking(false);
+			serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		running = true;
+		thread = new Thread(this::run, "line-protocol-server");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	public int getPort() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	@PreDestroy
+	public void close() throws InterruptedException {
+		if (thread == null) {
+			return;
+		}
+
+		synchronized (this) {
+			running = false;
+			if (selector.isOpen()) {
+				selector.wakeup();
+			}
+		}
+		thread.join();
+	}
+
+	private void run() {
+		try {
+			while (running) {
+				try {
+					selector.select();
+				} catch (IOException | ClosedSelectorException e) {
+					selectorFailures.increment();
+					return;
+				}
+
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					handle(key);
+				}
+
+				Runnable task;
+				while ((task = selectorTasks.poll()) != null) {
+					task.run();
+				}
+			}
+		} finally {
+			shutdown();
+		}
+	}
+
+	private synchronized void shutdown() {
+		running = false;
+		if (!selector.isOpen()) {
+			return;
+		}
+
+		for (SelectionKey key : selector.keys()) {
+			if (key.attachment() != null) {
+				closeSession(key);
+			} else {
+				try {
+					key.channel().close();
+				} catch (IOException ignored) {
+				}
+			}
+		}
+		try {
+			selector.close();
+		} catch (IOException ignored) {
+		}
+	}
+
+	private void handle(SelectionKey key) {
+		try {
+			if (key.isValid() && key.isAcceptable()) {
+				accept();
+			}
+			if (key.isValid() && key.isReadable() && !((LineProtocolSession) key.attachment()).read()) {
+				closeSession(key);
+				return;
+			}
+			if (key.isValid() && key.isWritable()) {
+				((LineProtocolSession) key.attachment()).write();
+			}
+			if (key.isValid() && key.attachment() != null) {
+				updateInterest(key, (LineProtocolSession) key.attachment());
+			}
+		} catch (IOException | RuntimeException e) {
+			if (key.attachment() != null) {
+				closeSession(key);
+			}
+		}
+	}
+
+	private void accept() throws IOException {
+		SocketChannel channel = serverChannel.accept();
+		if (channel == null) {
+			return;
+		}
+
+		channel.configureBlocking(false);
+		LineProtocolSession session = new LineProtocolSession(channel, purchaseTracer, maxLineLength);
+		SelectionKey key = channel.register(selector, SelectionKey.OP_READ, session);
+		session.setIdleTimer(sessionTimeouts.watch(() -> {
+			selectorTasks.add(() -> expireIdle(key));
+			selector.wakeup();
+		}));
+		sessionsOpened.increment();
+		session.start();
+		updateInterest(key, session);
+	}
+
+	private void expireIdle(SelectionKey key) {
+		if (!key.isValid()) {
+			return;
+		}
+
+		try {
+			LineProtocolSession session = (LineProtocolSession) key.attachment();
+			sessionTimeouts.expire(session::expireIdle);
+			updateInterest(key, session);
+		} catch (IOException | RuntimeException e) {
+			closeSession(key);
+		}
+	}
+
+	private void updateInterest(SelectionKey key, LineProtocolSession session) throws IOException {
+		if (session.hasPendingOutput()) {
+			key.interestOps(SelectionKey.OP_WRITE);
+		} else if (session.isClosing()) {
+			closeSession(key);
+		} else {
+			key.interestOps(SelectionKey.OP_READ);
+		}
+	}
+
+	private void closeSession(SelectionKey key) {
+		((LineProtocolSession) key.attachment()).close();
+		key.cancel();
+		try {
+			key.channel().close();
+		} catch (IOException ignored) {
+		}
+		sessionsClosed.increment();
+	}
+
+}
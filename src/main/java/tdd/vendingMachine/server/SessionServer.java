@@ -0,0 +1,106 @@
+package tdd.vendingMachine.server;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import lombok.Getter;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.server.executor.SessionExecutor;
+import tdd.vendingMachine.server.session.BlockingLineSession;
+import tdd.vendingMachine.server.timeout.SessionTimeouts;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+@Service
+public class SessionServer {
+
+	private final PurchaseTracer purchaseTracer;
+
+	private final SessionExecutor sessionExecutor;
+
+	private final SessionTimeouts sessionTimeouts;
+
+	@Getter
+	private final boolean enabled;
+
+	private final String address;
+
+	private final int port;
+
+	private final int backlog;
+
+	private ServerSocket serverSocket;
+
+	private Thread thread;
+
+	private volatile boolean running;
+
+	@Autowired
+	public SessionServer(PurchaseTracer purchaseTracer, SessionExecutor sessionExecutor,
+			SessionTimeouts sessionTimeouts,
+			@Value("${session-server.enabled:false}") boolean enabled,
+			@Value("${session-server.address:127.0.0.1}") String address,
+			@Value("${session-server.port:7071}") int port,
+			@Value("${session-server.backlog:4096}") int backlog) {
+		this.purchaseTracer = purchaseTracer;
+		this.sessionExecutor = sessionExecutor;
+		this.sessionTimeouts = sessionTimeouts;
+		this.enabled = enabled;
+		this.address = address;
+		this.port = port;
+		this.backlog = backlog;
+	}
+
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+
+		try {
+			serverSocket = new ServerSocket(port, backlog, InetAddress.getByName(address));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		running = true;
+		thread = new Thread(this::run, "session-server");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	@PreDestroy
+	public void close() throws IOException, InterruptedException {
+		if (!running) {
+			return;
+		}
+
+		running = false;
+		serverSocket.close();
+		thread.join();
+	}
+
+	private void run() {
+		while (running) {
+			try {
+				Socket socket = serverSocket.accept();
+				socket.setTcpNoDelay(true);
+				sessionExecutor.startSession(new BlockingLineSession(socket, sessionExecutor, purchaseTracer,
+					sessionTimeouts));
+			} catch (IOException e) {
+				if (!running) {
+					return;
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+package tdd.vendingMachine.server.executor;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.metrics.Counter;
+import tdd.vendingMachine.metrics.Histogram;
+import tdd.vendingMachine.metrics.Metrics;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class SessionExecutor {
+
+	private static final Counter sessionsStarted = Metrics.counter("vending_sessions_total",
+		"Interaction sessions by lifecycle event.", "event", "started");
+	private static final Counter sessionsFinished = Metrics.counter("vending_sessions_total",
+		"Interaction sessions by lifecycle event.", "event", "finished");
+	private static final Histogram solverQueueLatency = Metrics.histogram("vending_solver_queue_latency_nanoseconds",
+		"Time a session waited for a solver thread.");
+
+	private final ExecutorService sessions;
+
+	private final ExecutorService solvers;
+
+	@Getter
+	private final int solverThreads;
+
+	private final AtomicInteger activeSessions = new AtomicInteger();
+
+	@Autowired
+	public SessionExecutor(@Value("${session.solver-threads:0}") int solverThreads) {
+		this.solverThreads = solverThreads > 0 ? solverThreads : Runtime.getRuntime().availableProcessors();
+		this.sessions = SessionThreads.newThreadPerSessionExecutor("session-");
+		this.solvers = Executors.newFixedThreadPool(this.solverThreads, SessionThreads.platformFactory("solver-"));
+	}
+
+	public boolean isVirtual() {
+		return SessionThreads.isVirtualAvailable();
+	}
+
+	public int getActiveSessions() {
+		return activeSessions.get();
+	}
+
+	public void startSession(Runnable session) {
+		activeSessions.incrementAndGet();
+		sessionsStarted.increment();
+		sessions.execute(() -> {
+			try {
+				session.run();
+			} finally {
+				activeSessions.decrementAndGet();
+				sessionsFinished.increment();
+			}
+		});
+	}
+
+	public void compute(Runnable task) {
+		long submitted = System.nanoTime();
+		try {
+			solvers.submit(() -> {
+				solverQueueLatency.recordSince(submitted);
+				task.run();
+			}).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for solver.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	public void dispatch(Runnable task) {
+		sessions.execute(task);
+	}
+
+	@PreDestroy
+	public void close() throws InterruptedException {
+		sessions.shutdownNow();
+		solvers.shutdown();
+		solvers.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+}
@@ -0,0 +1,63 @@
+package tdd.vendingMachine.server.executor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SessionThreads {
+
+	private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+
+	private static final Method THREAD_PER_TASK_EXECUTOR =
+		findMethod(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+	public static boolean isVirtualAvailable() {
+		return OF_VIRTUAL != null && THREAD_PER_TASK_EXECUTOR != null;
+	}
+
+	public static ThreadFactory factory(String prefix) {
+		if (isVirtualAvailable()) {
+			try {
+				Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+				Object builder = OF_VIRTUAL.invoke(null);
+				builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+				return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+			} catch (ReflectiveOperationException e) {
+				return platformFactory(prefix);
+			}
+		}
+		return platformFactory(prefix);
+	}
+
+	public static ExecutorService newThreadPerSessionExecutor(String prefix) {
+		ThreadFactory threadFactory = factory(prefix);
+		if (isVirtualAvailable()) {
+			try {
+				return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+			} catch (ReflectiveOperationException e) {
+				return Executors.newCachedThreadPool(threadFactory);
+			}
+		}
+		return Executors.newCachedThreadPool(threadFactory);
+	}
+
+	public static ThreadFactory platformFactory(String prefix) {
+		AtomicLong counter = new AtomicLong();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+		try {
+			return type.getMethod(name, parameterTypes);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+}
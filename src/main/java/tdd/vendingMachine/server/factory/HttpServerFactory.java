@@ -0,0 +1,21 @@
+package tdd.vendingMachine.server.factory;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+public class HttpServerFactory {
+
+	private static final String NO_DELAY = "sun.net.httpserver.nodelay";
+
+	public static HttpServer createLoopback(int port) throws IOException {
+		// Read once per JVM, when the first HttpServer is created; -Dsun.net.httpserver.nodelay=false opts out.
+		if (System.getProperty(NO_DELAY) == null) {
+			System.setProperty(NO_DELAY, "true");
+		}
+		return HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+	}
+
+}
@@ -0,0 +1,153 @@
+package tdd.vendingMachine.server.session;
+
+import lombok.Getter;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.machine.cli.sink.BufferedOutputSink;
+import tdd.vendingMachine.machine.cli.sink.ChannelOutputSink;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.machine.state.MachineGraph;
+import tdd.vendingMachine.machine.state.MachineGraphFactory;
+import tdd.vendingMachine.server.executor.SessionExecutor;
+import tdd.vendingMachine.server.timeout.IdleTimer;
+import tdd.vendingMachine.server.timeout.SessionTimeouts;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class BlockingLineSession implements Runnable {
+
+	private static final int BUFFER_SIZE = 4096;
+
+	private final Socket socket;
+
+	private final SessionExecutor sessionExecutor;
+
+	private final ChannelOutputSink socketSink;
+
+	private final BufferedOutputSink screenSink = new BufferedOutputSink(BUFFER_SIZE);
+
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	@Getter
+	private final MachineGraph machineGraph;
+
+	private final SessionTimeouts sessionTimeouts;
+
+	private final IdleTimer idleTimer;
+
+	private volatile boolean closing;
+
+	public BlockingLineSession(Socket socket, SessionExecutor sessionExecutor, PurchaseTracer purchaseTracer,
+			SessionTimeouts sessionTimeouts) throws IOException {
+		this.socket = socket;
+		this.sessionExecutor = sessionExecutor;
+		this.socketSink = new ChannelOutputSink(Channels.newChannel(socket.getOutputStream()),
+			StandardCharsets.UTF_8, BUFFER_SIZE);
+		this.machineGraph = MachineGraphFactory.create(screenSink, exitCode -> closing = true, purchaseTracer,
+			new DomainEventBus());
+		this.sessionTimeouts = sessionTimeouts;
+		this.idleTimer = sessionTimeouts.watch(() -> sessionExecutor.dispatch(this::expireIdle));
+	}
+
+	@Override
+	public void run() {
+		try (Socket ignored = socket;
+			BufferedReader reader = new BufferedReader(
+				new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+			render(0);
+
+			String command;
+			while (!closing && (command = reader.readLine()) != null) {
+				idleTimer.touch();
+				int executed = executeQueuedCommands(command, reader);
+				if (closing) {
+					flush();
+				} else {
+					render(executed);
+				}
+			}
+		} catch (IOException | UncheckedIOException e) {
+			closing = true;
+		} finally {
+			idleTimer.cancel();
+		}
+	}
+
+	private int executeQueuedCommands(String command, BufferedReader reader) throws IOException {
+		int executed = 0;
+		String nextCommand = command;
+		do {
+			String currentCommand = nextCommand;
+			sessionExecutor.compute(() -> {
+				synchronized (machineGraph) {
+					machineGraph.getMachineFacade().executeCommand(currentCommand);
+				}
+			});
+			executed++;
+		} while (!closing && reader.ready() && (nextCommand = reader.readLine()) != null);
+		return executed;
+	}
+
+	private void expireIdle() {
+		writeLock.lock();
+		try {
+			String screen;
+			synchronized (machineGraph) {
+				if (closing || !sessionTimeouts.expire(machineGraph::cancelPurchase)) {
+					return;
+				}
+
+				renderScreen(0);
+				screen = drainScreen();
+			}
+			write(screen);
+		} catch (UncheckedIOException e) {
+			closing = true;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	private void render(int inputLines) {
+		sessionExecutor.compute(() -> {
+			synchronized (machineGraph) {
+				renderScreen(inputLines);
+			}
+		});
+		flush();
+	}
+
+	private void renderScreen(int inputLines) {
+		machineGraph.getCommandLinePrinter().render(machineGraph.getMachineFacade().getState(), inputLines);
+	}
+
+	private void flush() {
+		writeLock.lock();
+		try {
+			String screen;
+			synchronized (machineGraph) {
+				screen = drainScreen();
+			}
+			write(screen);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	private String drainScreen() {
+		machineGraph.getCommandLinePrinter().flush();
+		return screenSink.drain();
+	}
+
+	private void write(String screen) {
+		socketSink.append(screen);
+		socketSink.flush();
+	}
+
+}
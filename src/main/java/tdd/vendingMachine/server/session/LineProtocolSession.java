@@ -0,0 +1,125 @@
+package tdd.vendingMachine.server.session;
+
+import com.google.common.collect.Lists;
+import lombok.Getter;
+import lombok.Setter;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.machine.cli.sink.SocketChannelOutputSink;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.machine.state.MachineGraph;
+import tdd.vendingMachine.machine.state.MachineGraphFactory;
+import tdd.vendingMachine.server.timeout.IdleTimer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+
+public class LineProtocolSession {
+
+	private static final int BUFFER_SIZE = 4096;
+
+	private final SocketChannel channel;
+
+	private final int maxLineLength;
+
+	private final SocketChannelOutputSink outputSink;
+
+	@Getter
+	private final MachineGraph machineGraph;
+
+	private final ByteBuffer input = ByteBuffer.allocate(BUFFER_SIZE);
+
+	private final StringBuilder line = new StringBuilder();
+
+	private final List<String> lines = Lists.newArrayList();
+
+	@Getter
+	private boolean closing;
+
+	@Setter
+	private IdleTimer idleTimer = IdleTimer.disabled();
+
+	public LineProtocolSession(SocketChannel channel, PurchaseTracer purchaseTracer, int maxLineLength) {
+		this.channel = channel;
+		this.maxLineLength = maxLineLength;
+		this.outputSink = new SocketChannelOutputSink(channel, BUFFER_SIZE);
+		this.machineGraph = MachineGraphFactory.create(outputSink, exitCode -> closing = true, purchaseTracer,
+			new DomainEventBus());
+	}
+
+	public void start() {
+		render(0);
+	}
+
+	public boolean read() throws IOException {
+		int read = channel.read(input);
+		if (read < 0) {
+			return false;
+		}
+
+		input.flip();
+		while (input.hasRemaining()) {
+			char character = (char) (input.get() & 0xFF);
+			if (character == '\n') {
+				lines.add(line.toString());
+				line.setLength(0);
+			} else if (character != '\r') {
+				line.append(character);
+			}
+		}
+		input.clear();
+
+		if (line.length() > maxLineLength) {
+			return false;
+		}
+
+		if (!lines.isEmpty()) {
+			idleTimer.touch();
+			executeLines();
+		}
+		return true;
+	}
+
+	public boolean write() throws IOException {
+		return outputSink.writePending();
+	}
+
+	public boolean hasPendingOutput() {
+		return outputSink.hasPending();
+	}
+
+	public boolean expireIdle() {
+		if (!machineGraph.cancelPurchase()) {
+			return false;
+		}
+
+		render(0);
+		return true;
+	}
+
+	public void close() {
+		idleTimer.cancel();
+	}
+
+	private void executeLines() {
+		int executed = 0;
+		for (int i = 0; i < lines.size() && !closing; i++) {
+			machineGraph.getMachineFacade().executeCommand(lines.get(i));
+			executed++;
+		}
+		lines.clear();
+
+		if (closing) {
+			outputSink.flush();
+		} else {
+			render(executed);
+		}
+	}
+
+	private void render(int inputLines) {
+		machineGraph.getCommandLinePrinter().render(machineGraph.getMachineFacade().getState(), inputLines);
+		machineGraph.getCommandLinePrinter().flush();
+	}
+
+}
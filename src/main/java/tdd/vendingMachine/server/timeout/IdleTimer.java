@@ -0,0 +1,74 @@
+package tdd.vendingMachine.server.timeout;
+
+import java.util.function.LongSupplier;
+
+public class IdleTimer {
+
+	private static final IdleTimer DISABLED = new IdleTimer();
+
+	private final TimingWheel timingWheel;
+
+	private final long idleMillis;
+
+	private final Runnable onExpiry;
+
+	private final LongSupplier clock;
+
+	private volatile long lastActivity;
+
+	private volatile Timeout timeout;
+
+	private volatile boolean cancelled;
+
+	IdleTimer(TimingWheel timingWheel, long idleMillis, Runnable onExpiry, LongSupplier clock) {
+		this.timingWheel = timingWheel;
+		this.idleMillis = idleMillis;
+		this.onExpiry = onExpiry;
+		this.clock = clock;
+		this.lastActivity = clock.getAsLong();
+		this.timeout = timingWheel.schedule(this::check, idleMillis);
+	}
+
+	private IdleTimer() {
+		this.timingWheel = null;
+		this.idleMillis = 0;
+		this.onExpiry = null;
+		this.clock = null;
+		this.cancelled = true;
+	}
+
+	public static IdleTimer disabled() {
+		return DISABLED;
+	}
+
+	public void touch() {
+		if (cancelled) {
+			return;
+		}
+
+		lastActivity = clock.getAsLong();
+	}
+
+	public void cancel() {
+		cancelled = true;
+		if (timeout != null) {
+			timeout.cancel();
+		}
+	}
+
+	private void check() {
+		if (cancelled) {
+			return;
+		}
+
+		long now = clock.getAsLong();
+		long idle = now - lastActivity;
+		if (idle >= idleMillis) {
+			lastActivity = now;
+			onExpiry.run();
+			idle = 0;
+		}
+		timeout = timingWheel.schedule(this::check, idleMillis - idle);
+	}
+
+}
@@ -0,0 +1,122 @@
+package tdd.vendingMachine.server.timeout;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tdd.vendingMachine.metrics.Counter;
+import tdd.vendingMachine.metrics.Metrics;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+@Service
+public class SessionTimeouts {
+
+	private static final String TIMEOUTS = "vending_session_timeouts_total";
+	private static final String TIMEOUTS_HELP = "Idle session timeouts by outcome.";
+
+	private static final Counter expired = Metrics.counter(TIMEOUTS, TIMEOUTS_HELP, "outcome", "expired");
+	private static final Counter failed = Metrics.counter(TIMEOUTS, TIMEOUTS_HELP, "outcome", "failed");
+
+	private static final LongSupplier MONOTONIC_MILLIS = () -> System.nanoTime() / 1_000_000;
+
+	@Getter
+	private final long idleMillis;
+
+	private final LongSupplier clock;
+
+	private final TimingWheel timingWheel;
+
+	private Thread thread;
+
+	private volatile boolean running;
+
+	@Autowired
+	public SessionTimeouts(@Value("${session.idle-timeout-millis:120000}") long idleMillis,
+			@Value("${session.timeout-wheel.tick-millis:100}") long tickMillis,
+			@Value("${session.timeout-wheel.size:512}") int wheelSize) {
+		this(idleMillis, tickMillis, wheelSize, MONOTONIC_MILLIS);
+	}
+
+	public SessionTimeouts(long idleMillis, long tickMillis, int wheelSize, LongSupplier clock) {
+		this.idleMillis = idleMillis;
+		this.clock = clock;
+		this.timingWheel = new TimingWheel(tickMillis, wheelSize, clock);
+	}
+
+	public boolean isEnabled() {
+		return idleMillis > 0;
+	}
+
+	@PostConstruct
+	public synchronized void start() {
+		if (running || !isEnabled()) {
+			return;
+		}
+
+		running = true;
+		thread = new Thread(this::run, "session-timeouts");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	public IdleTimer watch(Runnable onExpiry) {
+		if (!isEnabled()) {
+			return IdleTimer.disabled();
+		}
+
+		return new IdleTimer(timingWheel, idleMillis, () -> {
+			try {
+				onExpiry.run();
+			} catch (RuntimeException e) {
+				failed.increment();
+			}
+		}, clock);
+	}
+
+	/**
+	 * Runs the deferred expiry of a session; only a purchase that was actually cancelled counts as expired.
+	 */
+	public boolean expire(BooleanSupplier cancelPurchase) {
+		try {
+			boolean cancelled = cancelPurchase.getAsBoolean();
+			if (cancelled) {
+				expired.increment();
+			}
+			return cancelled;
+		} catch (RuntimeException e) {
+			failed.increment();
+			throw e;
+		}
+	}
+
+	public int advance() {
+		return timingWheel.advance();
+	}
+
+	@PreDestroy
+	public synchronized void close() throws InterruptedException {
+		if (!running) {
+			return;
+		}
+
+		running = false;
+		thread.interrupt();
+		thread.join();
+	}
+
+	private void run() {
+		while (running) {
+			try {
+				Thread.sleep(timingWheel.getTickMillis());
+			} catch (InterruptedException e) {
+				return;
+			}
+			timingWheel.advance();
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+package tdd.vendingMachine.server.timeout;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Timeout {
+
+	private static final int PENDING = 0;
+	private static final int CANCELLED = 1;
+	private static final int EXPIRED = 2;
+
+	@Getter
+	private final long deadline;
+
+	private final Runnable task;
+
+	private final AtomicInteger state = new AtomicInteger(PENDING);
+
+	long remainingRounds;
+
+	Timeout next;
+
+	Timeout previous;
+
+	Timeout(long deadline, Runnable task) {
+		this.deadline = deadline;
+		this.task = task;
+	}
+
+	public boolean cancel() {
+		return state.compareAndSet(PENDING, CANCELLED);
+	}
+
+	public boolean isCancelled() {
+		return state.get() == CANCELLED;
+	}
+
+	public boolean isExpired() {
+		return state.get() == EXPIRED;
+	}
+
+	boolean expire() {
+		if (!state.compareAndSet(PENDING, EXPIRED)) {
+			return false;
+		}
+
+		task.run();
+		return true;
+	}
+
+}
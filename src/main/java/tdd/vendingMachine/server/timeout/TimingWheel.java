@@ -0,0 +1,126 @@
+package tdd.vendingMachine.server.timeout;
+
+import lombok.Getter;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+public class TimingWheel {
+
+	private final Bucket[] buckets;
+
+	private final int mask;
+
+	@Getter
+	private final long tickMillis;
+
+	private final LongSupplier clock;
+
+	private final long startMillis;
+
+	private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+
+	private long tick;
+
+	public TimingWheel(long tickMillis, int wheelSize, LongSupplier clock) {
+		int size = Integer.highestOneBit(Math.max(wheelSize, 1) * 2 - 1);
+		this.buckets = new Bucket[size];
+		for (int i = 0; i < size; i++) {
+			buckets[i] = new Bucket();
+		}
+		this.mask = size - 1;
+		this.tickMillis = tickMillis;
+		this.clock = clock;
+		this.startMillis = clock.getAsLong();
+	}
+
+	public int getWheelSize() {
+		return buckets.length;
+	}
+
+	public Timeout schedule(Runnable task, long delayMillis) {
+		Timeout timeout = new Timeout(clock.getAsLong() - startMillis + Math.max(delayMillis, 0), task);
+		scheduled.add(timeout);
+		return timeout;
+	}
+
+	public int advance() {
+		long elapsed = clock.getAsLong() - startMillis;
+		int expired = 0;
+		while (tick * tickMillis <= elapsed) {
+			transferScheduled();
+			expired += buckets[(int) (tick & mask)].expire();
+			tick++;
+		}
+		return expired;
+	}
+
+	private void transferScheduled() {
+		Timeout timeout;
+		while ((timeout = scheduled.poll()) != null) {
+			if (timeout.isCancelled()) {
+				continue;
+			}
+
+			long deadlineTick = Math.max((timeout.getDeadline() + tickMillis - 1) / tickMillis, tick);
+			timeout.remainingRounds = (deadlineTick - tick) / buckets.length;
+			buckets[(int) (deadlineTick & mask)].add(timeout);
+		}
+	}
+
+	private static class Bucket {
+
+		private Timeout head;
+
+		private Timeout tail;
+
+		void add(Timeout timeout) {
+			timeout.next = null;
+			timeout.previous = tail;
+			if (tail == null) {
+				head = timeout;
+			} else {
+				tail.next = timeout;
+			}
+			tail = timeout;
+		}
+
+		int expire() {
+			int expired = 0;
+			Timeout timeout = head;
+			while (timeout != null) {
+				Timeout next = timeout.next;
+				if (timeout.isCancelled()) {
+					remove(timeout);
+				} else if (timeout.remainingRounds <= 0) {
+					remove(timeout);
+					if (timeout.expire()) {
+						expired++;
+					}
+				} else {
+					timeout.remainingRounds--;
+				}
+				timeout = next;
+			}
+			return expired;
+		}
+
+		private void remove(Timeout timeout) {
+			if (timeout.previous == null) {
+				head = timeout.next;
+			} else {
+				timeout.previous.next = timeout.next;
+			}
+			if (timeout.next == null) {
+				tail = timeout.previous;
+			} else {
+				timeout.next.previous = timeout.previous;
+			}
+			timeout.next = null;
+			timeout.previous = null;
+		}
+
+	}
+
+}
@@ -1,18 +1,31 @@
 package tdd.vendingMachine.shelve.entity;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
 import tdd.vendingMachine.product.Product;
 
-@AllArgsConstructor(staticName = "of")
 public class Shelve {
 
 	@Getter
 	private Product product;
 
 	@Getter
-	@Setter
 	private int quantity;
 
+	@Getter
+	private long version;
+
+	private Shelve(Product product, int quantity) {
+		this.product = product;
+		this.quantity = quantity;
+	}
+
+	public static Shelve of(Product product, int quantity) {
+		return new Shelve(product, quantity);
+	}
+
+	public void setQuantity(int quantity) {
+		this.quantity = quantity;
+		version++;
+	}
+
 }
@@ -0,0 +1,164 @@
+package tdd.vendingMachine.simulation;
+
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.event.entity.PurchaseCompleted;
+import tdd.vendingMachine.event.entity.PurchaseRefused;
+import tdd.vendingMachine.machine.Machine;
+import tdd.vendingMachine.machine.cli.sink.NullOutputSink;
+import tdd.vendingMachine.machine.purchase.enums.PurchaseStatus;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.machine.state.MachineGraph;
+import tdd.vendingMachine.machine.state.MachineGraphFactory;
+import tdd.vendingMachine.scenario.ScenarioGenerator;
+import tdd.vendingMachine.scenario.entity.Scenario;
+import tdd.vendingMachine.simulation.entity.OutcomeEstimate;
+import tdd.vendingMachine.simulation.entity.SimulationReport;
+import tdd.vendingMachine.simulation.entity.SimulationSettings;
+import tdd.vendingMachine.simulation.enums.PaymentBehaviour;
+import tdd.vendingMachine.simulation.enums.SimulationOutcome;
+import tdd.vendingMachine.simulation.util.CustomerPayments;
+import tdd.vendingMachine.simulation.util.ProportionEstimator;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class CustomerSimulator {
+
+	private static final long CUSTOMER_SALT = 0x5DEECE66DL;
+
+	private static final PaymentBehaviour[] PAYMENT_BEHAVIOURS = PaymentBehaviour.values();
+
+	private static final SimulationOutcome[] OUTCOMES = SimulationOutcome.values();
+
+	private final PurchaseTracer purchaseTracer = new PurchaseTracer(0, "purchase-traces.log", 1);
+
+	public SimulationReport run(SimulationSettings settings) {
+		long start = System.nanoTime();
+		double[] paymentWeights = cumulativeWeights(settings.getPaymentMix());
+
+		List<long[]> machineOutcomes = IntStream.range(0, settings.getMachines())
+			.parallel()
+			.mapToObj(machine -> simulateMachine(settings, paymentWeights, machine))
+			.collect(Collectors.toList());
+
+		return SimulationReport.of(settings.getTrials(), settings.getMachines(), (System.nanoTime() - start) / 1_000_000,
+			estimate(machineOutcomes, settings.getDays() * (long) settings.getCustomersPerDay()));
+	}
+
+	private long[] simulateMachine(SimulationSettings settings, double[] paymentWeights, int machineIndex) {
+		Scenario scenario = ScenarioGenerator.generate(settings.getScenarioProfile(),
+			ScenarioGenerator.seedOf(settings.getSeed(), machineIndex));
+		SplittableRandom random = new SplittableRandom(scenario.getSeed() ^ CUSTOMER_SALT);
+		SimulatedMachine simulatedMachine = new SimulatedMachine(scenario);
+		long[] outcomes = new long[OUTCOMES.length];
+
+		for (int day = 0; day < settings.getDays(); day++) {
+			simulatedMachine.service();
+			for (int customer = 0; customer < settings.getCustomersPerDay(); customer++) {
+				PaymentBehaviour paymentBehaviour = pickPaymentBehaviour(paymentWeights, random);
+				outcomes[simulatedMachine.serve(paymentBehaviour, random).ordinal()]++;
+			}
+		}
+		return outcomes;
+	}
+
+	private Map<SimulationOutcome, OutcomeEstimate> estimate(List<long[]> machineOutcomes, long trialsPerMachine) {
+		long[] trials = new long[machineOutcomes.size()];
+		Arrays.fill(trials, trialsPerMachine);
+		long totalTrials = trialsPerMachine * machineOutcomes.size();
+
+		Map<SimulationOutcome, OutcomeEstimate> estimates = new EnumMap<>(SimulationOutcome.class);
+		for (SimulationOutcome outcome : OUTCOMES) {
+			long[] successes = new long[machineOutcomes.size()];
+			long count = 0;
+			for (int i = 0; i < successes.length; i++) {
+				successes[i] = machineOutcomes.get(i)[outcome.ordinal()];
+				count += successes[i];
+			}
+			double[] interval = ProportionEstimator.clustered(successes, trials, ProportionEstimator.Z_95);
+			estimates.put(outcome, OutcomeEstimate.of(outcome, count,
+				totalTrials == 0 ? 0 : (double) count / totalTrials, interval[0], interval[1]));
+		}
+		return estimates;
+	}
+
+	private double[] cumulativeWeights(Map<PaymentBehaviour, Double> paymentMix) {
+		double[] weights = new double[PAYMENT_BEHAVIOURS.length];
+		double sum = 0;
+		for (int i = 0; i < PAYMENT_BEHAVIOURS.length; i++) {
+			sum += paymentMix.getOrDefault(PAYMENT_BEHAVIOURS[i], 0d);
+			weights[i] = sum;
+		}
+		return weights;
+	}
+
+	private PaymentBehaviour pickPaymentBehaviour(double[] cumulativeWeights, SplittableRandom random) {
+		double pick = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (pick < cumulativeWeights[i]) {
+				return PAYMENT_BEHAVIOURS[i];
+			}
+		}
+		return PAYMENT_BEHAVIOURS[PAYMENT_BEHAVIOURS.length - 1];
+	}
+
+	private class SimulatedMachine {
+
+		private final Scenario scenario;
+
+		private final MachineGraph machineGraph;
+
+		private SimulationOutcome lastOutcome;
+
+		SimulatedMachine(Scenario scenario) {
+			this.scenario = scenario;
+			DomainEventBus eventBus = new DomainEventBus();
+			eventBus.subscribe("customer-simulator", event -> {
+				if (event instanceof PurchaseCompleted) {
+					lastOutcome = SimulationOutcome.SUCCESS;
+				} else if (event instanceof PurchaseRefused) {
+					lastOutcome = outcomeOf(((PurchaseRefused) event).getReason());
+				}
+			});
+			machineGraph = MachineGraphFactory.create(new NullOutputSink(), code -> {}, purchaseTracer, eventBus,
+				scenario);
+		}
+
+		void service() {
+			Machine machine = machineGraph.getMachine();
+			for (int i = 0; i < scenario.getStock().size(); i++) {
+				machine.getShelve(i).setQuantity(scenario.getStock().get(i));
+			}
+			machineGraph.getChangeStorage().setOwnedCoins(scenario.createOwnedCoins());
+		}
+
+		SimulationOutcome serve(PaymentBehaviour paymentBehaviour, SplittableRandom random) {
+			Machine machine = machineGraph.getMachine();
+			int shelveIndex = random.nextInt(scenario.getProducts().size());
+			machine.setActiveShelveIndex(shelveIndex);
+			machineGraph.getPurchaseFacade().insertCoins(CustomerPayments.pay(paymentBehaviour,
+				machine.getShelve(shelveIndex).getProduct().getPrice(), random));
+			machineGraph.getPurchaseFacade().buy();
+			machineGraph.getChangeStorage().dispenseInsertedCoins();
+			return lastOutcome;
+		}
+
+		private SimulationOutcome outcomeOf(PurchaseStatus purchaseStatus) {
+			switch (purchaseStatus) {
+				case INSUFFICIENT_CHANGE:
+					return SimulationOutcome.INSUFFICIENT_CHANGE;
+				case NO_PRODUCT:
+					return SimulationOutcome.NO_PRODUCT;
+				default:
+					return SimulationOutcome.INSUFFICIENT_FUNDS;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,31 @@
+package tdd.vendingMachine.simulation.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tdd.vendingMachine.simulation.enums.SimulationOutcome;
+
+@AllArgsConstructor(staticName = "of")
+public class OutcomeEstimate {
+
+	@Getter
+	private SimulationOutcome outcome;
+
+	@Getter
+	private long count;
+
+	@Getter
+	private double rate;
+
+	@Getter
+	private double lower;
+
+	@Getter
+	private double upper;
+
+	@Override
+	public String toString() {
+		return String.format("%-20s %10d  %8.4f%%  [%.4f%%, %.4f%%]", outcome, count, rate * 100, lower * 100,
+			upper * 100);
+	}
+
+}
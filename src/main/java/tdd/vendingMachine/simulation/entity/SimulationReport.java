@@ -0,0 +1,39 @@
+package tdd.vendingMachine.simulation.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tdd.vendingMachine.simulation.enums.SimulationOutcome;
+
+import java.util.Map;
+
+@AllArgsConstructor(staticName = "of")
+public class SimulationReport {
+
+	@Getter
+	private long trials;
+
+	@Getter
+	private int machines;
+
+	@Getter
+	private long elapsedMillis;
+
+	@Getter
+	private Map<SimulationOutcome, OutcomeEstimate> estimates;
+
+	public OutcomeEstimate getEstimate(SimulationOutcome outcome) {
+		return estimates.get(outcome);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder()
+			.append(trials).append(" customers at ").append(machines).append(" machines in ")
+			.append(elapsedMillis).append(" ms, 95% confidence intervals:");
+		for (OutcomeEstimate estimate : estimates.values()) {
+			report.append(System.lineSeparator()).append(estimate);
+		}
+		return report.toString();
+	}
+
+}
@@ -0,0 +1,35 @@
+package tdd.vendingMachine.simulation.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tdd.vendingMachine.scenario.entity.ScenarioProfile;
+import tdd.vendingMachine.simulation.enums.PaymentBehaviour;
+
+import java.util.Map;
+
+@AllArgsConstructor(staticName = "of")
+public class SimulationSettings {
+
+	@Getter
+	private ScenarioProfile scenarioProfile;
+
+	@Getter
+	private Map<PaymentBehaviour, Double> paymentMix;
+
+	@Getter
+	private int machines;
+
+	@Getter
+	private int days;
+
+	@Getter
+	private int customersPerDay;
+
+	@Getter
+	private long seed;
+
+	public long getTrials() {
+		return (long) machines * days * customersPerDay;
+	}
+
+}
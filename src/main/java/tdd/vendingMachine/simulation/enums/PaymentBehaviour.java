@@ -0,0 +1,9 @@
+package tdd.vendingMachine.simulation.enums;
+
+public enum PaymentBehaviour {
+
+	EXACT,
+	LARGEST_COIN,
+	RANDOM
+
+}
@@ -0,0 +1,10 @@
+package tdd.vendingMachine.simulation.enums;
+
+public enum SimulationOutcome {
+
+	SUCCESS,
+	INSUFFICIENT_CHANGE,
+	NO_PRODUCT,
+	INSUFFICIENT_FUNDS
+
+}
@@ -0,0 +1,50 @@
+package tdd.vendingMachine.simulation.factory;
+
+import com.google.common.base.Splitter;
+import tdd.vendingMachine.simulation.enums.PaymentBehaviour;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class PaymentMixFactory {
+
+	private static final Splitter ENTRIES = Splitter.on(',').trimResults().omitEmptyStrings();
+
+	public static Map<PaymentBehaviour, Double> uniform() {
+		Map<PaymentBehaviour, Double> paymentMix = new EnumMap<>(PaymentBehaviour.class);
+		for (PaymentBehaviour paymentBehaviour : PaymentBehaviour.values()) {
+			paymentMix.put(paymentBehaviour, 1d);
+		}
+		return paymentMix;
+	}
+
+	public static Map<PaymentBehaviour, Double> parse(String paymentMix) {
+		if (paymentMix == null || paymentMix.trim().isEmpty()) {
+			return uniform();
+		}
+
+		Map<PaymentBehaviour, Double> weights = new EnumMap<>(PaymentBehaviour.class);
+		for (String entry : ENTRIES.split(paymentMix)) {
+			int separator = entry.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Payment mix entry \"" + entry + "\" has no weight.");
+			}
+
+			try {
+				double weight = Double.parseDouble(entry.substring(separator + 1).trim());
+				if (weight < 0) {
+					throw new IllegalArgumentException("Payment mix weight must not be negative.");
+				}
+				weights.put(PaymentBehaviour.valueOf(entry.substring(0, separator).trim().toUpperCase()), weight);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid payment mix entry \"" + entry + "\".", e);
+			}
+		}
+
+		if (weights.values().stream().mapToDouble(Double::doubleValue).sum() <= 0) {
+			throw new IllegalArgumentException("Payment mix needs a positive weight.");
+		}
+		return weights;
+	}
+
+}
@@ -0,0 +1,78 @@
+package tdd.vendingMachine.simulation.util;
+
+import com.google.common.collect.Lists;
+import org.joda.money.Money;
+import tdd.vendingMachine.money.coin.entity.Coin;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+import tdd.vendingMachine.simulation.enums.PaymentBehaviour;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class CustomerPayments {
+
+	private static final List<Coin> COINS = CoinFactory.AVAILABLE_COINS;
+
+	public static int[] pay(PaymentBehaviour paymentBehaviour, Money price, SplittableRandom random) {
+		int amount = price.getAmountMinorInt();
+		switch (paymentBehaviour) {
+			case EXACT:
+				return payExact(amount);
+			case LARGEST_COIN:
+				return payWithLargestCoin(amount);
+			default:
+				return payRandomly(amount, random);
+		}
+	}
+
+	private static int[] payExact(int amount) {
+		List<Integer> indexes = Lists.newArrayList();
+		int remaining = amount;
+		for (int i = COINS.size() - 1; i >= 0; i--) {
+			int nominal = nominalOf(i);
+			while (remaining >= nominal) {
+				indexes.add(i);
+				remaining -= nominal;
+			}
+		}
+		if (remaining > 0) {
+			indexes.add(0);
+		}
+		return toArray(indexes);
+	}
+
+	private static int[] payWithLargestCoin(int amount) {
+		for (int i = 0; i < COINS.size(); i++) {
+			if (nominalOf(i) >= amount) {
+				return new int[] {i};
+			}
+		}
+
+		int largest = COINS.size() - 1;
+		int[] indexes = new int[(amount + nominalOf(largest) - 1) / nominalOf(largest)];
+		for (int i = 0; i < indexes.length; i++) {
+			indexes[i] = largest;
+		}
+		return indexes;
+	}
+
+	private static int[] payRandomly(int amount, SplittableRandom random) {
+		List<Integer> indexes = Lists.newArrayList();
+		int paid = 0;
+		while (paid < amount) {
+			int index = random.nextInt(COINS.size());
+			indexes.add(index);
+			paid += nominalOf(index);
+		}
+		return toArray(indexes);
+	}
+
+	private static int nominalOf(int index) {
+		return COINS.get(index).getNominal().getAmountMinorInt();
+	}
+
+	private static int[] toArray(List<Integer> indexes) {
+		return indexes.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+}
@@ -0,0 +1,45 @@
+package tdd.vendingMachine.simulation.util;
+
+public class ProportionEstimator {
+
+	public static final double Z_95 = 1.959963984540054;
+
+	public static double[] wilson(long successes, long trials, double z) {
+		if (trials == 0) {
+			return new double[] {0, 1};
+		}
+
+		double p = (double) successes / trials;
+		double z2 = z * z;
+		double denominator = 1 + z2 / trials;
+		double centre = (p + z2 / (2 * trials)) / denominator;
+		double half = z * Math.sqrt(p * (1 - p) / trials + z2 / (4d * trials * trials)) / denominator;
+		return new double[] {successes == 0 ? 0 : Math.max(0, centre - half),
+			successes == trials ? 1 : Math.min(1, centre + half)};
+	}
+
+	public static double[] clustered(long[] successes, long[] trials, double z) {
+		long totalSuccesses = 0;
+		long totalTrials = 0;
+		for (int i = 0; i < trials.length; i++) {
+			totalSuccesses += successes[i];
+			totalTrials += trials[i];
+		}
+
+		if (trials.length < 2 || totalTrials == 0) {
+			return wilson(totalSuccesses, totalTrials, z);
+		}
+
+		double p = (double) totalSuccesses / totalTrials;
+		double sumOfSquares = 0;
+		for (int i = 0; i < trials.length; i++) {
+			double residual = successes[i] - p * trials[i];
+			sumOfSquares += residual * residual;
+		}
+		double variance = trials.length / (trials.length - 1d) * sumOfSquares / ((double) totalTrials * totalTrials);
+		double half = z * Math.sqrt(variance);
+		double[] wilson = wilson(totalSuccesses, totalTrials, z);
+		return new double[] {Math.max(0, Math.min(p - half, wilson[0])), Math.min(1, Math.max(p + half, wilson[1]))};
+	}
+
+}
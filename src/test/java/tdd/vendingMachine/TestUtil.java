@@ -1,9 +1,9 @@
 package tdd.vendingMachine;
 
-import static tdd.vendingMachine.machine.cli.util.DisplayDecorator.COLORS_REGEX;
-
 public class TestUtil {
 
+	private static final String COLORS_REGEX = "\u001B\\[[;\\d]*m";
+
 	public static String stripColors(String input) {
 		return input.replaceAll(COLORS_REGEX, "");
 	}
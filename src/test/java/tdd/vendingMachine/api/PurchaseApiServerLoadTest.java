@@ -0,0 +1,103 @@
+package tdd.vendingMachine.api;
+
+import com.google.common.io.CharStreams;
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.machine.MachineExecutor;
+import tdd.vendingMachine.machine.cli.sink.NullOutputSink;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.machine.state.MachineGraph;
+import tdd.vendingMachine.machine.state.MachineGraphFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+public class PurchaseApiServerLoadTest {
+
+	private static final int CLIENTS = 4;
+	private static final long LOAD_DURATION_MILLIS = 1000;
+
+	private MachineExecutor machineExecutor;
+
+	private PurchaseApiServer purchaseApiServer;
+
+	@Before
+	public void setup() throws IOException {
+		DomainEventBus eventBus = new DomainEventBus();
+		MachineGraph machineGraph = MachineGraphFactory.create(new NullOutputSink(), exitCode -> {},
+			mock(PurchaseTracer.class), eventBus);
+		PurchaseApi purchaseApi = new PurchaseApi(machineGraph.getMachineFacade(), machineGraph.getMachine(),
+			machineGraph.getChangeStorage(), machineGraph.getPurchaseFacade());
+		machineExecutor = new MachineExecutor();
+		purchaseApiServer = new PurchaseApiServer(purchaseApi, machineExecutor, true, 0, "/vending-machine", 2);
+		purchaseApiServer.start();
+	}
+
+	@After
+	public void teardown() {
+		purchaseApiServer.stop();
+		machineExecutor.close();
+	}
+
+	@Test
+	public void sustains_concurrent_load() throws Exception {
+		request("POST", "/shelves/0/select").getResponseCode();
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		long deadline = System.currentTimeMillis() + LOAD_DURATION_MILLIS;
+		Callable<Integer> client = () -> {
+			int requests = 0;
+			while (System.currentTimeMillis() < deadline) {
+				HttpURLConnection connection = request("GET", "/quote");
+				Assertions.assertThat(connection.getResponseCode()).isEqualTo(200);
+				read(connection.getInputStream());
+				requests++;
+			}
+			return requests;
+		};
+
+		long start = System.nanoTime();
+		List<Future<Integer>> results = clients.invokeAll(Collections.nCopies(CLIENTS, client));
+		long elapsedNanos = System.nanoTime() - start;
+		clients.shutdown();
+		clients.awaitTermination(5, TimeUnit.SECONDS);
+
+		int requests = 0;
+		for (Future<Integer> result : results) {
+			requests += result.get();
+		}
+		double requestsPerSecond = requests / (elapsedNanos / 1e9);
+		Assertions.assertThat(requestsPerSecond).isGreaterThan(200);
+	}
+
+	private HttpURLConnection request(String method, String path) throws IOException {
+		URL url = new URL("http://127.0.0.1:" + purchaseApiServer.getPort() + "/vending-machine" + path);
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		connection.setRequestMethod(method);
+		connection.setConnectTimeout(5000);
+		connection.setReadTimeout(5000);
+		return connection;
+	}
+
+	private String read(InputStream inputStream) throws IOException {
+		try (InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+			return CharStreams.toString(reader);
+		}
+	}
+
+}
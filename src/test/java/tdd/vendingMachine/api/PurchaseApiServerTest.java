@@ -0,0 +1,80 @@
+package tdd.vendingMachine.api;
+
+import com.google.common.io.CharStreams;
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.machine.MachineExecutor;
+import tdd.vendingMachine.machine.cli.sink.NullOutputSink;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.machine.state.MachineGraph;
+import tdd.vendingMachine.machine.state.MachineGraphFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.mock;
+
+public class PurchaseApiServerTest {
+
+	private MachineExecutor machineExecutor;
+
+	private PurchaseApiServer purchaseApiServer;
+
+	@Before
+	public void setup() throws IOException {
+		DomainEventBus eventBus = new DomainEventBus();
+		MachineGraph machineGraph = MachineGraphFactory.create(new NullOutputSink(), exitCode -> {},
+			mock(PurchaseTracer.class), eventBus);
+		PurchaseApi purchaseApi = new PurchaseApi(machineGraph.getMachineFacade(), machineGraph.getMachine(),
+			machineGraph.getChangeStorage(), machineGraph.getPurchaseFacade());
+		machineExecutor = new MachineExecutor();
+		purchaseApiServer = new PurchaseApiServer(purchaseApi, machineExecutor, true, 0, "/vending-machine", 2);
+		purchaseApiServer.start();
+	}
+
+	@After
+	public void teardown() {
+		purchaseApiServer.stop();
+		machineExecutor.close();
+	}
+
+	@Test
+	public void serves_json_over_http() throws IOException {
+		HttpURLConnection connection = request("GET", "/shelves");
+
+		Assertions.assertThat(connection.getResponseCode()).isEqualTo(200);
+		Assertions.assertThat(connection.getContentType()).startsWith("application/json");
+		Assertions.assertThat(read(connection.getInputStream())).startsWith("[{\"index\":0");
+	}
+
+	@Test
+	public void purchase_flow_is_served_over_http() throws IOException {
+		Assertions.assertThat(request("POST", "/shelves/1/select").getResponseCode()).isEqualTo(200);
+		Assertions.assertThat(read(request("POST", "/coins/0").getInputStream())).contains("\"count\":1");
+		Assertions.assertThat(request("POST", "/cancel").getResponseCode()).isEqualTo(200);
+		Assertions.assertThat(request("GET", "/nothing").getResponseCode()).isEqualTo(404);
+	}
+
+	private HttpURLConnection request(String method, String path) throws IOException {
+		URL url = new URL("http://127.0.0.1:" + purchaseApiServer.getPort() + "/vending-machine" + path);
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		connection.setRequestMethod(method);
+		connection.setConnectTimeout(5000);
+		connection.setReadTimeout(5000);
+		return connection;
+	}
+
+	private String read(InputStream inputStream) throws IOException {
+		try (InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+			return CharStreams.toString(reader);
+		}
+	}
+
+}
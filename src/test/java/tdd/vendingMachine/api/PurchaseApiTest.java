@@ -0,0 +1,148 @@
+package tdd.vendingMachine.api;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import tdd.vendingMachine.api.entity.ApiResponse;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.machine.cli.sink.NullOutputSink;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.machine.state.MachineGraph;
+import tdd.vendingMachine.machine.state.MachineGraphFactory;
+
+import static org.mockito.Mockito.mock;
+
+public class PurchaseApiTest {
+
+	private MachineGraph machineGraph;
+
+	private PurchaseApi purchaseApi;
+
+	@Before
+	public void setup() {
+		machineGraph = MachineGraphFactory.create(new NullOutputSink(), exitCode -> {}, mock(PurchaseTracer.class),
+			new DomainEventBus());
+		purchaseApi = new PurchaseApi(machineGraph.getMachineFacade(), machineGraph.getMachine(),
+			machineGraph.getChangeStorage(), machineGraph.getPurchaseFacade());
+	}
+
+	@Test
+	public void lists_shelves() {
+		ApiResponse response = purchaseApi.handle("GET", "/shelves");
+
+		Assertions.assertThat(response.getStatus()).isEqualTo(200);
+		Assertions.assertThat(response.getBody()).startsWith("[{\"index\":0,\"product\":\"Coca-Cola\",\"price\":\"1.50\"," +
+			"\"currency\":\"USD\",\"quantity\":");
+	}
+
+	@Test
+	public void lists_coins() {
+		ApiResponse response = purchaseApi.handle("GET", "/coins");
+
+		Assertions.assertThat(response.getStatus()).isEqualTo(200);
+		Assertions.assertThat(response.getBody()).contains("{\"index\":5,\"nominal\":");
+	}
+
+	@Test
+	public void selecting_shelve_returns_quote() {
+		ApiResponse response = purchaseApi.handle("POST", "/shelves/0/select");
+
+		Assertions.assertThat(response.getStatus()).isEqualTo(200);
+		Assertions.assertThat(response.getBody()).startsWith("{\"shelve\":0,\"product\":\"Coca-Cola\"")
+			.contains("\"inserted\":\"0.00\"", "\"insertedCoins\":[]");
+	}
+
+	@Test
+	public void inserted_coin_is_quoted() {
+		purchaseApi.handle("POST", "/shelves/0/select");
+
+		ApiResponse response = purchaseApi.handle("POST", "/coins/0");
+
+		Assertions.assertThat(response.getStatus()).isEqualTo(200);
+		Assertions.assertThat(response.getBody()).contains("\"count\":1").doesNotContain("\"inserted\":\"0.00\"");
+	}
+
+	@Test
+	public void operations_require_selected_shelve() {
+		Assertions.assertThat(purchaseApi.handle("GET", "/quote").getStatus()).isEqualTo(409);
+		Assertions.assertThat(purchaseApi.handle("POST", "/coins/0").getStatus()).isEqualTo(409);
+		Assertions.assertThat(purchaseApi.handle("POST", "/buy").getStatus()).isEqualTo(409);
+	}
+
+	@Test
+	public void buy_without_enough_money_is_refused() {
+		purchaseApi.handle("POST", "/shelves/0/select");
+
+		ApiResponse response = purchaseApi.handle("POST", "/buy");
+
+		Assertions.assertThat(response.getStatus()).isEqualTo(409);
+		Assertions.assertThat(response.getBody()).startsWith("{\"purchased\":false")
+			.contains("\"status\":\"INSUFFICIENT_FUNDS\"");
+	}
+
+	@Test
+	public void buy_with_enough_money_purchases_product() {
+		purchaseApi.handle("POST", "/shelves/0/select");
+		for (int i = 0; i < 6; i++) {
+			purchaseApi.handle("POST", "/coins/" + i);
+		}
+
+		ApiResponse response = purchaseApi.handle("POST", "/buy");
+
+		Assertions.assertThat(response.getBody()).contains("\"status\":");
+		if (response.getStatus() == 200) {
+			Assertions.assertThat(response.getBody()).startsWith("{\"purchased\":true").contains("\"change\":[");
+		} else {
+			Assertions.assertThat(response.getBody()).startsWith("{\"purchased\":false")
+				.matches("(?s).*(INSUFFICIENT_CHANGE|NO_PRODUCT).*");
+		}
+	}
+
+	@Test
+	public void cancel_returns_inserted_coins() {
+		purchaseApi.handle("POST", "/shelves/0/select");
+		purchaseApi.handle("POST", "/coins/0");
+
+		ApiResponse response = purchaseApi.handle("POST", "/cancel");
+
+		Assertions.assertThat(response.getStatus()).isEqualTo(200);
+		Assertions.assertThat(response.getBody()).startsWith("{\"returned\":[{\"nominal\":").contains("\"count\":1");
+		Assertions.assertThat(machineGraph.getChangeStorage().getInsertedCoins()).isEmpty();
+		Assertions.assertThat(purchaseApi.handle("GET", "/quote").getStatus()).isEqualTo(409);
+	}
+
+	@Test
+	public void api_requests_move_the_console_state_machine() {
+		purchaseApi.handle("POST", "/shelves/0/select");
+
+		Assertions.assertThat(machineGraph.getMachineFacade().isPurchaseInProgress()).isTrue();
+		Assertions.assertThat(String.join("\n", machineGraph.getMachineFacade().getState())).contains("Buying");
+
+		purchaseApi.handle("POST", "/cancel");
+
+		Assertions.assertThat(machineGraph.getMachineFacade().isPurchaseInProgress()).isFalse();
+	}
+
+	@Test
+	public void shelve_cannot_be_selected_during_purchase() {
+		purchaseApi.handle("POST", "/shelves/0/select");
+		purchaseApi.handle("POST", "/coins/0");
+
+		ApiResponse response = purchaseApi.handle("POST", "/shelves/1/select");
+
+		Assertions.assertThat(response.getStatus()).isEqualTo(409);
+		Assertions.assertThat(machineGraph.getMachine().getActiveShelveIndex()).isEqualTo(0);
+		Assertions.assertThat(machineGraph.getChangeStorage().getInsertedCoins()).isNotEmpty();
+	}
+
+	@Test
+	public void invalid_requests_are_rejected() {
+		Assertions.assertThat(purchaseApi.handle("GET", "/unknown").getStatus()).isEqualTo(404);
+		Assertions.assertThat(purchaseApi.handle("POST", "/shelves").getStatus()).isEqualTo(405);
+		Assertions.assertThat(purchaseApi.handle("POST", "/shelves/9/select").getStatus()).isEqualTo(404);
+		Assertions.assertThat(purchaseApi.handle("POST", "/shelves/x/select").getStatus()).isEqualTo(404);
+		purchaseApi.handle("POST", "/shelves/0/select");
+		Assertions.assertThat(purchaseApi.handle("POST", "/coins/42").getStatus()).isEqualTo(404);
+	}
+
+}
@@ -0,0 +1,39 @@
+package tdd.vendingMachine.api.json;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+public class JsonWriterTest {
+
+	@Test
+	public void writes_nested_objects_and_arrays() {
+		String json = new JsonWriter().beginObject()
+			.name("name").value("Coca-Cola")
+			.name("quantity").value(3)
+			.name("available").value(true)
+			.name("coins").beginArray()
+				.beginObject().name("count").value(1).endObject()
+				.beginObject().name("count").value(2).endObject()
+			.endArray()
+			.name("shelve").nullValue()
+			.endObject()
+			.toString();
+
+		Assertions.assertThat(json).isEqualTo(
+			"{\"name\":\"Coca-Cola\",\"quantity\":3,\"available\":true,\"coins\":[{\"count\":1},{\"count\":2}],\"shelve\":null}");
+	}
+
+	@Test
+	public void escapes_strings() {
+		String json = new JsonWriter().value("a\"b\\c\n\u0001").toString();
+
+		Assertions.assertThat(json).isEqualTo("\"a\\\"b\\\\c\\n\\u0001\"");
+	}
+
+	@Test
+	public void null_string_is_written_as_null() {
+		Assertions.assertThat(new JsonWriter().beginArray().value((String) null).endArray().toString())
+			.isEqualTo("[null]");
+	}
+
+}
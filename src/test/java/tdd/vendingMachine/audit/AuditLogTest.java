@@ -0,0 +1,71 @@
+package tdd.vendingMachine.audit;
+
+import com.google.common.collect.Maps;
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.event.entity.ChangeDispensed;
+import tdd.vendingMachine.event.entity.CoinInserted;
+import tdd.vendingMachine.event.entity.PurchaseCompleted;
+import tdd.vendingMachine.event.entity.PurchaseRefused;
+import tdd.vendingMachine.event.entity.SessionCancelled;
+import tdd.vendingMachine.machine.purchase.enums.PurchaseStatus;
+import tdd.vendingMachine.money.coin.entity.Coin;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+import tdd.vendingMachine.product.factory.ProductFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public class AuditLogTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void events_are_written_in_order_by_background_consumer() throws Exception {
+		Path directory = temporaryFolder.getRoot().toPath();
+		Map<Coin, Integer> change = Maps.newHashMap();
+		change.put(CoinFactory.create050(), 1);
+
+		DomainEventBus eventBus = new DomainEventBus();
+		AuditLog auditLog = new AuditLog(eventBus, true, 7, directory.toString(), 8, 4, 1024 * 1024, 2);
+		auditLog.subscribe();
+
+		eventBus.publish(CoinInserted.of(CoinFactory.create200()));
+		eventBus.publish(PurchaseRefused.of(1, ProductFactory.createChocolateBar(), PurchaseStatus.INSUFFICIENT_CHANGE));
+		eventBus.publish(PurchaseCompleted.of(1, ProductFactory.createChocolateBar(), change, change, change, change));
+		eventBus.publish(ChangeDispensed.of(change));
+		eventBus.publish(CoinInserted.of(CoinFactory.create050()));
+		eventBus.publish(SessionCancelled.of(change));
+		eventBus.publish(SessionCancelled.of(Maps.newHashMap()));
+		auditLog.close();
+
+		List<String> lines = Files.readAllLines(directory.resolve("audit.log"), StandardCharsets.UTF_8);
+		Assertions.assertThat(lines).hasSize(6);
+		Assertions.assertThat(lines.get(0)).endsWith("machine=7 COIN_INSERTED coin=200");
+		Assertions.assertThat(lines.get(1)).endsWith("machine=7 REFUSAL reason=INSUFFICIENT_CHANGE");
+		Assertions.assertThat(lines.get(2)).endsWith("machine=7 PURCHASE shelve=1 product=1 price=220");
+		Assertions.assertThat(lines.get(3)).endsWith("machine=7 CHANGE_RETURNED coins=0,0,1,0,0,0");
+		Assertions.assertThat(lines.get(4)).endsWith("machine=7 COIN_INSERTED coin=50");
+		Assertions.assertThat(lines.get(5)).endsWith("machine=7 CANCEL coins=0,0,1,0,0,0");
+	}
+
+	@Test
+	public void disabled_audit_log_does_nothing() throws Exception {
+		AuditLog auditLog = new AuditLog(new DomainEventBus(), false, 0, temporaryFolder.getRoot().toPath().resolve("audit").toString(),
+			8, 4, 1024, 2);
+
+		auditLog.coinInserted(CoinFactory.create200());
+		auditLog.close();
+
+		Assertions.assertThat(temporaryFolder.getRoot().toPath().resolve("audit")).doesNotExist();
+		Assertions.assertThat(auditLog.getDroppedEvents()).isEqualTo(0);
+	}
+
+}
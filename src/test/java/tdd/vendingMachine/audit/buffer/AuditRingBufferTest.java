@@ -0,0 +1,76 @@
+package tdd.vendingMachine.audit.buffer;
+
+import com.google.common.collect.Lists;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.audit.entity.AuditEvent;
+import tdd.vendingMachine.audit.enums.AuditEventType;
+
+import java.util.List;
+
+public class AuditRingBufferTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void capacity_must_be_power_of_two() {
+		new AuditRingBuffer(3);
+	}
+
+	@Test
+	public void published_events_are_drained_in_order() {
+		AuditRingBuffer ringBuffer = new AuditRingBuffer(4);
+		publish(ringBuffer, 1);
+		publish(ringBuffer, 2);
+		publish(ringBuffer, 3);
+		List<Integer> drained = Lists.newArrayList();
+
+		Assertions.assertThat(ringBuffer.drain(event -> drained.add(event.getMachineId()), 2)).isEqualTo(2);
+		Assertions.assertThat(ringBuffer.drain(event -> drained.add(event.getMachineId()), 2)).isEqualTo(1);
+		Assertions.assertThat(ringBuffer.drain(event -> drained.add(event.getMachineId()), 2)).isEqualTo(0);
+
+		Assertions.assertThat(drained).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	public void claimed_but_unpublished_event_is_not_drained() {
+		AuditRingBuffer ringBuffer = new AuditRingBuffer(4);
+		ringBuffer.claim().reset(AuditEventType.CANCEL, 0, 1);
+
+		Assertions.assertThat(ringBuffer.drain(event -> {}, 4)).isEqualTo(0);
+	}
+
+	@Test
+	public void full_buffer_drops_events_instead_of_overwriting() {
+		AuditRingBuffer ringBuffer = new AuditRingBuffer(2);
+		publish(ringBuffer, 1);
+		publish(ringBuffer, 2);
+
+		Assertions.assertThat(ringBuffer.claim()).isNull();
+		Assertions.assertThat(ringBuffer.getDropped()).isEqualTo(1);
+
+		List<Integer> drained = Lists.newArrayList();
+		ringBuffer.drain(event -> drained.add(event.getMachineId()), 4);
+		publish(ringBuffer, 3);
+		ringBuffer.drain(event -> drained.add(event.getMachineId()), 4);
+
+		Assertions.assertThat(drained).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	public void slots_are_reused() {
+		AuditRingBuffer ringBuffer = new AuditRingBuffer(2);
+		AuditEvent first = ringBuffer.claim();
+		ringBuffer.publish();
+		ringBuffer.drain(event -> {}, 1);
+		ringBuffer.claim();
+		ringBuffer.publish();
+		ringBuffer.drain(event -> {}, 1);
+
+		Assertions.assertThat(ringBuffer.claim()).isSameAs(first);
+	}
+
+	private static void publish(AuditRingBuffer ringBuffer, int machineId) {
+		ringBuffer.claim().reset(AuditEventType.COIN_INSERTED, 0, machineId);
+		ringBuffer.publish();
+	}
+
+}
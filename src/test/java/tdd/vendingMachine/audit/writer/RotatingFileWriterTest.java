@@ -0,0 +1,38 @@
+package tdd.vendingMachine.audit.writer;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class RotatingFileWriterTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void rotates_files_and_keeps_limited_history() throws Exception {
+		Path directory = temporaryFolder.getRoot().toPath();
+		try (RotatingFileWriter writer = new RotatingFileWriter(directory, "audit", 4, 3)) {
+			writer.write("aaaa\n");
+			writer.write("bbbb\n");
+			writer.write("cccc\n");
+			writer.write("dddd\n");
+			writer.flush();
+
+			Assertions.assertThat(read(writer.pathOf(0))).isEqualTo("dddd\n");
+			Assertions.assertThat(read(writer.pathOf(1))).isEqualTo("cccc\n");
+			Assertions.assertThat(read(writer.pathOf(2))).isEqualTo("bbbb\n");
+			Assertions.assertThat(writer.pathOf(3)).doesNotExist();
+		}
+	}
+
+	private static String read(Path path) throws Exception {
+		return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,42 @@
+package tdd.vendingMachine.bootstrap;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.TestUtil;
+import tdd.vendingMachine.machine.cli.sink.ChannelOutputSink;
+import tdd.vendingMachine.machine.state.MachineGraph;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HeadlessBootstrapTest {
+
+	@Test
+	public void graphs_are_wired_without_application_context() {
+		MachineGraph machineGraph = HeadlessBootstrap.create(new ChannelOutputSink(
+			Channels.newChannel(new ByteArrayOutputStream()), StandardCharsets.UTF_8, 256), code -> {});
+
+		machineGraph.getMachineFacade().executeCommand("s");
+
+		Assertions.assertThat(machineGraph.getMachine().getShelves()).hasSize(3);
+		Assertions.assertThat(machineGraph.getChangeStorage().getOwnedCoins()).hasSize(6);
+	}
+
+	@Test
+	public void serves_commands_from_input() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		AtomicInteger exitCode = new AtomicInteger(-1);
+
+		HeadlessBootstrap.run(new ByteArrayInputStream("s\nq\n".getBytes(StandardCharsets.UTF_8)),
+			new ChannelOutputSink(Channels.newChannel(output), StandardCharsets.UTF_8, 256), exitCode::set);
+
+		Assertions.assertThat(TestUtil.stripColors(new String(output.toByteArray(), StandardCharsets.UTF_8)))
+			.contains("Vending machine is ready.").contains("Shelve no. 0").contains("Exiting.");
+		Assertions.assertThat(exitCode.get()).isZero();
+	}
+
+}
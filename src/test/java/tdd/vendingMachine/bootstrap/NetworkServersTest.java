@@ -0,0 +1,34 @@
+package tdd.vendingMachine.bootstrap;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import tdd.vendingMachine.api.PurchaseApiServer;
+import tdd.vendingMachine.server.LineProtocolServer;
+import tdd.vendingMachine.server.SessionServer;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class NetworkServersTest {
+
+	@Test
+	public void servers_start_when_runner_runs() throws Exception {
+		SessionServer sessionServer = mock(SessionServer.class);
+		LineProtocolServer lineProtocolServer = mock(LineProtocolServer.class);
+		PurchaseApiServer purchaseApiServer = mock(PurchaseApiServer.class);
+
+		new NetworkServers(sessionServer, lineProtocolServer, purchaseApiServer).run();
+
+		verify(sessionServer).start();
+		verify(lineProtocolServer).start();
+		verify(purchaseApiServer).start();
+	}
+
+	@Test
+	public void servers_start_after_warm_up() {
+		Assertions.assertThat(AnnotationAwareOrderComparator.INSTANCE.compare(WarmUp.class, NetworkServers.class))
+			.isNegative();
+	}
+
+}
@@ -0,0 +1,20 @@
+package tdd.vendingMachine.bootstrap;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+public class StartupReportTest {
+
+	@Test
+	public void formats_report_line() {
+		Assertions.assertThat(StartupReport.format("headless", 87, 4096 * 1024, 1500))
+			.isEqualTo("startup mode=headless ready_ms=87 heap_used_kb=4096 loaded_classes=1500");
+	}
+
+	@Test
+	public void formats_scenario_line() {
+		Assertions.assertThat(StartupReport.formatScenario("classic", -42))
+			.isEqualTo("scenario profile=classic seed=-42");
+	}
+
+}
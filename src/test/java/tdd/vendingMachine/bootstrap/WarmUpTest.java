@@ -0,0 +1,72 @@
+package tdd.vendingMachine.bootstrap;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.bootstrap.entity.WarmUpResult;
+import tdd.vendingMachine.metrics.Counter;
+import tdd.vendingMachine.metrics.Metrics;
+
+public class WarmUpTest {
+
+	@Test
+	public void disabled_warm_up_does_nothing() {
+		WarmUp warmUp = new WarmUp(false, 1000, 42, true);
+
+		warmUp.run();
+
+		Assertions.assertThat(warmUp.getLastResult()).isNull();
+	}
+
+	@Test
+	public void enabled_warm_up_runs_before_returning() {
+		WarmUp warmUp = new WarmUp(true, 200, 42, true);
+
+		warmUp.run();
+
+		Assertions.assertThat(warmUp.getLastResult().getIterations()).isPositive();
+	}
+
+	@Test
+	public void warm_up_respects_time_budget() {
+		WarmUpResult result = new WarmUp(true, 300, 7, true).warmUp();
+
+		Assertions.assertThat(result.getIterations()).isPositive();
+		Assertions.assertThat(result.getElapsedMillis()).isLessThan(3000);
+	}
+
+	@Test
+	public void warm_up_runs_whole_rounds() {
+		WarmUpResult result = new WarmUp(true, 300, 7, true).warmUp();
+
+		Assertions.assertThat(result.getIterations()).isPositive();
+		Assertions.assertThat(result.getIterations() % 200).isZero();
+	}
+
+	@Test
+	public void warm_up_does_not_record_synthetic_purchases() {
+		Counter purchasable = Metrics.counter("vending_purchase_status_total", "", "status", "purchasable");
+		Counter completed = Metrics.counter("vending_warm_up_iterations_total", "", "outcome", "completed");
+		long purchasableBefore = purchasable.getCount();
+		long iterationsBefore = completed.getCount();
+
+		WarmUpResult result = new WarmUp(true, 300, 7, true).warmUp();
+
+		Assertions.assertThat(purchasable.getCount()).isEqualTo(purchasableBefore);
+		Assertions.assertThat(completed.getCount()).isEqualTo(iterationsBefore + result.getIterations());
+	}
+
+	@Test
+	public void warm_up_exercises_differential_and_full_renders() {
+		Assertions.assertThat(new WarmUp(true, 100, 7, true).warmUp().getIterations()).isPositive();
+		Assertions.assertThat(new WarmUp(true, 100, 7, false).warmUp().getIterations()).isPositive();
+	}
+
+	@Test
+	public void empty_budget_skips_workload() {
+		WarmUpResult result = new WarmUp(true, 0, 42, true).warmUp();
+
+		Assertions.assertThat(result.getIterations()).isZero();
+		Assertions.assertThat(result.isSettled()).isFalse();
+	}
+
+}
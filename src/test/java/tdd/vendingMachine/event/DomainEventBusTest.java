@@ -0,0 +1,174 @@
+package tdd.vendingMachine.event;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import tdd.vendingMachine.event.entity.CoinInserted;
+import tdd.vendingMachine.event.entity.DomainEvent;
+import tdd.vendingMachine.event.entity.SessionCancelled;
+import tdd.vendingMachine.event.enums.BackpressurePolicy;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class DomainEventBusTest {
+
+	private DomainEventBus eventBus;
+
+	@Before
+	public void setup() {
+		eventBus = new DomainEventBus();
+	}
+
+	@After
+	public void teardown() {
+		eventBus.close();
+	}
+
+	@Test
+	public void inline_subscribers_receive_events_in_publication_order() {
+		List<DomainEvent> first = Lists.newArrayList();
+		List<DomainEvent> second = Lists.newArrayList();
+		eventBus.subscribe("first", first::add);
+		eventBus.subscribe("second", second::add);
+		DomainEvent coinInserted = CoinInserted.of(CoinFactory.create010());
+		DomainEvent sessionCancelled = SessionCancelled.of(Maps.newHashMap());
+
+		eventBus.publish(coinInserted);
+		eventBus.publish(sessionCancelled);
+
+		Assertions.assertThat(first).containsExactly(coinInserted, sessionCancelled);
+		Assertions.assertThat(second).containsExactly(coinInserted, sessionCancelled);
+	}
+
+	@Test
+	public void failing_inline_subscriber_is_counted_and_does_not_stop_delivery() {
+		List<DomainEvent> received = Lists.newArrayList();
+		Subscription failing = eventBus.subscribe("failing", event -> {
+			throw new IllegalStateException();
+		});
+		eventBus.subscribe("next", received::add);
+		DomainEvent coinInserted = CoinInserted.of(CoinFactory.create010());
+
+		eventBus.publish(coinInserted);
+
+		Assertions.assertThat(failing.getFailed()).isEqualTo(1);
+		Assertions.assertThat(failing.getDelivered()).isEqualTo(0);
+		Assertions.assertThat(received).containsExactly(coinInserted);
+	}
+
+	@Test
+	public void async_subscriber_receives_events_on_its_own_thread() throws Exception {
+		List<String> threads = new CopyOnWriteArrayList<>();
+		CountDownLatch delivered = new CountDownLatch(2);
+		eventBus.subscribeAsync("async", event -> {
+			threads.add(Thread.currentThread().getName());
+			delivered.countDown();
+		}, 16, BackpressurePolicy.DROP_NEWEST);
+
+		eventBus.publish(CoinInserted.of(CoinFactory.create010()));
+		eventBus.publish(CoinInserted.of(CoinFactory.create020()));
+
+		Assertions.assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+		Assertions.assertThat(threads).containsOnly("event-subscriber-async");
+	}
+
+	@Test
+	public void slow_subscriber_drops_newest_events_without_blocking_publisher() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		List<DomainEvent> received = new CopyOnWriteArrayList<>();
+		Subscription subscription = eventBus.subscribeAsync("slow", event -> {
+			await(release);
+			received.add(event);
+		}, 2, BackpressurePolicy.DROP_NEWEST);
+
+		DomainEvent blocking = CoinInserted.of(CoinFactory.create010());
+		eventBus.publish(blocking);
+		waitUntilQueueIsEmpty(subscription);
+		List<DomainEvent> queued = Lists.newArrayList(CoinInserted.of(CoinFactory.create020()),
+			CoinInserted.of(CoinFactory.create050()));
+		queued.forEach(eventBus::publish);
+		eventBus.publish(CoinInserted.of(CoinFactory.create100()));
+		release.countDown();
+		eventBus.unsubscribe(subscription);
+
+		Assertions.assertThat(subscription.getDropped()).isEqualTo(1);
+		Assertions.assertThat(received).containsExactly(blocking, queued.get(0), queued.get(1));
+	}
+
+	@Test
+	public void slow_subscriber_drops_oldest_events_when_configured() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		List<DomainEvent> received = new CopyOnWriteArrayList<>();
+		Subscription subscription = eventBus.subscribeAsync("slow", event -> {
+			await(release);
+			received.add(event);
+		}, 2, BackpressurePolicy.DROP_OLDEST);
+
+		DomainEvent blocking = CoinInserted.of(CoinFactory.create010());
+		eventBus.publish(blocking);
+		waitUntilQueueIsEmpty(subscription);
+		DomainEvent oldest = CoinInserted.of(CoinFactory.create020());
+		DomainEvent middle = CoinInserted.of(CoinFactory.create050());
+		DomainEvent newest = CoinInserted.of(CoinFactory.create100());
+		eventBus.publish(oldest);
+		eventBus.publish(middle);
+		eventBus.publish(newest);
+		release.countDown();
+		eventBus.unsubscribe(subscription);
+
+		Assertions.assertThat(subscription.getDropped()).isEqualTo(1);
+		Assertions.assertThat(received).containsExactly(blocking, middle, newest);
+	}
+
+	@Test
+	public void failing_async_subscriber_is_counted_and_keeps_running() throws Exception {
+		CountDownLatch delivered = new CountDownLatch(1);
+		Subscription subscription = eventBus.subscribeAsync("failing", event -> {
+			if (event instanceof CoinInserted) {
+				throw new IllegalStateException();
+			}
+			delivered.countDown();
+		}, 4, BackpressurePolicy.DROP_NEWEST);
+
+		eventBus.publish(CoinInserted.of(CoinFactory.create010()));
+		eventBus.publish(SessionCancelled.of(Maps.newHashMap()));
+
+		Assertions.assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+		Assertions.assertThat(subscription.getFailed()).isEqualTo(1);
+	}
+
+	@Test
+	public void unsubscribed_listener_receives_nothing() {
+		List<DomainEvent> received = Lists.newArrayList();
+		Subscription subscription = eventBus.subscribe("inline", received::add);
+
+		eventBus.unsubscribe(subscription);
+		eventBus.publish(CoinInserted.of(CoinFactory.create010()));
+
+		Assertions.assertThat(received).isEmpty();
+		Assertions.assertThat(eventBus.getSubscriptions()).isEmpty();
+	}
+
+	private static void waitUntilQueueIsEmpty(Subscription subscription) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (((AsyncSubscription) subscription).getQueued() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(1);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
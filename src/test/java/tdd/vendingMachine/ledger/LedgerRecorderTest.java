@@ -0,0 +1,135 @@
+package tdd.vendingMachine.ledger;
+
+import com.google.common.collect.Maps;
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.event.entity.ChangeDispensed;
+import tdd.vendingMachine.event.entity.CoinInserted;
+import tdd.vendingMachine.event.entity.PurchaseCompleted;
+import tdd.vendingMachine.event.entity.SessionCancelled;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.ledger.enums.LedgerRecordType;
+import tdd.vendingMachine.metrics.Counter;
+import tdd.vendingMachine.metrics.Metrics;
+import tdd.vendingMachine.money.coin.entity.Coin;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+import tdd.vendingMachine.product.factory.ProductFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.*;
+
+public class LedgerRecorderTest {
+
+	private Ledger ledger;
+
+	private DomainEventBus eventBus;
+
+	private LedgerRecorder ledgerRecorder;
+
+	@Before
+	public void setup() {
+		ledger = mock(Ledger.class);
+		when(ledger.appendDurably(any(LedgerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+		eventBus = mock(DomainEventBus.class);
+		ledgerRecorder = new LedgerRecorder(ledger, eventBus, 3);
+	}
+
+	@Test
+	public void records_inserted_coin() {
+		ledgerRecorder.coinInserted(CoinFactory.create200());
+
+		LedgerRecord record = captureRecord();
+		Assertions.assertThat(record.getType()).isEqualTo(LedgerRecordType.COIN_INSERTED);
+		Assertions.assertThat(record.getMachineId()).isEqualTo(3);
+		Assertions.assertThat(record.getInsertedDelta()).containsExactly(0, 0, 0, 0, 1, 0);
+	}
+
+	@Test
+	public void records_purchase_as_coin_deltas() {
+		Map<Coin, Integer> ownedBefore = Maps.newHashMap();
+		ownedBefore.put(CoinFactory.create050(), 1);
+		Map<Coin, Integer> insertedBefore = Maps.newHashMap();
+		insertedBefore.put(CoinFactory.create200(), 1);
+		Map<Coin, Integer> ownedAfter = Maps.newHashMap();
+		ownedAfter.put(CoinFactory.create200(), 1);
+		Map<Coin, Integer> insertedAfter = Maps.newHashMap();
+		insertedAfter.put(CoinFactory.create050(), 1);
+
+		ledgerRecorder.purchased(0, ProductFactory.createCocaCola(), ownedBefore, ownedAfter, insertedBefore,
+			insertedAfter);
+
+		ArgumentCaptor<LedgerRecord> argumentCaptor = ArgumentCaptor.forClass(LedgerRecord.class);
+		verify(ledger).appendDurably(argumentCaptor.capture());
+		LedgerRecord record = argumentCaptor.getValue();
+		Assertions.assertThat(record.getType()).isEqualTo(LedgerRecordType.PURCHASE);
+		Assertions.assertThat(record.getPriceMinor()).isEqualTo(150);
+		Assertions.assertThat(record.getProductCode()).isEqualTo(0);
+		Assertions.assertThat(record.getOwnedDelta()).containsExactly(0, 0, -1, 0, 1, 0);
+		Assertions.assertThat(record.getInsertedDelta()).containsExactly(0, 0, 1, 0, -1, 0);
+	}
+
+	@Test
+	public void failed_durable_purchase_record_is_reported() {
+		Counter failed = Metrics.counter("vending_ledger_purchase_records_total", "", "outcome", "failed");
+		long failedBefore = failed.getCount();
+		CompletableFuture<Void> failure = new CompletableFuture<>();
+		failure.completeExceptionally(new UncheckedIOException(new IOException("force failed")));
+		when(ledger.appendDurably(any(LedgerRecord.class))).thenReturn(failure);
+		Map<Coin, Integer> coins = Maps.newHashMap();
+
+		boolean recorded = ledgerRecorder.record(PurchaseCompleted.of(0, ProductFactory.createCocaCola(), coins, coins,
+			coins, coins));
+
+		Assertions.assertThat(recorded).isFalse();
+		Assertions.assertThat(failed.getCount()).isEqualTo(failedBefore + 1);
+	}
+
+	@Test
+	public void change_and_cancel_refunds_are_recorded_separately() {
+		Map<Coin, Integer> coins = Maps.newHashMap();
+		coins.put(CoinFactory.create010(), 2);
+
+		ledgerRecorder.changeDispensed(coins);
+		ledgerRecorder.cancelled(coins);
+
+		ArgumentCaptor<LedgerRecord> argumentCaptor = ArgumentCaptor.forClass(LedgerRecord.class);
+		verify(ledger, times(2)).append(argumentCaptor.capture());
+		Assertions.assertThat(argumentCaptor.getAllValues().get(0).getType()).isEqualTo(LedgerRecordType.CHANGE_DISPENSED);
+		Assertions.assertThat(argumentCaptor.getAllValues().get(0).getInsertedDelta()[0]).isEqualTo(-2);
+		Assertions.assertThat(argumentCaptor.getAllValues().get(1).getType()).isEqualTo(LedgerRecordType.CANCEL);
+	}
+
+	@Test
+	public void subscribes_to_domain_events() {
+		Map<Coin, Integer> coins = Maps.newHashMap();
+		coins.put(CoinFactory.create010(), 1);
+
+		ledgerRecorder.subscribe();
+		ledgerRecorder.onEvent(CoinInserted.of(CoinFactory.create100()));
+		ledgerRecorder.onEvent(ChangeDispensed.of(coins));
+		ledgerRecorder.onEvent(CoinInserted.of(CoinFactory.create100()));
+		ledgerRecorder.onEvent(SessionCancelled.of(coins));
+		ledgerRecorder.onEvent(SessionCancelled.of(Maps.newHashMap()));
+
+		verify(eventBus).subscribe("ledger", ledgerRecorder);
+		ArgumentCaptor<LedgerRecord> argumentCaptor = ArgumentCaptor.forClass(LedgerRecord.class);
+		verify(ledger, times(4)).append(argumentCaptor.capture());
+		Assertions.assertThat(argumentCaptor.getAllValues()).extracting("type")
+			.containsExactly(LedgerRecordType.COIN_INSERTED, LedgerRecordType.CHANGE_DISPENSED,
+				LedgerRecordType.COIN_INSERTED, LedgerRecordType.CANCEL);
+	}
+
+	private LedgerRecord captureRecord() {
+		ArgumentCaptor<LedgerRecord> argumentCaptor = ArgumentCaptor.forClass(LedgerRecord.class);
+		verify(ledger).append(argumentCaptor.capture());
+		return argumentCaptor.getValue();
+	}
+
+}
@@ -0,0 +1,64 @@
+package tdd.vendingMachine.ledger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.ledger.factory.LedgerRecordFactory;
+import tdd.vendingMachine.ledger.projection.LedgerProjection;
+import tdd.vendingMachine.machine.Machine;
+import tdd.vendingMachine.money.change.ChangeStorage;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+public class LedgerRecoveryTest {
+
+	private Ledger ledger;
+
+	private LedgerRecorder ledgerRecorder;
+
+	private Machine machine;
+
+	private ChangeStorage changeStorage;
+
+	private LedgerRecovery ledgerRecovery;
+
+	@Before
+	public void setup() {
+		ledger = mock(Ledger.class);
+		when(ledger.isEnabled()).thenReturn(true);
+		when(ledger.getRecoveredProjection()).thenReturn(new LedgerProjection());
+		ledgerRecorder = mock(LedgerRecorder.class);
+		changeStorage = new ChangeStorage(new DomainEventBus());
+		machine = new Machine(changeStorage);
+		ledgerRecovery = new LedgerRecovery(ledger, ledgerRecorder, machine, changeStorage);
+	}
+
+	@Test
+	public void records_initial_stock_when_ledger_is_empty() {
+		ledgerRecovery.recover();
+
+		verify(ledgerRecorder, times(3)).shelveStocked(anyInt(), any(), anyInt());
+		verify(ledgerRecorder).coinsStocked(changeStorage.getOwnedCoins());
+	}
+
+	@Test
+	public void restores_state_from_ledger() {
+		LedgerProjection ledgerProjection = new LedgerProjection();
+		ledgerProjection.apply(LedgerRecordFactory.shelveStocked(0, 1, 1, 9));
+		ledgerProjection.apply(LedgerRecordFactory.coinsStocked(0, new int[] {4, 0, 0, 0, 0, 0}));
+		ledgerProjection.apply(LedgerRecordFactory.coinInserted(0, 3));
+		when(ledger.getRecoveredProjection()).thenReturn(ledgerProjection);
+
+		ledgerRecovery.recover();
+
+		Assertions.assertThat(machine.getShelve(1).getQuantity()).isEqualTo(9);
+		Assertions.assertThat(changeStorage.getOwnedCoins().get(CoinFactory.create010())).isEqualTo(4);
+		Assertions.assertThat(changeStorage.getInsertedCoins()).hasSize(1);
+		Assertions.assertThat(changeStorage.getInsertedCoins().get(CoinFactory.create100())).isEqualTo(1);
+		verify(ledgerRecorder, never()).coinsStocked(any());
+	}
+
+}
@@ -0,0 +1,126 @@
+package tdd.vendingMachine.ledger;
+
+import com.google.common.collect.Lists;
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import tdd.vendingMachine.ledger.archive.TransactionArchives;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.ledger.enums.LedgerDurability;
+import tdd.vendingMachine.ledger.factory.LedgerRecordFactory;
+import tdd.vendingMachine.ledger.projection.MachineProjection;
+import tdd.vendingMachine.ledger.segment.LedgerSegment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class LedgerTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void records_survive_restart_and_roll_segments() throws Exception {
+		String directory = temporaryFolder.getRoot().getPath();
+		Ledger ledger = new Ledger(true, directory, 2, LedgerDurability.ASYNC, 16, 100, 1000, false);
+		for (int i = 0; i < 5; i++) {
+			ledger.append(LedgerRecordFactory.coinInserted(0, i));
+		}
+		ledger.close();
+
+		Ledger reopenedLedger = new Ledger(true, directory, 2, LedgerDurability.ASYNC, 16, 100, 1000, false);
+		reopenedLedger.append(LedgerRecordFactory.coinInserted(0, 5));
+		reopenedLedger.close();
+
+		List<LedgerRecord> records = Lists.newArrayList();
+		Ledger replayedLedger = new Ledger(true, directory, 2, LedgerDurability.ASYNC, 16, 100, 1000, false);
+		replayedLedger.replay(records::add);
+
+		Assertions.assertThat(records).extracting("sequence").endsWith(5L);
+		Assertions.assertThat(records.get(records.size() - 1).getInsertedDelta()[5]).isEqualTo(1);
+		Assertions.assertThat(replayedLedger.getRecoveredProjection().getMachine(0).getInsertedCoins())
+			.containsExactly(1, 1, 1, 1, 1, 1);
+	}
+
+	@Test
+	public void disabled_ledger_records_nothing() throws Exception {
+		Ledger ledger = new Ledger(false, temporaryFolder.getRoot().getPath(), 2, LedgerDurability.ASYNC, 16, 100, 1000, false);
+		List<LedgerRecord> records = Lists.newArrayList();
+
+		ledger.append(LedgerRecordFactory.coinInserted(0, 0));
+		ledger.replay(records::add);
+		ledger.close();
+
+		Assertions.assertThat(records).isEmpty();
+		Assertions.assertThat(temporaryFolder.getRoot().list()).isEmpty();
+	}
+
+	@Test
+	public void durable_append_completes_once_record_is_forced() throws Exception {
+		String directory = temporaryFolder.getRoot().getPath();
+		Ledger ledger = new Ledger(true, directory, 16, LedgerDurability.GROUP_COMMIT, 16, 100, 1000, false);
+
+		ledger.append(LedgerRecordFactory.coinInserted(0, 0));
+		ledger.appendDurably(LedgerRecordFactory.coinInserted(0, 1)).get();
+
+		Assertions.assertThat(ledger.getGroupCommitStatistics().getForces()).isEqualTo(1);
+		Assertions.assertThat(ledger.getGroupCommitStatistics().getDurableRequests()).isEqualTo(1);
+		ledger.close();
+	}
+
+	@Test
+	public void snapshot_truncates_covered_segments_and_bounds_restart_replay() throws Exception {
+		String directory = temporaryFolder.getRoot().getPath();
+		Ledger ledger = new Ledger(true, directory, 4, LedgerDurability.ASYNC, 16, 100, 6, false);
+		ledger.append(LedgerRecordFactory.shelveStocked(0, 0, 0, 5));
+		for (int i = 0; i < 12; i++) {
+			ledger.append(LedgerRecordFactory.coinInserted(0, 1));
+		}
+		ledger.close();
+
+		Assertions.assertThat(LedgerSegment.list(temporaryFolder.getRoot().toPath())).hasSize(1);
+
+		Ledger reopenedLedger = new Ledger(true, directory, 4, LedgerDurability.ASYNC, 16, 100, 6, false);
+		MachineProjection machineProjection = reopenedLedger.getRecoveredProjection().getMachine(0);
+		reopenedLedger.append(LedgerRecordFactory.coinInserted(0, 2));
+		reopenedLedger.close();
+
+		Assertions.assertThat(machineProjection.getShelveQuantities().get(0)).isEqualTo(5);
+		Assertions.assertThat(machineProjection.getInsertedCoins()[1]).isEqualTo(12);
+		Assertions.assertThat(new Ledger(true, directory, 4, LedgerDurability.ASYNC, 16, 100, 6, false)
+			.getRecoveredProjection().getMachine(0).getInsertedCoins()).containsExactly(0, 12, 1, 0, 0, 0);
+	}
+
+	@Test
+	public void segments_that_failed_to_archive_are_not_truncated() throws Exception {
+		String directory = temporaryFolder.getRoot().getPath();
+		Files.createFile(temporaryFolder.getRoot().toPath().resolve("archive"));
+		Ledger ledger = new Ledger(true, directory, 4, LedgerDurability.ASYNC, 16, 100, 6, true);
+		for (int i = 0; i < 12; i++) {
+			ledger.append(LedgerRecordFactory.coinInserted(0, 1));
+		}
+		ledger.close();
+
+		List<Path> segments = LedgerSegment.list(temporaryFolder.getRoot().toPath());
+		Assertions.assertThat(segments).hasSize(3);
+		Assertions.assertThat(LedgerSegment.baseSequenceOf(segments.get(0))).isEqualTo(0);
+	}
+
+	@Test
+	public void sealed_segments_are_archived_before_truncation() throws Exception {
+		String directory = temporaryFolder.getRoot().getPath();
+		Ledger ledger = new Ledger(true, directory, 2, LedgerDurability.ASYNC, 16, 100, 1000, true);
+		for (int i = 0; i < 5; i++) {
+			ledger.append(LedgerRecordFactory.purchase(0, 1, 1, 220, new int[] {0, 0, 0, 0, 1, 0},
+				new int[] {0, 0, 0, 0, -1, 0}));
+		}
+		ledger.close();
+
+		Assertions.assertThat(TransactionArchives.list(ledger.getArchiveDirectory())).hasSize(2);
+		Assertions.assertThat(TransactionArchives.revenuePerProductPerDay(ledger.getArchiveDirectory()).values())
+			.extracting("Chocolate bar").extracting("amountMinorInt").containsExactly(880);
+	}
+
+}
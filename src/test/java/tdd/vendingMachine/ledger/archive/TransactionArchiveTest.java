@@ -0,0 +1,121 @@
+package tdd.vendingMachine.ledger.archive;
+
+import com.google.common.collect.Lists;
+import org.assertj.core.api.Assertions;
+import org.joda.money.Money;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.ledger.enums.LedgerRecordType;
+import tdd.vendingMachine.ledger.factory.LedgerRecordFactory;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+public class TransactionArchiveTest {
+
+	private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void purchases_are_stored_in_columns() throws Exception {
+		Path path = temporaryFolder.getRoot().toPath().resolve("segment.col");
+		List<LedgerRecord> records = Lists.newArrayList(
+			LedgerRecordFactory.coinInserted(3, 4),
+			purchase(3, 2, 1, 650, new int[] {0, 0, -1, 0, 1, 1}, 1000L),
+			purchase(8, 0, 0, 150, new int[] {0, 0, 1, 1, 0, 0}, 5000L)
+		);
+
+		TransactionArchiveWriter.write(path, records);
+
+		try (TransactionArchive archive = TransactionArchive.open(path)) {
+			Assertions.assertThat(archive.getRows()).isEqualTo(2);
+			Assertions.assertThat(archive.getMachineId(0)).isEqualTo(3);
+			Assertions.assertThat(archive.getShelveIndex(0)).isEqualTo(2);
+			Assertions.assertThat(archive.getProductCode(0)).isEqualTo(1);
+			Assertions.assertThat(archive.getPriceMinor(0)).isEqualTo(650);
+			Assertions.assertThat(archive.getCoinsInMinor(0)).isEqualTo(700);
+			Assertions.assertThat(archive.getCoinsOutMinor(0)).isEqualTo(50);
+			Assertions.assertThat(archive.getTimestamp(0)).isEqualTo(1000L);
+			Assertions.assertThat(archive.getMachineId(1)).isEqualTo(8);
+			Assertions.assertThat(archive.getProductCode(1)).isEqualTo(0);
+			Assertions.assertThat(archive.getTimestamp(1)).isEqualTo(5000L);
+		}
+	}
+
+	@Test
+	public void coins_in_and_out_come_from_change_dispensed_after_purchase() throws Exception {
+		Path path = temporaryFolder.getRoot().toPath().resolve("segment.col");
+		List<LedgerRecord> records = Lists.newArrayList(
+			purchase(0, 0, 0, 50, new int[] {0, 0, 1, 0, 0, 0}, 0L),
+			LedgerRecordFactory.coinsReturned(LedgerRecordType.CHANGE_DISPENSED, 0, new int[] {0, 0, 1, 0, 0, 0}),
+			purchase(0, 0, 0, 50, new int[] {0, 0, 1, 0, 0, 0}, 10L)
+		);
+
+		TransactionArchiveWriter.write(path, records);
+
+		try (TransactionArchive archive = TransactionArchive.open(path)) {
+			Assertions.assertThat(archive.getCoinsInMinor(0)).isEqualTo(100);
+			Assertions.assertThat(archive.getCoinsOutMinor(0)).isEqualTo(50);
+			Assertions.assertThat(archive.getCoinsInMinor(1)).isEqualTo(50);
+			Assertions.assertThat(archive.getCoinsOutMinor(1)).isEqualTo(0);
+		}
+	}
+
+	@Test
+	public void timestamps_spanning_years_are_kept_with_second_resolution() throws Exception {
+		Path path = temporaryFolder.getRoot().toPath().resolve("segment.col");
+		long yearLater = 400 * DAY + 7000;
+
+		TransactionArchiveWriter.write(path, Lists.newArrayList(
+			purchase(0, 0, 0, 150, new int[] {0, 0, 1, 1, 0, 0}, 0L),
+			purchase(0, 0, 0, 150, new int[] {0, 0, 1, 1, 0, 0}, yearLater)
+		));
+
+		try (TransactionArchive archive = TransactionArchive.open(path)) {
+			Assertions.assertThat(archive.getTimestamp(1)).isEqualTo(yearLater);
+		}
+	}
+
+	@Test
+	public void computes_revenue_per_product_per_day() throws Exception {
+		Path directory = temporaryFolder.getRoot().toPath();
+		TransactionArchiveWriter.write(directory.resolve("segment-1.col"), Lists.newArrayList(
+			purchase(0, 0, 0, 150, new int[] {0, 0, 1, 1, 0, 0}, 0L),
+			purchase(0, 1, 1, 220, new int[] {0, 1, 0, 0, 1, 0}, 10L),
+			purchase(1, 0, 0, 150, new int[] {0, 0, 1, 1, 0, 0}, DAY + 10)
+		));
+		TransactionArchiveWriter.write(directory.resolve("segment-2.col"), Lists.newArrayList(
+			purchase(0, 0, 0, 150, new int[] {0, 0, 1, 1, 0, 0}, DAY + 20)
+		));
+
+		SortedMap<LocalDate, Map<String, Money>> report = TransactionArchives.revenuePerProductPerDay(directory);
+
+		Assertions.assertThat(report).hasSize(2);
+		Assertions.assertThat(report.get(LocalDate.ofEpochDay(0)).get("Coca-Cola").getAmountMinorInt()).isEqualTo(150);
+		Assertions.assertThat(report.get(LocalDate.ofEpochDay(0)).get("Chocolate bar").getAmountMinorInt()).isEqualTo(220);
+		Assertions.assertThat(report.get(LocalDate.ofEpochDay(1)).get("Coca-Cola").getAmountMinorInt()).isEqualTo(300);
+		Assertions.assertThat(report.get(LocalDate.ofEpochDay(1))).doesNotContainKey("Chocolate bar");
+	}
+
+	private static LedgerRecord purchase(int machineId, int shelveIndex, int productCode, int price, int[] ownedDelta,
+			long timestamp) {
+		int[] insertedDelta = new int[ownedDelta.length];
+		for (int i = 0; i < ownedDelta.length; i++) {
+			insertedDelta[i] = -ownedDelta[i];
+		}
+		LedgerRecord purchase = LedgerRecordFactory.purchase(machineId, shelveIndex, productCode, price, ownedDelta,
+			insertedDelta);
+		return LedgerRecord.of(0, timestamp, LedgerRecordType.PURCHASE, purchase.getMachineId(),
+			purchase.getShelveIndex(), purchase.getProductCode(), purchase.getQuantity(), purchase.getPriceMinor(),
+			purchase.getOwnedDelta(), purchase.getInsertedDelta());
+	}
+
+}
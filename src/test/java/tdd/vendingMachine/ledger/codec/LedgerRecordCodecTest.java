@@ -0,0 +1,54 @@
+package tdd.vendingMachine.ledger.codec;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.ledger.enums.LedgerRecordType;
+import tdd.vendingMachine.ledger.factory.LedgerRecordFactory;
+
+import java.nio.ByteBuffer;
+
+public class LedgerRecordCodecTest {
+
+	private LedgerRecordCodec ledgerRecordCodec = new LedgerRecordCodec();
+
+	@Test
+	public void encoded_record_is_decoded() {
+		ByteBuffer buffer = ByteBuffer.allocate(LedgerRecordCodec.RECORD_SIZE * 2);
+		LedgerRecord record = LedgerRecordFactory.purchase(7, 2, 1, 220,
+			new int[] {0, 0, 0, 2, 1, 0}, new int[] {0, 0, 1, -2, -2, 0});
+		record.setSequence(42);
+
+		ledgerRecordCodec.encode(record, buffer, LedgerRecordCodec.RECORD_SIZE);
+		LedgerRecord decoded = ledgerRecordCodec.decode(buffer, LedgerRecordCodec.RECORD_SIZE);
+
+		Assertions.assertThat(decoded.getSequence()).isEqualTo(42);
+		Assertions.assertThat(decoded.getTimestamp()).isEqualTo(record.getTimestamp());
+		Assertions.assertThat(decoded.getType()).isEqualTo(LedgerRecordType.PURCHASE);
+		Assertions.assertThat(decoded.getMachineId()).isEqualTo(7);
+		Assertions.assertThat(decoded.getShelveIndex()).isEqualTo(2);
+		Assertions.assertThat(decoded.getProductCode()).isEqualTo(1);
+		Assertions.assertThat(decoded.getQuantity()).isEqualTo(1);
+		Assertions.assertThat(decoded.getPriceMinor()).isEqualTo(220);
+		Assertions.assertThat(decoded.getOwnedDelta()).containsExactly(0, 0, 0, 2, 1, 0);
+		Assertions.assertThat(decoded.getInsertedDelta()).containsExactly(0, 0, 1, -2, -2, 0);
+	}
+
+	@Test
+	public void empty_slot_is_not_decoded() {
+		ByteBuffer buffer = ByteBuffer.allocate(LedgerRecordCodec.RECORD_SIZE);
+
+		Assertions.assertThat(ledgerRecordCodec.decode(buffer, 0)).isNull();
+	}
+
+	@Test
+	public void torn_record_is_not_decoded() {
+		ByteBuffer buffer = ByteBuffer.allocate(LedgerRecordCodec.RECORD_SIZE);
+		ledgerRecordCodec.encode(LedgerRecordFactory.coinInserted(0, 3), buffer, 0);
+
+		buffer.put(30, (byte) 1);
+
+		Assertions.assertThat(ledgerRecordCodec.decode(buffer, 0)).isNull();
+	}
+
+}
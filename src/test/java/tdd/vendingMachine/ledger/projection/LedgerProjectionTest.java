@@ -0,0 +1,41 @@
+package tdd.vendingMachine.ledger.projection;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.ledger.enums.LedgerRecordType;
+import tdd.vendingMachine.ledger.factory.LedgerRecordFactory;
+
+public class LedgerProjectionTest {
+
+	@Test
+	public void rebuilds_machine_state_from_records() {
+		LedgerProjection ledgerProjection = new LedgerProjection();
+
+		ledgerProjection.apply(LedgerRecordFactory.shelveStocked(1, 0, 0, 3));
+		ledgerProjection.apply(LedgerRecordFactory.coinsStocked(1, new int[] {1, 1, 1, 1, 1, 1}));
+		ledgerProjection.apply(LedgerRecordFactory.coinInserted(1, 4));
+		ledgerProjection.apply(LedgerRecordFactory.purchase(1, 0, 0, 150,
+			new int[] {0, 0, -1, 0, 1, 0}, new int[] {0, 0, 1, 0, -1, 0}));
+		ledgerProjection.apply(LedgerRecordFactory.coinsReturned(LedgerRecordType.CHANGE_DISPENSED, 1,
+			new int[] {0, 0, 1, 0, 0, 0}));
+
+		MachineProjection machineProjection = ledgerProjection.getMachine(1);
+
+		Assertions.assertThat(machineProjection.getShelveQuantities().get(0)).isEqualTo(2);
+		Assertions.assertThat(machineProjection.getOwnedCoins()).containsExactly(1, 1, 0, 1, 2, 1);
+		Assertions.assertThat(machineProjection.getInsertedCoins()).containsExactly(0, 0, 0, 0, 0, 0);
+	}
+
+	@Test
+	public void keeps_machines_apart() {
+		LedgerProjection ledgerProjection = new LedgerProjection();
+
+		ledgerProjection.apply(LedgerRecordFactory.coinInserted(1, 0));
+		ledgerProjection.apply(LedgerRecordFactory.coinInserted(2, 5));
+
+		Assertions.assertThat(ledgerProjection.getMachines()).hasSize(2);
+		Assertions.assertThat(ledgerProjection.getMachine(1).getInsertedCoins()[0]).isEqualTo(1);
+		Assertions.assertThat(ledgerProjection.getMachine(2).getInsertedCoins()[5]).isEqualTo(1);
+	}
+
+}
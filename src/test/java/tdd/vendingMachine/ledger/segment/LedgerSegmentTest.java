@@ -0,0 +1,106 @@
+package tdd.vendingMachine.ledger.segment;
+
+import com.google.common.collect.Lists;
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.ledger.factory.LedgerRecordFactory;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+
+import static tdd.vendingMachine.ledger.codec.LedgerRecordCodec.RECORD_SIZE;
+
+public class LedgerSegmentTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void appends_records_until_full() throws Exception {
+		try (LedgerSegment segment = LedgerSegment.create(temporaryFolder.getRoot().toPath(), 10, 2)) {
+			Assertions.assertThat(segment.append(record(10))).isTrue();
+			Assertions.assertThat(segment.append(record(11))).isTrue();
+			Assertions.assertThat(segment.append(record(12))).isFalse();
+
+			Assertions.assertThat(segment.isFull()).isTrue();
+			Assertions.assertThat(segment.getLastSequence()).isEqualTo(11);
+		}
+	}
+
+	@Test
+	public void reopened_segment_continues_after_last_record() throws Exception {
+		Path directory = temporaryFolder.getRoot().toPath();
+		try (LedgerSegment segment = LedgerSegment.create(directory, 0, 8)) {
+			segment.append(record(0));
+			segment.append(record(1));
+			segment.force();
+		}
+
+		try (LedgerSegment segment = LedgerSegment.open(LedgerSegment.list(directory).get(0))) {
+			List<LedgerRecord> records = Lists.newArrayList();
+			segment.forEach(records::add);
+
+			Assertions.assertThat(records).extracting("sequence").containsExactly(0L, 1L);
+			Assertions.assertThat(segment.getSize()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	public void torn_tail_is_discarded_on_recovery() throws Exception {
+		Path directory = temporaryFolder.getRoot().toPath();
+		try (LedgerSegment segment = LedgerSegment.create(directory, 0, 8)) {
+			segment.append(record(0));
+			segment.append(record(1));
+			segment.force();
+		}
+
+		try (RandomAccessFile file = new RandomAccessFile(directory.resolve(LedgerSegment.fileName(0)).toFile(), "rw")) {
+			file.seek(RECORD_SIZE + 40);
+			file.write(0x7f);
+		}
+
+		try (LedgerSegment segment = LedgerSegment.open(directory.resolve(LedgerSegment.fileName(0)))) {
+			Assertions.assertThat(segment.getSize()).isEqualTo(1);
+			Assertions.assertThat(segment.getLastSequence()).isEqualTo(0);
+		}
+	}
+
+	@Test
+	public void reads_segment_without_opening_it_for_writing() throws Exception {
+		Path directory = temporaryFolder.getRoot().toPath();
+		try (LedgerSegment segment = LedgerSegment.create(directory, 0, 4)) {
+			segment.append(record(0));
+			segment.append(record(1));
+			segment.force();
+		}
+
+		List<LedgerRecord> records = Lists.newArrayList();
+		LedgerSegment.read(directory.resolve(LedgerSegment.fileName(0)), records::add);
+
+		Assertions.assertThat(records).extracting("sequence").containsExactly(0L, 1L);
+	}
+
+	@Test
+	public void lists_segments_in_sequence_order() throws Exception {
+		Path directory = temporaryFolder.getRoot().toPath();
+		LedgerSegment.create(directory, 100, 1).close();
+		LedgerSegment.create(directory, 5, 1).close();
+
+		List<Path> segments = LedgerSegment.list(directory);
+
+		Assertions.assertThat(segments).hasSize(2);
+		Assertions.assertThat(LedgerSegment.baseSequenceOf(segments.get(0))).isEqualTo(5);
+		Assertions.assertThat(LedgerSegment.baseSequenceOf(segments.get(1))).isEqualTo(100);
+	}
+
+	private static LedgerRecord record(long sequence) {
+		LedgerRecord record = LedgerRecordFactory.coinInserted(0, 1);
+		record.setSequence(sequence);
+		return record;
+	}
+
+}
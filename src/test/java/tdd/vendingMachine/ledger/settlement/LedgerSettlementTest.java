@@ -0,0 +1,104 @@
+package tdd.vendingMachine.ledger.settlement;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import tdd.vendingMachine.ledger.Ledger;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.ledger.enums.LedgerDurability;
+import tdd.vendingMachine.ledger.enums.LedgerRecordType;
+import tdd.vendingMachine.ledger.factory.LedgerRecordFactory;
+import tdd.vendingMachine.ledger.segment.LedgerSegment;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+public class LedgerSettlementTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private long sequence;
+
+	@Test
+	public void reduces_segments_into_per_machine_coin_vectors() throws Exception {
+		Path directory = temporaryFolder.getRoot().toPath();
+		writeSegment(directory,
+			LedgerRecordFactory.coinInserted(1, 4),
+			LedgerRecordFactory.purchase(1, 0, 0, 150, new int[] {0, 0, -1, 0, 1, 0}, new int[] {0, 0, 1, 0, -1, 0}));
+		writeSegment(directory,
+			LedgerRecordFactory.coinsReturned(LedgerRecordType.CHANGE_DISPENSED, 1, new int[] {0, 0, 1, 0, 0, 0}),
+			LedgerRecordFactory.coinInserted(2, 3),
+			LedgerRecordFactory.coinsReturned(LedgerRecordType.CANCEL, 2, new int[] {0, 0, 0, 1, 0, 0}));
+
+		SettlementReport report = LedgerSettlement.settle(LedgerSegment.list(directory), new ForkJoinPool(2));
+
+		Assertions.assertThat(report.getRecords()).isEqualTo(5);
+		Assertions.assertThat(report.getMachines()).containsOnlyKeys(1, 2);
+		MachineSettlement first = report.getMachines().get(1);
+		Assertions.assertThat(first.getCoinsInserted()).containsExactly(0, 0, 0, 0, 1, 0);
+		Assertions.assertThat(first.getCashbox()).containsExactly(0, 0, -1, 0, 1, 0);
+		Assertions.assertThat(first.getChangeDispensed()).containsExactly(0, 0, 1, 0, 0, 0);
+		Assertions.assertThat(first.getCoinsPending()).containsExactly(0, 0, 0, 0, 0, 0);
+		Assertions.assertThat(first.getSalesMinor()).isEqualTo(150);
+		Assertions.assertThat(first.getPurchases()).isEqualTo(1);
+		Assertions.assertThat(first.isBalanced()).isTrue();
+		Assertions.assertThat(report.getMachines().get(2).getCoinsRefunded()).containsExactly(0, 0, 0, 1, 0, 0);
+		Assertions.assertThat(report.getUnbalancedMachines()).isEmpty();
+	}
+
+	@Test
+	public void flags_machine_whose_cashbox_does_not_match_sales() throws Exception {
+		Path directory = temporaryFolder.getRoot().toPath();
+		writeSegment(directory,
+			LedgerRecordFactory.coinInserted(7, 4),
+			LedgerRecordFactory.purchase(7, 0, 0, 150, new int[] {0, 0, 0, 0, 1, 0}, new int[] {0, 0, 0, 0, -1, 0}));
+
+		SettlementReport report = LedgerSettlement.settle(directory);
+
+		Assertions.assertThat(report.getUnbalancedMachines()).extracting("machineId").containsExactly(7);
+		Assertions.assertThat(report.getMachines().get(7).getCashboxDiscrepancyMinor()).isEqualTo(50);
+	}
+
+	@Test
+	public void flags_machine_returning_coins_never_inserted() throws Exception {
+		Path directory = temporaryFolder.getRoot().toPath();
+		writeSegment(directory,
+			LedgerRecordFactory.coinsReturned(LedgerRecordType.CANCEL, 3, new int[] {1, 0, 0, 0, 0, 0}));
+
+		SettlementReport report = LedgerSettlement.settle(directory);
+
+		Assertions.assertThat(report.getUnbalancedMachines()).extracting("machineId").containsExactly(3);
+	}
+
+	@Test
+	public void settles_records_compacted_into_a_snapshot() throws Exception {
+		Path directory = temporaryFolder.getRoot().toPath();
+		Ledger ledger = new Ledger(true, directory.toString(), 4, LedgerDurability.ASYNC, 16, 100, 6, false);
+		for (int i = 0; i < 6; i++) {
+			ledger.append(LedgerRecordFactory.coinInserted(5, 4));
+			ledger.append(LedgerRecordFactory.purchase(5, 0, 0, 200, new int[] {0, 0, 0, 0, 1, 0}, new int[] {0, 0, 0, 0, -1, 0}));
+		}
+		ledger.close();
+
+		SettlementReport report = LedgerSettlement.settle(directory);
+
+		Assertions.assertThat(LedgerSegment.baseSequenceOf(LedgerSegment.list(directory).get(0))).isGreaterThan(0);
+		Assertions.assertThat(report.getMachines().get(5).getPurchases()).isEqualTo(6);
+		Assertions.assertThat(report.getMachines().get(5).getCashbox()).containsExactly(0, 0, 0, 0, 6, 0);
+		Assertions.assertThat(report.getUnbalancedMachines()).isEmpty();
+	}
+
+	private void writeSegment(Path directory, LedgerRecord... records) throws IOException {
+		try (LedgerSegment segment = LedgerSegment.create(directory, sequence, 4)) {
+			for (LedgerRecord record : records) {
+				record.setSequence(sequence++);
+				segment.append(record);
+			}
+			segment.force();
+		}
+	}
+
+}
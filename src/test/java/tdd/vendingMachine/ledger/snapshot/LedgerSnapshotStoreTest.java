@@ -0,0 +1,85 @@
+package tdd.vendingMachine.ledger.snapshot;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import tdd.vendingMachine.ledger.factory.LedgerRecordFactory;
+import tdd.vendingMachine.ledger.projection.LedgerProjection;
+import tdd.vendingMachine.ledger.projection.MachineProjection;
+import tdd.vendingMachine.ledger.settlement.MachineSettlement;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class LedgerSnapshotStoreTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private LedgerSnapshotStore ledgerSnapshotStore;
+
+	@Before
+	public void setup() {
+		ledgerSnapshotStore = new LedgerSnapshotStore(temporaryFolder.getRoot().toPath());
+	}
+
+	@Test
+	public void written_snapshot_is_read_back() throws Exception {
+		LedgerProjection ledgerProjection = new LedgerProjection();
+		ledgerProjection.apply(LedgerRecordFactory.shelveStocked(4, 2, 1, 7));
+		ledgerProjection.apply(LedgerRecordFactory.coinsStocked(4, new int[] {1, 2, 3, 4, 5, 6}));
+		ledgerProjection.apply(LedgerRecordFactory.coinInserted(4, 0));
+
+		ledgerSnapshotStore.write(LedgerSnapshot.of(99, ledgerProjection));
+		LedgerSnapshot snapshot = ledgerSnapshotStore.readLatest();
+
+		MachineProjection machineProjection = snapshot.getProjection().getMachine(4);
+		Assertions.assertThat(snapshot.getSequence()).isEqualTo(99);
+		Assertions.assertThat(machineProjection.getShelveQuantities().get(2)).isEqualTo(7);
+		Assertions.assertThat(machineProjection.getShelveProducts().get(2)).isEqualTo(1);
+		Assertions.assertThat(machineProjection.getOwnedCoins()).containsExactly(1, 2, 3, 4, 5, 6);
+		Assertions.assertThat(machineProjection.getInsertedCoins()).containsExactly(1, 0, 0, 0, 0, 0);
+	}
+
+	@Test
+	public void written_snapshot_carries_settlement_totals() throws Exception {
+		LedgerProjection ledgerProjection = new LedgerProjection();
+		ledgerProjection.apply(LedgerRecordFactory.coinInserted(4, 4));
+		ledgerProjection.apply(LedgerRecordFactory.purchase(4, 0, 0, 200, new int[] {0, 0, 0, 0, 1, 0}, new int[] {0, 0, 0, 0, -1, 0}));
+
+		ledgerSnapshotStore.write(LedgerSnapshot.of(1, ledgerProjection));
+		MachineSettlement settlement = ledgerSnapshotStore.readLatest().getProjection().getSettlements().get(4);
+
+		Assertions.assertThat(settlement.getCoinsInserted()).containsExactly(0, 0, 0, 0, 1, 0);
+		Assertions.assertThat(settlement.getCashbox()).containsExactly(0, 0, 0, 0, 1, 0);
+		Assertions.assertThat(settlement.getPurchases()).isEqualTo(1);
+		Assertions.assertThat(settlement.getSalesMinor()).isEqualTo(200);
+		Assertions.assertThat(settlement.isBalanced()).isTrue();
+	}
+
+	@Test
+	public void corrupted_snapshot_falls_back_to_previous_one() throws Exception {
+		ledgerSnapshotStore.write(LedgerSnapshot.of(10, new LedgerProjection()));
+		ledgerSnapshotStore.write(LedgerSnapshot.of(20, new LedgerProjection()));
+		Path latest = ledgerSnapshotStore.list().get(1);
+		byte[] content = Files.readAllBytes(latest);
+		content[10] ^= 1;
+		Files.write(latest, content);
+
+		Assertions.assertThat(ledgerSnapshotStore.readLatest().getSequence()).isEqualTo(10);
+	}
+
+	@Test
+	public void deletes_older_snapshots() throws Exception {
+		ledgerSnapshotStore.write(LedgerSnapshot.of(10, new LedgerProjection()));
+		ledgerSnapshotStore.write(LedgerSnapshot.of(20, new LedgerProjection()));
+
+		ledgerSnapshotStore.deleteOlderThan(20);
+
+		Assertions.assertThat(ledgerSnapshotStore.list()).hasSize(1);
+		Assertions.assertThat(ledgerSnapshotStore.readLatest().getSequence()).isEqualTo(20);
+	}
+
+}
@@ -0,0 +1,84 @@
+package tdd.vendingMachine.ledger.writer;
+
+import com.google.common.collect.Lists;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.ledger.entity.LedgerRecord;
+import tdd.vendingMachine.ledger.factory.LedgerRecordFactory;
+
+import java.io.UncheckedIOException;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GroupCommitWriterTest {
+
+	@Test
+	public void concurrent_durable_writes_share_force() throws Exception {
+		List<LedgerRecord> written = Lists.newCopyOnWriteArrayList();
+		AtomicInteger forces = new AtomicInteger();
+		GroupCommitWriter groupCommitWriter = new GroupCommitWriter("test-writer", written::add,
+			forces::incrementAndGet, 64, 50_000);
+
+		List<CompletableFuture<Void>> futures = Lists.newArrayList();
+		for (int i = 0; i < 20; i++) {
+			futures.add(groupCommitWriter.writeDurably(LedgerRecordFactory.coinInserted(0, 0)));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).get();
+		groupCommitWriter.close();
+
+		Assertions.assertThat(written).hasSize(20);
+		Assertions.assertThat(forces.get()).isLessThan(20);
+		Assertions.assertThat(groupCommitWriter.getStatistics().getDurableRequests()).isEqualTo(20);
+		Assertions.assertThat(groupCommitWriter.getStatistics().getForces()).isEqualTo(forces.get());
+	}
+
+	@Test
+	public void batch_is_limited_by_max_batch_size() throws Exception {
+		GroupCommitWriter groupCommitWriter = new GroupCommitWriter("test-writer", record -> {}, () -> {}, 4,
+			50_000);
+
+		List<CompletableFuture<Void>> futures = Lists.newArrayList();
+		for (int i = 0; i < 10; i++) {
+			futures.add(groupCommitWriter.writeDurably(LedgerRecordFactory.coinInserted(0, 0)));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).get();
+		groupCommitWriter.close();
+
+		Assertions.assertThat(groupCommitWriter.getStatistics().getLargestBatch()).isLessThanOrEqualTo(4);
+		Assertions.assertThat(groupCommitWriter.getStatistics().getForces()).isGreaterThanOrEqualTo(3);
+	}
+
+	@Test
+	public void failed_force_fails_waiting_callers() throws Exception {
+		GroupCommitWriter groupCommitWriter = new GroupCommitWriter("test-writer", record -> {}, () -> {
+			throw new UncheckedIOException(new IOException("disk gone"));
+		}, 4, 1_000);
+
+		CompletableFuture<Void> durability = groupCommitWriter.writeDurably(LedgerRecordFactory.coinInserted(0, 0));
+
+		try {
+			durability.get();
+			Assertions.fail("Durability failure expected.");
+		} catch (ExecutionException e) {
+			Assertions.assertThat(e.getCause()).isInstanceOf(UncheckedIOException.class);
+		}
+		groupCommitWriter.close();
+	}
+
+	@Test
+	public void non_durable_writes_are_not_forced() throws Exception {
+		AtomicInteger forces = new AtomicInteger();
+		GroupCommitWriter groupCommitWriter = new GroupCommitWriter("test-writer", record -> {},
+			forces::incrementAndGet, 4, 1_000);
+
+		groupCommitWriter.write(LedgerRecordFactory.coinInserted(0, 0));
+		groupCommitWriter.close();
+
+		Assertions.assertThat(forces.get()).isZero();
+		Assertions.assertThat(groupCommitWriter.getStatistics().getRecords()).isEqualTo(1);
+	}
+
+}
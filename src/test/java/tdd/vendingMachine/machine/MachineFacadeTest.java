@@ -5,7 +5,11 @@ import org.assertj.core.api.Assertions;
 import org.junit.Before;
 import org.junit.Test;
 import tdd.vendingMachine.machine.cli.util.CommandLinePrinter;
+import tdd.vendingMachine.machine.command.CommandGrammar;
+import tdd.vendingMachine.machine.command.enums.CommandAction;
 import tdd.vendingMachine.machine.state.InteractionState;
+import tdd.vendingMachine.metrics.Histogram;
+import tdd.vendingMachine.metrics.Metrics;
 
 import java.util.List;
 
@@ -13,17 +17,27 @@ import static org.mockito.Mockito.*;
 
 public class MachineFacadeTest {
 
+	private static final CommandGrammar GRAMMAR = CommandGrammar.create()
+		.key('q', CommandAction.QUIT)
+		.key('b', CommandAction.BUY)
+		.index(CommandAction.COIN_INDEX);
+
 	private CommandLinePrinter commandLinePrinter;
 
 	private MachineFacade machineFacade;
 
 	private InteractionState interactionState;
 
+	private Machine machine;
+
 	@Before
 	public void setup() {
 		commandLinePrinter = mock(CommandLinePrinter.class);
 		interactionState = mock(InteractionState.class);
-		machineFacade = new MachineFacade(commandLinePrinter, interactionState);
+		machine = mock(Machine.class);
+		when(interactionState.parse(anyString()))
+			.thenAnswer(invocation -> GRAMMAR.parse((String) invocation.getArguments()[0]));
+		machineFacade = new MachineFacade(commandLinePrinter, interactionState, machine);
 	}
 
 	@Test
@@ -53,4 +67,105 @@ public class MachineFacadeTest {
 		verify(interactionState).executeCommand(command);
 	}
 
+	@Test
+	public void batched_commands_are_passed_to_InteractionState_in_groups() {
+		List<String> commands = Lists.newArrayList("3", "3", "1", "b");
+		when(interactionState.executeCommands(commands, 0)).thenReturn(3);
+		when(interactionState.executeCommands(commands, 3)).thenReturn(1);
+
+		machineFacade.executeCommand("3x2,1,b");
+
+		verify(interactionState).executeCommands(commands, 0);
+		verify(interactionState).executeCommands(commands, 3);
+		verify(interactionState, never()).executeCommand(anyString());
+	}
+
+	@Test
+	public void quit_in_batch_exits() {
+		when(interactionState.executeCommands(anyListOf(String.class), anyInt())).thenReturn(1);
+
+		machineFacade.executeCommand("3 q");
+
+		verify(interactionState).executeCommands(Lists.newArrayList("3", "q"), 0);
+		verify(commandLinePrinter).exit(0);
+	}
+
+	@Test
+	public void cancelling_purchase_clears_shelve_selection() {
+		when(interactionState.cancelPurchase()).thenReturn(true);
+
+		Assertions.assertThat(machineFacade.cancelPurchase()).isTrue();
+
+		verify(machine).setActiveShelveIndex(null);
+	}
+
+	@Test
+	public void shelve_is_selected_through_the_state_commands() {
+		when(interactionState.isPurchaseInProgress()).thenReturn(false, true);
+
+		Assertions.assertThat(machineFacade.selectShelve(2)).isTrue();
+
+		verify(interactionState).executeCommand("s");
+		verify(interactionState).executeCommand("2");
+	}
+
+	@Test
+	public void shelve_cannot_be_selected_during_purchase() {
+		when(interactionState.isPurchaseInProgress()).thenReturn(true);
+
+		Assertions.assertThat(machineFacade.selectShelve(2)).isFalse();
+
+		verify(interactionState, never()).executeCommand(anyString());
+	}
+
+	@Test
+	public void coins_and_buy_are_only_accepted_during_purchase() {
+		Assertions.assertThat(machineFacade.insertCoin(1)).isFalse();
+		Assertions.assertThat(machineFacade.buy()).isFalse();
+		verify(interactionState, never()).executeCommand(anyString());
+
+		when(interactionState.isPurchaseInProgress()).thenReturn(true);
+
+		Assertions.assertThat(machineFacade.insertCoin(1)).isTrue();
+		Assertions.assertThat(machineFacade.buy()).isTrue();
+		verify(interactionState).executeCommand("1");
+		verify(interactionState).executeCommand("b");
+	}
+
+	@Test
+	public void nothing_to_cancel_outside_purchase() {
+		Assertions.assertThat(machineFacade.cancelPurchase()).isFalse();
+
+		verify(machine, never()).setActiveShelveIndex(any());
+	}
+
+	@Test
+	public void command_latency_is_recorded_per_parsed_command_action() {
+		Histogram histogram = Metrics.histogram("vending_command_latency_nanoseconds", "", "command", "buy");
+		long count = histogram.getCount();
+
+		machineFacade.executeCommand("b");
+
+		Assertions.assertThat(histogram.getCount()).isEqualTo(count + 1);
+	}
+
+	@Test
+	public void batched_command_run_latency_is_recorded_under_its_own_metric() {
+		List<String> commands = Lists.newArrayList("3", "3", "1", "b");
+		when(interactionState.executeCommands(commands, 0)).thenReturn(3);
+		when(interactionState.executeCommands(commands, 3)).thenReturn(1);
+		Histogram run = Metrics.histogram("vending_command_run_latency_nanoseconds", "");
+		Histogram number = Metrics.histogram("vending_command_latency_nanoseconds", "", "command", "coin_index");
+		Histogram buy = Metrics.histogram("vending_command_latency_nanoseconds", "", "command", "buy");
+		long runCount = run.getCount();
+		long numberCount = number.getCount();
+		long buyCount = buy.getCount();
+
+		machineFacade.executeCommand("3x2,1,b");
+
+		Assertions.assertThat(run.getCount()).isEqualTo(runCount + 1);
+		Assertions.assertThat(number.getCount()).isEqualTo(numberCount);
+		Assertions.assertThat(buy.getCount()).isEqualTo(buyCount + 1);
+	}
+
 }
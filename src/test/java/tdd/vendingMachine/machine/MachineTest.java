@@ -5,6 +5,9 @@ import org.junit.Before;
 import org.junit.Test;
 import tdd.vendingMachine.money.change.ChangeStorage;
 import tdd.vendingMachine.product.factory.ProductFactory;
+import tdd.vendingMachine.scenario.ScenarioGenerator;
+import tdd.vendingMachine.scenario.entity.Scenario;
+import tdd.vendingMachine.scenario.factory.ScenarioProfileFactory;
 import tdd.vendingMachine.shelve.entity.Shelve;
 
 import static org.mockito.Mockito.mock;
@@ -39,4 +42,31 @@ public class MachineTest {
 			.isEqualTo(ProductFactory.createChocolateBar().getName());
 	}
 
+	@Test
+	public void version_changes_when_active_shelve_is_set() {
+		long version = machine.getVersion();
+
+		machine.setActiveShelveIndex(1);
+
+		Assertions.assertThat(machine.getVersion()).isGreaterThan(version);
+	}
+
+	@Test
+	public void version_changes_when_shelve_quantity_changes() {
+		long version = machine.getVersion();
+
+		machine.getShelve(2).setQuantity(0);
+
+		Assertions.assertThat(machine.getVersion()).isGreaterThan(version);
+	}
+
+	@Test
+	public void shelves_are_created_from_scenario() {
+		Scenario scenario = ScenarioGenerator.generate(ScenarioProfileFactory.parse("shelves=5; stock=7"), 1);
+
+		Machine scenarioMachine = new Machine(changeStorage, scenario);
+
+		Assertions.assertThat(scenarioMachine.getShelves()).hasSize(5).extracting("quantity").containsOnly(7);
+	}
+
 }
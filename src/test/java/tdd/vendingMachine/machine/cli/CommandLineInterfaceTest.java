@@ -1,14 +1,25 @@
 package tdd.vendingMachine.machine.cli;
 
 import com.google.common.collect.Lists;
+import org.assertj.core.api.Assertions;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
+import tdd.vendingMachine.machine.MachineExecutor;
 import tdd.vendingMachine.machine.MachineFacade;
 import tdd.vendingMachine.machine.cli.util.CommandLinePrinter;
+import tdd.vendingMachine.server.timeout.SessionTimeouts;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.mockito.Mockito.*;
 
@@ -16,8 +27,6 @@ public class CommandLineInterfaceTest {
 
 	private InputStream in;
 
-	private InputStream inputStream;
-
 	private MachineFacade machineFacade;
 
 	private CommandLinePrinter commandLinePrinter;
@@ -28,11 +37,10 @@ public class CommandLineInterfaceTest {
 	public void setup() {
 		machineFacade = mock(MachineFacade.class);
 		commandLinePrinter = mock(CommandLinePrinter.class);
-		commandLineInterface = new CommandLineInterface(machineFacade, commandLinePrinter);
+		commandLineInterface = new CommandLineInterface(machineFacade, commandLinePrinter, new MachineExecutor(),
+			new SessionTimeouts(0, 10, 16));
 
 		in = System.in;
-		inputStream = mock(InputStream.class);
-		System.setIn(inputStream);
 	}
 
 	@After
@@ -41,15 +49,74 @@ public class CommandLineInterfaceTest {
 	}
 
 	@Test
-	public void runs_command() {
+	public void runs_command() throws Exception {
 		final List<String> stateElements = Lists.newArrayList("It's OK.");
 		when(machineFacade.getState()).thenReturn(stateElements);
-		try {
-			commandLineInterface.run();
-		} catch(Exception e) {
-		}
+		System.setIn(new ByteArrayInputStream(new byte[0]));
+
+		commandLineInterface.run();
+
+		verify(commandLinePrinter).render(stateElements, 0);
+		verify(commandLinePrinter).flush();
+	}
+
+	@Test
+	public void queued_commands_are_executed_in_order_before_single_render() throws Exception {
+		final List<String> stateElements = Lists.newArrayList("It's OK.");
+		when(machineFacade.getState()).thenReturn(stateElements);
+		System.setIn(new ByteArrayInputStream("s\n0\n3\n3\n".getBytes(StandardCharsets.UTF_8)));
+
+		commandLineInterface.run();
+
+		InOrder inOrder = inOrder(machineFacade, commandLinePrinter);
+		inOrder.verify(commandLinePrinter).render(stateElements, 0);
+		inOrder.verify(machineFacade).executeCommand("s");
+		inOrder.verify(machineFacade).executeCommand("0");
+		inOrder.verify(machineFacade, times(2)).executeCommand("3");
+		inOrder.verify(commandLinePrinter).render(stateElements, 4);
+		verify(machineFacade, times(2)).getState();
+		verify(commandLinePrinter, times(2)).flush();
+	}
+
+	@Test
+	public void commands_are_executed_on_the_machine_executor() throws Exception {
+		final List<String> threads = Lists.newArrayList();
+		doAnswer(invocation -> threads.add(Thread.currentThread().getName())).when(machineFacade).executeCommand("s");
+		System.setIn(new ByteArrayInputStream("s\n".getBytes(StandardCharsets.UTF_8)));
+
+		commandLineInterface.run();
+
+		Assertions.assertThat(threads).containsExactly("machine");
+	}
+
+	@Test
+	public void idle_purchase_is_cancelled_and_rendered() throws Exception {
+		AtomicLong clock = new AtomicLong();
+		SessionTimeouts sessionTimeouts = new SessionTimeouts(100, 10, 16, clock::get);
+		commandLineInterface = new CommandLineInterface(machineFacade, commandLinePrinter, new MachineExecutor(),
+			sessionTimeouts);
+		final List<String> stateElements = Lists.newArrayList("It's OK.");
+		when(machineFacade.getState()).thenReturn(stateElements);
+		when(machineFacade.cancelPurchase()).thenReturn(true);
+		PipedOutputStream output = new PipedOutputStream();
+		PipedInputStream input = new PipedInputStream(output);
+		Thread session = new Thread(() -> {
+			try {
+				commandLineInterface.serve(input);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		session.start();
+
+		verify(commandLinePrinter, timeout(1000)).render(stateElements, 0);
+		clock.set(100);
+		sessionTimeouts.advance();
 
-		verify(commandLinePrinter).print(stateElements);
+		verify(machineFacade, timeout(1000)).cancelPurchase();
+		verify(commandLinePrinter, timeout(1000).times(2)).render(stateElements, 0);
+		output.close();
+		session.join(1000);
 	}
 
 }
@@ -0,0 +1,39 @@
+package tdd.vendingMachine.machine.cli.entity;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.machine.cli.enums.AnsiColor;
+
+public class StyledTextTest {
+
+	@Test
+	public void width_counts_only_visible_characters() {
+		StyledText styledText = StyledText.plain("Buying ").append("Coca-Cola", AnsiColor.GREEN);
+
+		Assertions.assertThat(styledText.getWidth()).isEqualTo(16);
+		Assertions.assertThat(styledText.getSpanCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void renders_colored_spans_with_ansi_codes() {
+		StyledText styledText = StyledText.plain("[ ").append("b", AnsiColor.RED).append(" ]");
+
+		Assertions.assertThat(styledText.render()).isEqualTo("[ \u001B[31mb\u001B[0m ]");
+	}
+
+	@Test
+	public void plain_string_omits_ansi_codes() {
+		StyledText styledText = StyledText.of("You can buy now!", AnsiColor.GREEN);
+
+		Assertions.assertThat(styledText.toPlainString()).isEqualTo("You can buy now!");
+	}
+
+	@Test
+	public void styled_text_can_be_appended() {
+		StyledText styledText = StyledText.empty().append(StyledText.of("0", AnsiColor.RED)).append(" left");
+
+		Assertions.assertThat(styledText.getWidth()).isEqualTo(6);
+		Assertions.assertThat(styledText.render()).isEqualTo("\u001B[31m0\u001B[0m left");
+	}
+
+}
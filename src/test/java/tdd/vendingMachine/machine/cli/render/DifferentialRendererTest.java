@@ -0,0 +1,114 @@
+package tdd.vendingMachine.machine.cli.render;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import tdd.vendingMachine.machine.cli.sink.ChannelOutputSink;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class DifferentialRendererTest {
+
+	private static final String EOL = "\n";
+
+	private ByteArrayOutputStream out;
+
+	private ChannelOutputSink outputSink;
+
+	private DifferentialRenderer differentialRenderer;
+
+	@Before
+	public void setup() {
+		out = new ByteArrayOutputStream();
+		outputSink = new ChannelOutputSink(Channels.newChannel(out), StandardCharsets.UTF_8, 256);
+		differentialRenderer = new DifferentialRenderer(EOL);
+	}
+
+	@Test
+	public void first_frame_is_rendered_in_full() {
+		differentialRenderer.render(Lists.newArrayList("a", "b", "c"), "", 1, outputSink);
+
+		Assertions.assertThat(flush()).isEqualTo("\na\nb\nc\n\n");
+	}
+
+	@Test
+	public void only_changed_lines_are_redrawn() {
+		differentialRenderer.render(Lists.newArrayList("a", "b", "c"), "", 1, outputSink);
+		flush();
+
+		differentialRenderer.render(Lists.newArrayList("a", "B", "c"), "", 1, outputSink);
+
+		Assertions.assertThat(flush()).isEqualTo("\u001B[4A\r\u001B[2KB\u001B[1B\n\u001B[J\n");
+	}
+
+	@Test
+	public void messages_are_written_below_redrawn_frame_and_counted() {
+		differentialRenderer.render(Lists.newArrayList("a", "b"), "", 1, outputSink);
+		differentialRenderer.render(Lists.newArrayList("a", "B"), "\nInserted 0.50\n\n", 1, outputSink);
+		flush();
+
+		differentialRenderer.render(Lists.newArrayList("A", "B"), "", 1, outputSink);
+
+		Assertions.assertThat(flush()).isEqualTo("\u001B[7A\r\u001B[2KA\u001B[1B\n\u001B[J\n");
+	}
+
+	@Test
+	public void every_coalesced_input_line_is_skipped_when_moving_up() {
+		differentialRenderer.render(Lists.newArrayList("a", "b"), "", 0, outputSink);
+		flush();
+
+		differentialRenderer.render(Lists.newArrayList("A", "b"), "", 3, outputSink);
+
+		Assertions.assertThat(flush()).isEqualTo("\u001B[6A\r\u001B[2KA\u001B[1B\n\u001B[J\n");
+	}
+
+	@Test
+	public void frame_with_different_height_is_rendered_in_full() {
+		differentialRenderer.render(Lists.newArrayList("a", "b"), "", 1, outputSink);
+		flush();
+
+		differentialRenderer.render(Lists.newArrayList("a", "b", "c"), "\nmessage\n\n", 1, outputSink);
+
+		Assertions.assertThat(flush()).isEqualTo("\nmessage\n\n\na\nb\nc\n\n");
+	}
+
+	@Test
+	public void invalidated_frame_is_rendered_in_full() {
+		differentialRenderer.render(Lists.newArrayList("a"), "", 1, outputSink);
+		differentialRenderer.invalidate();
+		flush();
+
+		differentialRenderer.render(Lists.newArrayList("a"), "", 1, outputSink);
+
+		Assertions.assertThat(flush()).isEqualTo("\na\n\n");
+	}
+
+	@Test
+	public void redrawing_one_line_of_a_screen_costs_a_fraction_of_full_render() {
+		List<String> frame = Lists.newArrayList();
+		for (int i = 0; i < 24; i++) {
+			frame.add("| " + Strings.padEnd("line " + i, 56, ' ') + " |");
+		}
+		differentialRenderer.render(frame, "", 1, outputSink);
+		int fullBytes = flush().length();
+
+		frame.set(12, "| " + Strings.padEnd("changed", 56, ' ') + " |");
+		differentialRenderer.render(frame, "", 1, outputSink);
+		int differentialBytes = flush().length();
+
+		Assertions.assertThat(differentialBytes * 10).isLessThan(fullBytes);
+	}
+
+	private String flush() {
+		outputSink.flush();
+		String output = new String(out.toByteArray(), StandardCharsets.UTF_8);
+		out.reset();
+		return output;
+	}
+
+}
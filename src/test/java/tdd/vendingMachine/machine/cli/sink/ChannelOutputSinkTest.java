@@ -0,0 +1,76 @@
+package tdd.vendingMachine.machine.cli.sink;
+
+import com.google.common.base.Strings;
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+public class ChannelOutputSinkTest {
+
+	private ByteArrayOutputStream out;
+
+	private ChannelOutputSink channelOutputSink;
+
+	@Before
+	public void setup() {
+		out = new ByteArrayOutputStream();
+		channelOutputSink = new ChannelOutputSink(Channels.newChannel(out), StandardCharsets.UTF_8, 16);
+	}
+
+	@Test
+	public void appended_text_is_buffered_until_flush() {
+		channelOutputSink.append("first ").append("second");
+
+		Assertions.assertThat(out.size()).isZero();
+		Assertions.assertThat(channelOutputSink.getPendingLength()).isEqualTo(12);
+
+		channelOutputSink.flush();
+
+		Assertions.assertThat(output()).isEqualTo("first second");
+		Assertions.assertThat(channelOutputSink.getPendingLength()).isZero();
+	}
+
+	@Test
+	public void text_longer_than_buffer_is_written_in_chunks() {
+		String text = Strings.repeat("0123456789", 10);
+
+		channelOutputSink.append(text).flush();
+
+		Assertions.assertThat(output()).isEqualTo(text);
+	}
+
+	@Test
+	public void multibyte_characters_are_encoded() {
+		String text = "\u001B[32mZażółć gęślą jaźń\u001B[0m";
+
+		channelOutputSink.append(text).flush();
+
+		Assertions.assertThat(output()).isEqualTo(text);
+	}
+
+	@Test
+	public void buffer_is_reused_between_flushes() {
+		channelOutputSink.append("first").flush();
+		channelOutputSink.append("second").flush();
+
+		Assertions.assertThat(output()).isEqualTo("firstsecond");
+	}
+
+	@Test
+	public void null_sink_discards_text() {
+		OutputSink outputSink = new NullOutputSink();
+
+		outputSink.append("text").flush();
+
+		Assertions.assertThat(outputSink.append("more")).isSameAs(outputSink);
+	}
+
+	private String output() {
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+}
@@ -2,58 +2,110 @@ package tdd.vendingMachine.machine.cli.util;
 
 import com.google.common.collect.Lists;
 import org.assertj.core.api.Assertions;
-import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-import org.mockito.ArgumentCaptor;
+import tdd.vendingMachine.machine.cli.sink.ChannelOutputSink;
+import tdd.vendingMachine.machine.cli.sink.OutputSink;
 
-import java.io.PrintStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.*;
 
 public class CommandLinePrinterTest {
 
-	private PrintStream out;
+	private static final String EOL = System.lineSeparator();
 
-	private PrintStream printStream;
+	private ByteArrayOutputStream out;
 
 	private CommandLinePrinter commandLinePrinter;
 
 	@Before
 	public void setup() {
-		out = System.out;
-		printStream = mock(PrintStream.class);
-		System.setOut(printStream);
-		commandLinePrinter = new CommandLinePrinter();
-	}
-
-	@After
-	public void teardown() {
-		System.setOut(out);
+		out = new ByteArrayOutputStream();
+		commandLinePrinter = new CommandLinePrinter(
+			new ChannelOutputSink(Channels.newChannel(out), StandardCharsets.UTF_8, 64), false);
 	}
 
 	@Test
 	public void outputs_multiple_strings() {
 		final String testCommandFirst = "test_command_first";
 		final String testCommandSecond = "test_command_second";
-		ArgumentCaptor<String> argumentCaptor = ArgumentCaptor.forClass(String.class);
 
 		commandLinePrinter.print(Lists.newArrayList(testCommandFirst, testCommandSecond));
-		verify(printStream).println(argumentCaptor.capture());
+		commandLinePrinter.flush();
 
-		Assertions.assertThat(argumentCaptor.getValue()).containsSequence(testCommandFirst);
-		Assertions.assertThat(argumentCaptor.getValue()).containsSequence(testCommandSecond);
+		Assertions.assertThat(output()).isEqualTo(EOL + testCommandFirst + EOL + testCommandSecond + EOL + EOL);
 	}
 
 	@Test
 	public void outputs_single_string() {
 		final String testCommand = "test_command";
-		ArgumentCaptor<String> argumentCaptor = ArgumentCaptor.forClass(String.class);
 
 		commandLinePrinter.print(testCommand);
-		verify(printStream).println(argumentCaptor.capture());
+		commandLinePrinter.flush();
+
+		Assertions.assertThat(output()).isEqualTo(EOL + testCommand + EOL + EOL);
+	}
+
+	@Test
+	public void nothing_is_written_until_flush() {
+		commandLinePrinter.print("test_command");
+
+		Assertions.assertThat(out.size()).isZero();
+	}
+
+	@Test
+	public void messages_are_written_to_sink_in_order() {
+		OutputSink outputSink = mock(OutputSink.class);
+		when(outputSink.append(any())).thenReturn(outputSink);
+		commandLinePrinter = new CommandLinePrinter(outputSink, false);
+
+		commandLinePrinter.print("first");
+		commandLinePrinter.print("second");
+		commandLinePrinter.flush();
+
+		verify(outputSink).append("first");
+		verify(outputSink).append("second");
+		verify(outputSink, times(1)).flush();
+	}
+
+	@Test
+	public void screen_is_printed_in_full_without_differential_rendering() {
+		commandLinePrinter.render(Lists.newArrayList("first", "second"), 1);
+		commandLinePrinter.render(Lists.newArrayList("first", "changed"), 1);
+		commandLinePrinter.flush();
+
+		Assertions.assertThat(output()).isEqualTo(EOL + "first" + EOL + "second" + EOL + EOL +
+			EOL + "first" + EOL + "changed" + EOL + EOL);
+	}
+
+	@Test
+	public void messages_precede_first_screen_with_differential_rendering() {
+		commandLinePrinter = new CommandLinePrinter(
+			new ChannelOutputSink(Channels.newChannel(out), StandardCharsets.UTF_8, 64), true);
+
+		commandLinePrinter.print("message");
+		commandLinePrinter.render(Lists.newArrayList("screen"), 1);
+		commandLinePrinter.flush();
+
+		Assertions.assertThat(output()).isEqualTo(EOL + "message" + EOL + EOL + EOL + "screen" + EOL + EOL);
+	}
+
+	@Test
+	public void pending_messages_are_written_on_flush_with_differential_rendering() {
+		commandLinePrinter = new CommandLinePrinter(
+			new ChannelOutputSink(Channels.newChannel(out), StandardCharsets.UTF_8, 64), true);
+
+		commandLinePrinter.print("Exiting.");
+		commandLinePrinter.flush();
 
-		Assertions.assertThat(argumentCaptor.getValue()).containsSequence(testCommand);
+		Assertions.assertThat(output()).isEqualTo(EOL + "Exiting." + EOL + EOL);
 	}
+
+	private String output() {
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
 }
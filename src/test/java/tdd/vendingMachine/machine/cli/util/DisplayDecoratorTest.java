@@ -4,6 +4,8 @@ import com.google.common.collect.Lists;
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 import tdd.vendingMachine.TestUtil;
+import tdd.vendingMachine.machine.cli.entity.StyledText;
+import tdd.vendingMachine.machine.cli.enums.AnsiColor;
 
 import java.util.List;
 
@@ -11,10 +13,10 @@ public class DisplayDecoratorTest {
 
 	@Test
 	public void decorates_with_display_wrapper() {
-		final List<String> input = Lists.newArrayList(
-			"Hello, world!",
-			"What a long strings we have here.",
-			"This last one is definitely the longest."
+		final List<StyledText> input = Lists.newArrayList(
+			StyledText.plain("Hello, world!"),
+			StyledText.plain("What a long strings we have here."),
+			StyledText.plain("This last one is definitely the longest.")
 		);
 
 		final List<String> output = DisplayDecorator.decorate(input);
@@ -29,11 +31,11 @@ public class DisplayDecoratorTest {
 
 	@Test
 	public void colored_input_is_decorated_with_display_wrapper() {
-		final List<String> input = Lists.newArrayList(
-			"Hello, " + AnsiColorDecorator.green("world") + "!",
-			AnsiColorDecorator.green("What") + " a " + AnsiColorDecorator.green("long") + " strings " +
-				AnsiColorDecorator.green("we") + " have " + AnsiColorDecorator.green("here") + ".",
-			"This last one is definitely the longest."
+		final List<StyledText> input = Lists.newArrayList(
+			StyledText.plain("Hello, ").append("world", AnsiColor.GREEN).append("!"),
+			StyledText.of("What", AnsiColor.GREEN).append(" a ").append("long", AnsiColor.GREEN).append(" strings ")
+				.append("we", AnsiColor.GREEN).append(" have ").append("here", AnsiColor.GREEN).append("."),
+			StyledText.plain("This last one is definitely the longest.")
 		);
 
 		final List<String> output = DisplayDecorator.decorate(input);
@@ -44,5 +46,7 @@ public class DisplayDecoratorTest {
 		Assertions.assertThat(TestUtil.stripColors(output.get(2))).isEqualTo("| What a long strings we have here.        |");
 		Assertions.assertThat(TestUtil.stripColors(output.get(3))).isEqualTo("| This last one is definitely the longest. |");
 		Assertions.assertThat(TestUtil.stripColors(output.get(4))).isEqualTo("+------------------------------------------+");
+		Assertions.assertThat(output.get(1)).isEqualTo("| Hello, \u001B[32mworld\u001B[0m!                            |");
 	}
+
 }
@@ -0,0 +1,39 @@
+package tdd.vendingMachine.machine.command;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+public class CommandBatchTest {
+
+	@Test
+	public void single_command_is_not_split() {
+		Assertions.assertThat(CommandBatch.split("b")).containsExactly("b");
+	}
+
+	@Test
+	public void commands_are_split_on_spaces() {
+		Assertions.assertThat(CommandBatch.split("3 3 1 b")).containsExactly("3", "3", "1", "b");
+	}
+
+	@Test
+	public void commands_are_split_on_commas_and_repeated() {
+		Assertions.assertThat(CommandBatch.split("3x2,1,b")).containsExactly("3", "3", "1", "b");
+	}
+
+	@Test
+	public void repeated_separators_are_ignored() {
+		Assertions.assertThat(CommandBatch.split(" 3,, 1 ")).containsExactly("3", "1");
+	}
+
+	@Test
+	public void malformed_repeat_is_kept_as_command() {
+		Assertions.assertThat(CommandBatch.split("3x 3xa x2 3x1000")).containsExactly("3x", "3xa", "x2", "3x1000");
+	}
+
+	@Test
+	public void blank_line_is_kept_as_single_command() {
+		Assertions.assertThat(CommandBatch.split("")).containsExactly("");
+		Assertions.assertThat(CommandBatch.split("  ")).containsExactly("  ");
+	}
+
+}
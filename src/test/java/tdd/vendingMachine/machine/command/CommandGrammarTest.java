@@ -0,0 +1,66 @@
+package tdd.vendingMachine.machine.command;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.machine.command.entity.Command;
+import tdd.vendingMachine.machine.command.enums.CommandAction;
+
+public class CommandGrammarTest {
+
+	private CommandGrammar commandGrammar = CommandGrammar.create()
+		.key('b', CommandAction.BUY)
+		.key('c', CommandAction.CANCEL)
+		.index(CommandAction.COIN_INDEX);
+
+	@Test
+	public void parses_keys() {
+		Assertions.assertThat(commandGrammar.parse("b").getAction()).isEqualTo(CommandAction.BUY);
+		Assertions.assertThat(commandGrammar.parse("c").getAction()).isEqualTo(CommandAction.CANCEL);
+	}
+
+	@Test
+	public void parses_indexes() {
+		Assertions.assertThat(commandGrammar.parse("3")).isEqualTo(Command.of(CommandAction.COIN_INDEX, 3));
+		Assertions.assertThat(commandGrammar.parse("+12")).isEqualTo(Command.of(CommandAction.COIN_INDEX, 12));
+		Assertions.assertThat(commandGrammar.parse("-1")).isEqualTo(Command.of(CommandAction.COIN_INDEX, -1));
+		Assertions.assertThat(commandGrammar.parse("1000")).isEqualTo(Command.of(CommandAction.COIN_INDEX, 1000));
+	}
+
+	@Test
+	public void small_indexes_are_not_allocated() {
+		Assertions.assertThat(commandGrammar.parse("5")).isSameAs(commandGrammar.parse("5"));
+	}
+
+	@Test
+	public void parses_range_of_input() {
+		Assertions.assertThat(commandGrammar.parse("3 b", 2, 3).getAction()).isEqualTo(CommandAction.BUY);
+		Assertions.assertThat(commandGrammar.parse("3 b", 0, 1).getIndex()).isEqualTo(3);
+	}
+
+	@Test
+	public void malformed_input_is_invalid() {
+		Assertions.assertThat(commandGrammar.parse("x")).isSameAs(Command.INVALID);
+		Assertions.assertThat(commandGrammar.parse("")).isSameAs(Command.INVALID);
+		Assertions.assertThat(commandGrammar.parse("-")).isSameAs(Command.INVALID);
+		Assertions.assertThat(commandGrammar.parse("1a")).isSameAs(Command.INVALID);
+		Assertions.assertThat(commandGrammar.parse("bb")).isSameAs(Command.INVALID);
+		Assertions.assertThat(commandGrammar.parse((String) null)).isSameAs(Command.INVALID);
+	}
+
+	@Test
+	public void integer_overflow_is_invalid() {
+		Assertions.assertThat(commandGrammar.parse("2147483647").getIndex()).isEqualTo(Integer.MAX_VALUE);
+		Assertions.assertThat(commandGrammar.parse("-2147483648").getIndex()).isEqualTo(Integer.MIN_VALUE);
+		Assertions.assertThat(commandGrammar.parse("2147483648")).isSameAs(Command.INVALID);
+		Assertions.assertThat(commandGrammar.parse("99999999999999999999")).isSameAs(Command.INVALID);
+	}
+
+	@Test
+	public void grammar_without_indexes_rejects_numbers() {
+		CommandGrammar keysOnly = CommandGrammar.create().key('s', CommandAction.SHOW_SHELVES);
+
+		Assertions.assertThat(keysOnly.parse("s").getAction()).isEqualTo(CommandAction.SHOW_SHELVES);
+		Assertions.assertThat(keysOnly.parse("1")).isSameAs(Command.INVALID);
+	}
+
+}
@@ -1,13 +1,25 @@
 package tdd.vendingMachine.machine.purchase;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.assertj.core.api.Assertions;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentCaptor;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.event.entity.ChangeDispensed;
+import tdd.vendingMachine.event.entity.DomainEvent;
+import tdd.vendingMachine.event.entity.PurchaseCompleted;
+import tdd.vendingMachine.event.entity.PurchaseRefused;
+import tdd.vendingMachine.event.entity.StockDepleted;
 import tdd.vendingMachine.machine.Machine;
 import tdd.vendingMachine.machine.cli.util.CommandLinePrinter;
 import tdd.vendingMachine.machine.purchase.enums.PurchaseStatus;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.metrics.Counter;
+import tdd.vendingMachine.metrics.Metrics;
 import tdd.vendingMachine.money.change.ChangeStorage;
 import tdd.vendingMachine.money.coin.entity.Coin;
 import tdd.vendingMachine.money.coin.factory.CoinFactory;
@@ -15,6 +27,9 @@ import tdd.vendingMachine.money.factory.MoneyFactory;
 import tdd.vendingMachine.product.Product;
 import tdd.vendingMachine.shelve.entity.Shelve;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -22,12 +37,19 @@ import static org.mockito.Mockito.*;
 
 public class PurchaseFacadeTest {
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	private Machine machine;
 
 	private ChangeStorage changeStorage;
 
 	private CommandLinePrinter commandLinePrinter;
 
+	private PurchaseTracer purchaseTracer;
+
+	private DomainEventBus eventBus;
+
 	private PurchaseFacade purchaseFacade;
 
 	private Product product;
@@ -39,7 +61,9 @@ public class PurchaseFacadeTest {
 		machine = mock(Machine.class);
 		changeStorage = mock(ChangeStorage.class);
 		commandLinePrinter = mock(CommandLinePrinter.class);
-		purchaseFacade = new PurchaseFacade(machine, changeStorage, commandLinePrinter);
+		purchaseTracer = mock(PurchaseTracer.class);
+		eventBus = mock(DomainEventBus.class);
+		purchaseFacade = new PurchaseFacade(machine, changeStorage, commandLinePrinter, purchaseTracer, eventBus);
 	}
 
 	@Test
@@ -55,6 +79,45 @@ public class PurchaseFacadeTest {
 		verify(commandLinePrinter).print("Inserted USD 0.20");
 	}
 
+	@Test
+	public void inserts_coins_in_single_step() {
+		Map<Coin, Integer> ownedCoins = Maps.newLinkedHashMap();
+		ownedCoins.put(CoinFactory.create010(), 1);
+		ownedCoins.put(CoinFactory.create020(), 2);
+		when(changeStorage.getOwnedCoins()).thenReturn(ownedCoins);
+
+		purchaseFacade.insertCoins(1, 1, 0, 7);
+
+		verify(changeStorage).insertCoins(
+			Lists.newArrayList(CoinFactory.create020(), CoinFactory.create020(), CoinFactory.create010()));
+		verify(changeStorage, never()).insertCoin(any());
+		verify(commandLinePrinter, times(2)).print("Inserted USD 0.20");
+		verify(commandLinePrinter).print("Inserted USD 0.10");
+	}
+
+	@Test
+	public void batched_insert_matches_inserting_one_by_one() {
+		ChangeStorage batchStorage = new ChangeStorage(new DomainEventBus());
+		ChangeStorage sequentialStorage = new ChangeStorage(new DomainEventBus());
+		sequentialStorage.setOwnedCoins(batchStorage.getOwnedCoins());
+		CommandLinePrinter batchPrinter = mock(CommandLinePrinter.class);
+		CommandLinePrinter sequentialPrinter = mock(CommandLinePrinter.class);
+
+		new PurchaseFacade(machine, batchStorage, batchPrinter, purchaseTracer, eventBus).insertCoins(3, 3, 1);
+		PurchaseFacade sequentialFacade =
+			new PurchaseFacade(machine, sequentialStorage, sequentialPrinter, purchaseTracer, eventBus);
+		sequentialFacade.insertCoin(3);
+		sequentialFacade.insertCoin(3);
+		sequentialFacade.insertCoin(1);
+
+		Assertions.assertThat(batchStorage.getInsertedCoins()).isEqualTo(sequentialStorage.getInsertedCoins());
+		ArgumentCaptor<String> batchMessages = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<String> sequentialMessages = ArgumentCaptor.forClass(String.class);
+		verify(batchPrinter, times(3)).print(batchMessages.capture());
+		verify(sequentialPrinter, times(3)).print(sequentialMessages.capture());
+		Assertions.assertThat(batchMessages.getAllValues()).isEqualTo(sequentialMessages.getAllValues());
+	}
+
 	@Test
 	public void gets_INSUFFICIENT_FUNDS_status() {
 		mock_INSUFFICIENT_FUNDS_status();
@@ -77,6 +140,19 @@ public class PurchaseFacadeTest {
 		Assertions.assertThat(purchaseFacade.getPurchaseStatus()).isEqualByComparingTo(PurchaseStatus.PURCHASABLE);
 	}
 
+	@Test
+	public void counts_purchase_status_per_attempt_not_per_evaluation() {
+		mock_INSUFFICIENT_FUNDS_status();
+		Counter insufficientFunds = Metrics.counter("vending_purchase_status_total", "", "status", "insufficient_funds");
+		long before = insufficientFunds.getCount();
+
+		purchaseFacade.getPurchaseStatus();
+		purchaseFacade.getPurchaseStatus();
+		purchaseFacade.buy();
+
+		Assertions.assertThat(insufficientFunds.getCount()).isEqualTo(before + 1);
+	}
+
 	@Test
 	public void gets_available_coins() {
 		Map<Coin, Integer> ownedCoins = Maps.newLinkedHashMap();
@@ -130,6 +206,9 @@ public class PurchaseFacadeTest {
 
 		verify(commandLinePrinter).print(argumentCaptor.capture());
 		Assertions.assertThat(argumentCaptor.getValue()).containsSequence("Cannot buy: no more product in machine.");
+		ArgumentCaptor<PurchaseRefused> eventCaptor = ArgumentCaptor.forClass(PurchaseRefused.class);
+		verify(eventBus).publish(eventCaptor.capture());
+		Assertions.assertThat(eventCaptor.getValue().getReason()).isEqualTo(PurchaseStatus.NO_PRODUCT);
 	}
 
 	@Test
@@ -152,6 +231,12 @@ public class PurchaseFacadeTest {
 		Assertions.assertThat(map.get(CoinFactory.create100())).isEqualTo(1);
 
 		verify(machine.getActiveShelve()).setQuantity(2);
+		ArgumentCaptor<DomainEvent> eventCaptor = ArgumentCaptor.forClass(DomainEvent.class);
+		verify(eventBus).publish(eventCaptor.capture());
+		PurchaseCompleted purchaseCompleted = (PurchaseCompleted) eventCaptor.getValue();
+		Assertions.assertThat(purchaseCompleted.getShelveIndex()).isEqualTo(0);
+		Assertions.assertThat(purchaseCompleted.getProduct()).isEqualTo(product);
+		Assertions.assertThat(purchaseCompleted.getInsertedCoinsBefore()).containsEntry(CoinFactory.create100(), 2);
 	}
 
 	@Test
@@ -181,9 +266,10 @@ public class PurchaseFacadeTest {
 		verify(changeStorage).setInsertedCoins(insertedCoinsArgumentCaptor.capture());
 		Map<Coin, Integer> ownedCoinsValue = ownedCoinsArgumentCaptor.getValue();
 		Map<Coin, Integer> insertedCoinsValue = insertedCoinsArgumentCaptor.getValue();
-		Assertions.assertThat(ownedCoinsValue.get(CoinFactory.create020())).isEqualTo(6);
+		Assertions.assertThat(ownedCoinsValue.get(CoinFactory.create020())).isEqualTo(9);
 		Assertions.assertThat(ownedCoinsValue.get(CoinFactory.create050())).isEqualTo(2);
-		Assertions.assertThat(insertedCoinsValue.get(CoinFactory.create020())).isEqualTo(4);
+		Assertions.assertThat(insertedCoinsValue.get(CoinFactory.create020())).isEqualTo(1);
+		Assertions.assertThat(insertedCoinsValue.get(CoinFactory.create050())).isEqualTo(0);
 
 		verify(machine.getActiveShelve()).setQuantity(2);
 	}
@@ -223,6 +309,129 @@ public class PurchaseFacadeTest {
 		verify(machine.getActiveShelve()).setQuantity(2);
 	}
 
+	@Test
+	public void change_is_given_from_owned_coins_that_inserted_coins_cannot_replace() {
+		mock_BUYABLE_status();
+		ChangeStorage realChangeStorage = new ChangeStorage(new DomainEventBus());
+		Map<Coin, Integer> ownedCoins = CoinFactory.emptyCoinStorage();
+		ownedCoins.put(CoinFactory.create050(), 1);
+		ownedCoins.put(CoinFactory.create020(), 1);
+		realChangeStorage.setOwnedCoins(ownedCoins);
+		realChangeStorage.insertCoin(CoinFactory.create200());
+		when(product.getPrice()).thenReturn(MoneyFactory.of(1.5));
+		when(product.getName()).thenReturn("productName");
+		purchaseFacade = new PurchaseFacade(machine, realChangeStorage, commandLinePrinter, purchaseTracer, eventBus);
+
+		purchaseFacade.buy();
+
+		Assertions.assertThat(realChangeStorage.getOwnedCoins()).isNotNull();
+		Assertions.assertThat(realChangeStorage.getOwnedCoins().get(CoinFactory.create200())).isEqualTo(1);
+		Assertions.assertThat(realChangeStorage.getOwnedCoins().get(CoinFactory.create020())).isEqualTo(1);
+		Assertions.assertThat(realChangeStorage.getOwnedCoins().get(CoinFactory.create050())).isEqualTo(0);
+		Assertions.assertThat(realChangeStorage.getInsertedCoins()).isEmpty();
+		Assertions.assertThat(captureChangeDispensed().getCoins().get(CoinFactory.create050())).isEqualTo(1);
+		verify(machine.getActiveShelve()).setQuantity(2);
+	}
+
+	@Test
+	public void coins_not_used_for_payment_are_returned() {
+		mock_BUYABLE_status();
+		ChangeStorage realChangeStorage = new ChangeStorage(new DomainEventBus());
+		realChangeStorage.setOwnedCoins(CoinFactory.emptyCoinStorage());
+		realChangeStorage.insertCoin(CoinFactory.create050());
+		realChangeStorage.insertCoin(CoinFactory.create200());
+		when(product.getPrice()).thenReturn(MoneyFactory.of(2));
+		when(product.getName()).thenReturn("productName");
+		purchaseFacade = new PurchaseFacade(machine, realChangeStorage, commandLinePrinter, purchaseTracer, eventBus);
+
+		purchaseFacade.buy();
+
+		Assertions.assertThat(realChangeStorage.getOwnedCoins().get(CoinFactory.create200())).isEqualTo(1);
+		Map<Coin, Integer> change = captureChangeDispensed().getCoins();
+		Assertions.assertThat(change.get(CoinFactory.create050())).isEqualTo(1);
+		Assertions.assertThat(change.get(CoinFactory.create200())).isEqualTo(0);
+		verify(commandLinePrinter).print("Returned change: 0.50.");
+	}
+
+	@Test
+	public void no_change_is_dispensed_for_exact_payment() {
+		mock_BUYABLE_status();
+		ChangeStorage realChangeStorage = new ChangeStorage(new DomainEventBus());
+		realChangeStorage.insertCoin(CoinFactory.create200());
+		when(product.getPrice()).thenReturn(MoneyFactory.of(2));
+		when(product.getName()).thenReturn("productName");
+		purchaseFacade = new PurchaseFacade(machine, realChangeStorage, commandLinePrinter, purchaseTracer, eventBus);
+
+		purchaseFacade.buy();
+
+		verify(eventBus, never()).publish(isA(ChangeDispensed.class));
+		Assertions.assertThat(realChangeStorage.getInsertedCoins()).isEmpty();
+	}
+
+	@Test
+	public void purchase_is_refused_when_journal_cannot_record_it() {
+		mock_BUYABLE_status();
+		ChangeStorage realChangeStorage = new ChangeStorage(new DomainEventBus());
+		realChangeStorage.setOwnedCoins(CoinFactory.emptyCoinStorage());
+		realChangeStorage.insertCoin(CoinFactory.create200());
+		when(product.getPrice()).thenReturn(MoneyFactory.of(2));
+		when(product.getName()).thenReturn("productName");
+		purchaseFacade = new PurchaseFacade(machine, realChangeStorage, commandLinePrinter, purchaseTracer, eventBus,
+			purchase -> false);
+
+		purchaseFacade.buy();
+
+		Assertions.assertThat(realChangeStorage.getInsertedCoins().get(CoinFactory.create200())).isEqualTo(1);
+		Assertions.assertThat(realChangeStorage.getOwnedCoins().get(CoinFactory.create200())).isEqualTo(0);
+		verify(machine.getActiveShelve(), never()).setQuantity(anyInt());
+		ArgumentCaptor<DomainEvent> eventCaptor = ArgumentCaptor.forClass(DomainEvent.class);
+		verify(eventBus).publish(eventCaptor.capture());
+		Assertions.assertThat(((PurchaseRefused) eventCaptor.getValue()).getReason())
+			.isEqualTo(PurchaseStatus.NOT_RECORDED);
+		verify(commandLinePrinter).print(contains("could not be recorded"));
+	}
+
+	@Test
+	public void stock_depletion_is_published_after_last_product_is_bought() {
+		mock_BUYABLE_status();
+		when(machine.getActiveShelve().getQuantity()).thenReturn(1, 1, 0);
+		when(product.getName()).thenReturn("productName");
+
+		purchaseFacade.buy();
+
+		ArgumentCaptor<DomainEvent> eventCaptor = ArgumentCaptor.forClass(DomainEvent.class);
+		verify(eventBus, times(2)).publish(eventCaptor.capture());
+		Assertions.assertThat(eventCaptor.getAllValues().get(0)).isInstanceOf(PurchaseCompleted.class);
+		Assertions.assertThat(eventCaptor.getAllValues().get(1)).isInstanceOf(StockDepleted.class);
+	}
+
+	@Test
+	public void sampled_purchase_is_traced() throws Exception {
+		Path traceFile = temporaryFolder.getRoot().toPath().resolve("traces.log");
+		PurchaseTracer tracer = new PurchaseTracer(1, traceFile.toString(), 16);
+		purchaseFacade = new PurchaseFacade(machine, changeStorage, commandLinePrinter, tracer, eventBus);
+		mock_INSUFFICIENT_CHANGE_status();
+
+		purchaseFacade.buy();
+		tracer.close();
+
+		String trace = new String(Files.readAllBytes(traceFile), StandardCharsets.UTF_8);
+		Assertions.assertThat(trace).contains("shelve=0 status=INSUFFICIENT_CHANGE");
+		Assertions.assertThat(trace).contains("  inserted_only false", "  owned_only false", "  both_storages false",
+			"calculate_change(solutions=0");
+		Assertions.assertThat(trace).doesNotContain("swapping_storages");
+	}
+
+	private ChangeDispensed captureChangeDispensed() {
+		ArgumentCaptor<DomainEvent> eventCaptor = ArgumentCaptor.forClass(DomainEvent.class);
+		verify(eventBus, atLeastOnce()).publish(eventCaptor.capture());
+		return eventCaptor.getAllValues().stream()
+			.filter(event -> event instanceof ChangeDispensed)
+			.map(ChangeDispensed.class::cast)
+			.findFirst()
+			.orElseThrow(AssertionError::new);
+	}
+
 	private void mock_INSUFFICIENT_CHANGE_status() {
 		insertedCoins = Maps.newLinkedHashMap();
 		insertedCoins.put(CoinFactory.create020(), 3);
@@ -255,6 +464,7 @@ public class PurchaseFacadeTest {
 		when(shelve.getProduct()).thenReturn(product);
 		when(shelve.getQuantity()).thenReturn(3);
 		when(machine.getActiveShelve()).thenReturn(shelve);
+		when(machine.getActiveShelveIndex()).thenReturn(0);
 	}
 
 	private void mock_INSUFFICIENT_FUNDS_status() {
@@ -0,0 +1,87 @@
+package tdd.vendingMachine.machine.purchase.trace;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import tdd.vendingMachine.machine.purchase.enums.PurchaseStatus;
+import tdd.vendingMachine.machine.purchase.trace.entity.PurchaseTrace;
+import tdd.vendingMachine.money.change.ChangeCalculator;
+import tdd.vendingMachine.money.coin.entity.Coin;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+import tdd.vendingMachine.money.factory.MoneyFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public class PurchaseTracerTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void unsampled_purchase_is_not_traced() throws Exception {
+		Path file = temporaryFolder.getRoot().toPath().resolve("traces.log");
+		PurchaseTracer tracer = new PurchaseTracer(0, file.toString(), 16);
+
+		PurchaseTrace trace = tracer.begin(1);
+		PurchaseTraces.enter("ignored");
+		PurchaseTraces.exit(true);
+		tracer.end(trace);
+		tracer.close();
+
+		Assertions.assertThat(trace).isNull();
+		Assertions.assertThat(PurchaseTraces.current()).isNull();
+		Assertions.assertThat(file).doesNotExist();
+	}
+
+	@Test
+	public void sampled_purchase_records_nested_branches_and_solver_invocations() throws Exception {
+		Path file = temporaryFolder.getRoot().toPath().resolve("traces.log");
+		PurchaseTracer tracer = new PurchaseTracer(1, file.toString(), 16);
+
+		PurchaseTrace trace = tracer.begin(2);
+		PurchaseTraces.enter("apply_both_storages");
+		PurchaseTraces.enter("inserted_only");
+		PurchaseTraces.solverInvoked("calculate_change", 3, 2000);
+		PurchaseTraces.exit(false);
+		PurchaseTraces.exit(true);
+		PurchaseTraces.status(PurchaseStatus.PURCHASABLE);
+		tracer.end(trace);
+		tracer.close();
+
+		Assertions.assertThat(PurchaseTraces.current()).isNull();
+		Assertions.assertThat(trace.getBranches()).extracting("name", "depth", "result")
+			.containsExactly(
+				Assertions.tuple("apply_both_storages", 0, true),
+				Assertions.tuple("inserted_only", 1, false));
+		List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		Assertions.assertThat(lines).hasSize(3);
+		Assertions.assertThat(lines.get(0)).contains("shelve=2 status=PURCHASABLE total=");
+		Assertions.assertThat(lines.get(1)).startsWith("  apply_both_storages true ");
+		Assertions.assertThat(lines.get(2)).startsWith("    inserted_only false ")
+			.endsWith("calculate_change(solutions=3, 2us)");
+	}
+
+	@Test
+	public void sampled_purchase_records_change_calculator_invocations() throws Exception {
+		Path file = temporaryFolder.getRoot().toPath().resolve("traces.log");
+		PurchaseTracer tracer = new PurchaseTracer(1, file.toString(), 16);
+		Map<Coin, Integer> coins = CoinFactory.emptyCoinStorage();
+		coins.put(CoinFactory.create050(), 2);
+
+		PurchaseTrace trace = tracer.begin(0);
+		PurchaseTraces.enter("inserted_only");
+		ChangeCalculator.calculateChange(coins, MoneyFactory.of(1));
+		PurchaseTraces.exit(true);
+		tracer.end(trace);
+		tracer.close();
+
+		Assertions.assertThat(Files.readAllLines(file, StandardCharsets.UTF_8).get(1))
+			.contains("calculate_change(solutions=1, ");
+	}
+
+}
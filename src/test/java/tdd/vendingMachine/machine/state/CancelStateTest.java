@@ -5,6 +5,8 @@ import org.assertj.core.api.Assertions;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.event.entity.SessionCancelled;
 import tdd.vendingMachine.machine.cli.util.CommandLinePrinter;
 import tdd.vendingMachine.money.change.ChangeStorage;
 import tdd.vendingMachine.money.coin.entity.Coin;
@@ -21,13 +23,16 @@ public class CancelStateTest {
 
 	private ChangeStorage changeStorage;
 
+	private DomainEventBus eventBus;
+
 	private CancelState cancelState;
 
 	@Before
 	public void setup() {
 		commandLinePrinter = mock(CommandLinePrinter.class);
 		changeStorage = mock(ChangeStorage.class);
-		cancelState = new CancelState(commandLinePrinter, changeStorage);
+		eventBus = mock(DomainEventBus.class);
+		cancelState = new CancelState(commandLinePrinter, changeStorage, eventBus);
 	}
 
 	@Test
@@ -39,6 +44,7 @@ public class CancelStateTest {
 	public void shows_empty_coins_description() {
 		final InteractionState interactionState = mock(InteractionState.class);
 		when(changeStorage.getInsertedCoins()).thenReturn(Maps.newHashMap());
+		when(changeStorage.dispenseInsertedCoins()).thenReturn(Maps.newHashMap());
 
 		cancelState.executeCommand("", interactionState);
 
@@ -47,6 +53,7 @@ public class CancelStateTest {
 		List<String> messages = argumentCaptor.getValue();
 
 		Assertions.assertThat(messages.get(0)).containsSequence("No coins to return.");
+		verify(eventBus).publish(any(SessionCancelled.class));
 
 		verify(interactionState).changeState(InteractionState.StateName.PICKING_SHELVE);
 	}
@@ -59,6 +66,7 @@ public class CancelStateTest {
 		insertedCoins.put(CoinFactory.create010(), 2);
 
 		when(changeStorage.getInsertedCoins()).thenReturn(insertedCoins);
+		when(changeStorage.dispenseInsertedCoins()).thenReturn(insertedCoins);
 
 		cancelState.executeCommand("", interactionState);
 
@@ -68,6 +76,10 @@ public class CancelStateTest {
 
 		Assertions.assertThat(messages.get(0)).containsSequence("Returned 1 coin with nominal 0.20.");
 		Assertions.assertThat(messages.get(1)).containsSequence("Returned 2 coins with nominal 0.10.");
+		verify(changeStorage).dispenseInsertedCoins();
+		ArgumentCaptor<SessionCancelled> eventCaptor = ArgumentCaptor.forClass(SessionCancelled.class);
+		verify(eventBus).publish(eventCaptor.capture());
+		Assertions.assertThat(eventCaptor.getValue().getReturnedCoins()).isEqualTo(insertedCoins);
 
 		verify(interactionState).changeState(InteractionState.StateName.PICKING_SHELVE);
 	}
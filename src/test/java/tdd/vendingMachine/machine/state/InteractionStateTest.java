@@ -5,6 +5,8 @@ import org.assertj.core.api.Assertions;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.context.ApplicationContext;
+import tdd.vendingMachine.machine.command.entity.Command;
+import tdd.vendingMachine.machine.command.enums.CommandAction;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
@@ -48,6 +50,19 @@ public class InteractionStateTest {
 		verify(state).executeCommand(command, interactionState);
 	}
 
+	@Test
+	public void parses_command_with_current_state_grammar() {
+		Command quit = Command.of(CommandAction.QUIT, -1);
+		when(state.parse("q")).thenReturn(quit);
+
+		Assertions.assertThat(interactionState.parse("q")).isEqualTo(quit);
+	}
+
+	@Test
+	public void shared_state_grammar_parses_quit() {
+		Assertions.assertThat(InteractionState.grammar().parse("q").getAction()).isEqualTo(CommandAction.QUIT);
+	}
+
 	@Test
 	public void does_state_transition() {
 		final InteractionState.StateName stateName = InteractionState.StateName.PAYING;
@@ -74,4 +89,15 @@ public class InteractionStateTest {
 		verify(state).executeCommand(null, interactionState);
 	}
 
+	@Test
+	public void cancels_purchase_only_while_paying() {
+		Assertions.assertThat(interactionState.cancelPurchase()).isFalse();
+		verify(state, never()).executeCommand(null, interactionState);
+
+		interactionState.changeState(InteractionState.StateName.PAYING);
+
+		Assertions.assertThat(interactionState.cancelPurchase()).isTrue();
+		verify(state).executeCommand(null, interactionState);
+	}
+
 }
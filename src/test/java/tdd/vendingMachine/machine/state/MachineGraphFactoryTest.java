@@ -0,0 +1,80 @@
+package tdd.vendingMachine.machine.state;
+
+import com.google.common.collect.Lists;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.event.entity.DomainEvent;
+import tdd.vendingMachine.event.entity.SessionCancelled;
+import tdd.vendingMachine.machine.cli.sink.NullOutputSink;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.mockito.Mockito.mock;
+
+public class MachineGraphFactoryTest {
+
+	@Test
+	public void graphs_do_not_share_state() {
+		MachineGraph first = create(code -> {});
+		MachineGraph second = create(code -> {});
+
+		first.getMachineFacade().executeCommand("s");
+		first.getMachineFacade().executeCommand("0");
+		first.getMachineFacade().executeCommand("0");
+
+		Assertions.assertThat(first.getChangeStorage().getInsertedCoins()).isNotEmpty();
+		Assertions.assertThat(second.getChangeStorage().getInsertedCoins()).isEmpty();
+		Assertions.assertThat(second.getInteractionState().getStateName()).isEqualTo(InteractionState.StateName.HELLO);
+	}
+
+	@Test
+	public void hello_screen_is_not_duplicated_by_additional_graphs() {
+		int lines = create(code -> {}).getMachineFacade().getState().size();
+
+		Assertions.assertThat(create(code -> {}).getMachineFacade().getState()).hasSize(lines);
+	}
+
+	@Test
+	public void quit_is_reported_to_exit_handler() {
+		AtomicInteger exitCode = new AtomicInteger(-1);
+		MachineGraph machineGraph = create(exitCode::set);
+
+		machineGraph.getMachineFacade().executeCommand("q");
+
+		Assertions.assertThat(exitCode.get()).isZero();
+		Assertions.assertThat(machineGraph.getInteractionState().getStateName()).isEqualTo(InteractionState.StateName.HELLO);
+	}
+
+	@Test
+	public void cancelled_purchase_refunds_coins_and_releases_shelve() {
+		DomainEventBus eventBus = new DomainEventBus();
+		List<DomainEvent> events = Lists.newArrayList();
+		eventBus.subscribe("test", events::add);
+		MachineGraph machineGraph = create(code -> {}, eventBus);
+		machineGraph.getMachineFacade().executeCommand("s");
+		machineGraph.getMachineFacade().executeCommand("0");
+		machineGraph.getMachineFacade().executeCommand("0");
+
+		Assertions.assertThat(machineGraph.cancelPurchase()).isTrue();
+
+		Assertions.assertThat(machineGraph.getChangeStorage().getInsertedCoins()).isEmpty();
+		Assertions.assertThat(machineGraph.getMachine().getActiveShelveIndex()).isNull();
+		Assertions.assertThat(machineGraph.getInteractionState().getStateName())
+			.isEqualTo(InteractionState.StateName.PICKING_SHELVE);
+		Assertions.assertThat(events).hasAtLeastOneElementOfType(SessionCancelled.class);
+		Assertions.assertThat(machineGraph.cancelPurchase()).isFalse();
+	}
+
+	private MachineGraph create(IntConsumer exitHandler) {
+		return create(exitHandler, new DomainEventBus());
+	}
+
+	private MachineGraph create(IntConsumer exitHandler, DomainEventBus eventBus) {
+		return MachineGraphFactory.create(new NullOutputSink(), exitHandler, mock(PurchaseTracer.class), eventBus);
+	}
+
+}
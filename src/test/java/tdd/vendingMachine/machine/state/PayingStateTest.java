@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -123,6 +124,27 @@ public class PayingStateTest {
 		Assertions.assertThat(TestUtil.stripColors(description.get(15))).containsSequence("[ 1 ]", "coin with value 0.20");
 	}
 
+	@Test
+	public void consecutive_coin_commands_are_inserted_together() {
+		final InteractionState interactionState = mock(InteractionState.class);
+
+		int consumed = payingState.executeCommands(Lists.newArrayList("3", "3", "1", "b"), 0, interactionState);
+
+		Assertions.assertThat(consumed).isEqualTo(3);
+		verify(purchaseFacade).insertCoins(3, 3, 1);
+		verify(purchaseFacade, never()).buy();
+	}
+
+	@Test
+	public void non_coin_command_in_batch_is_executed_alone() {
+		final InteractionState interactionState = mock(InteractionState.class);
+
+		int consumed = payingState.executeCommands(Lists.newArrayList("3", "3", "1", "b"), 3, interactionState);
+
+		Assertions.assertThat(consumed).isEqualTo(1);
+		verify(purchaseFacade).buy();
+	}
+
 	@Test
 	public void goes_to_cancel_state_when_canceled() {
 		final InteractionState interactionState = mock(InteractionState.class);
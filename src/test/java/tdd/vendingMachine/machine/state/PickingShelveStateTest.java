@@ -43,6 +43,34 @@ public class PickingShelveStateTest {
 		Assertions.assertThat(TestUtil.stripColors(description.get(7))).isEqualTo("[ q ] - quit");
 	}
 
+	@Test
+	public void description_is_rebuilt_only_when_machine_version_changes() {
+		when(machine.getShelves()).thenReturn(Lists.newArrayList(Shelve.of(ProductFactory.createCocaCola(), 3)));
+		when(machine.getVersion()).thenReturn(1L);
+
+		List<String> description = pickingShelveState.getDescription();
+
+		Assertions.assertThat(pickingShelveState.getDescription()).isSameAs(description);
+		verify(machine, times(2)).getShelves();
+
+		when(machine.getVersion()).thenReturn(2L);
+
+		Assertions.assertThat(pickingShelveState.getDescription()).isNotSameAs(description);
+		verify(machine, times(4)).getShelves();
+	}
+
+	@Test
+	public void out_of_range_shelve_index_is_an_invalid_command() {
+		when(machine.getShelves()).thenReturn(Lists.newArrayList(Shelve.of(ProductFactory.createCocaCola(), 3)));
+		final InteractionState interactionState = mock(InteractionState.class);
+
+		pickingShelveState.executeCommand("9", interactionState);
+
+		Assertions.assertThat(pickingShelveState.getLatestInvalidCommand()).isEqualTo("9");
+		verify(machine, never()).setActiveShelveIndex(anyInt());
+		verify(interactionState).changeState(InteractionState.StateName.UNKNOWN_COMMAND);
+	}
+
 	@Test
 	public void shows_unknown_command_message() {
 		final String unknownCommand = "unknownCommand";
@@ -56,6 +84,7 @@ public class PickingShelveStateTest {
 	@Test
 	public void changes_state_to_paying_when_valid_shelve_is_picked() {
 		final String validShelveCommand = "0";
+		when(machine.getShelves()).thenReturn(Lists.newArrayList(Shelve.of(ProductFactory.createCocaCola(), 3)));
 		final InteractionState interactionState = mock(InteractionState.class);
 		pickingShelveState.executeCommand(validShelveCommand, interactionState);
 
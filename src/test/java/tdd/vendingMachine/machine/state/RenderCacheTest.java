@@ -0,0 +1,42 @@
+package tdd.vendingMachine.machine.state;
+
+import com.google.common.collect.Lists;
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import tdd.vendingMachine.metrics.MetricsRegistry;
+
+import java.util.List;
+
+public class RenderCacheTest {
+
+	private RenderCache renderCache;
+
+	@Before
+	public void setup() {
+		renderCache = new RenderCache(new MetricsRegistry());
+	}
+
+	@Test
+	public void empty_cache_misses() {
+		Assertions.assertThat(renderCache.get(0, 0)).isNull();
+	}
+
+	@Test
+	public void description_is_returned_for_same_versions() {
+		List<String> description = Lists.newArrayList("line");
+
+		renderCache.put(1, 2, description);
+
+		Assertions.assertThat(renderCache.get(1, 2)).isSameAs(description);
+	}
+
+	@Test
+	public void description_is_dropped_when_any_version_changes() {
+		renderCache.put(1, 2, Lists.newArrayList("line"));
+
+		Assertions.assertThat(renderCache.get(2, 2)).isNull();
+		Assertions.assertThat(renderCache.get(1, 3)).isNull();
+	}
+
+}
@@ -0,0 +1,55 @@
+package tdd.vendingMachine.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.assertj.core.data.Offset;
+import org.junit.Test;
+import tdd.vendingMachine.metrics.entity.MetricName;
+
+import java.util.stream.IntStream;
+
+public class HistogramTest {
+
+	@Test
+	public void small_values_are_recorded_exactly() {
+		Histogram histogram = new Histogram(MetricName.of("test", "Test."));
+
+		IntStream.rangeClosed(1, 10).forEach(histogram::record);
+
+		Assertions.assertThat(histogram.getCount()).isEqualTo(10);
+		Assertions.assertThat(histogram.getSum()).isEqualTo(55);
+		Assertions.assertThat(histogram.getMax()).isEqualTo(10);
+		Assertions.assertThat(histogram.getMean()).isEqualTo(5.5);
+		Assertions.assertThat(histogram.getValueAtPercentile(50)).isEqualTo(5);
+		Assertions.assertThat(histogram.getValueAtPercentile(100)).isEqualTo(10);
+	}
+
+	@Test
+	public void large_values_keep_relative_precision() {
+		Histogram histogram = new Histogram(MetricName.of("test", "Test."));
+
+		IntStream.rangeClosed(1, 1000).forEach(value -> histogram.record(value * 1000L));
+
+		Assertions.assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(500000, Offset.offset(20000.0));
+		Assertions.assertThat((double) histogram.getValueAtPercentile(99)).isCloseTo(990000, Offset.offset(40000.0));
+		Assertions.assertThat(histogram.getValueAtPercentile(100)).isEqualTo(1000000);
+	}
+
+	@Test
+	public void bucket_boundaries_are_contiguous() {
+		for (int index = 1; index < 900; index++) {
+			long lowest = Histogram.highestValueAt(index - 1) + 1;
+			Assertions.assertThat(Histogram.indexOf(lowest)).isEqualTo(index);
+			Assertions.assertThat(Histogram.indexOf(Histogram.highestValueAt(index))).isEqualTo(index);
+		}
+		Assertions.assertThat(Histogram.indexOf(Long.MAX_VALUE)).isGreaterThan(0);
+	}
+
+	@Test
+	public void empty_histogram_reports_zero() {
+		Histogram histogram = new Histogram(MetricName.of("test", "Test."));
+
+		Assertions.assertThat(histogram.getValueAtPercentile(99)).isEqualTo(0);
+		Assertions.assertThat(histogram.getMean()).isEqualTo(0);
+	}
+
+}
@@ -0,0 +1,42 @@
+package tdd.vendingMachine.metrics;
+
+import com.google.common.collect.Lists;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.metrics.entity.MetricName;
+
+import java.util.List;
+
+public class MetricsRegistryTest {
+
+	@Test
+	public void same_name_returns_same_metric() {
+		MetricsRegistry registry = new MetricsRegistry();
+
+		Counter counter = registry.counter(MetricName.of("hits", "Hits.", "kind", "a"));
+
+		Assertions.assertThat(registry.counter(MetricName.of("hits", "Hits.", "kind", "a"))).isSameAs(counter);
+		Assertions.assertThat(registry.counter(MetricName.of("hits", "Hits.", "kind", "b"))).isNotSameAs(counter);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void name_cannot_be_reused_for_other_metric_type() {
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.counter(MetricName.of("hits", "Hits."));
+
+		registry.histogram(MetricName.of("hits", "Hits."));
+	}
+
+	@Test
+	public void listeners_receive_existing_and_new_metrics() {
+		MetricsRegistry registry = new MetricsRegistry();
+		List<Metric> received = Lists.newArrayList();
+		Counter existing = registry.counter(MetricName.of("existing", "Existing."));
+
+		registry.addListener(received::add);
+		Histogram added = registry.histogram(MetricName.of("added", "Added."));
+
+		Assertions.assertThat(received).containsExactly(existing, added);
+	}
+
+}
@@ -0,0 +1,35 @@
+package tdd.vendingMachine.metrics.jmx;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.metrics.MetricsRegistry;
+import tdd.vendingMachine.metrics.entity.MetricName;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+public class MetricsJmxExporterTest {
+
+	private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+	@Test
+	public void exports_metrics_as_mbeans_until_stopped() throws Exception {
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.histogram(MetricName.of("jmx_test_latency", "JMX test.", "kind", "before")).record(5);
+		MetricsJmxExporter exporter = new MetricsJmxExporter(registry, true);
+		exporter.start();
+		registry.counter(MetricName.of("jmx_test_total", "JMX test.", "kind", "after")).add(2);
+
+		ObjectName histogram = MetricsJmxExporter.objectNameOf(MetricName.of("jmx_test_latency", "", "kind", "before"));
+		ObjectName counter = MetricsJmxExporter.objectNameOf(MetricName.of("jmx_test_total", "", "kind", "after"));
+		Assertions.assertThat(server.getAttribute(histogram, "Max")).isEqualTo(5L);
+		Assertions.assertThat(server.getAttribute(counter, "Count")).isEqualTo(2L);
+
+		exporter.stop();
+
+		Assertions.assertThat(server.isRegistered(histogram)).isFalse();
+		Assertions.assertThat(server.isRegistered(counter)).isFalse();
+	}
+
+}
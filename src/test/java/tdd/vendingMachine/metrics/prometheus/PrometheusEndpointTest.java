@@ -0,0 +1,34 @@
+package tdd.vendingMachine.metrics.prometheus;
+
+import com.google.common.io.CharStreams;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.metrics.Metrics;
+
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+public class PrometheusEndpointTest {
+
+	@Test
+	public void serves_registry_over_http() throws Exception {
+		Metrics.counter("endpoint_test_total", "Endpoint test.", "kind", "served").increment();
+		PrometheusEndpoint endpoint = new PrometheusEndpoint(true, 0);
+		endpoint.start();
+
+		try {
+			URL url = new URL("http://127.0.0.1:" + endpoint.getPort() + "/metrics");
+			HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+			try (InputStreamReader input = new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)) {
+				Assertions.assertThat(connection.getResponseCode()).isEqualTo(200);
+				Assertions.assertThat(CharStreams.toString(input))
+					.contains("endpoint_test_total{kind=\"served\"} 1");
+			}
+		} finally {
+			endpoint.stop();
+		}
+	}
+
+}
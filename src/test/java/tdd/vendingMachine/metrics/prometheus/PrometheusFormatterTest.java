@@ -0,0 +1,34 @@
+package tdd.vendingMachine.metrics.prometheus;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.metrics.Histogram;
+import tdd.vendingMachine.metrics.MetricsRegistry;
+import tdd.vendingMachine.metrics.entity.MetricName;
+
+public class PrometheusFormatterTest {
+
+	@Test
+	public void formats_counters_and_summaries() {
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.counter(MetricName.of("purchases_total", "Purchases.", "status", "ok")).add(3);
+		registry.counter(MetricName.of("purchases_total", "Purchases.", "status", "failed")).increment();
+		Histogram histogram = registry.histogram(MetricName.of("latency", "Latency."));
+		histogram.record(4);
+		histogram.record(6);
+
+		String output = PrometheusFormatter.format(registry);
+
+		Assertions.assertThat(output).contains(
+			"# HELP latency Latency.\n" +
+			"# TYPE latency summary\n" +
+			"latency{quantile=\"0.5\"} 4\n");
+		Assertions.assertThat(output).contains("latency_sum 10\nlatency_count 2\nlatency_max 6\n");
+		Assertions.assertThat(output).contains(
+			"# TYPE purchases_total counter\n" +
+			"purchases_total{status=\"failed\"} 1\n" +
+			"purchases_total{status=\"ok\"} 3\n");
+		Assertions.assertThat(output).containsOnlyOnce("# HELP purchases_total");
+	}
+
+}
@@ -1,17 +1,33 @@
 package tdd.vendingMachine.money.change;
 
+import com.google.common.collect.Lists;
 import org.assertj.core.api.Assertions;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import tdd.vendingMachine.event.DomainEventBus;
+import tdd.vendingMachine.event.entity.CoinInserted;
+import tdd.vendingMachine.event.entity.DomainEvent;
+import tdd.vendingMachine.money.coin.entity.Coin;
 import tdd.vendingMachine.money.coin.factory.CoinFactory;
+import tdd.vendingMachine.scenario.ScenarioGenerator;
+import tdd.vendingMachine.scenario.entity.Scenario;
+import tdd.vendingMachine.scenario.factory.ScenarioProfileFactory;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
 
 public class ChangeStorageTest {
 
+	private DomainEventBus eventBus;
+
 	private ChangeStorage changeStorage;
 
 	@Before
 	public void setup() {
-		changeStorage = new ChangeStorage();
+		eventBus = mock(DomainEventBus.class);
+		changeStorage = new ChangeStorage(eventBus);
 	}
 
 	@Test
@@ -32,6 +48,70 @@ public class ChangeStorageTest {
 
 		Assertions.assertThat(changeStorage.getInsertedCoins().get(CoinFactory.create010())).isEqualTo(2);
 		Assertions.assertThat(changeStorage.getInsertedCoins().get(CoinFactory.create020())).isEqualTo(1);
+		ArgumentCaptor<DomainEvent> argumentCaptor = ArgumentCaptor.forClass(DomainEvent.class);
+		verify(eventBus, times(3)).publish(argumentCaptor.capture());
+		Assertions.assertThat(argumentCaptor.getAllValues()).extracting("coin")
+			.containsExactly(CoinFactory.create010(), CoinFactory.create010(), CoinFactory.create020());
+		Assertions.assertThat(argumentCaptor.getAllValues()).hasOnlyElementsOfType(CoinInserted.class);
+	}
+
+	@Test
+	public void coins_can_be_inserted_in_single_step() {
+		long version = changeStorage.getVersion();
+
+		changeStorage.insertCoins(Lists.newArrayList(CoinFactory.create010(), CoinFactory.create010(),
+			CoinFactory.create020()));
+
+		Assertions.assertThat(changeStorage.getInsertedCoins().get(CoinFactory.create010())).isEqualTo(2);
+		Assertions.assertThat(changeStorage.getInsertedCoins().get(CoinFactory.create020())).isEqualTo(1);
+		Assertions.assertThat(changeStorage.getVersion()).isEqualTo(version + 1);
+		ArgumentCaptor<DomainEvent> argumentCaptor = ArgumentCaptor.forClass(DomainEvent.class);
+		verify(eventBus, times(3)).publish(argumentCaptor.capture());
+		Assertions.assertThat(argumentCaptor.getAllValues()).extracting("coin")
+			.containsExactly(CoinFactory.create010(), CoinFactory.create010(), CoinFactory.create020());
+	}
+
+	@Test
+	public void inserted_coins_can_be_dispensed() {
+		changeStorage.insertCoin(CoinFactory.create050());
+		reset(eventBus);
+
+		Map<Coin, Integer> dispensed = changeStorage.dispenseInsertedCoins();
+
+		Assertions.assertThat(dispensed).containsEntry(CoinFactory.create050(), 1);
+		Assertions.assertThat(changeStorage.getInsertedCoins()).isEmpty();
+		verifyZeroInteractions(eventBus);
+	}
+
+	@Test
+	public void version_changes_when_coins_change() {
+		long initialVersion = changeStorage.getVersion();
+		changeStorage.insertCoin(CoinFactory.create010());
+		long insertedVersion = changeStorage.getVersion();
+		changeStorage.dispenseInsertedCoins();
+		long dispensedVersion = changeStorage.getVersion();
+		changeStorage.setOwnedCoins(changeStorage.getOwnedCoins());
+
+		Assertions.assertThat(insertedVersion).isGreaterThan(initialVersion);
+		Assertions.assertThat(dispensedVersion).isGreaterThan(insertedVersion);
+		Assertions.assertThat(changeStorage.getVersion()).isGreaterThan(dispensedVersion);
+	}
+
+	@Test
+	public void owned_coins_are_created_from_scenario() {
+		Scenario scenario = ScenarioGenerator.generate(ScenarioProfileFactory.parse("coins=3"), 1);
+
+		ChangeStorage scenarioChangeStorage = new ChangeStorage(eventBus, scenario);
+
+		Assertions.assertThat(scenarioChangeStorage.getOwnedCoins().keySet())
+			.containsExactlyElementsOf(CoinFactory.AVAILABLE_COINS);
+		Assertions.assertThat(scenarioChangeStorage.getOwnedCoins().values()).containsOnly(3);
+	}
+
+	@Test
+	public void nothing_is_dispensed_when_no_coins_are_inserted() {
+		Assertions.assertThat(changeStorage.dispenseInsertedCoins()).isEmpty();
+		verifyZeroInteractions(eventBus);
 	}
 
 }
@@ -67,4 +67,34 @@ public class MoneyUtilTest {
 		Assertions.assertThat(difference.get(CoinFactory.create050())).isEqualTo(1);
 	}
 
+	@Test
+	public void subtraction_keeps_coins_missing_from_subtrahend() {
+		Map<Coin, Integer> minuend = Maps.newLinkedHashMap();
+		minuend.put(CoinFactory.create050(), 1);
+		minuend.put(CoinFactory.create200(), 1);
+
+		Map<Coin, Integer> subtrahend = Maps.newLinkedHashMap();
+		subtrahend.put(CoinFactory.create200(), 1);
+
+		Map<Coin, Integer> difference = MoneyUtil.subtract(minuend, subtrahend);
+
+		Assertions.assertThat(difference.get(CoinFactory.create050())).isEqualTo(1);
+		Assertions.assertThat(difference.get(CoinFactory.create200())).isEqualTo(0);
+	}
+
+	@Test
+	public void converts_map_to_vector_and_back() {
+		Map<Coin, Integer> map = Maps.newLinkedHashMap();
+		map.put(CoinFactory.create500(), 2);
+		map.put(CoinFactory.create020(), 1);
+
+		int[] vector = MoneyUtil.toVector(map);
+		Map<Coin, Integer> coins = MoneyUtil.fromVector(vector);
+
+		Assertions.assertThat(vector).containsExactly(0, 1, 0, 0, 0, 2);
+		Assertions.assertThat(coins).hasSize(6);
+		Assertions.assertThat(coins.get(CoinFactory.create500())).isEqualTo(2);
+		Assertions.assertThat(coins.get(CoinFactory.create020())).isEqualTo(1);
+	}
+
 }
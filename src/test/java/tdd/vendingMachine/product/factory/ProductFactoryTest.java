@@ -40,4 +40,11 @@ public class ProductFactoryTest {
 		Assertions.assertThat(product.getPrice().getAmountMinorInt()).isEqualTo(100);
 	}
 
+	@Test
+	public void resolves_product_codes() {
+		Assertions.assertThat(ProductFactory.codeOf(ProductFactory.createMineralWater())).isEqualTo(2);
+		Assertions.assertThat(ProductFactory.ofCode(1).getName()).isEqualTo("Chocolate bar");
+		Assertions.assertThat(ProductFactory.ofCode(3)).isNull();
+	}
+
 }
@@ -0,0 +1,74 @@
+package tdd.vendingMachine.scenario;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+import tdd.vendingMachine.product.factory.ProductFactory;
+import tdd.vendingMachine.scenario.entity.Scenario;
+import tdd.vendingMachine.scenario.entity.ScenarioProfile;
+import tdd.vendingMachine.scenario.factory.ScenarioProfileFactory;
+
+import java.util.List;
+
+public class ScenarioGeneratorTest {
+
+	private static final ScenarioProfile PROFILE = ScenarioProfileFactory.parse("shelves=8; stock=2..9; coins=0..20");
+
+	@Test
+	public void same_seed_generates_same_scenario() {
+		Scenario first = ScenarioGenerator.generate(PROFILE, 42);
+		Scenario second = ScenarioGenerator.generate(PROFILE, 42);
+
+		Assertions.assertThat(first.getStock()).isEqualTo(second.getStock());
+		Assertions.assertThat(first.getCoinFloat()).isEqualTo(second.getCoinFloat());
+		Assertions.assertThat(first.getSeed()).isEqualTo(42);
+	}
+
+	@Test
+	public void different_seeds_generate_different_scenarios() {
+		Scenario first = ScenarioGenerator.generate(PROFILE, 1);
+		Scenario second = ScenarioGenerator.generate(PROFILE, 2);
+
+		Assertions.assertThat(first.getStock().toString() + first.getCoinFloat())
+			.isNotEqualTo(second.getStock().toString() + second.getCoinFloat());
+	}
+
+	@Test
+	public void scenario_follows_profile() {
+		Scenario scenario = ScenarioGenerator.generate(PROFILE, 7);
+
+		Assertions.assertThat(scenario.getProducts()).hasSize(8);
+		Assertions.assertThat(scenario.getProducts().get(3).getName())
+			.isEqualTo(ProductFactory.AVAILABLE_PRODUCTS.get(0).getName());
+		Assertions.assertThat(scenario.getStock().stream().allMatch(quantity -> quantity >= 2 && quantity <= 9)).isTrue();
+		Assertions.assertThat(scenario.getCoinFloat().keySet()).containsExactlyElementsOf(CoinFactory.AVAILABLE_COINS);
+		Assertions.assertThat(scenario.getCoinFloat().values().stream().allMatch(count -> count >= 0 && count <= 20))
+			.isTrue();
+	}
+
+	@Test
+	public void scenario_creates_fresh_shelves_and_coins() {
+		Scenario scenario = ScenarioGenerator.generate(PROFILE, 7);
+
+		scenario.createShelves().get(0).setQuantity(100);
+		scenario.createOwnedCoins().put(CoinFactory.create010(), 100);
+
+		Assertions.assertThat(scenario.createShelves().get(0).getQuantity()).isEqualTo(scenario.getStock().get(0));
+		Assertions.assertThat(scenario.createOwnedCoins().get(CoinFactory.create010()))
+			.isEqualTo(scenario.getCoinFloat().get(CoinFactory.create010()));
+	}
+
+	@Test
+	public void parallel_population_matches_sequential_generation() {
+		List<Scenario> population = ScenarioGenerator.generate(PROFILE, 99, 10_000);
+
+		Assertions.assertThat(population).hasSize(10_000);
+		for (int i : new int[] {0, 1, 5_000, 9_999}) {
+			Scenario expected = ScenarioGenerator.generate(PROFILE, ScenarioGenerator.seedOf(99, i));
+			Assertions.assertThat(population.get(i).getSeed()).isEqualTo(expected.getSeed());
+			Assertions.assertThat(population.get(i).getStock()).isEqualTo(expected.getStock());
+			Assertions.assertThat(population.get(i).getCoinFloat()).isEqualTo(expected.getCoinFloat());
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+package tdd.vendingMachine.scenario.factory;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+import tdd.vendingMachine.product.factory.ProductFactory;
+import tdd.vendingMachine.scenario.entity.ScenarioProfile;
+import tdd.vendingMachine.scenario.entity.UniformRange;
+
+public class ScenarioProfileFactoryTest {
+
+	@Test
+	public void classic_profile_matches_original_machine() {
+		ScenarioProfile profile = ScenarioProfileFactory.classic();
+
+		Assertions.assertThat(profile.getShelveCount()).isEqualTo(3);
+		Assertions.assertThat(profile.getProducts()).isEqualTo(ProductFactory.AVAILABLE_PRODUCTS);
+		Assertions.assertThat(profile.getStock()).isEqualTo(UniformRange.of(1, 3));
+		Assertions.assertThat(profile.getCoinFloat().values()).containsOnly(UniformRange.of(0, 1));
+	}
+
+	@Test
+	public void blank_or_classic_profile_is_classic() {
+		Assertions.assertThat(ScenarioProfileFactory.parse("").getStock()).isEqualTo(UniformRange.of(1, 3));
+		Assertions.assertThat(ScenarioProfileFactory.parse("classic").getShelveCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void parses_declarative_profile() {
+		ScenarioProfile profile = ScenarioProfileFactory.parse("shelves=6; products=2,0; stock=5; coins=0..1,0..2,0..3,1..4,2,0");
+
+		Assertions.assertThat(profile.getShelveCount()).isEqualTo(6);
+		Assertions.assertThat(profile.getProducts()).extracting("name")
+			.containsExactly(ProductFactory.ofCode(2).getName(), ProductFactory.ofCode(0).getName());
+		Assertions.assertThat(profile.getStock()).isEqualTo(UniformRange.of(5, 5));
+		Assertions.assertThat(profile.getCoinFloat().get(CoinFactory.create100())).isEqualTo(UniformRange.of(1, 4));
+		Assertions.assertThat(profile.getCoinFloat().get(CoinFactory.create200())).isEqualTo(UniformRange.of(2, 2));
+	}
+
+	@Test
+	public void unspecified_entries_keep_classic_values() {
+		ScenarioProfile profile = ScenarioProfileFactory.parse("stock=10..20");
+
+		Assertions.assertThat(profile.getShelveCount()).isEqualTo(3);
+		Assertions.assertThat(profile.getStock()).isEqualTo(UniformRange.of(10, 20));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknown_entry_is_rejected() {
+		ScenarioProfileFactory.parse("aisles=3");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknown_product_is_rejected() {
+		ScenarioProfileFactory.parse("products=0,9");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void reversed_range_is_rejected() {
+		ScenarioProfileFactory.parse("stock=5..1");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void coin_float_needs_every_coin() {
+		ScenarioProfileFactory.parse("coins=1,2");
+	}
+
+}
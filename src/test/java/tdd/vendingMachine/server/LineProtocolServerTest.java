@@ -0,0 +1,166 @@
+package tdd.vendingMachine.server;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import tdd.vendingMachine.TestUtil;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.server.timeout.SessionTimeouts;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.mock;
+
+public class LineProtocolServerTest {
+
+	private LineProtocolServer lineProtocolServer;
+
+	private SessionTimeouts sessionTimeouts;
+
+	@Before
+	public void setup() {
+		sessionTimeouts = new SessionTimeouts(1000, 20, 64);
+		sessionTimeouts.start();
+		lineProtocolServer = new LineProtocolServer(mock(PurchaseTracer.class), sessionTimeouts, true, "127.0.0.1", 0, 64);
+		lineProtocolServer.start();
+	}
+
+	@After
+	public void teardown() throws Exception {
+		lineProtocolServer.close();
+		sessionTimeouts.close();
+	}
+
+	@Test
+	public void session_receives_screens_for_commands() throws IOException {
+		try (Socket socket = connect()) {
+			Assertions.assertThat(readUntil(socket, "[ q ] - quit")).contains("Vending machine is ready.");
+
+			send(socket, "s\n");
+
+			Assertions.assertThat(readUntil(socket, "[ q ] - quit")).contains("Shelve no. 0");
+		}
+	}
+
+	@Test
+	public void queued_lines_are_rendered_once() throws IOException {
+		try (Socket socket = connect()) {
+			readUntil(socket, "[ q ] - quit");
+
+			send(socket, "s\r\n0\r\n");
+
+			String output = readUntil(socket, "[ c ] - cancel");
+			Assertions.assertThat(output).contains("Buying").doesNotContain("Shelve no. 0");
+		}
+	}
+
+	@Test
+	public void sessions_have_independent_machines() throws IOException {
+		try (Socket first = connect(); Socket second = connect()) {
+			readUntil(first, "[ q ] - quit");
+			readUntil(second, "[ q ] - quit");
+
+			send(first, "s\n0\n");
+			send(second, "s\n0\n");
+			readUntil(first, "[ c ] - cancel");
+			readUntil(second, "[ c ] - cancel");
+
+			send(first, "5 5\n");
+
+			Assertions.assertThat(readUntil(first, "[ c ] - cancel")).contains("Inserted USD");
+			send(second, "c\n");
+			Assertions.assertThat(readUntil(second, "[ q ] - quit")).contains("No coins to return.");
+		}
+	}
+
+	@Test
+	public void quit_closes_only_the_session() throws IOException {
+		try (Socket socket = connect()) {
+			readUntil(socket, "[ q ] - quit");
+
+			send(socket, "q\n");
+
+			Assertions.assertThat(readUntil(socket, null)).contains("Exiting.");
+		}
+
+		try (Socket socket = connect()) {
+			Assertions.assertThat(readUntil(socket, "[ q ] - quit")).contains("Vending machine is ready.");
+		}
+	}
+
+	@Test
+	public void out_of_range_shelve_keeps_the_server_serving() throws IOException {
+		try (Socket socket = connect()) {
+			readUntil(socket, "[ q ] - quit");
+
+			send(socket, "s\n9\n");
+
+			Assertions.assertThat(readUntil(socket, "[ q ] - quit")).doesNotContain("Buying");
+		}
+
+		try (Socket socket = connect()) {
+			Assertions.assertThat(readUntil(socket, "[ q ] - quit")).contains("Vending machine is ready.");
+		}
+	}
+
+	@Test
+	public void overlong_line_closes_the_session() throws IOException {
+		try (Socket socket = connect()) {
+			readUntil(socket, "[ q ] - quit");
+
+			send(socket, new String(new char[100]).replace('\0', '1'));
+
+			Assertions.assertThat(readUntil(socket, null)).isEmpty();
+		}
+	}
+
+	@Test
+	public void idle_purchase_is_cancelled_and_coins_returned() throws IOException {
+		try (Socket socket = connect()) {
+			readUntil(socket, "[ q ] - quit");
+			send(socket, "s\n0\n5\n");
+			readUntil(socket, "[ c ] - cancel");
+
+			String output = readUntil(socket, "[ q ] - quit");
+
+			Assertions.assertThat(output).contains("Returned 1 coin with nominal").contains("Shelve no. 0");
+		}
+	}
+
+	private Socket connect() throws IOException {
+		Socket socket = new Socket("127.0.0.1", lineProtocolServer.getPort());
+		socket.setSoTimeout(5000);
+		return socket;
+	}
+
+	private void send(Socket socket, String text) throws IOException {
+		OutputStream outputStream = socket.getOutputStream();
+		outputStream.write(text.getBytes(StandardCharsets.UTF_8));
+		outputStream.flush();
+	}
+
+	private String readUntil(Socket socket, String marker) throws IOException {
+		InputStream inputStream = socket.getInputStream();
+		StringBuilder output = new StringBuilder();
+		byte[] buffer = new byte[4096];
+		try {
+			int read;
+			while ((read = inputStream.read(buffer)) >= 0) {
+				output.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+				if (marker != null && TestUtil.stripColors(output.toString()).contains(marker)) {
+					break;
+				}
+			}
+		} catch (SocketTimeoutException e) {
+			Assertions.fail("Timed out waiting for " + marker + " in " + output);
+		}
+		return TestUtil.stripColors(output.toString());
+	}
+
+}
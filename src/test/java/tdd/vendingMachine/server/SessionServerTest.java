@@ -0,0 +1,141 @@
+package tdd.vendingMachine.server;
+
+import com.google.common.collect.Lists;
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import tdd.vendingMachine.TestUtil;
+import tdd.vendingMachine.machine.purchase.trace.PurchaseTracer;
+import tdd.vendingMachine.server.timeout.SessionTimeouts;
+import tdd.vendingMachine.server.executor.SessionExecutor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+
+public class SessionServerTest {
+
+	private SessionExecutor sessionExecutor;
+
+	private SessionServer sessionServer;
+
+	private SessionTimeouts sessionTimeouts;
+
+	@Before
+	public void setup() {
+		sessionExecutor = new SessionExecutor(2);
+		sessionTimeouts = new SessionTimeouts(1000, 20, 64);
+		sessionTimeouts.start();
+		sessionServer = new SessionServer(mock(PurchaseTracer.class), sessionExecutor, sessionTimeouts,
+			true, "127.0.0.1", 0, 1024);
+		sessionServer.start();
+	}
+
+	@After
+	public void teardown() throws Exception {
+		sessionServer.close();
+		sessionTimeouts.close();
+		sessionExecutor.close();
+	}
+
+	@Test
+	public void session_receives_screens_for_commands() throws IOException {
+		try (Socket socket = connect()) {
+			Assertions.assertThat(readUntil(socket, "[ q ] - quit")).contains("Vending machine is ready.");
+
+			send(socket, "s\n");
+
+			Assertions.assertThat(readUntil(socket, "[ q ] - quit")).contains("Shelve no. 0");
+		}
+	}
+
+	@Test
+	public void quit_closes_only_the_session() throws IOException {
+		try (Socket socket = connect()) {
+			readUntil(socket, "[ q ] - quit");
+
+			send(socket, "q\n");
+
+			Assertions.assertThat(readUntil(socket, null)).contains("Exiting.");
+		}
+
+		try (Socket socket = connect()) {
+			Assertions.assertThat(readUntil(socket, "[ q ] - quit")).contains("Vending machine is ready.");
+		}
+	}
+
+	@Test
+	public void slow_clients_do_not_block_each_other() throws IOException {
+		List<Socket> idleClients = Lists.newArrayList();
+		try {
+			for (int i = 0; i < 200; i++) {
+				Socket socket = connect();
+				idleClients.add(socket);
+				readUntil(socket, "[ q ] - quit");
+			}
+
+			try (Socket socket = connect()) {
+				readUntil(socket, "[ q ] - quit");
+				send(socket, "s\n0\n5 5\n");
+
+				Assertions.assertThat(readUntil(socket, "[ c ] - cancel")).contains("Inserted USD");
+			}
+			Assertions.assertThat(sessionExecutor.getActiveSessions()).isGreaterThanOrEqualTo(200);
+		} finally {
+			for (Socket socket : idleClients) {
+				socket.close();
+			}
+		}
+	}
+
+	@Test
+	public void idle_purchase_is_cancelled_and_coins_returned() throws IOException {
+		try (Socket socket = connect()) {
+			readUntil(socket, "[ q ] - quit");
+			send(socket, "s\n0\n5\n");
+			readUntil(socket, "[ c ] - cancel");
+
+			String output = readUntil(socket, "[ q ] - quit");
+
+			Assertions.assertThat(output).contains("Returned 1 coin with nominal").contains("Shelve no. 0");
+		}
+	}
+
+	private Socket connect() throws IOException {
+		Socket socket = new Socket("127.0.0.1", sessionServer.getPort());
+		socket.setSoTimeout(5000);
+		return socket;
+	}
+
+	private void send(Socket socket, String text) throws IOException {
+		OutputStream outputStream = socket.getOutputStream();
+		outputStream.write(text.getBytes(StandardCharsets.UTF_8));
+		outputStream.flush();
+	}
+
+	private String readUntil(Socket socket, String marker) throws IOException {
+		InputStream inputStream = socket.getInputStream();
+		StringBuilder output = new StringBuilder();
+		byte[] buffer = new byte[4096];
+		try {
+			int read;
+			while ((read = inputStream.read(buffer)) >= 0) {
+				output.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+				if (marker != null && TestUtil.stripColors(output.toString()).contains(marker)) {
+					break;
+				}
+			}
+		} catch (SocketTimeoutException e) {
+			Assertions.fail("Timed out waiting for " + marker + " in " + output);
+		}
+		return TestUtil.stripColors(output.toString());
+	}
+
+}
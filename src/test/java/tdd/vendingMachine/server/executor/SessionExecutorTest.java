@@ -0,0 +1,98 @@
+package tdd.vendingMachine.server.executor;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SessionExecutorTest {
+
+	private SessionExecutor sessionExecutor;
+
+	@Before
+	public void setup() {
+		sessionExecutor = new SessionExecutor(2);
+	}
+
+	@After
+	public void teardown() throws InterruptedException {
+		sessionExecutor.close();
+	}
+
+	@Test
+	public void default_solver_pool_matches_available_processors() throws InterruptedException {
+		SessionExecutor defaultExecutor = new SessionExecutor(0);
+
+		Assertions.assertThat(defaultExecutor.getSolverThreads()).isEqualTo(Runtime.getRuntime().availableProcessors());
+		defaultExecutor.close();
+	}
+
+	@Test
+	public void compute_runs_on_solver_thread() {
+		AtomicReference<String> threadName = new AtomicReference<>();
+
+		sessionExecutor.compute(() -> threadName.set(Thread.currentThread().getName()));
+
+		Assertions.assertThat(threadName.get()).startsWith("solver-");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void compute_rethrows_task_exception() {
+		sessionExecutor.compute(() -> {
+			throw new IllegalArgumentException();
+		});
+	}
+
+	@Test
+	public void solver_work_is_bounded_while_sessions_are_not() throws InterruptedException {
+		int sessions = 50;
+		CountDownLatch finished = new CountDownLatch(sessions);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+
+		for (int i = 0; i < sessions; i++) {
+			sessionExecutor.startSession(() -> {
+				sessionExecutor.compute(() -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					try {
+						Thread.sleep(5);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					running.decrementAndGet();
+				});
+				finished.countDown();
+			});
+		}
+
+		Assertions.assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+		Assertions.assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	public void active_sessions_are_counted() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(3);
+
+		for (int i = 0; i < 3; i++) {
+			sessionExecutor.startSession(() -> {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		started.await(5, TimeUnit.SECONDS);
+
+		Assertions.assertThat(sessionExecutor.getActiveSessions()).isEqualTo(3);
+		release.countDown();
+	}
+
+}
@@ -0,0 +1,55 @@
+package tdd.vendingMachine.server.executor;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+public class SessionThreadsTest {
+
+	@Test
+	public void virtual_threads_are_used_only_when_runtime_provides_them() {
+		boolean runtimeHasVirtualThreads;
+		try {
+			Thread.class.getMethod("ofVirtual");
+			runtimeHasVirtualThreads = true;
+		} catch (NoSuchMethodException e) {
+			runtimeHasVirtualThreads = false;
+		}
+
+		Assertions.assertThat(SessionThreads.isVirtualAvailable()).isEqualTo(runtimeHasVirtualThreads);
+	}
+
+	@Test
+	public void factory_creates_named_threads() {
+		Thread thread = SessionThreads.factory("test-").newThread(() -> {});
+
+		Assertions.assertThat(thread.getName()).isEqualTo("test-0");
+		Assertions.assertThat(thread.isDaemon()).isTrue();
+	}
+
+	@Test
+	public void session_executor_runs_each_task_on_its_own_thread() throws Exception {
+		ExecutorService executorService = SessionThreads.newThreadPerSessionExecutor("test-");
+		Object lock = new Object();
+		try {
+			Future<String> first;
+			Future<String> second;
+			synchronized (lock) {
+				first = executorService.submit(() -> {
+					synchronized (lock) {
+						return Thread.currentThread().getName();
+					}
+				});
+				second = executorService.submit(() -> Thread.currentThread().getName());
+				Assertions.assertThat(second.get()).isNotEmpty();
+			}
+
+			Assertions.assertThat(first.get()).isNotEqualTo(second.get());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+}
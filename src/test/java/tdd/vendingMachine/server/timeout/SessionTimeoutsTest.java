@@ -0,0 +1,127 @@
+package tdd.vendingMachine.server.timeout;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import tdd.vendingMachine.metrics.Counter;
+import tdd.vendingMachine.metrics.Metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SessionTimeoutsTest {
+
+	private AtomicLong clock;
+
+	private SessionTimeouts sessionTimeouts;
+
+	private AtomicInteger expired;
+
+	@Before
+	public void setup() {
+		clock = new AtomicLong();
+		sessionTimeouts = new SessionTimeouts(100, 10, 16, clock::get);
+		expired = new AtomicInteger();
+	}
+
+	@Test
+	public void idle_session_expires() {
+		sessionTimeouts.watch(expired::incrementAndGet);
+
+		advanceTo(90);
+		Assertions.assertThat(expired.get()).isZero();
+
+		advanceTo(100);
+		Assertions.assertThat(expired.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void activity_postpones_expiry() {
+		IdleTimer idleTimer = sessionTimeouts.watch(expired::incrementAndGet);
+
+		advanceTo(80);
+		idleTimer.touch();
+		advanceTo(150);
+		Assertions.assertThat(expired.get()).isZero();
+
+		advanceTo(180);
+		Assertions.assertThat(expired.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void expired_session_is_watched_again() {
+		sessionTimeouts.watch(expired::incrementAndGet);
+
+		advanceTo(100);
+		advanceTo(150);
+		Assertions.assertThat(expired.get()).isEqualTo(1);
+
+		advanceTo(200);
+		Assertions.assertThat(expired.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void cancelled_timer_does_not_expire() {
+		IdleTimer idleTimer = sessionTimeouts.watch(expired::incrementAndGet);
+
+		idleTimer.cancel();
+		advanceTo(500);
+
+		Assertions.assertThat(expired.get()).isZero();
+	}
+
+	@Test
+	public void failing_expiry_does_not_stop_the_wheel() {
+		sessionTimeouts.watch(() -> {
+			throw new IllegalStateException();
+		});
+		sessionTimeouts.watch(expired::incrementAndGet);
+
+		advanceTo(100);
+
+		Assertions.assertThat(expired.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void only_cancelled_purchase_is_counted_as_expired() {
+		Counter counter = Metrics.counter("vending_session_timeouts_total", "", "outcome", "expired");
+		long before = counter.getCount();
+
+		boolean idle = sessionTimeouts.expire(() -> false);
+		boolean cancelled = sessionTimeouts.expire(() -> true);
+
+		Assertions.assertThat(idle).isFalse();
+		Assertions.assertThat(cancelled).isTrue();
+		Assertions.assertThat(counter.getCount()).isEqualTo(before + 1);
+	}
+
+	@Test
+	public void handoff_alone_is_not_counted_as_expired() {
+		Counter counter = Metrics.counter("vending_session_timeouts_total", "", "outcome", "expired");
+		long before = counter.getCount();
+		sessionTimeouts.watch(expired::incrementAndGet);
+
+		advanceTo(100);
+
+		Assertions.assertThat(expired.get()).isEqualTo(1);
+		Assertions.assertThat(counter.getCount()).isEqualTo(before);
+	}
+
+	@Test
+	public void disabled_timeouts_return_inert_timer() {
+		SessionTimeouts disabled = new SessionTimeouts(0, 10, 16, clock::get);
+
+		IdleTimer idleTimer = disabled.watch(expired::incrementAndGet);
+		idleTimer.touch();
+		idleTimer.cancel();
+
+		Assertions.assertThat(disabled.isEnabled()).isFalse();
+		Assertions.assertThat(idleTimer).isSameAs(IdleTimer.disabled());
+	}
+
+	private void advanceTo(long elapsed) {
+		clock.set(elapsed);
+		sessionTimeouts.advance();
+	}
+
+}
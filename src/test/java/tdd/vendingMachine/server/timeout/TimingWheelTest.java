@@ -0,0 +1,100 @@
+package tdd.vendingMachine.server.timeout;
+
+import com.google.common.collect.Lists;
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TimingWheelTest {
+
+	private AtomicLong clock;
+
+	private TimingWheel timingWheel;
+
+	@Before
+	public void setup() {
+		clock = new AtomicLong(1000);
+		timingWheel = new TimingWheel(10, 8, clock::get);
+	}
+
+	@Test
+	public void wheel_size_is_rounded_up_to_power_of_two() {
+		Assertions.assertThat(new TimingWheel(10, 5, clock::get).getWheelSize()).isEqualTo(8);
+		Assertions.assertThat(new TimingWheel(10, 8, clock::get).getWheelSize()).isEqualTo(8);
+	}
+
+	@Test
+	public void timeout_expires_at_deadline_and_not_before() {
+		AtomicInteger fired = new AtomicInteger();
+		Timeout timeout = timingWheel.schedule(fired::incrementAndGet, 35);
+
+		advanceTo(30);
+		Assertions.assertThat(fired.get()).isZero();
+
+		advanceTo(40);
+		Assertions.assertThat(fired.get()).isEqualTo(1);
+		Assertions.assertThat(timeout.isExpired()).isTrue();
+
+		advanceTo(200);
+		Assertions.assertThat(fired.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void timeout_longer_than_one_revolution_waits_for_its_round() {
+		AtomicInteger fired = new AtomicInteger();
+		timingWheel.schedule(fired::incrementAndGet, 250);
+
+		advanceTo(240);
+		Assertions.assertThat(fired.get()).isZero();
+
+		advanceTo(250);
+		Assertions.assertThat(fired.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void cancelled_timeout_never_expires() {
+		AtomicInteger fired = new AtomicInteger();
+		Timeout timeout = timingWheel.schedule(fired::incrementAndGet, 20);
+
+		Assertions.assertThat(timeout.cancel()).isTrue();
+		advanceTo(100);
+
+		Assertions.assertThat(fired.get()).isZero();
+		Assertions.assertThat(timeout.isCancelled()).isTrue();
+	}
+
+	@Test
+	public void timeouts_expire_in_deadline_order() {
+		List<Integer> order = Lists.newArrayList();
+		timingWheel.schedule(() -> order.add(3), 300);
+		timingWheel.schedule(() -> order.add(1), 15);
+		timingWheel.schedule(() -> order.add(2), 90);
+
+		for (int elapsed = 0; elapsed <= 300; elapsed += 10) {
+			advanceTo(elapsed);
+		}
+
+		Assertions.assertThat(order).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	public void many_timeouts_expire_together() {
+		AtomicInteger fired = new AtomicInteger();
+		for (int i = 0; i < 100_000; i++) {
+			timingWheel.schedule(fired::incrementAndGet, i % 200);
+		}
+
+		Assertions.assertThat(advanceTo(200)).isEqualTo(100_000);
+		Assertions.assertThat(fired.get()).isEqualTo(100_000);
+	}
+
+	private int advanceTo(long elapsed) {
+		clock.set(1000 + elapsed);
+		return timingWheel.advance();
+	}
+
+}
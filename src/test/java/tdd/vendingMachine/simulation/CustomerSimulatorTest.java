@@ -0,0 +1,66 @@
+package tdd.vendingMachine.simulation;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.scenario.factory.ScenarioProfileFactory;
+import tdd.vendingMachine.simulation.entity.OutcomeEstimate;
+import tdd.vendingMachine.simulation.entity.SimulationReport;
+import tdd.vendingMachine.simulation.entity.SimulationSettings;
+import tdd.vendingMachine.simulation.enums.SimulationOutcome;
+import tdd.vendingMachine.simulation.factory.PaymentMixFactory;
+
+public class CustomerSimulatorTest {
+
+	private final CustomerSimulator customerSimulator = new CustomerSimulator();
+
+	@Test
+	public void every_customer_gets_an_outcome() {
+		SimulationReport report = customerSimulator.run(settings(ScenarioProfileFactory.CLASSIC, null, 7));
+
+		Assertions.assertThat(report.getTrials()).isEqualTo(8 * 3 * 10);
+		Assertions.assertThat(report.getEstimates().values().stream().mapToLong(OutcomeEstimate::getCount).sum())
+			.isEqualTo(report.getTrials());
+		for (OutcomeEstimate estimate : report.getEstimates().values()) {
+			Assertions.assertThat(estimate.getLower()).isLessThanOrEqualTo(estimate.getRate());
+			Assertions.assertThat(estimate.getUpper()).isGreaterThanOrEqualTo(estimate.getRate());
+		}
+	}
+
+	@Test
+	public void same_seed_gives_same_counts() {
+		SimulationReport first = customerSimulator.run(settings(ScenarioProfileFactory.CLASSIC, null, 11));
+		SimulationReport second = customerSimulator.run(settings(ScenarioProfileFactory.CLASSIC, null, 11));
+
+		for (SimulationOutcome outcome : SimulationOutcome.values()) {
+			Assertions.assertThat(second.getEstimate(outcome).getCount()).isEqualTo(first.getEstimate(outcome).getCount());
+		}
+	}
+
+	@Test
+	public void empty_shelves_refuse_every_purchase() {
+		SimulationReport report = customerSimulator.run(settings("stock=0", null, 3));
+
+		Assertions.assertThat(report.getEstimate(SimulationOutcome.NO_PRODUCT).getCount()).isEqualTo(report.getTrials());
+	}
+
+	@Test
+	public void exact_payments_never_need_change() {
+		SimulationReport report = customerSimulator.run(settings("stock=100; coins=0", "EXACT=1", 5));
+
+		Assertions.assertThat(report.getEstimate(SimulationOutcome.SUCCESS).getCount()).isEqualTo(report.getTrials());
+		Assertions.assertThat(report.getEstimate(SimulationOutcome.INSUFFICIENT_CHANGE).getUpper()).isLessThan(0.05);
+	}
+
+	@Test
+	public void empty_coin_float_refuses_overpayments() {
+		SimulationReport report = customerSimulator.run(settings("stock=100; coins=0", "LARGEST_COIN=1", 5));
+
+		Assertions.assertThat(report.getEstimate(SimulationOutcome.INSUFFICIENT_CHANGE).getCount()).isPositive();
+	}
+
+	private SimulationSettings settings(String profile, String paymentMix, long seed) {
+		return SimulationSettings.of(ScenarioProfileFactory.parse(profile), PaymentMixFactory.parse(paymentMix), 8, 3, 10,
+			seed);
+	}
+
+}
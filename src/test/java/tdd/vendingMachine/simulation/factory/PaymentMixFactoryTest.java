@@ -0,0 +1,41 @@
+package tdd.vendingMachine.simulation.factory;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import tdd.vendingMachine.simulation.enums.PaymentBehaviour;
+
+import java.util.Map;
+
+public class PaymentMixFactoryTest {
+
+	@Test
+	public void empty_mix_is_uniform() {
+		Assertions.assertThat(PaymentMixFactory.parse(" ")).isEqualTo(PaymentMixFactory.uniform());
+		Assertions.assertThat(PaymentMixFactory.parse(null)).containsOnlyKeys(PaymentBehaviour.values());
+	}
+
+	@Test
+	public void mix_is_parsed() {
+		Map<PaymentBehaviour, Double> paymentMix = PaymentMixFactory.parse("exact=1, LARGEST_COIN=2.5");
+
+		Assertions.assertThat(paymentMix).containsEntry(PaymentBehaviour.EXACT, 1d)
+			.containsEntry(PaymentBehaviour.LARGEST_COIN, 2.5d)
+			.doesNotContainKey(PaymentBehaviour.RANDOM);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void entry_without_weight_is_rejected() {
+		PaymentMixFactory.parse("EXACT");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknown_behaviour_is_rejected() {
+		PaymentMixFactory.parse("GENEROUS=1");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void mix_without_positive_weight_is_rejected() {
+		PaymentMixFactory.parse("EXACT=0");
+	}
+
+}
@@ -0,0 +1,48 @@
+package tdd.vendingMachine.simulation.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.joda.money.Money;
+import tdd.vendingMachine.money.coin.factory.CoinFactory;
+import tdd.vendingMachine.money.factory.MoneyFactory;
+import tdd.vendingMachine.simulation.enums.PaymentBehaviour;
+
+import java.util.SplittableRandom;
+
+public class CustomerPaymentsTest {
+
+	private final SplittableRandom random = new SplittableRandom(7);
+
+	@Test
+	public void exact_payment_sums_to_price() {
+		int[] coins = CustomerPayments.pay(PaymentBehaviour.EXACT, MoneyFactory.of(2.2), random);
+
+		Assertions.assertThat(sum(coins)).isEqualTo(MoneyFactory.of(2.2));
+		Assertions.assertThat(coins).containsExactly(4, 1);
+	}
+
+	@Test
+	public void largest_coin_payment_uses_single_coin_when_possible() {
+		Assertions.assertThat(CustomerPayments.pay(PaymentBehaviour.LARGEST_COIN, MoneyFactory.of(1.5), random))
+			.containsExactly(4);
+		Assertions.assertThat(CustomerPayments.pay(PaymentBehaviour.LARGEST_COIN, MoneyFactory.of(1), random))
+			.containsExactly(3);
+	}
+
+	@Test
+	public void random_payment_covers_price() {
+		for (int i = 0; i < 100; i++) {
+			Assertions.assertThat(sum(CustomerPayments.pay(PaymentBehaviour.RANDOM, MoneyFactory.of(2.2), random)))
+				.isGreaterThanOrEqualTo(MoneyFactory.of(2.2));
+		}
+	}
+
+	private Money sum(int[] coins) {
+		Money sum = MoneyFactory.of(0);
+		for (int coin : coins) {
+			sum = sum.plus(CoinFactory.AVAILABLE_COINS.get(coin).getNominal());
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,43 @@
+package tdd.vendingMachine.simulation.util;
+
+import org.assertj.core.api.Assertions;
+import org.assertj.core.data.Offset;
+import org.junit.Test;
+
+public class ProportionEstimatorTest {
+
+	@Test
+	public void wilson_interval_contains_observed_rate() {
+		double[] interval = ProportionEstimator.wilson(30, 100, ProportionEstimator.Z_95);
+
+		Assertions.assertThat(interval[0]).isCloseTo(0.2189, Offset.offset(0.001));
+		Assertions.assertThat(interval[1]).isCloseTo(0.3958, Offset.offset(0.001));
+	}
+
+	@Test
+	public void wilson_interval_stays_within_bounds_for_extreme_counts() {
+		Assertions.assertThat(ProportionEstimator.wilson(0, 50, ProportionEstimator.Z_95)[0]).isEqualTo(0);
+		Assertions.assertThat(ProportionEstimator.wilson(50, 50, ProportionEstimator.Z_95)[1]).isEqualTo(1);
+		Assertions.assertThat(ProportionEstimator.wilson(0, 50, ProportionEstimator.Z_95)[1]).isGreaterThan(0);
+	}
+
+	@Test
+	public void clustered_interval_is_wider_when_clusters_disagree() {
+		long[] trials = {100, 100, 100, 100};
+		double[] homogeneous = ProportionEstimator.clustered(new long[] {50, 50, 50, 50}, trials,
+			ProportionEstimator.Z_95);
+		double[] heterogeneous = ProportionEstimator.clustered(new long[] {0, 100, 0, 100}, trials,
+			ProportionEstimator.Z_95);
+
+		Assertions.assertThat(heterogeneous[1] - heterogeneous[0]).isGreaterThan(homogeneous[1] - homogeneous[0]);
+		Assertions.assertThat(heterogeneous[0]).isLessThan(0.5);
+		Assertions.assertThat(heterogeneous[1]).isGreaterThan(0.5);
+	}
+
+	@Test
+	public void clustered_interval_falls_back_to_wilson_for_single_cluster() {
+		Assertions.assertThat(ProportionEstimator.clustered(new long[] {30}, new long[] {100},
+			ProportionEstimator.Z_95)).containsExactly(ProportionEstimator.wilson(30, 100, ProportionEstimator.Z_95));
+	}
+
+}